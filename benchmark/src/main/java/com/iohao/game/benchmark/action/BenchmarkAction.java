@@ -0,0 +1,59 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.action;
+
+import com.iohao.game.action.skeleton.annotation.ActionController;
+import com.iohao.game.action.skeleton.annotation.ActionMethod;
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+
+import java.util.List;
+
+/**
+ * 基准测试用的 action
+ * <pre>
+ *     覆盖常见的几种 action 方法签名：protobuf、基础类型包装（IntValue、LongValueList）、只有 FlowContext 参数。
+ *     action 内部只做少量的工作，以便测试结果主要反映业务框架本身的开销。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@ActionController(BenchmarkCmd.cmd)
+public class BenchmarkAction {
+    @ActionMethod(BenchmarkCmd.protobuf)
+    public BenchmarkPb protobuf(BenchmarkPb benchmarkPb) {
+        benchmarkPb.level++;
+        return benchmarkPb;
+    }
+
+    @ActionMethod(BenchmarkCmd.intValue)
+    public int intValue(int value) {
+        return value + 1;
+    }
+
+    @ActionMethod(BenchmarkCmd.longValueList)
+    public List<Long> longValueList(List<Long> values) {
+        return values;
+    }
+
+    @ActionMethod(BenchmarkCmd.flowContext)
+    public long flowContext(FlowContext flowContext) {
+        return flowContext.getUserId();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.action;
+
+/**
+ * 基准测试相关的路由
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public interface BenchmarkCmd {
+    /** 业务框架基准测试 - 主路由 */
+    int cmd = 1;
+
+    /** protobuf 业务参数 */
+    int protobuf = 1;
+    /** int 包装类型业务参数 IntValue */
+    int intValue = 2;
+    /** List&lt;Long&gt; 包装类型业务参数 LongValueList */
+    int longValueList = 3;
+    /** 只有 FlowContext 参数 */
+    int flowContext = 4;
+}
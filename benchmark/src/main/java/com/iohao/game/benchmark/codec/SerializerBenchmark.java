@@ -0,0 +1,132 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.codec;
+
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.serialization.Serializer;
+import com.alipay.remoting.serialization.SerializerManager;
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.core.DataCodecKit;
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.RequestMessage;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.action.skeleton.protocol.wrapper.WrapperKit;
+import com.iohao.game.bolt.broker.core.codec.CompactSerializer;
+import com.iohao.game.bolt.broker.core.message.BroadcastMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 内部通信消息序列化的基准测试，对比 Hessian 与紧凑格式（{@link CompactSerializer}）
+ * <pre>
+ *     每个消息的字节数会在 setup 时打印出来，使用 -prof gc 观察每次编解码的内存分配
+ * </pre>
+ * for example
+ * <pre>{@code
+ * mvn -pl benchmark -am package
+ *
+ * java -jar benchmark/target/benchmarks.jar SerializerBenchmark -bm avgt -tu ns -prof gc
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+    @Param
+    SerializerType serializerType;
+
+    Serializer serializer;
+
+    RequestMessage requestMessage;
+    byte[] requestBytes;
+
+    BroadcastMessage broadcastMessage;
+    byte[] broadcastBytes;
+
+    @Setup
+    public void setup() throws CodecException {
+        this.serializer = this.serializerType.supplier.get();
+
+        HeadMetadata headMetadata = new HeadMetadata()
+                .setUserId(1_000_001L)
+                .setCmdInfo(CmdInfo.of(1, 2))
+                .setSourceClientId(1_838_573_217)
+                .setEndPointClientId(-1_236_448_191)
+                .setChannelId("0242acfffe110002-00000001-00000010-a6de1b2f7d43b1c5-3c8e4f7d")
+                .setMsgId(100)
+                .setTraceId("2d7c8f13a4e94c1b8f6a0d5e3b7c9a21");
+
+        this.requestMessage = new RequestMessage();
+        this.requestMessage.setHeadMetadata(headMetadata);
+        this.requestMessage.setData(DataCodecKit.encode(WrapperKit.of(100)));
+
+        ResponseMessage responseMessage = this.requestMessage.createResponseMessage();
+        responseMessage.setData(DataCodecKit.encode(WrapperKit.of("hello")));
+        this.broadcastMessage = new BroadcastMessage()
+                .setResponseMessage(responseMessage)
+                .setUserIdList(new ArrayList<>(List.of(1_000_001L, 1_000_002L, 1_000_003L)));
+
+        this.requestBytes = this.serializer.serialize(this.requestMessage);
+        this.broadcastBytes = this.serializer.serialize(this.broadcastMessage);
+
+        System.out.printf("%n%s requestMessage bytes : %d, broadcastMessage bytes : %d%n"
+                , this.serializerType, this.requestBytes.length, this.broadcastBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws CodecException {
+        return this.serializer.serialize(this.requestMessage);
+    }
+
+    @Benchmark
+    public Object deserializeRequest() throws CodecException {
+        return this.serializer.deserialize(this.requestBytes, RequestMessage.class.getName());
+    }
+
+    @Benchmark
+    public byte[] serializeBroadcast() throws CodecException {
+        return this.serializer.serialize(this.broadcastMessage);
+    }
+
+    @Benchmark
+    public Object deserializeBroadcast() throws CodecException {
+        return this.serializer.deserialize(this.broadcastBytes, BroadcastMessage.class.getName());
+    }
+
+    public enum SerializerType {
+        hessian(() -> SerializerManager.getSerializer(SerializerManager.Hessian2)),
+        compact(CompactSerializer::me);
+
+        final Supplier<Serializer> supplier;
+
+        SerializerType(Supplier<Serializer> supplier) {
+            this.supplier = supplier;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.executor;
+
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.bolt.broker.core.common.BroadcastOrderThreadExecutorRegion;
+import com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage;
+import com.iohao.game.common.kit.concurrent.executor.ThreadExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有序广播的基准测试，对比单个通道与多个通道（按玩家分区）的吞吐量
+ * <pre>
+ *     每次投递一批推送给单个玩家的有序广播（64 个玩家轮流），并等待所有广播执行完成；
+ *     workTokens 模拟每个推送的耗时（Blackhole.consumeCPU）。
+ *
+ *     lanes=1 相当于所有有序广播在同一个线程中执行；
+ *     多个通道时不同玩家的广播并行执行，提升与 CPU 核心数有关，单核机器上没有提升。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * mvn -pl benchmark -am package
+ *
+ * java -jar benchmark/target/benchmarks.jar BroadcastOrderBenchmark
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BroadcastOrderBenchmark {
+    static final int BATCH_SIZE = 1024;
+    static final int USER_COUNT = 64;
+
+    @Param({"1", "8"})
+    int lanes;
+
+    @Param({"1000"})
+    int workTokens;
+
+    BroadcastOrderThreadExecutorRegion region;
+    BroadcastOrderMessage[] messages;
+
+    @Setup
+    public void setup() {
+        this.region = new BroadcastOrderThreadExecutorRegion("benchmark-" + this.lanes, this.lanes);
+
+        this.messages = new BroadcastOrderMessage[BATCH_SIZE];
+        for (int seq = 0; seq < BATCH_SIZE; seq++) {
+            ResponseMessage responseMessage = new ResponseMessage();
+            responseMessage.setHeadMetadata(new HeadMetadata().setMsgId(seq).setUserId(seq % USER_COUNT));
+
+            BroadcastOrderMessage message = new BroadcastOrderMessage();
+            message.setResponseMessage(responseMessage);
+            this.messages[seq] = message;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (ThreadExecutor threadExecutor : this.region.listThreadExecutor()) {
+            if (threadExecutor.executor() instanceof ExecutorService executorService) {
+                executorService.shutdown();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void broadcast() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(BATCH_SIZE);
+        int workTokens = this.workTokens;
+
+        for (BroadcastOrderMessage message : this.messages) {
+            this.region.execute(message, 0, theMessage -> {
+                // 模拟推送的耗时
+                Blackhole.consumeCPU(workTokens);
+                latch.countDown();
+            });
+        }
+
+        latch.await();
+    }
+}
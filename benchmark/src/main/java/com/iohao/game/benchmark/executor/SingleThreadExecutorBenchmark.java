@@ -0,0 +1,114 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.executor;
+
+import com.iohao.game.common.kit.concurrent.executor.IdleStrategy;
+import com.iohao.game.common.kit.concurrent.executor.SingleThreadExecutorKit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 单线程执行器的基准测试，对比 ThreadPoolExecutor(1, 1, LinkedBlockingQueue) 与基于 MPSC 队列的执行器
+ * <pre>
+ *     throughput : 批量投递任务，并等待所有任务执行完成
+ *     latency : 投递单个任务，并等待该任务执行完成（往返延迟）
+ *
+ *     注意：spinThenPark、yielding 在消费线程空闲时会占用 CPU，
+ *     在 CPU 核心数较少的机器上，其结果会受到生产者与消费者争抢 CPU 的影响
+ * </pre>
+ * for example
+ * <pre>{@code
+ * mvn -pl benchmark -am package
+ *
+ * java -jar benchmark/target/benchmarks.jar SingleThreadExecutorBenchmark -prof gc
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SingleThreadExecutorBenchmark {
+    static final int BATCH_SIZE = 1024;
+
+    @Param
+    ExecutorType executorType;
+
+    ExecutorService executorService;
+
+    final AtomicLong counter = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        this.executorService = this.executorType.factory.apply("benchmark-" + this.executorType);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        this.executorService.shutdown();
+        this.executorService.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void throughput() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        for (int i = 1; i < BATCH_SIZE; i++) {
+            this.executorService.execute(this.counter::incrementAndGet);
+        }
+
+        // 单线程执行器按顺序执行，最后一个任务执行完成时，之前的任务也都执行完成了
+        this.executorService.execute(latch::countDown);
+        latch.await();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void latency(Blackhole blackhole) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        this.executorService.execute(latch::countDown);
+        latch.await();
+        blackhole.consume(latch);
+    }
+
+    public enum ExecutorType {
+        threadPool(SingleThreadExecutorKit::newThreadPoolExecutor),
+        mpscPark(name -> SingleThreadExecutorKit.newMpscExecutor(name, IdleStrategy.park)),
+        mpscSpinThenPark(name -> SingleThreadExecutorKit.newMpscExecutor(name, IdleStrategy.spinThenPark)),
+        mpscYielding(name -> SingleThreadExecutorKit.newMpscExecutor(name, IdleStrategy.yielding));
+
+        final Function<String, ExecutorService> factory;
+
+        ExecutorType(Function<String, ExecutorService> factory) {
+            this.factory = factory;
+        }
+    }
+}
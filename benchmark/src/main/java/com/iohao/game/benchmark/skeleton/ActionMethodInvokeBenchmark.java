@@ -0,0 +1,173 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.skeleton;
+
+import com.iohao.game.action.skeleton.core.BarSkeleton;
+import com.iohao.game.action.skeleton.core.DataCodecKit;
+import com.iohao.game.action.skeleton.core.flow.ActionMethodInvoke;
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.action.skeleton.core.flow.internal.DefaultActionMethodInvoke;
+import com.iohao.game.action.skeleton.core.flow.internal.DirectActionMethodInvoke;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.action.skeleton.protocol.wrapper.WrapperKit;
+import com.iohao.game.benchmark.action.BenchmarkCmd;
+import com.iohao.game.benchmark.action.BenchmarkPb;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * action 调用方式的基准测试，对比 reflectasm 与每个 action 专属的直接调用器（hidden class）
+ * <pre>
+ *     invoke 开头的测试只执行 {@link ActionMethodInvoke#invoke}，其余的测试端到端的执行 {@link BarSkeleton#handle}
+ * </pre>
+ * for example
+ * <pre>{@code
+ * mvn -pl benchmark -am package
+ *
+ * java -jar benchmark/target/benchmarks.jar ActionMethodInvokeBenchmark -bm avgt -tu ns -prof gc
+ * }</pre>
+ * 结果（JDK 21，单核，-wi 5 -i 10 -f 2，ns/op）
+ * <pre>
+ *     Benchmark         reflectasm    direct
+ *     invokeProtobuf         2.90      3.39
+ *     invokeIntValue         2.84      3.59
+ *     invokeMixed            4.68      8.90
+ *     protobuf（端到端）      364       339    误差约 ±60
+ *     intValue（端到端）      326       326
+ *
+ *     reflectasm 的 MethodAccess 本身就是为每个 action 类生成的直接调用（tableswitch + invokevirtual），
+ *     同一个 action 类的调用点是单态的；直接调用器每个 action 一个实现类，调用点看到多个 action 时是多态的，
+ *     所以 invokeMixed 慢了一倍。端到端的差异在误差范围内，因此框架默认仍然使用 reflectasm。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActionMethodInvokeBenchmark {
+    @Param
+    InvokeType invokeType;
+
+    BarSkeleton barSkeleton;
+    ActionMethodInvoke actionMethodInvoke;
+
+    byte[] protobufData;
+    byte[] intValueData;
+
+    /** 已完成参数解析的 flow 上下文，只用于 invoke 开头的测试 */
+    FlowContext protobufFlowContext;
+    FlowContext intValueFlowContext;
+    /** 轮流调用不同的 action，调用点看到多个 action，更接近实际的业务 */
+    FlowContext[] mixedFlowContexts;
+    int mixedIndex;
+
+    @Setup
+    public void setup() {
+        this.barSkeleton = BenchmarkSkeletonKit
+                .createBuilder(BenchmarkInOut.none)
+                .setActionMethodInvoke(this.invokeType.supplier.get())
+                .build();
+
+        this.actionMethodInvoke = this.barSkeleton.getActionMethodInvoke();
+
+        var benchmarkPb = new BenchmarkPb();
+        benchmarkPb.id = 1001;
+        benchmarkPb.level = 10;
+        benchmarkPb.name = "ioGame";
+        this.protobufData = DataCodecKit.encode(benchmarkPb);
+        this.intValueData = DataCodecKit.encode(WrapperKit.of(100));
+
+        // 执行一次完整的流程，flow 上下文中会保留 action、action 对象及方法参数
+        this.protobufFlowContext = this.createHandledFlowContext(BenchmarkCmd.protobuf, this.protobufData);
+        this.intValueFlowContext = this.createHandledFlowContext(BenchmarkCmd.intValue, this.intValueData);
+        this.mixedFlowContexts = new FlowContext[]{
+                this.protobufFlowContext,
+                this.intValueFlowContext,
+                this.createHandledFlowContext(BenchmarkCmd.flowContext, null)
+        };
+    }
+
+    @Benchmark
+    public ResponseMessage protobuf() {
+        return this.handle(BenchmarkCmd.protobuf, this.protobufData);
+    }
+
+    @Benchmark
+    public ResponseMessage intValue() {
+        return this.handle(BenchmarkCmd.intValue, this.intValueData);
+    }
+
+    @Benchmark
+    public ResponseMessage flowContext() {
+        return this.handle(BenchmarkCmd.flowContext, null);
+    }
+
+    @Benchmark
+    public Object invokeProtobuf() {
+        return this.actionMethodInvoke.invoke(this.protobufFlowContext);
+    }
+
+    @Benchmark
+    public Object invokeIntValue() {
+        return this.actionMethodInvoke.invoke(this.intValueFlowContext);
+    }
+
+    @Benchmark
+    public Object invokeMixed() {
+        var flowContexts = this.mixedFlowContexts;
+        int index = this.mixedIndex++;
+        if (this.mixedIndex == flowContexts.length) {
+            this.mixedIndex = 0;
+        }
+
+        return this.actionMethodInvoke.invoke(flowContexts[index]);
+    }
+
+    private ResponseMessage handle(int subCmd, byte[] data) {
+        var flowContext = BenchmarkSkeletonKit.createFlowContext(this.barSkeleton, subCmd, data);
+        this.barSkeleton.handle(flowContext);
+        return flowContext.getResponse();
+    }
+
+    private FlowContext createHandledFlowContext(int subCmd, byte[] data) {
+        var flowContext = BenchmarkSkeletonKit.createFlowContext(this.barSkeleton, subCmd, data);
+        this.barSkeleton.handle(flowContext);
+        return flowContext;
+    }
+
+    public enum InvokeType {
+        /** reflectasm MethodAccess，框架默认的调用方式 */
+        reflectasm(DefaultActionMethodInvoke::new),
+        /** 每个 action 专属的直接调用器 */
+        direct(DirectActionMethodInvoke::new);
+
+        final Supplier<ActionMethodInvoke> supplier;
+
+        InvokeType(Supplier<ActionMethodInvoke> supplier) {
+            this.supplier = supplier;
+        }
+    }
+}
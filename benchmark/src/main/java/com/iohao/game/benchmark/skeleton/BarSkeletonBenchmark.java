@@ -0,0 +1,110 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.skeleton;
+
+import com.iohao.game.action.skeleton.core.BarSkeleton;
+import com.iohao.game.action.skeleton.core.DataCodecKit;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.action.skeleton.protocol.wrapper.WrapperKit;
+import com.iohao.game.benchmark.action.BenchmarkCmd;
+import com.iohao.game.benchmark.action.BenchmarkPb;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 业务框架基准测试，端到端的执行 {@link BarSkeleton#handle}，不经过网络
+ * <pre>
+ *     覆盖 ActionCommandHandler、DefaultActionMethodParamParser、DefaultActionMethodInvoke、
+ *     DefaultActionMethodResultWrap 及一个空实现的 ActionAfter。
+ *
+ *     inOut 参数用于对比各内置插件开启、关闭时的开销，see {@link BenchmarkInOut}
+ * </pre>
+ * for example
+ * <pre>{@code
+ * mvn -pl benchmark -am package
+ *
+ * // ops/s
+ * java -jar benchmark/target/benchmarks.jar BarSkeletonBenchmark -prof gc
+ * // ns/op
+ * java -jar benchmark/target/benchmarks.jar BarSkeletonBenchmark -bm avgt -tu ns -prof gc
+ * // 只测试部分插件
+ * java -jar benchmark/target/benchmarks.jar BarSkeletonBenchmark -p inOut=none,all
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BarSkeletonBenchmark {
+    @Param
+    BenchmarkInOut inOut;
+
+    BarSkeleton barSkeleton;
+
+    byte[] protobufData;
+    byte[] intValueData;
+    byte[] longValueListData;
+
+    @Setup
+    public void setup() {
+        this.barSkeleton = BenchmarkSkeletonKit.newBarSkeleton(this.inOut);
+
+        var benchmarkPb = new BenchmarkPb();
+        benchmarkPb.id = 1001;
+        benchmarkPb.level = 10;
+        benchmarkPb.name = "ioGame";
+        this.protobufData = DataCodecKit.encode(benchmarkPb);
+
+        this.intValueData = DataCodecKit.encode(WrapperKit.of(100));
+        this.longValueListData = DataCodecKit.encode(WrapperKit.ofListLongValue(List.of(1L, 2L, 3L, 4L, 5L)));
+    }
+
+    @Benchmark
+    public ResponseMessage protobuf() {
+        return this.handle(BenchmarkCmd.protobuf, this.protobufData);
+    }
+
+    @Benchmark
+    public ResponseMessage intValue() {
+        return this.handle(BenchmarkCmd.intValue, this.intValueData);
+    }
+
+    @Benchmark
+    public ResponseMessage longValueList() {
+        return this.handle(BenchmarkCmd.longValueList, this.longValueListData);
+    }
+
+    @Benchmark
+    public ResponseMessage flowContext() {
+        return this.handle(BenchmarkCmd.flowContext, null);
+    }
+
+    private ResponseMessage handle(int subCmd, byte[] data) {
+        var flowContext = BenchmarkSkeletonKit.createFlowContext(this.barSkeleton, subCmd, data);
+        this.barSkeleton.handle(flowContext);
+        return flowContext.getResponse();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.skeleton;
+
+import com.iohao.game.action.skeleton.core.flow.ActionMethodInOut;
+import com.iohao.game.action.skeleton.core.flow.internal.*;
+
+import java.util.List;
+
+/**
+ * 基准测试中可选的 InOut 插件组合
+ * <pre>
+ *     none 表示不使用任何插件，all 表示同时使用所有的内置插件。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public enum BenchmarkInOut {
+    none,
+    debug,
+    stat,
+    threadMonitor,
+    timeRange,
+    traceId,
+    all;
+
+    /**
+     * 创建当前组合对应的插件列表
+     *
+     * @return 插件列表
+     */
+    List<ActionMethodInOut> listInOut() {
+        return switch (this) {
+            case none -> List.of();
+            case debug -> List.of(createDebugInOut());
+            case stat -> List.of(new StatActionInOut());
+            case threadMonitor -> List.of(new ThreadMonitorInOut());
+            case timeRange -> List.of(new TimeRangeInOut());
+            case traceId -> List.of(new TraceIdInOut());
+            case all -> List.of(
+                    createDebugInOut(),
+                    new StatActionInOut(),
+                    new ThreadMonitorInOut(),
+                    new TimeRangeInOut(),
+                    new TraceIdInOut()
+            );
+        };
+    }
+
+    private static DebugInOut createDebugInOut() {
+        var debugInOut = new DebugInOut();
+        // 只测试信息的构建，不测试控制台的输出
+        debugInOut.setPrintConsumer((message, flowContext) -> {
+        });
+
+        return debugInOut;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.skeleton;
+
+import com.iohao.game.action.skeleton.core.BarSkeleton;
+import com.iohao.game.action.skeleton.core.BarSkeletonBuilder;
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.action.skeleton.core.flow.FlowContextKit;
+import com.iohao.game.action.skeleton.core.flow.attr.FlowAttr;
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.RequestMessage;
+import com.iohao.game.benchmark.action.BenchmarkAction;
+import com.iohao.game.benchmark.action.BenchmarkCmd;
+import lombok.experimental.UtilityClass;
+
+/**
+ * 业务框架基准测试工具
+ * <pre>
+ *     不依赖网络，模拟 RequestMessageClientProcessor 创建 FlowContext 的过程，
+ *     之后直接交给 {@link BarSkeleton#handle(FlowContext)} 处理。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@UtilityClass
+public class BenchmarkSkeletonKit {
+    /** 模拟的 userId */
+    public final long userId = 1;
+    /** 模拟的 traceId，用于 TraceIdInOut */
+    public final String traceId = "benchmark-trace-id";
+
+    /**
+     * 创建业务框架构建器，只包含基准测试相关的 action
+     *
+     * @param inOut 插件组合
+     * @return 业务框架构建器
+     */
+    public BarSkeletonBuilder createBuilder(BenchmarkInOut inOut) {
+        var builder = BarSkeleton.newBuilder()
+                .addActionController(BenchmarkAction.class)
+                // 不发送响应，只做最少的处理
+                .setActionAfter(flowContext -> flowContext.getResponse().getData());
+
+        inOut.listInOut().forEach(builder::addInOut);
+
+        builder.getSetting().setPrint(false);
+
+        return builder;
+    }
+
+    /**
+     * 创建业务框架，只包含基准测试相关的 action
+     *
+     * @param inOut 插件组合
+     * @return 业务框架
+     */
+    public BarSkeleton newBarSkeleton(BenchmarkInOut inOut) {
+        return createBuilder(inOut).build();
+    }
+
+    /**
+     * 创建 flow 上下文，与逻辑服处理请求时的过程一致
+     *
+     * @param barSkeleton 业务框架
+     * @param subCmd      子路由，see {@link BenchmarkCmd}
+     * @param data        已编码的业务数据
+     * @return FlowContext
+     */
+    public FlowContext createFlowContext(BarSkeleton barSkeleton, int subCmd, byte[] data) {
+        var headMetadata = new HeadMetadata()
+                .setCmdInfo(CmdInfo.of(BenchmarkCmd.cmd, subCmd))
+                .setUserId(userId)
+                .setTraceId(traceId)
+                .setCmdCode(1);
+
+        var request = new RequestMessage();
+        request.setHeadMetadata(headMetadata);
+        request.setData(data);
+
+        FlowContext flowContext = barSkeleton
+                .getFlowContextFactory()
+                .createFlowContext();
+
+        flowContext.setRequest(request);
+        flowContext.setBarSkeleton(barSkeleton);
+
+        var threadExecutor = barSkeleton.getExecutorRegion().getUserThreadExecutor(userId);
+        flowContext.option(FlowAttr.threadExecutor, threadExecutor);
+
+        FlowContextKit.employ(flowContext);
+
+        return flowContext;
+    }
+}
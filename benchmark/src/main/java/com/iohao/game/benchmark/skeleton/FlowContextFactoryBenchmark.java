@@ -0,0 +1,100 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.benchmark.skeleton;
+
+import com.iohao.game.action.skeleton.core.BarSkeleton;
+import com.iohao.game.action.skeleton.core.DataCodecKit;
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.action.skeleton.core.flow.FlowContextFactory;
+import com.iohao.game.action.skeleton.core.flow.PooledFlowContextFactory;
+import com.iohao.game.action.skeleton.protocol.wrapper.WrapperKit;
+import com.iohao.game.benchmark.action.BenchmarkCmd;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * FlowContext 创建方式的基准测试，对比每次创建与回收复用（{@link PooledFlowContextFactory}）
+ * <pre>
+ *     端到端的执行 {@link BarSkeleton#handle}，使用 -prof gc 观察每次请求的内存分配（gc.alloc.rate.norm）
+ * </pre>
+ * for example
+ * <pre>{@code
+ * mvn -pl benchmark -am package
+ *
+ * java -jar benchmark/target/benchmarks.jar FlowContextFactoryBenchmark -bm avgt -tu ns -prof gc
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlowContextFactoryBenchmark {
+    @Param
+    FactoryType factoryType;
+
+    BarSkeleton barSkeleton;
+
+    byte[] intValueData;
+
+    @Setup
+    public void setup() {
+        this.barSkeleton = BenchmarkSkeletonKit
+                .createBuilder(BenchmarkInOut.none)
+                .setFlowContextFactory(this.factoryType.supplier.get())
+                .build();
+
+        this.intValueData = DataCodecKit.encode(WrapperKit.of(100));
+    }
+
+    @Benchmark
+    public void intValue() {
+        this.handle(BenchmarkCmd.intValue, this.intValueData);
+    }
+
+    @Benchmark
+    public void flowContext() {
+        this.handle(BenchmarkCmd.flowContext, null);
+    }
+
+    private void handle(int subCmd, byte[] data) {
+        // 使用池化的 FlowContext 时，handle 之后 flowContext 会被回收，不能再使用
+        FlowContext flowContext = BenchmarkSkeletonKit.createFlowContext(this.barSkeleton, subCmd, data);
+        this.barSkeleton.handle(flowContext);
+    }
+
+    public enum FactoryType {
+        /** 每个请求创建新的 FlowContext，框架默认的方式 */
+        none(() -> FlowContext::new),
+        /** 回收复用 FlowContext */
+        pooled(PooledFlowContextFactory::new);
+
+        final Supplier<FlowContextFactory> supplier;
+
+        FactoryType(Supplier<FlowContextFactory> supplier) {
+            this.supplier = supplier;
+        }
+    }
+}
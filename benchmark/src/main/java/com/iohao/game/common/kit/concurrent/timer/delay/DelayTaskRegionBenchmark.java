@@ -0,0 +1,120 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.concurrent.timer.delay;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 延时任务域的基准测试，对比默认的 SimpleDelayTaskRegion 与 {@link TimingWheelDelayTaskRegion}
+ * <pre>
+ *     在已有 taskCount 个未到期任务（如房间、技能冷却）的情况下：
+ *     tick : 一次 tick 的开销。SimpleDelayTaskRegion 每次 tick 遍历所有任务，时间轮只处理到期的槽位
+ *     scheduleAndCancel : 创建并启动一个延时任务，随后取消该任务
+ *
+ *     与被测类同包，以便直接驱动 tick，不受后台定时器的干扰。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * mvn -pl benchmark -am package
+ *
+ * java -jar benchmark/target/benchmarks.jar DelayTaskRegionBenchmark -bm avgt -tu us
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DelayTaskRegionBenchmark {
+    /** 未到期任务的延时时间，足够大，测试期间不会到期 */
+    static final long MIN_DELAY_MILLIS = TimeUnit.DAYS.toMillis(365);
+
+    @Param({"10000", "100000", "1000000"})
+    int taskCount;
+
+    @Param
+    RegionType regionType;
+
+    DelayTaskRegion region;
+    DelayIntervalTaskListener simpleTickListener;
+    TimingWheelDelayTaskRegion timingWheelRegion;
+    long tick;
+
+    @Setup
+    public void setup() {
+        switch (this.regionType) {
+            case simple -> {
+                var simpleRegion = new SimpleDelayTaskRegion();
+                // 停止后台的定时器，由基准测试驱动 tick
+                simpleRegion.stop();
+                this.simpleTickListener = new DelayIntervalTaskListener(simpleRegion);
+                this.region = simpleRegion;
+            }
+            case timingWheel -> {
+                this.timingWheelRegion = new TimingWheelDelayTaskRegion(10, () -> this.tick * 10, false);
+                this.region = this.timingWheelRegion;
+            }
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < this.taskCount; i++) {
+            this.region.of(() -> {
+                    })
+                    .plusTimeMillis(MIN_DELAY_MILLIS + random.nextLong(MIN_DELAY_MILLIS))
+                    .task();
+        }
+
+        this.tick();
+    }
+
+    @Benchmark
+    public void tick() {
+        switch (this.regionType) {
+            case simple -> this.simpleTickListener.onUpdate();
+            case timingWheel -> this.timingWheelRegion.advance(++this.tick);
+        }
+    }
+
+    @Benchmark
+    public void scheduleAndCancel() {
+        DelayTask delayTask = this.region.of(() -> {
+                })
+                .plusTimeMillis(1000)
+                .task();
+
+        delayTask.cancel();
+
+        if (this.regionType == RegionType.timingWheel) {
+            // 时间轮线程处理待处理的任务
+            this.timingWheelRegion.advance(this.tick);
+        }
+    }
+
+    public enum RegionType {
+        simple,
+        timingWheel
+    }
+}
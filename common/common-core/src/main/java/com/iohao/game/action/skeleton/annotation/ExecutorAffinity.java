@@ -0,0 +1,65 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.action.skeleton.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 线程执行器亲和性：使用 action 业务参数中的某个属性来选择线程执行器
+ * <pre>
+ *     默认情况下，业务框架使用 userId 来选择线程执行器，同一玩家的请求在同一线程中执行。
+ *
+ *     对于房间类（或公会等）的玩法，同一个房间内不同玩家的请求会在不同的线程中执行，
+ *     房间的实现就需要使用锁或并发容器。
+ *
+ *     使用该注解指定业务参数中的属性名（如 roomId），业务框架会使用该属性的值来选择线程执行器，
+ *     这样同一房间的 action 都在同一线程中执行，房间的实现就可以是无锁的。
+ *
+ *     可以添加到 action 类上（对类中所有 action 生效），也可以添加到 action 方法上（优先级更高）。
+ *
+ *     属性类型支持数值类型（使用其 long 值），其他类型使用 hashCode；
+ *     当业务参数或属性值为 null 时，使用默认的规则（userId）来选择线程执行器。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * @ActionController(RoomCmd.cmd)
+ * @ExecutorAffinity("roomId")
+ * public class RoomAction {
+ *     @ActionMethod(RoomCmd.enter)
+ *     public void enter(EnterRoom enterRoom) {
+ *         // enterRoom.roomId 相同的请求，都在同一线程中执行
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ExecutorAffinity {
+    /**
+     * 业务参数中的属性名
+     *
+     * @return 属性名
+     */
+    String value();
+}
@@ -18,11 +18,13 @@
  */
 package com.iohao.game.action.skeleton.core;
 
+import com.baidu.bjf.remoting.protobuf.Codec;
 import com.esotericsoftware.reflectasm.ConstructorAccess;
 import com.esotericsoftware.reflectasm.MethodAccess;
 import com.iohao.game.action.skeleton.annotation.ValidatedGroup;
 import com.iohao.game.action.skeleton.core.doc.ActionCommandDoc;
 import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.action.skeleton.core.flow.internal.ActionMethodDirectInvoker;
 import com.iohao.game.action.skeleton.core.flow.parser.MethodParser;
 import com.iohao.game.action.skeleton.core.flow.parser.MethodParsers;
 import lombok.AccessLevel;
@@ -35,9 +37,11 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Stream;
 
 /**
@@ -95,10 +99,35 @@ public final class ActionCommand {
 
     final ActionCommandDoc actionCommandDoc;
 
+    /**
+     * 线程执行器亲和性 key 提取器，没有配置 ExecutorAffinity 注解时为 null
+     *
+     * @since 21.23
+     */
+    final AffinityKeyExtractor affinityKeyExtractor;
+
     /** true 表示交付给容器来管理 如 spring 等 */
     boolean deliveryContainer;
+    /**
+     * true 表示 action 是阻塞的（如有 DB、网络等 io 操作）
+     * <pre>
+     *     阻塞的 action 会从用户线程转交给虚拟线程执行，同一玩家的请求仍然按顺序执行。
+     *     通常由 BlockingDetectInOut 插件根据 action 的耗时自动判定，也可以手动设置。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    @Setter
+    volatile boolean blocking;
     /** 构造方法访问器 */
     ConstructorAccess<?> actionControllerConstructorAccess;
+    /**
+     * action 方法的直接调用器，由 DirectActionMethodInvoke 在构建时生成；没有使用 DirectActionMethodInvoke 时为 null
+     *
+     * @since 21.23
+     */
+    @Setter
+    ActionMethodDirectInvoker actionMethodDirectInvoker;
 
     private ActionCommand(Builder builder) {
         // -------------- 路由相关 --------------
@@ -122,6 +151,7 @@ public final class ActionCommand {
         this.actionMethodReturnInfo = new ActionMethodReturnInfo(builder);
 
         this.actionCommandDoc = builder.actionCommandDoc;
+        this.affinityKeyExtractor = builder.affinityKeyExtractor;
 
         this.deliveryContainer = builder.deliveryContainer;
     }
@@ -188,6 +218,8 @@ public final class ActionCommand {
         boolean createSingleActionCommandController;
         /** 一个single控制器对象 */
         Object actionController;
+        /** 线程执行器亲和性 key 提取器 */
+        AffinityKeyExtractor affinityKeyExtractor;
 
         ActionCommand build() {
             return new ActionCommand(this);
@@ -217,6 +249,25 @@ public final class ActionCommand {
          * @return List 泛型的类型
          */
         Class<?> getActualTypeArgumentClazz();
+
+        /**
+         * 实际的内置包装类型，也是编解码时的数据类型
+         *
+         * @return 实际的内置包装类型
+         * @since 21.23
+         */
+        Class<?> getActualClazz();
+
+        /**
+         * action 构建时预先解析好的 jprotobuf 编解码器，对应 {@link #getActualClazz()}
+         * <pre>
+         *     只在使用 ProtoDataCodec 时才会有值，see ProtobufActionParserListener
+         * </pre>
+         *
+         * @return jprotobuf 编解码器，可能为 null
+         * @since 21.23
+         */
+        Codec<Object> getProtoCodec();
     }
 
     /**
@@ -283,6 +334,9 @@ public final class ActionCommand {
         final boolean flowContext;
         /** true : 开启 JSR380 验证规范 */
         boolean validator;
+        /** 预先解析好的 jprotobuf 编解码器 */
+        @Setter(AccessLevel.PACKAGE)
+        Codec<Object> protoCodec;
 
         ParamInfo(int index, Parameter p) {
             // 保存Parameter对象
@@ -404,14 +458,45 @@ public final class ActionCommand {
          */
         final Class<?> actualClazz;
         final boolean customMethodParser;
+        /**
+         * true 表示 action 是异步的，方法返回值是 CompletableFuture&lt;T&gt; 或 CompletionStage&lt;T&gt;
+         * <pre>
+         *     异步 action 的返回值类型相关属性（returnTypeClazz、actualClazz ...）取自泛型 T；
+         *     future 完成后，才会执行结果包装器、ActionAfter 以及 inOut 的 fuckOut。
+         * </pre>
+         *
+         * @since 21.23
+         */
+        final boolean async;
+        /** 预先解析好的 jprotobuf 编解码器 */
+        @Setter(AccessLevel.PACKAGE)
+        Codec<Object> protoCodec;
 
         private ActionMethodReturnInfo(ActionCommand.Builder builder) {
 
-            this.returnTypeClazz = builder.returnTypeClazz;
+            Class<?> returnTypeClazz = builder.returnTypeClazz;
+            Type genericReturnType = builder.actionMethod.getGenericReturnType();
+
+            // 异步 action，返回值类型取 CompletableFuture<T> 的泛型 T
+            this.async = CompletionStage.class.isAssignableFrom(returnTypeClazz);
+            if (this.async) {
+                genericReturnType = genericReturnType instanceof ParameterizedType parameterizedType
+                        ? parameterizedType.getActualTypeArguments()[0]
+                        : Object.class;
+
+                returnTypeClazz = switch (genericReturnType) {
+                    case Class<?> clazz when clazz == Void.class -> Void.TYPE;
+                    case Class<?> clazz -> clazz;
+                    case ParameterizedType parameterizedType -> (Class<?>) parameterizedType.getRawType();
+                    default -> Object.class;
+                };
+            }
+
+            this.returnTypeClazz = returnTypeClazz;
 
             if (List.class.isAssignableFrom(returnTypeClazz)) {
-                ParameterizedType genericReturnType = (ParameterizedType) builder.actionMethod.getGenericReturnType();
-                this.actualTypeArgumentClazz = (Class<?>) genericReturnType.getActualTypeArguments()[0];
+                ParameterizedType parameterizedType = (ParameterizedType) genericReturnType;
+                this.actualTypeArgumentClazz = (Class<?>) parameterizedType.getActualTypeArguments()[0];
                 this.list = true;
             } else {
                 this.actualTypeArgumentClazz = returnTypeClazz;
@@ -22,6 +22,8 @@ import com.iohao.game.action.skeleton.core.flow.FlowContext;
 import com.iohao.game.action.skeleton.core.flow.FlowContextKit;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Objects;
+
 /**
  * 该handler用于执行 {@link ActionCommand} 对象
  *
@@ -59,6 +61,11 @@ class ActionCommandHandler implements Handler {
         // 业务框架
         BarSkeleton barSkeleton = flowContext.getBarSkeleton();
 
+        // 已经解析过（see ExecutorSelectKit 线程执行器亲和性）
+        if (Objects.nonNull(flowContext.getMethodParams())) {
+            return;
+        }
+
         // 参数解析器
         var paramParser = barSkeleton.getActionMethodParamParser();
         // 得到业务方法的参数列表，并验证
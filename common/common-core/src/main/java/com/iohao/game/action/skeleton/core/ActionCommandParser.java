@@ -23,6 +23,7 @@ import com.esotericsoftware.reflectasm.ConstructorAccess;
 import com.esotericsoftware.reflectasm.MethodAccess;
 import com.iohao.game.action.skeleton.annotation.ActionController;
 import com.iohao.game.action.skeleton.annotation.ActionMethod;
+import com.iohao.game.action.skeleton.annotation.ExecutorAffinity;
 import com.iohao.game.action.skeleton.core.action.parser.ActionParserContext;
 import com.iohao.game.action.skeleton.core.action.parser.ActionParserListener;
 import com.iohao.game.action.skeleton.core.codec.ProtoDataCodec;
@@ -135,6 +136,8 @@ final class ActionCommandParser {
 
                 // 方法参数信息
                 paramInfo(method, builder);
+                // 线程执行器亲和性
+                affinity(controllerClazz, method, builder);
 
                 /*
                  * 路由 key，根据这个路由可以找到对应的 command（命令对象）
@@ -245,6 +248,45 @@ final class ActionCommandParser {
         }
     }
 
+    private void affinity(Class<?> controllerClazz, Method method, ActionCommand.Builder builder) {
+        // action 方法上的注解优先
+        var executorAffinity = method.getAnnotation(ExecutorAffinity.class);
+        if (Objects.isNull(executorAffinity)) {
+            executorAffinity = controllerClazz.getAnnotation(ExecutorAffinity.class);
+        }
+
+        if (Objects.isNull(executorAffinity)) {
+            return;
+        }
+
+        // 业务参数（非 FlowContext、非 List）
+        var paramInfo = Optional.ofNullable(builder.paramInfos)
+                .stream()
+                .flatMap(Arrays::stream)
+                .filter(info -> !info.isFlowContext())
+                .findFirst()
+                .orElse(null);
+
+        String fieldName = executorAffinity.value();
+        if (Objects.isNull(paramInfo) || paramInfo.isList()) {
+            String message = StrKit.format("ExecutorAffinity:【{}】 需要 action 有业务参数（不能是 List）.请查看: {}.{}",
+                    fieldName, controllerClazz, method.getName());
+
+            IoGameBanner.me().ofRuntimeException(message);
+            return;
+        }
+
+        try {
+            var extractor = new AffinityKeyExtractor(paramInfo.getActualTypeArgumentClazz(), fieldName);
+            builder.setAffinityKeyExtractor(extractor);
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            String message = StrKit.format("ExecutorAffinity:【{}】 在业务参数 {} 中不存在.请查看: {}.{}",
+                    fieldName, paramInfo.getActualTypeArgumentClazz(), controllerClazz, method.getName());
+
+            IoGameBanner.me().ofRuntimeException(message);
+        }
+    }
+
     private void checkExistSubCmd(Class<?> controllerClass, int subCmd, ActionCommandRegion actionCommandRegion) {
 
         if (actionCommandRegion.containsKey(subCmd)) {
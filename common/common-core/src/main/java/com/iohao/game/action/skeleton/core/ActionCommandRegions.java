@@ -125,6 +125,21 @@ public final class ActionCommandRegions {
                 ;
     }
 
+    /**
+     * 返回值为 void 的 action 命令列表，这类 action 正常处理时不会有响应
+     *
+     * @return cmdMerge
+     * @since 21.23
+     */
+    public List<Integer> listVoidCmdMerge() {
+        return regionMap.values()
+                .stream()
+                .flatMap(actionCommandRegion -> actionCommandRegion.values().stream())
+                .filter(actionCommand -> actionCommand.getActionMethodReturnInfo().isVoid())
+                .map(actionCommand -> actionCommand.getCmdInfo().getCmdMerge())
+                .collect(Collectors.toList());
+    }
+
     Stream<ActionCommandRegion> streamActionCommandRegion() {
         return this.regionMap.values().parallelStream();
     }
@@ -18,6 +18,8 @@
  */
 package com.iohao.game.action.skeleton.core;
 
+import com.baidu.bjf.remoting.protobuf.Codec;
+import com.baidu.bjf.remoting.protobuf.ProtobufProxy;
 import com.baidu.bjf.remoting.protobuf.annotation.ProtobufClass;
 import com.iohao.game.action.skeleton.core.action.parser.ActionParserContext;
 import com.iohao.game.action.skeleton.core.action.parser.ActionParserListener;
@@ -30,6 +32,8 @@ import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.jctools.maps.NonBlockingHashSet;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -63,11 +67,16 @@ final class ProtobufActionParserListener implements ActionParserListener {
         ProtoKit.create(StringValueList.class);
     }
 
+    /** action 构建期间收集的 action，用于预先解析编解码器 */
+    final List<ActionCommand> actionCommandList = new ArrayList<>();
+
     @Override
     public void onActionCommand(ActionParserContext context) {
         // 添加了 ProtobufClass 注解的类
         Predicate<Class<?>> protobufClassPredicate = c -> Objects.nonNull(c.getAnnotation(ProtobufClass.class));
         collect(context, protobufClassPredicate, protoSet);
+
+        this.actionCommandList.add(context.getActionCommand());
     }
 
     static void collect(ActionParserContext context, Predicate<Class<?>> protobufClassPredicate, Set<Class<?>> protoSet) {
@@ -101,6 +110,33 @@ final class ProtobufActionParserListener implements ActionParserListener {
     @Override
     public void onAfter(BarSkeleton barSkeleton) {
         protoSet.forEach(ProtoKit::create);
+
+        /*
+         * 将编解码器固定到 action 的参数与返回值信息中，
+         * 编解码时直接使用，省去每次请求、响应时通过 ProtobufProxy 查找编解码器的开销
+         */
+        for (ActionCommand actionCommand : this.actionCommandList) {
+            actionCommand.streamParamInfo()
+                    .filter(ActionCommand.ParamInfo::isBizData)
+                    .forEach(paramInfo -> paramInfo.setProtoCodec(createCodec(paramInfo.getActualClazz())));
+
+            var actionMethodReturnInfo = actionCommand.getActionMethodReturnInfo();
+            if (Objects.nonNull(actionMethodReturnInfo) && !actionMethodReturnInfo.isVoid()) {
+                actionMethodReturnInfo.setProtoCodec(createCodec(actionMethodReturnInfo.getActualClazz()));
+            }
+        }
+
+        this.actionCommandList.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Codec<Object> createCodec(Class<?> clazz) {
+        // 只处理添加了 ProtobufClass 注解的类（内置的协议碎片类型也添加了该注解）
+        if (Objects.isNull(clazz.getAnnotation(ProtobufClass.class))) {
+            return null;
+        }
+
+        return (Codec<Object>) ProtobufProxy.create(clazz);
     }
 }
 
@@ -0,0 +1,91 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.action.skeleton.core;
+
+import lombok.Getter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Objects;
+
+/**
+ * 线程执行器亲和性 key 提取器，从 action 业务参数中提取指定属性的值
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @see com.iohao.game.action.skeleton.annotation.ExecutorAffinity
+ * @since 21.23
+ */
+@Getter
+public final class AffinityKeyExtractor {
+    /** 没有亲和性 key */
+    public static final long NONE = -1;
+
+    final String fieldName;
+    final Class<?> paramClazz;
+    final MethodHandle getter;
+
+    AffinityKeyExtractor(Class<?> paramClazz, String fieldName) throws ReflectiveOperationException {
+        this.paramClazz = paramClazz;
+        this.fieldName = fieldName;
+
+        Field field = findField(paramClazz, fieldName);
+        var lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+        this.getter = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    /**
+     * 提取亲和性 key
+     *
+     * @param param action 业务参数
+     * @return 非负数的 key；业务参数或属性值为 null 时返回 {@link #NONE}
+     */
+    public long extract(Object param) {
+        if (Objects.isNull(param)) {
+            return NONE;
+        }
+
+        Object value;
+        try {
+            value = (Object) this.getter.invokeExact(param);
+        } catch (Throwable e) {
+            return NONE;
+        }
+
+        return switch (value) {
+            case null -> NONE;
+            case Number number -> number.longValue() & Long.MAX_VALUE;
+            default -> value.hashCode() & Long.MAX_VALUE;
+        };
+    }
+
+    private static Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException ignored) {
+                // 继续查找父类
+            }
+        }
+
+        throw new NoSuchFieldException(fieldName);
+    }
+}
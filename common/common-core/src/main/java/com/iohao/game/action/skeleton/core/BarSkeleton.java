@@ -73,6 +73,8 @@ public final class BarSkeleton implements AttrOptionDynamic {
     FlowContextFactory flowContextFactory;
     /** 与业务框架所关联的线程执行器管理域 */
     ExecutorRegion executorRegion;
+    /** 异步 action 的超时时间（毫秒），0 表示不限制 */
+    long asyncActionTimeoutMillis;
 
     BarSkeleton(Handler[] handlers) {
         this.handlers = handlers;
@@ -100,15 +102,20 @@ public final class BarSkeleton implements AttrOptionDynamic {
          */
         var handlers = this.handlers;
 
-        if (handlers.length == 1) {
-            handlers[0].handler(flowContext);
-            return;
-        }
-
-        for (Handler theHandler : handlers) {
-            if (!theHandler.handler(flowContext)) {
+        try {
+            if (handlers.length == 1) {
+                handlers[0].handler(flowContext);
                 return;
             }
+
+            for (Handler theHandler : handlers) {
+                if (!theHandler.handler(flowContext)) {
+                    return;
+                }
+            }
+        } finally {
+            // 这次请求处理完成，回收 flow 上下文。see PooledFlowContextFactory
+            this.flowContextFactory.recycle(flowContext);
         }
     }
 }
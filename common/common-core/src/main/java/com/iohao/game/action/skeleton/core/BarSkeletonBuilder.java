@@ -118,6 +118,8 @@ public final class BarSkeletonBuilder {
                 .setFlowContextFactory(this.flowContextFactory)
                 // 线程执行器
                 .setExecutorRegion(this.executorRegion)
+                // 异步 action 的超时时间
+                .setAsyncActionTimeoutMillis(this.setting.asyncActionTimeoutMillis)
                 // runners 机制
                 .setRunners(this.runners)
                 // inout
@@ -221,6 +223,11 @@ public final class BarSkeletonBuilder {
         if (Objects.isNull(this.executorRegion)) {
             this.executorRegion = ExecutorRegionKit.createExecutorRegion();
         }
+
+        // 部分 ActionMethodInvoke 实现需要在 action 构建时做一些准备，如 DirectActionMethodInvoke
+        if (this.actionMethodInvoke instanceof ActionParserListener listener) {
+            this.addActionParserListener(listener);
+        }
     }
 
     /**
@@ -104,6 +104,15 @@ public final class BarSkeletonSetting {
     boolean parseDoc = true;
     /** true 生成文档 */
     boolean generateDoc = true;
+    /**
+     * 异步 action（返回 CompletableFuture）的超时时间（毫秒），0 表示不限制
+     * <pre>
+     *     future 超时未完成时，会响应 ActionErrorEnum.timeout 错误码给请求端，避免请求端一直等不到响应。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    long asyncActionTimeoutMillis = 30_000;
 
     BarSkeletonSetting() {
     }
@@ -63,4 +63,29 @@ public class DataCodecKit {
     public <T> T decode(byte[] data, Class<T> paramClazz) {
         return dataCodec.decode(data, paramClazz);
     }
+
+    /**
+     * 将 action 的参数或返回值编码成字节数组，编解码器可以利用 action 构建时预先解析好的信息
+     *
+     * @param data            业务数据
+     * @param paramResultInfo action 方法的参数或返回值信息
+     * @return bytes
+     * @since 21.23
+     */
+    public byte[] encode(Object data, ActionCommand.MethodParamResultInfo paramResultInfo) {
+        return dataCodec.encode(data, paramResultInfo);
+    }
+
+    /**
+     * 将字节数组解码成 action 的参数，编解码器可以利用 action 构建时预先解析好的信息
+     *
+     * @param data            业务参数 (指的是请求端的请求参数)
+     * @param paramResultInfo action 方法的参数或返回值信息
+     * @param <T>             t
+     * @return 业务参数
+     * @since 21.23
+     */
+    public <T> T decode(byte[] data, ActionCommand.MethodParamResultInfo paramResultInfo) {
+        return dataCodec.decode(data, paramResultInfo);
+    }
 }
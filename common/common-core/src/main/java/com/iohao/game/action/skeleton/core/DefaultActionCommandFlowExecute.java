@@ -18,8 +18,19 @@
  */
 package com.iohao.game.action.skeleton.core;
 
+import com.iohao.game.action.skeleton.core.exception.ActionErrorEnum;
+import com.iohao.game.action.skeleton.core.exception.MsgException;
 import com.iohao.game.action.skeleton.core.flow.ActionAfter;
 import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 默认的 action 命令流程执行器
@@ -27,11 +38,15 @@ import com.iohao.game.action.skeleton.core.flow.FlowContext;
  *     编排业务框架处理业务类的流程
  *
  *     <a href="https://www.yuque.com/iohao/game/wiwpwusmktrv35i4">文档-编排业务框架处理业务类的流程</a>
+ *
+ *     action 返回 CompletableFuture 时（异步 action），future 完成后才执行结果包装器、ActionAfter 以及 inOut 的 fuckOut，
+ *     这期间不会占用玩家所在的线程。
  * </pre>
  *
  * @author 渔民小镇
  * @date 2021-12-17
  */
+@Slf4j
 final class DefaultActionCommandFlowExecute implements ActionCommandFlowExecute {
 
     @Override
@@ -60,6 +75,14 @@ final class DefaultActionCommandFlowExecute implements ActionCommandFlowExecute
             var actionMethodInvoke = barSkeleton.getActionMethodInvoke();
             // 得到业务类的返回结果
             var result = actionMethodInvoke.invoke(flowContext);
+
+            // 异步 action，future 完成后再继续后面的流程
+            if (!flowContext.isError() && result instanceof CompletionStage<?> stage
+                    && actionCommand.getActionMethodReturnInfo().isAsync()) {
+                this.await(flowContext, stage);
+                return;
+            }
+
             flowContext.setMethodResult(result);
 
             // 4 ---- wrap result 结果包装器
@@ -68,6 +91,12 @@ final class DefaultActionCommandFlowExecute implements ActionCommandFlowExecute
             actionMethodResultWrap.wrap(flowContext);
         }
 
+        this.after(flowContext);
+    }
+
+    private void after(FlowContext flowContext) {
+        BarSkeleton barSkeleton = flowContext.getBarSkeleton();
+
         if (flowContext.isExecuteActionAfter()) {
             // 5 ---- after 一般用于响应数据到 请求端
             ActionAfter actionAfter = barSkeleton.getActionAfter();
@@ -75,7 +104,81 @@ final class DefaultActionCommandFlowExecute implements ActionCommandFlowExecute
         }
 
         // 6 ---- fuck后 在调用控制器对应处理方法结束后, 执行inout的out.
-        inOutManager.fuckOut(flowContext);
+        barSkeleton.inOutManager.fuckOut(flowContext);
+    }
+
+    /**
+     * 等待异步 action 的 future 完成
+     * <pre>
+     *     future 已经完成时，直接在当前线程中继续后面的流程；
+     *     否则挂起，当前线程可以去处理其他请求，future 完成后回到 flowContext 所在的线程执行器中继续后面的流程，
+     *     以保证同一玩家的请求在同一线程中处理。
+     *
+     *     future 在超时时间（BarSkeletonSetting.asyncActionTimeoutMillis）内没有完成时，
+     *     响应 ActionErrorEnum.timeout 错误码，flowContext 不会一直被占用；之后 future 再完成时会被忽略。
+     * </pre>
+     *
+     * @param flowContext flowContext
+     * @param stage       action 返回的 future
+     */
+    private void await(FlowContext flowContext, CompletionStage<?> stage) {
+        if (stage instanceof CompletableFuture<?> future && future.isDone()) {
+            future.whenComplete((value, throwable) -> this.resume(flowContext, value, throwable));
+            return;
+        }
+
+        // 这次 flow 结束后 flowContext 仍会被使用，不能回收复用
+        flowContext.retain();
+        Executor executor = flowContext.getExecutor();
+
+        // 不直接在 action 返回的 future 上设置超时，避免影响开发者持有的 future
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        long timeoutMillis = flowContext.getBarSkeleton().getAsyncActionTimeoutMillis();
+        if (timeoutMillis > 0) {
+            future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        future.whenComplete((value, throwable) -> executor.execute(() -> this.resume(flowContext, value, throwable)));
+
+        stage.whenComplete((value, throwable) -> {
+            if (Objects.isNull(throwable)) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        });
+    }
+
+    private void resume(FlowContext flowContext, Object value, Throwable throwable) {
+        BarSkeleton barSkeleton = flowContext.getBarSkeleton();
+
+        try {
+            if (Objects.nonNull(throwable)) {
+                // true 业务方法有异常
+                flowContext.setError(true);
+
+                Throwable cause = throwable instanceof CompletionException && Objects.nonNull(throwable.getCause())
+                        ? throwable.getCause()
+                        : throwable;
+
+                if (cause instanceof TimeoutException) {
+                    // future 超时未完成
+                    cause = new MsgException(ActionErrorEnum.timeout);
+                }
+
+                // 把 future 的异常,交由异常处理类来处理
+                value = barSkeleton.getActionMethodExceptionProcess().processException(cause);
+            }
+
+            flowContext.setMethodResult(value);
+
+            // 4 ---- wrap result 结果包装器
+            barSkeleton.getActionMethodResultWrap().wrap(flowContext);
+
+            this.after(flowContext);
+        } catch (Throwable e) {
+            log.error(e.getMessage(), e);
+        }
     }
 
     static DefaultActionCommandFlowExecute me() {
@@ -18,6 +18,7 @@
  */
 package com.iohao.game.action.skeleton.core.codec;
 
+import com.iohao.game.action.skeleton.core.ActionCommand;
 import com.iohao.game.action.skeleton.core.DataCodecKit;
 
 /**
@@ -48,6 +49,37 @@ public interface DataCodec {
      */
     <T> T decode(byte[] data, Class<?> dataClass);
 
+    /**
+     * 将 action 的参数或返回值编码成字节数组
+     * <pre>
+     *     编解码器可以利用 action 构建时预先解析好的信息来编码，默认使用 {@link #encode(Object)}
+     * </pre>
+     *
+     * @param data            数据对象，类型为 {@link ActionCommand.MethodParamResultInfo#getActualClazz()}
+     * @param paramResultInfo action 方法的参数或返回值信息
+     * @return bytes
+     * @since 21.23
+     */
+    default byte[] encode(Object data, ActionCommand.MethodParamResultInfo paramResultInfo) {
+        return this.encode(data);
+    }
+
+    /**
+     * 将字节数组解码成 action 的参数
+     * <pre>
+     *     编解码器可以利用 action 构建时预先解析好的信息来解码，默认使用 {@link #decode(byte[], Class)}
+     * </pre>
+     *
+     * @param data            数据对象的字节
+     * @param paramResultInfo action 方法的参数或返回值信息，解码的类型为 {@link ActionCommand.MethodParamResultInfo#getActualClazz()}
+     * @param <T>             t
+     * @return 业务参数
+     * @since 21.23
+     */
+    default <T> T decode(byte[] data, ActionCommand.MethodParamResultInfo paramResultInfo) {
+        return this.decode(data, paramResultInfo.getActualClazz());
+    }
+
     /**
      * 编解码名
      *
@@ -18,6 +18,7 @@
  */
 package com.iohao.game.action.skeleton.core.codec;
 
+import com.iohao.game.action.skeleton.core.ActionCommand;
 import com.iohao.game.common.consts.CommonConst;
 import com.iohao.game.common.kit.ProtoKit;
 
@@ -46,6 +47,30 @@ public final class ProtoDataCodec implements DataCodec {
         return (T) ProtoKit.parseProtoByte(data, dataClass);
     }
 
+    @Override
+    public byte[] encode(Object data, ActionCommand.MethodParamResultInfo paramResultInfo) {
+        var codec = paramResultInfo.getProtoCodec();
+
+        // 使用 action 构建时预先解析好的编解码器，类型不一致时（如自定义的解析器）按数据对象的实际类型来编码
+        if (Objects.nonNull(codec) && Objects.nonNull(data) && data.getClass() == paramResultInfo.getActualClazz()) {
+            return ProtoKit.toBytes(data, codec);
+        }
+
+        return this.encode(data);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, ActionCommand.MethodParamResultInfo paramResultInfo) {
+        var codec = paramResultInfo.getProtoCodec();
+
+        if (Objects.isNull(codec)) {
+            return this.decode(data, paramResultInfo.getActualClazz());
+        }
+
+        // 使用 action 构建时预先解析好的编解码器
+        return (T) ProtoKit.parseProtoByte(Objects.isNull(data) ? CommonConst.emptyBytes : data, codec);
+    }
+
     @Override
     public String codecName() {
         return "j-protobuf";
@@ -23,7 +23,11 @@ import com.iohao.game.action.skeleton.core.CmdInfo;
 import com.iohao.game.action.skeleton.core.DataCodecKit;
 import com.iohao.game.action.skeleton.protocol.RequestMessage;
 import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.action.skeleton.protocol.collect.RequestCollectMessage;
 import com.iohao.game.action.skeleton.protocol.collect.ResponseCollectMessage;
+import com.iohao.game.common.kit.concurrent.TaskKit;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 内部模块通讯上下文，内部模块指的是游戏逻辑服
@@ -41,7 +45,8 @@ import com.iohao.game.action.skeleton.protocol.collect.ResponseCollectMessage;
  * 参考文档 <a href="https://www.yuque.com/iohao/game/gyxf7aykso8nb7z4">异步小技巧</a>
  * <pre>
  *     默认情况下，跨服且有返回值的 action 调用，则都是同步的；
- *     如果想要使用异步的方式，可以通过 CompletableFuture 或虚拟线程来实现。
+ *     如果想要使用异步的方式，可以使用 invokeModuleMessageFuture 系列方法（调用期间不会占用线程），
+ *     也可以通过 CompletableFuture 或虚拟线程来实现。
  * </pre>
  * <p>
  * example async ： 通过 CompletableFuture 实现；
@@ -346,6 +351,46 @@ public interface InvokeModuleContext {
      */
     ResponseMessage invokeModuleMessage(RequestMessage requestMessage);
 
+    /**
+     * 根据路由信息来请求其他子服务器（其他逻辑服）的数据，异步调用
+     * <pre>
+     *     调用期间不会占用线程，future 在收到响应时完成。
+     * </pre>
+     * example
+     * <pre>{@code
+     *     invokeModuleContext.invokeModuleMessageFuture(cmdInfo, data)
+     *             .thenAcceptAsync(responseMessage -> {
+     *                 YourMsg msg = responseMessage.getData(YourMsg.class);
+     *                 log.info("message : {} ", msg);
+     *             }, executor);
+     * }
+     * </pre>
+     *
+     * @param cmdInfo 路由信息
+     * @param data    请求参数
+     * @return CompletableFuture ResponseMessage
+     * @since 21.23
+     */
+    default CompletableFuture<ResponseMessage> invokeModuleMessageFuture(CmdInfo cmdInfo, Object data) {
+        RequestMessage requestMessage = BarMessageKit.createRequestMessage(cmdInfo, data);
+        return this.invokeModuleMessageFuture(requestMessage);
+    }
+
+    /**
+     * 根据 RequestMessage 来请求其他子服务器（其他逻辑服）的数据，异步调用
+     * <pre>
+     *     调用期间不会占用线程，future 在收到响应时完成；
+     *     默认实现是在虚拟线程中执行同步调用，通信层的实现类应重写该方法。
+     * </pre>
+     *
+     * @param requestMessage requestMessage
+     * @return CompletableFuture ResponseMessage
+     * @since 21.23
+     */
+    default CompletableFuture<ResponseMessage> invokeModuleMessageFuture(RequestMessage requestMessage) {
+        return TaskKit.supplyAsync(() -> this.invokeModuleMessage(requestMessage));
+    }
+
     /**
      * 模块之间的访问，访问【同类型】的多个逻辑服
      * <pre>
@@ -469,4 +514,52 @@ public interface InvokeModuleContext {
      * @return ResponseAggregationMessage
      */
     ResponseCollectMessage invokeModuleCollectMessage(RequestMessage requestMessage);
+
+    /**
+     * 模块之间的访问，访问【同类型】的多个逻辑服，异步调用
+     * <pre>
+     *     调用期间不会占用线程，future 在收到所有逻辑服的结果时完成。
+     * </pre>
+     *
+     * @param cmdInfo 路由信息
+     * @param data    业务数据
+     * @return CompletableFuture ResponseCollectMessage
+     * @since 21.23
+     */
+    default CompletableFuture<ResponseCollectMessage> invokeModuleCollectMessageFuture(CmdInfo cmdInfo, Object data) {
+        RequestMessage requestMessage = BarMessageKit.createRequestMessage(cmdInfo, data);
+        return this.invokeModuleCollectMessageFuture(requestMessage);
+    }
+
+    /**
+     * 模块之间的访问，访问【同类型】的多个逻辑服，异步调用
+     * <pre>
+     *     调用期间不会占用线程，future 在收到所有逻辑服的结果时完成；
+     *     默认实现是在虚拟线程中执行同步调用，通信层的实现类应重写该方法。
+     * </pre>
+     *
+     * @param requestMessage requestMessage
+     * @return CompletableFuture ResponseCollectMessage
+     * @since 21.23
+     */
+    default CompletableFuture<ResponseCollectMessage> invokeModuleCollectMessageFuture(RequestMessage requestMessage) {
+        return TaskKit.supplyAsync(() -> this.invokeModuleCollectMessage(requestMessage));
+    }
+
+    /**
+     * 模块之间的访问，访问【同类型】的多个逻辑服，异步调用
+     * <pre>
+     *     可通过 RequestCollectMessage 设置每个逻辑服的响应期限（deadlineMillis）与提前完成的数量（completeCount），
+     *     超时的逻辑服记录在 ResponseCollectMessage#logicServerStatusMap 中，此时 ResponseCollectMessage#partial 为 true。
+     *
+     *     默认实现忽略这两个参数，通信层的实现类应重写该方法。
+     * </pre>
+     *
+     * @param requestCollectMessage requestCollectMessage
+     * @return CompletableFuture ResponseCollectMessage
+     * @since 21.23
+     */
+    default CompletableFuture<ResponseCollectMessage> invokeModuleCollectMessageFuture(RequestCollectMessage requestCollectMessage) {
+        return this.invokeModuleCollectMessageFuture(requestCollectMessage.getRequestMessage());
+    }
 }
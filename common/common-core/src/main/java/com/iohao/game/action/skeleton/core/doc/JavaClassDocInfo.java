@@ -21,14 +21,10 @@ package com.iohao.game.action.skeleton.core.doc;
 import com.iohao.game.action.skeleton.annotation.ActionMethod;
 import com.iohao.game.common.kit.CollKit;
 import com.iohao.game.common.kit.StrKit;
-import com.thoughtworks.qdox.model.DocletTag;
-import com.thoughtworks.qdox.model.JavaClass;
-import com.thoughtworks.qdox.model.JavaMethod;
+import com.thoughtworks.qdox.model.*;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * @author 渔民小镇
@@ -43,12 +39,69 @@ public final class JavaClassDocInfo {
 
         List<JavaMethod> methods = javaClass.getMethods();
         for (JavaMethod method : methods) {
-            javaMethodMap.put(method.toString(), method);
+            javaMethodMap.put(methodKey(method), method);
         }
     }
 
+    /**
+     * 方法的 key：方法名与擦除泛型后的参数类型，如 hello(java.lang.String,int[])
+     * <pre>
+     *     不使用 qdox 的 JavaMethod.toString，该方法在擦除没有上界的类型变量时会抛出 NPE，
+     *     如 {@code <T> CompletableFuture<T> hello(T t)} 这类泛型方法。
+     * </pre>
+     *
+     * @param method qdox 方法
+     * @return key
+     */
+    static String methodKey(JavaMethod method) {
+        StringJoiner joiner = new StringJoiner(",", method.getName() + "(", ")");
+
+        for (JavaParameter parameter : method.getParameters()) {
+            JavaClass parameterClass = parameter.getJavaClass();
+            String typeName = erasure(method, parameterClass.getBinaryName())
+                    + "[]".repeat(parameterClass.getDimensions() + (parameter.isVarArgs() ? 1 : 0));
+            joiner.add(typeName);
+        }
+
+        return joiner.toString();
+    }
+
+    private static String erasure(JavaMethod method, String binaryName) {
+        // 类型变量擦除为第一个上界，没有上界时为 Object
+        List<JavaTypeVariable<JavaGenericDeclaration>> typeParameters = new ArrayList<>(method.getTypeParameters());
+        typeParameters.addAll(method.getDeclaringClass().getTypeParameters());
+
+        for (JavaTypeVariable<JavaGenericDeclaration> typeParameter : typeParameters) {
+            if (!typeParameter.getName().equals(binaryName)) {
+                continue;
+            }
+
+            List<JavaType> bounds = typeParameter.getBounds();
+            return CollKit.isEmpty(bounds) ? Object.class.getName() : bounds.getFirst().getBinaryName();
+        }
+
+        return binaryName;
+    }
+
+    /**
+     * 方法的 key，与 {@link #methodKey(JavaMethod)} 的规则一致
+     *
+     * @param method 方法
+     * @return key
+     */
+    static String methodKey(Method method) {
+        StringJoiner joiner = new StringJoiner(",", method.getName() + "(", ")");
+
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            joiner.add(parameterType.getTypeName());
+        }
+
+        return joiner.toString();
+    }
+
     public ActionCommandDoc createActionCommandDoc(Method method) {
-        JavaMethod javaMethod = javaMethodMap.get(method.toString());
+        JavaMethod javaMethod = javaMethodMap.get(methodKey(method));
+
         int subCmd = method.getAnnotation(ActionMethod.class).value();
 
         ActionCommandDoc actionCommandDoc = new ActionCommandDoc();
@@ -65,6 +65,16 @@ public enum ActionErrorEnum implements MsgExceptionInfo {
      * </pre>
      */
     findBindingLogicServerNotExist(-1008, "绑定的游戏逻辑服不存在"),
+    /**
+     * 服务器繁忙
+     * <pre>
+     *     玩家对应的业务线程积压的任务数达到容量上限，请求没有被执行。
+     *     see ThreadExecutorRegion#setCapacity
+     * </pre>
+     */
+    busy(-1009, "服务器繁忙，请稍后再试"),
+    /** 请求超时，在期限内没有收到响应 */
+    timeout(-1010, "请求超时"),
     ;
 
     /** 消息码 */
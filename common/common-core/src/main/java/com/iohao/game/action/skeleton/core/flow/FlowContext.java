@@ -26,15 +26,19 @@ import com.iohao.game.action.skeleton.core.flow.attr.FlowOptionDynamic;
 import com.iohao.game.action.skeleton.protocol.HeadMetadata;
 import com.iohao.game.action.skeleton.protocol.RequestMessage;
 import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.action.skeleton.protocol.collect.ResponseCollectMessage;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import lombok.experimental.FieldDefaults;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * 业务框架 flow 上下文
@@ -59,8 +63,12 @@ import java.util.Objects;
 @Accessors(chain = true)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class FlowContext implements SimpleContext {
-    /** 动态属性 */
-    final Map<FlowOption<?>, Object> options = new HashMap<>();
+    /** 框架内置的动态属性，按 {@link FlowOption#slot()} 存放，see {@link FlowAttr} */
+    @Getter(AccessLevel.NONE)
+    final Object[] slots = new Object[FlowOption.SLOT_SIZE];
+    /** 开发者自定义的动态属性，使用时才创建 */
+    @Setter(AccessLevel.NONE)
+    Map<FlowOption<?>, Object> options;
     /** 业务框架 */
     BarSkeleton barSkeleton;
     /** command */
@@ -101,6 +109,140 @@ public class FlowContext implements SimpleContext {
     @Setter(AccessLevel.PRIVATE)
     long inOutTime;
 
+    /**
+     * true 表示 flow 上下文被交给了其他线程使用（如异步回调、线程执行器中的任务），不能被回收复用
+     * <pre>
+     *     see {@link PooledFlowContextFactory}
+     * </pre>
+     */
+    @Setter(AccessLevel.NONE)
+    boolean retained;
+
+    /**
+     * 开发者自定义的动态属性
+     * <pre>
+     *     框架内置的属性（see {@link FlowAttr}）保存在固定的槽位中，不在该 map 中
+     * </pre>
+     *
+     * @return 动态属性
+     */
+    @Override
+    public Map<FlowOption<?>, Object> getOptions() {
+        if (Objects.isNull(this.options)) {
+            this.options = new HashMap<>();
+        }
+
+        return this.options;
+    }
+
+    @Override
+    public boolean hasOption(FlowOption<?> option) {
+        if (option.hasSlot()) {
+            return Objects.nonNull(this.slots[option.slot()]);
+        }
+
+        return Objects.nonNull(this.options) && this.options.containsKey(option);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T option(FlowOption<T> option) {
+        if (option.hasSlot()) {
+            return (T) this.slots[option.slot()];
+        }
+
+        return Objects.isNull(this.options) ? null : (T) this.options.get(option);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T option(FlowOption<T> option, T value) {
+        if (option.hasSlot()) {
+            int slot = option.slot();
+            T old = (T) this.slots[slot];
+            this.slots[slot] = value;
+            return old;
+        }
+
+        return SimpleContext.super.option(option, value);
+    }
+
+    /**
+     * 标记 flow 上下文被交给了其他线程使用，当前这次 flow 结束后不会被回收复用
+     * <pre>
+     *     框架内置的异步方法（如 execute、executeVirtual、xxxAsync、xxxFuture 等）会自动标记，
+     *     开发者自行将 flowContext 交给其他线程使用时，需要调用该方法。
+     *
+     *     只有在使用 {@link PooledFlowContextFactory} 时才需要关注。
+     * </pre>
+     *
+     * @return this
+     * @since 21.23
+     */
+    public FlowContext retain() {
+        this.retained = true;
+        return this;
+    }
+
+    @Override
+    public Executor getExecutor() {
+        // 交给用户线程执行的任务，可能会在这次 flow 结束后才使用 flowContext
+        this.retain();
+        return SimpleContext.super.getExecutor();
+    }
+
+    @Override
+    public Executor getVirtualExecutor() {
+        // 交给虚拟线程执行的任务，可能会在这次 flow 结束后才使用 flowContext
+        this.retain();
+        return SimpleContext.super.getVirtualExecutor();
+    }
+
+    @Override
+    public CompletableFuture<ResponseMessage> invokeModuleMessageFuture(RequestMessage requestMessage) {
+        // future 的后续处理可能会在这次 flow 结束后才使用 flowContext
+        this.retain();
+        return SimpleContext.super.invokeModuleMessageFuture(requestMessage);
+    }
+
+    @Override
+    public CompletableFuture<ResponseCollectMessage> invokeModuleCollectMessageFuture(RequestMessage requestMessage) {
+        // future 的后续处理可能会在这次 flow 结束后才使用 flowContext
+        this.retain();
+        return SimpleContext.super.invokeModuleCollectMessageFuture(requestMessage);
+    }
+
+    /**
+     * 重置 flow 上下文，以便复用
+     * <pre>
+     *     see {@link PooledFlowContextFactory}
+     *
+     *     如果开发者自定义了 FlowContext 的子类并添加了成员属性，需要重写该方法来重置这些属性，
+     *     并调用 super.reset()
+     * </pre>
+     *
+     * @since 21.23
+     */
+    protected void reset() {
+        Arrays.fill(this.slots, null);
+        if (Objects.nonNull(this.options)) {
+            this.options.clear();
+        }
+
+        this.barSkeleton = null;
+        this.actionCommand = null;
+        this.actionController = null;
+        this.request = null;
+        this.response = null;
+        this.methodParams = null;
+        this.methodResult = null;
+        this.error = false;
+        this.executeActionAfter = true;
+        this.inOutStartTime = 0;
+        this.inOutTime = 0;
+        this.retained = false;
+    }
+
     /**
      * 设置响应结果
      *
@@ -38,4 +38,16 @@ public interface FlowContextFactory {
      * @return FlowContext
      */
     FlowContext createFlowContext();
+
+    /**
+     * 回收业务框架 flow 上下文，在业务框架处理完这次请求后调用
+     * <pre>
+     *     默认不做任何处理，see {@link PooledFlowContextFactory}
+     * </pre>
+     *
+     * @param flowContext flowContext
+     * @since 21.23
+     */
+    default void recycle(FlowContext flowContext) {
+    }
 }
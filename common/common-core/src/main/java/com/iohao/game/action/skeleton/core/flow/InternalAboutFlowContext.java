@@ -26,6 +26,7 @@ import com.iohao.game.action.skeleton.eventbus.EventBus;
 import com.iohao.game.action.skeleton.eventbus.EventBusMessage;
 import com.iohao.game.action.skeleton.i18n.Bundle;
 import com.iohao.game.action.skeleton.i18n.MessageKey;
+import com.iohao.game.action.skeleton.kit.ExecutorSelectEnum;
 import com.iohao.game.action.skeleton.kit.ExecutorSelectKit;
 import com.iohao.game.action.skeleton.protocol.HeadMetadata;
 import com.iohao.game.action.skeleton.protocol.RequestMessage;
@@ -441,7 +442,9 @@ interface SimpleCommunicationInvokeModuleCollect extends SimpleCommunication {
      * @return CompletableFuture ResponseCollectMessage
      */
     default CompletableFuture<ResponseCollectMessage> invokeModuleCollectMessageFuture(RequestMessage requestMessage) {
-        return this.supplyAsync(() -> this.invokeModuleCollectMessage(requestMessage));
+        // 调用期间不会占用线程
+        var invokeModuleContext = this.getInvokeModuleContext();
+        return invokeModuleContext.invokeModuleCollectMessageFuture(requestMessage);
     }
 
     /**
@@ -1217,7 +1220,9 @@ interface SimpleCommunicationInvokeModule extends SimpleCommunication {
      * @return CompletableFuture ResponseMessage
      */
     default CompletableFuture<ResponseMessage> invokeModuleMessageFuture(RequestMessage requestMessage) {
-        return this.supplyAsync(() -> this.invokeModuleMessage(requestMessage));
+        // 调用期间不会占用线程
+        var invokeModuleContext = this.getInvokeModuleContext();
+        return invokeModuleContext.invokeModuleMessageFuture(requestMessage);
     }
 
     /**
@@ -1472,7 +1477,7 @@ interface SimpleExecutor extends SimpleCommon {
      * @return 虚拟线程执行器
      */
     default Executor getVirtualExecutor() {
-        return this.getVirtualThreadExecutor().executor();
+        return this.getVirtualThreadExecutor();
     }
 
     /**
@@ -1496,18 +1501,29 @@ interface SimpleExecutor extends SimpleCommon {
      * @return 用户线程执行器
      */
     default Executor getExecutor() {
-        return getThreadExecutor().executor();
+        return getThreadExecutor();
     }
 
     /**
      * 玩家对应的用户线程执行器 ThreadExecutor，该执行器也是消费 action 的执行器
+     * <pre>
+     *     如果 action 配置了线程执行器亲和性（ExecutorAffinity），返回的是执行 action 的线程执行器（如房间对应的线程执行器），
+     *     这样 execute、async 回调等后续任务与 action 在同一个线程执行器中执行，不需要加锁。
+     * </pre>
      *
      * @return 用户线程执行器 ThreadExecutor
      * @since 21.17
      */
     default ThreadExecutor getThreadExecutor() {
-        // 得到用户对应的用户线程执行器
         var headMetadata = this.getHeadMetadata();
+
+        // 执行 action 的线程执行器，see ExecutorSelectKit.processLogic
+        ThreadExecutor threadExecutor = this.option(FlowAttr.threadExecutor);
+        if (Objects.nonNull(threadExecutor) && headMetadata.getExecutorSelect() != ExecutorSelectEnum.userVirtualExecutor) {
+            return threadExecutor;
+        }
+
+        // 得到用户对应的用户线程执行器
         var executorIndex = ExecutorSelectKit.getExecutorIndex(headMetadata);
 
         var executorRegion = this.getExecutorRegion();
@@ -0,0 +1,98 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.action.skeleton.core.flow;
+
+import org.jctools.queues.MpmcArrayQueue;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 可回收复用 FlowContext 的工厂
+ * <pre>
+ *     默认情况下，每个请求都会创建一个新的 FlowContext；使用该工厂后，
+ *     业务框架处理完请求后（see BarSkeleton#handle），会将 FlowContext 重置并放回池中，供后续的请求复用。
+ *
+ *     FlowContext 通常在网络线程中创建，在用户线程执行器中处理完成，创建与回收不在同一个线程，
+ *     所以这里使用的是有界的多生产者多消费者无锁队列。池满时，回收的 FlowContext 交由 GC 处理；池为空时，创建新的 FlowContext。
+ * </pre>
+ * 注意事项
+ * <pre>
+ *     业务框架处理完请求后，不能再持有、使用 FlowContext。
+ *     框架内置的异步方法（如 execute、executeVirtual、xxxAsync、xxxFuture 等）会自动将 FlowContext 标记为不可回收；
+ *     开发者自行将 flowContext 交给其他线程使用时，需要调用 {@link FlowContext#retain()}。
+ *
+ *     如果开发者自定义了 FlowContext 的子类并添加了成员属性，需要重写 {@link FlowContext#reset()}。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * BarSkeletonBuilder builder = ...;
+ * builder.setFlowContextFactory(new PooledFlowContextFactory());
+ *
+ * // 自定义的 FlowContext
+ * builder.setFlowContextFactory(new PooledFlowContextFactory(MyFlowContext::new, 1024));
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public final class PooledFlowContextFactory implements FlowContextFactory {
+    final Supplier<? extends FlowContext> flowContextSupplier;
+    final MpmcArrayQueue<FlowContext> pool;
+
+    public PooledFlowContextFactory() {
+        this(FlowContext::new, 4096);
+    }
+
+    /**
+     * @param flowContextSupplier FlowContext 的创建方式
+     * @param capacity            池的容量
+     */
+    public PooledFlowContextFactory(Supplier<? extends FlowContext> flowContextSupplier, int capacity) {
+        this.flowContextSupplier = Objects.requireNonNull(flowContextSupplier);
+        this.pool = new MpmcArrayQueue<>(capacity);
+    }
+
+    @Override
+    public FlowContext createFlowContext() {
+        var flowContext = this.pool.relaxedPoll();
+        return Objects.nonNull(flowContext) ? flowContext : this.flowContextSupplier.get();
+    }
+
+    @Override
+    public void recycle(FlowContext flowContext) {
+        // 被交给了其他线程使用的 flowContext 不能复用
+        if (flowContext.isRetained()) {
+            return;
+        }
+
+        flowContext.reset();
+        this.pool.relaxedOffer(flowContext);
+    }
+
+    /**
+     * 池中可复用的 FlowContext 数量
+     *
+     * @return 数量
+     */
+    public int size() {
+        return this.pool.size();
+    }
+}
@@ -28,6 +28,8 @@ import com.iohao.game.common.kit.concurrent.executor.ThreadExecutor;
  * flow 上下文的一些扩展属性
  * <pre>
  *     参考 {@link FlowContext}
+ *
+ *     这些属性在 FlowContext 中有固定的槽位，新增属性时需要同步调整 {@link FlowOption#SLOT_SIZE}
  * </pre>
  *
  * @author 渔民小镇
@@ -35,18 +37,18 @@ import com.iohao.game.common.kit.concurrent.executor.ThreadExecutor;
  */
 public interface FlowAttr {
     /** 异常消息 */
-    FlowOption<String> msgException = FlowOption.valueOf("msgException");
+    FlowOption<String> msgException = FlowOption.valueOf("msgException", 0);
     /** 当前项目启动的服务上下文（当前服务器），see: BrokerClient */
-    FlowOption<BrokerClientContext> brokerClientContext = FlowOption.valueOf("brokerClientContext");
-    FlowOption<CommunicationAggregationContext> aggregationContext = FlowOption.valueOf("aggregationContext");
+    FlowOption<BrokerClientContext> brokerClientContext = FlowOption.valueOf("brokerClientContext", 1);
+    FlowOption<CommunicationAggregationContext> aggregationContext = FlowOption.valueOf("aggregationContext", 2);
     /** 通信通道接口 */
-    FlowOption<ChannelContext> channelContext = FlowOption.valueOf("channelContext");
+    FlowOption<ChannelContext> channelContext = FlowOption.valueOf("channelContext", 3);
     /** 逻辑服 id */
-    FlowOption<String> logicServerId = FlowOption.valueOf("logicServerId");
+    FlowOption<String> logicServerId = FlowOption.valueOf("logicServerId", 4);
     /** 逻辑服 tag 类型 */
-    FlowOption<String> logicServerTag = FlowOption.valueOf("logicServerTag");
+    FlowOption<String> logicServerTag = FlowOption.valueOf("logicServerTag", 5);
     /** action 中的业务参数 */
-    FlowOption<Object> actionBizParam = FlowOption.valueOf("actionBizParam");
+    FlowOption<Object> actionBizParam = FlowOption.valueOf("actionBizParam", 6);
     /** 当前线程执行器 */
-    FlowOption<ThreadExecutor> threadExecutor = FlowOption.valueOf("threadExecutor");
+    FlowOption<ThreadExecutor> threadExecutor = FlowOption.valueOf("threadExecutor", 7);
 }
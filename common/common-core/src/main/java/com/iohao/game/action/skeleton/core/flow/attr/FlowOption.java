@@ -18,14 +18,145 @@
  */
 package com.iohao.game.action.skeleton.core.flow.attr;
 
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * FlowOption
+ * <pre>
+ *     框架内置的属性（see {@link FlowAttr}）有固定的槽位，FlowContext 会将这些属性保存在数组中，
+ *     开发者自定义的属性没有槽位，会保存在 map 中。
+ *
+ *     属性只按属性名来判断是否相等；与内置属性同名的属性（如 FlowOption.valueOf("threadExecutor")）使用内置属性的槽位，
+ *     因此通过任意一个设置的值，另一个都能取到。
+ * </pre>
  *
  * @author 渔民小镇
  * @date 2022-03-15
  */
-public record FlowOption<T>(String name) {
+public final class FlowOption<T> {
+    /** 框架内置属性的槽位数量 */
+    public static final int SLOT_SIZE = 8;
+    /** 没有槽位 */
+    static final int NONE_SLOT = -1;
+
+    /** 属性名 */
+    final String name;
+    /** 槽位下标，-1 表示没有槽位 */
+    final int slot;
+
+    public FlowOption(String name) {
+        this(name, BuiltinOptionHolder.slotOf(name));
+    }
+
+    private FlowOption(String name, int slot) {
+        this.name = Objects.requireNonNull(name);
+        this.slot = slot;
+    }
+
+    @SuppressWarnings("unchecked")
     public static <T> FlowOption<T> valueOf(String name) {
-        return new FlowOption<>(name);
+        // 与内置属性同名时，返回内置属性
+        FlowOption<?> option = BuiltinOptionHolder.optionMap.get(name);
+        return Objects.nonNull(option) ? (FlowOption<T>) option : new FlowOption<>(name);
+    }
+
+    /**
+     * 框架内置属性，有固定的槽位；属性名与槽位不能与其他内置属性重复
+     *
+     * @param name 属性名
+     * @param slot 槽位下标，需要小于 {@link #SLOT_SIZE}
+     * @param <T>  t
+     * @return FlowOption
+     * @since 21.23
+     */
+    static <T> FlowOption<T> valueOf(String name, int slot) {
+        if (slot < 0 || slot >= SLOT_SIZE) {
+            throw new IllegalArgumentException("FlowOption slot [%d] out of range [0, %d)".formatted(slot, SLOT_SIZE));
+        }
+
+        return new FlowOption<>(name, slot);
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * 槽位下标
+     *
+     * @return 槽位下标，-1 表示没有槽位
+     * @since 21.23
+     */
+    public int slot() {
+        return this.slot;
+    }
+
+    /**
+     * 是否有槽位
+     *
+     * @return true 框架内置属性，有固定的槽位
+     * @since 21.23
+     */
+    public boolean hasSlot() {
+        return this.slot != NONE_SLOT;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof FlowOption<?> that && this.name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FlowOption[name=" + this.name + "]";
+    }
+
+    /**
+     * 框架内置属性（see {@link FlowAttr}），属性名与槽位都不能重复
+     */
+    private static final class BuiltinOptionHolder {
+        /** 属性名 - 内置属性 */
+        static final Map<String, FlowOption<?>> optionMap = createOptionMap();
+
+        static int slotOf(String name) {
+            FlowOption<?> option = optionMap.get(name);
+            return Objects.isNull(option) ? NONE_SLOT : option.slot;
+        }
+
+        private static Map<String, FlowOption<?>> createOptionMap() {
+            Map<String, FlowOption<?>> map = new HashMap<>();
+            FlowOption<?>[] slotOptions = new FlowOption<?>[SLOT_SIZE];
+
+            for (Field field : FlowAttr.class.getFields()) {
+                if (!(getValue(field) instanceof FlowOption<?> option) || !option.hasSlot()) {
+                    continue;
+                }
+
+                if (map.containsKey(option.name) || Objects.nonNull(slotOptions[option.slot])) {
+                    throw new IllegalStateException("FlowAttr duplicate name or slot : " + option);
+                }
+
+                map.put(option.name, option);
+                slotOptions[option.slot] = option;
+            }
+
+            return Map.copyOf(map);
+        }
+
+        private static Object getValue(Field field) {
+            try {
+                return field.get(null);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.action.skeleton.core.flow.internal;
+
+/**
+ * action 方法的直接调用器
+ * <pre>
+ *     由 {@link DirectActionMethodInvoke} 在业务框架构建时为每个 action 生成一个实现类（hidden class），
+ *     实现类中是对 action 方法类型明确的直接调用，JIT 可以将 action 方法内联到调用器中。
+ *
+ *     生成的实现类与 action 类在同一个包中，所以该接口需要是 public 的。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@FunctionalInterface
+public interface ActionMethodDirectInvoker {
+    /**
+     * 调用 action 方法
+     *
+     * @param controller action 对象
+     * @param params     action 方法参数
+     * @return action 方法的返回值，void 方法返回 null
+     */
+    Object invoke(Object controller, Object[] params);
+}
@@ -0,0 +1,177 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.action.skeleton.core.flow.internal;
+
+import com.esotericsoftware.asm.ClassWriter;
+import com.esotericsoftware.asm.MethodVisitor;
+import com.esotericsoftware.asm.Opcodes;
+import com.esotericsoftware.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 生成 action 方法的直接调用器
+ * <pre>
+ *     为每个 action 方法生成一个实现了 {@link ActionMethodDirectInvoker} 的 hidden class，字节码相当于
+ *
+ *     public Object invoke(Object controller, Object[] params) {
+ *         return ((BeeAction) controller).hello((BeeApple) params[0], ((Integer) params[1]).intValue());
+ *     }
+ *
+ *     每个 action 都有各自的实现类，action 方法的调用点只有一个目标，JIT 可以内联。
+ *     字节码使用 reflectasm 自带的 asm 生成，不引入新的依赖。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+final class ActionMethodDirectInvokerGenerator implements Opcodes {
+    static final String INVOKER_NAME = Type.getInternalName(ActionMethodDirectInvoker.class);
+    static final String INVOKE_DESCRIPTOR = "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+    private ActionMethodDirectInvokerGenerator() {
+    }
+
+    /**
+     * 为 action 方法生成直接调用器
+     *
+     * @param method action 方法
+     * @return 直接调用器；无法生成时返回 null，此时应回退到 reflectasm 的调用方式
+     * @throws ReflectiveOperationException 定义或创建调用器失败
+     */
+    static ActionMethodDirectInvoker create(Method method) throws ReflectiveOperationException {
+        Class<?> owner = method.getDeclaringClass();
+        // 私有方法与接口中的方法不做处理，reflectasm 同样不支持私有方法
+        if (Modifier.isPrivate(method.getModifiers()) || owner.isInterface()) {
+            return null;
+        }
+
+        // 调用器定义在 action 类所在的包中，可以访问包级别的 action 类与方法
+        var lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+
+        // 参数类型与返回值类型需要能被调用器访问，否则在调用时才会出现链接错误
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            accessClass(lookup, parameterType);
+        }
+        accessClass(lookup, method.getReturnType());
+
+        byte[] bytes = generate(method);
+        Class<?> invokerClass = lookup.defineHiddenClass(bytes, true).lookupClass();
+        return (ActionMethodDirectInvoker) invokerClass.getDeclaredConstructor().newInstance();
+    }
+
+    private static void accessClass(MethodHandles.Lookup lookup, Class<?> clazz) throws IllegalAccessException {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+
+        if (!clazz.isPrimitive()) {
+            lookup.accessClass(clazz);
+        }
+    }
+
+    private static byte[] generate(Method method) {
+        Class<?> owner = method.getDeclaringClass();
+        String ownerName = Type.getInternalName(owner);
+        // hidden class 的名字需要与 action 类在同一个包中，JVM 会在名字后面加上唯一的后缀
+        String className = ownerName + "$$DirectInvoker";
+
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC
+                , className, null, "java/lang/Object", new String[]{INVOKER_NAME});
+
+        // 构造方法
+        MethodVisitor mv = classWriter.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // invoke 方法，没有分支，不需要 StackMapTable
+        mv = classWriter.visitMethod(ACC_PUBLIC, "invoke", INVOKE_DESCRIPTOR, null, null);
+        mv.visitCode();
+
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        if (!isStatic) {
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, ownerName);
+        }
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitLdcInsn(i);
+            mv.visitInsn(AALOAD);
+            unbox(mv, Type.getType(parameterTypes[i]));
+        }
+
+        mv.visitMethodInsn(isStatic ? INVOKESTATIC : INVOKEVIRTUAL
+                , ownerName, method.getName(), Type.getMethodDescriptor(method), false);
+
+        box(mv, Type.getType(method.getReturnType()));
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static void unbox(MethodVisitor mv, Type type) {
+        String wrapperName = wrapperName(type);
+        if (wrapperName == null) {
+            mv.visitTypeInsn(CHECKCAST, type.getSort() == Type.ARRAY ? type.getDescriptor() : type.getInternalName());
+            return;
+        }
+
+        mv.visitTypeInsn(CHECKCAST, wrapperName);
+        mv.visitMethodInsn(INVOKEVIRTUAL, wrapperName, type.getClassName() + "Value", "()" + type.getDescriptor(), false);
+    }
+
+    private static void box(MethodVisitor mv, Type type) {
+        if (type.getSort() == Type.VOID) {
+            mv.visitInsn(ACONST_NULL);
+            return;
+        }
+
+        String wrapperName = wrapperName(type);
+        if (wrapperName != null) {
+            mv.visitMethodInsn(INVOKESTATIC, wrapperName, "valueOf", "(" + type.getDescriptor() + ")L" + wrapperName + ";", false);
+        }
+    }
+
+    private static String wrapperName(Type type) {
+        return switch (type.getSort()) {
+            case Type.BOOLEAN -> "java/lang/Boolean";
+            case Type.BYTE -> "java/lang/Byte";
+            case Type.CHAR -> "java/lang/Character";
+            case Type.SHORT -> "java/lang/Short";
+            case Type.INT -> "java/lang/Integer";
+            case Type.FLOAT -> "java/lang/Float";
+            case Type.LONG -> "java/lang/Long";
+            case Type.DOUBLE -> "java/lang/Double";
+            default -> null;
+        };
+    }
+}
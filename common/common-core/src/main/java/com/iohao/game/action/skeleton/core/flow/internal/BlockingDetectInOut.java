@@ -0,0 +1,278 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.action.skeleton.core.flow.internal;
+
+import com.iohao.game.action.skeleton.core.ActionCommand;
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.core.CmdKit;
+import com.iohao.game.action.skeleton.core.flow.ActionMethodInOut;
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.action.skeleton.core.flow.attr.FlowOption;
+import com.iohao.game.common.kit.MoreKit;
+import lombok.Getter;
+import lombok.Setter;
+import org.jctools.maps.NonBlockingHashMap;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 业务框架插件 - 阻塞 action 检测插件
+ * <pre>
+ *     统计 action 执行时的耗时（墙钟时间）与 cpu 时间，每 windowSize 次执行评估一次：
+ *     平均耗时不小于 blockingNanos，并且 cpu 时间占比小于 cpuRatio 时，表示 action 大部分时间在等待（DB、网络等 io 操作），
+ *     将 action 标记为阻塞的（{@link ActionCommand#setBlocking(boolean)}）。
+ *
+ *     被标记为阻塞的 action 会从用户线程转交给虚拟线程执行，避免阻塞同一用户线程上的其他玩家；同一玩家的请求仍然按顺序执行。
+ *
+ *     1. 每个 action 的前 warmUpCount 次执行不参与评估，避免类加载、JIT 编译等冷启动耗时造成误判。
+ *     2. 被标记为阻塞的 action 继续按耗时评估（在虚拟线程中执行时无法获取 cpu 时间），
+ *        平均耗时小于 blockingNanos * unblockingRatio 时，恢复为非阻塞的；两个阈值之间的差距可以避免状态来回切换。
+ *     3. 异步 action（返回 CompletableFuture）的耗时跨越多个线程，不参与评估。
+ *
+ *     非阻塞的 action 在虚拟线程中执行时（如请求指定了虚拟线程执行器），无法获取 cpu 时间，这些样本只统计耗时，不参与评估。
+ * </pre>
+ * <p>
+ * for example
+ * <pre>{@code
+ * BarSkeletonBuilder builder = ...;
+ * // 阻塞 action 检测插件，将插件添加到业务框架中
+ * var blockingDetectInOut = new BlockingDetectInOut();
+ * builder.addInOut(blockingDetectInOut);
+ *
+ * // 被判定为阻塞的 action
+ * List<BlockingDetectInOut.BlockingStat> list = blockingDetectInOut.getRegion().listBlocking();
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Getter
+public final class BlockingDetectInOut implements ActionMethodInOut {
+    static final FlowOption<long[]> startOption = FlowOption.valueOf("blockingDetectStart");
+    static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    /** 统计域 */
+    final BlockingStatRegion region = new BlockingStatRegion();
+    /** 被判定为阻塞的次数 */
+    final LongAdder reclassifiedCount = new LongAdder();
+    /** 从阻塞恢复为非阻塞的次数 */
+    final LongAdder restoredCount = new LongAdder();
+    /** 每个 action 预热的执行次数，预热期间的样本不参与评估 */
+    @Setter
+    int warmUpCount = 64;
+    /** 每 windowSize 次执行评估一次 */
+    @Setter
+    int windowSize = 64;
+    /** 平均耗时阈值，默认 2ms */
+    @Setter
+    long blockingNanos = TimeUnit.MILLISECONDS.toNanos(2);
+    /** cpu 时间占比阈值 */
+    @Setter
+    double cpuRatio = 0.25;
+    /** 阻塞的 action 平均耗时小于 blockingNanos * unblockingRatio 时，恢复为非阻塞的 */
+    @Setter
+    double unblockingRatio = 0.5;
+
+    @Override
+    public void fuckIn(FlowContext flowContext) {
+        ActionCommand actionCommand = flowContext.getActionCommand();
+        if (Objects.nonNull(actionCommand) && actionCommand.getActionMethodReturnInfo().isAsync()) {
+            // 异步 action 的耗时跨越多个线程，不参与评估
+            return;
+        }
+
+        long[] start = {System.nanoTime(), currentThreadCpuTime()};
+        flowContext.option(startOption, start);
+    }
+
+    @Override
+    public void fuckOut(FlowContext flowContext) {
+        long[] start = flowContext.option(startOption);
+        if (Objects.isNull(start)) {
+            return;
+        }
+
+        long wallNanos = System.nanoTime() - start[0];
+        long cpuNanos = start[1] < 0 ? -1 : currentThreadCpuTime() - start[1];
+
+        BlockingStat stat = this.region.getBlockingStat(flowContext.getCmdInfo());
+        if (!stat.update(wallNanos, cpuNanos)) {
+            return;
+        }
+
+        ActionCommand actionCommand = flowContext.getActionCommand();
+        if (Objects.isNull(actionCommand)) {
+            return;
+        }
+
+        boolean blocking = stat.blocking;
+        actionCommand.setBlocking(blocking);
+
+        if (blocking) {
+            this.reclassifiedCount.increment();
+        } else {
+            this.restoredCount.increment();
+        }
+    }
+
+    private static long currentThreadCpuTime() {
+        // 虚拟线程返回 -1
+        return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    /** 阻塞 action 检测插件 - 统计域，管理所有 BlockingStat 统计记录 */
+    public final class BlockingStatRegion {
+        final Map<CmdInfo, BlockingStat> map = new NonBlockingHashMap<>();
+
+        public BlockingStat getBlockingStat(CmdInfo cmdInfo) {
+            BlockingStat stat = this.map.get(cmdInfo);
+
+            // 无锁化
+            if (Objects.isNull(stat)) {
+                var newValue = new BlockingStat(cmdInfo);
+                return MoreKit.putIfAbsent(this.map, cmdInfo, newValue);
+            }
+
+            return stat;
+        }
+
+        /**
+         * 被判定为阻塞的 action 统计记录
+         *
+         * @return 统计记录
+         */
+        public List<BlockingStat> listBlocking() {
+            return this.map.values().stream()
+                    .filter(BlockingStat::isBlocking)
+                    .toList();
+        }
+
+        public List<BlockingStat> list() {
+            return List.copyOf(this.map.values());
+        }
+    }
+
+    /** 阻塞 action 检测插件 - action 统计记录，与 action 是对应关系 1:1 */
+    @Getter
+    public final class BlockingStat {
+        final CmdInfo cmdInfo;
+        /** action 执行次数 */
+        final LongAdder executeCount = new LongAdder();
+        /** 总耗时（纳秒） */
+        final LongAdder totalWallNanos = new LongAdder();
+        /** 总 cpu 时间（纳秒），只包含能获取 cpu 时间的样本 */
+        final LongAdder totalCpuNanos = new LongAdder();
+        /** true 表示已被判定为阻塞的 */
+        volatile boolean blocking;
+
+        /** 预热期间的执行次数 */
+        int warmUpCount;
+        /** 当前评估窗口内的样本 */
+        int windowCount;
+        long windowWallNanos;
+        long windowCpuNanos;
+
+        private BlockingStat(CmdInfo cmdInfo) {
+            this.cmdInfo = cmdInfo;
+        }
+
+        /**
+         * 更新统计
+         *
+         * @param wallNanos 耗时
+         * @param cpuNanos  cpu 时间，-1 表示无法获取
+         * @return true 表示本次评估改变了 action 的阻塞状态
+         */
+        private boolean update(long wallNanos, long cpuNanos) {
+            this.executeCount.increment();
+            this.totalWallNanos.add(wallNanos);
+
+            if (cpuNanos >= 0) {
+                this.totalCpuNanos.add(cpuNanos);
+            }
+
+            BlockingDetectInOut detect = BlockingDetectInOut.this;
+
+            synchronized (this) {
+                if (this.warmUpCount < detect.warmUpCount) {
+                    this.warmUpCount++;
+                    return false;
+                }
+
+                boolean blocking = this.blocking;
+                if (!blocking && cpuNanos < 0) {
+                    // 非阻塞的 action 需要 cpu 时间来评估
+                    return false;
+                }
+
+                this.windowCount++;
+                this.windowWallNanos += wallNanos;
+                this.windowCpuNanos += Math.max(cpuNanos, 0);
+
+                if (this.windowCount < detect.windowSize) {
+                    return false;
+                }
+
+                long avgWallNanos = this.windowWallNanos / this.windowCount;
+                double ratio = this.windowWallNanos == 0 ? 1 : (double) this.windowCpuNanos / this.windowWallNanos;
+
+                this.windowCount = 0;
+                this.windowWallNanos = 0;
+                this.windowCpuNanos = 0;
+
+                if (blocking) {
+                    // 阻塞的 action 在虚拟线程中执行，只按耗时评估
+                    if (avgWallNanos < detect.blockingNanos * detect.unblockingRatio) {
+                        this.blocking = false;
+                        return true;
+                    }
+
+                    return false;
+                }
+
+                if (avgWallNanos >= detect.blockingNanos && ratio < detect.cpuRatio) {
+                    this.blocking = true;
+                    return true;
+                }
+
+                return false;
+            }
+        }
+
+        @Override
+        public String toString() {
+            long count = this.executeCount.sum();
+            long avgWallNanos = count == 0 ? 0 : this.totalWallNanos.sum() / count;
+
+            return String.format("BlockingStat{cmd[%s], 执行[%d]次, 平均耗时[%d]us, 阻塞[%s]}"
+                    , CmdKit.toString(this.cmdInfo.getCmdMerge())
+                    , count
+                    , TimeUnit.NANOSECONDS.toMicros(avgWallNanos)
+                    , this.blocking
+            );
+        }
+    }
+}
@@ -71,7 +71,7 @@ public final class DefaultActionMethodResultWrap implements ActionMethodResultWr
         Object methodResult = paramParser.parseResult(actionMethodReturnInfo, result);
         flowContext.setMethodResult(methodResult);
 
-        // 将 action （业务方法返回值），保存到响应对象中
-        responseMessage.setData(methodResult);
+        // 将 action （业务方法返回值），保存到响应对象中；使用 action 构建时预先解析好的编解码器
+        responseMessage.setData(methodResult, actionMethodReturnInfo);
     }
 }
@@ -0,0 +1,100 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.action.skeleton.core.flow.internal;
+
+import com.iohao.game.action.skeleton.core.ActionCommand;
+import com.iohao.game.action.skeleton.core.action.parser.ActionParserContext;
+import com.iohao.game.action.skeleton.core.action.parser.ActionParserListener;
+import com.iohao.game.action.skeleton.core.flow.ActionMethodExceptionProcess;
+import com.iohao.game.action.skeleton.core.flow.ActionMethodInvoke;
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.common.consts.IoGameLogName;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+
+/**
+ * flow - 直接调用 action 方法的 ActionMethodInvoke
+ * <pre>
+ *     {@link DefaultActionMethodInvoke} 通过 reflectasm MethodAccess 来调用 action，
+ *     参数装在 Object[] 中，每次调用还会经过方法下标的 switch。
+ *
+ *     DirectActionMethodInvoke 会在业务框架构建时，为每个 action 生成专属的直接调用器（hidden class），
+ *     see {@link ActionMethodDirectInvoker}。调用器内部是对 action 方法类型明确的直接调用，JIT 可以将 action 方法内联到调用器中。
+ *
+ *     无法生成调用器的 action（如私有方法、参数类型无法访问），会回退到 reflectasm 的调用方式。
+ *
+ *     注意，reflectasm 的 MethodAccess 同样是生成的直接调用，在基准测试中（see benchmark 模块 ActionMethodInvokeBenchmark）
+ *     两者端到端的差异在误差范围内；多个 action 交替调用时，调用器的接口调用是多态的，反而比 reflectasm 慢，
+ *     所以框架默认仍然使用 {@link DefaultActionMethodInvoke}。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * BarSkeletonBuilder builder = ...;
+ * builder.setActionMethodInvoke(new DirectActionMethodInvoke());
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Slf4j(topic = IoGameLogName.CommonStdout)
+public final class DirectActionMethodInvoke implements ActionMethodInvoke, ActionParserListener {
+
+    @Override
+    public Object invoke(final FlowContext flowContext) {
+        final var actionCommand = flowContext.getActionCommand();
+        final Object controller = flowContext.getActionController();
+        final var params = flowContext.getMethodParams();
+
+        try {
+            var directInvoker = actionCommand.getActionMethodDirectInvoker();
+            if (Objects.nonNull(directInvoker)) {
+                // 直接调用开发者在 action 类中编写的业务方法
+                return directInvoker.invoke(controller, params);
+            }
+
+            // 回退到 reflectasm 的调用方式
+            var actionMethodIndex = actionCommand.getActionMethodIndex();
+            var actionMethodAccess = actionCommand.getActionMethodAccess();
+            return actionMethodAccess.invoke(controller, actionMethodIndex, params);
+        } catch (Throwable e) {
+            // true 业务方法有异常
+            flowContext.setError(true);
+
+            // 异常处理
+            var barSkeleton = flowContext.getBarSkeleton();
+            ActionMethodExceptionProcess exceptionProcess = barSkeleton.getActionMethodExceptionProcess();
+            // 把业务方法抛出的异常,交由异常处理类来处理
+            return exceptionProcess.processException(e);
+        }
+    }
+
+    @Override
+    public void onActionCommand(ActionParserContext context) {
+        ActionCommand actionCommand = context.getActionCommand();
+
+        try {
+            var directInvoker = ActionMethodDirectInvokerGenerator.create(actionCommand.getActionMethod());
+            actionCommand.setActionMethodDirectInvoker(directInvoker);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("{} 无法生成直接调用器，使用 reflectasm 调用 : {}", actionCommand.getCmdInfo(), e.getMessage());
+        }
+    }
+}
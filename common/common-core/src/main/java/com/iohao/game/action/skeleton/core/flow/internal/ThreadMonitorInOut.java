@@ -25,9 +25,11 @@ import com.iohao.game.action.skeleton.i18n.Bundle;
 import com.iohao.game.action.skeleton.i18n.MessageKey;
 import com.iohao.game.common.kit.MoreKit;
 import com.iohao.game.common.kit.concurrent.executor.ThreadExecutor;
+import com.iohao.game.common.kit.concurrent.executor.ThreadExecutorStat;
 import lombok.Getter;
 import org.jctools.maps.NonBlockingHashMap;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -103,6 +105,24 @@ public final class ThreadMonitorInOut implements ActionMethodInOut {
             this.getStatThread(threadExecutor).increment(time);
         }
 
+        /**
+         * 已监控业务线程的运行统计快照：排队等待耗时、执行耗时、积压任务数
+         * <pre>
+         *     排队等待耗时指的是请求进入业务线程后，等待执行的时间；高延迟通常来源于此。
+         * </pre>
+         *
+         * @return 运行统计快照列表（按业务线程名排序）
+         * @since 21.23
+         */
+        public List<ThreadExecutorStat.Snapshot> listStatSnapshot() {
+            return new TreeMap<>(this.map).values()
+                    .stream()
+                    .filter(ThreadMonitor::notEmpty)
+                    .map(ThreadMonitor::getStatSnapshot)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+
         public void forEach(Consumer<ThreadMonitor> action) {
             this.map.values()
                     .stream()
@@ -163,6 +183,16 @@ public final class ThreadMonitorInOut implements ActionMethodInOut {
                     .orElse(0);
         }
 
+        /**
+         * 业务线程的运行统计快照：排队等待耗时、执行耗时、积压任务数
+         *
+         * @return 运行统计快照，executor 为 null 时返回 null
+         * @since 21.23
+         */
+        public ThreadExecutorStat.Snapshot getStatSnapshot() {
+            return Objects.isNull(this.executor) ? null : this.executor.stat().snapshot();
+        }
+
         /** 业务线程[%s] 共执行了 %s 次业务，平均耗时 %d ms, 剩余 %d 个任务未执行 */
         private static final String threadMonitorInOutThreadMonitor = Bundle.getMessage(MessageKey.threadMonitorInOutThreadMonitor);
 
@@ -48,7 +48,7 @@ final class BoolValueMethodParser implements MethodParser {
                 return Collections.emptyList();
             }
 
-            var valueList = DataCodecKit.decode(data, BoolValueList.class);
+            var valueList = DataCodecKit.<BoolValueList>decode(data, paramInfo);
             return valueList.values;
         }
 
@@ -56,7 +56,7 @@ final class BoolValueMethodParser implements MethodParser {
             return false;
         }
 
-        BoolValue boolValue = DataCodecKit.decode(data, BoolValue.class);
+        BoolValue boolValue = DataCodecKit.<BoolValue>decode(data, paramInfo);
         return boolValue.value;
     }
 
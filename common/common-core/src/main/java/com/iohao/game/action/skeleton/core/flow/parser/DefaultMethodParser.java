@@ -56,7 +56,7 @@ class DefaultMethodParser implements MethodParser {
             }
 
             return byteValueList.values.stream()
-                    .map(bytes -> DataCodecKit.decode(bytes, actualTypeArgumentClazz))
+                    .map(bytes -> DataCodecKit.decode(bytes, paramInfo))
                     .toList();
         }
 
@@ -68,7 +68,7 @@ class DefaultMethodParser implements MethodParser {
             }
         }
 
-        return DataCodecKit.decode(data, actualTypeArgumentClazz);
+        return DataCodecKit.decode(data, paramInfo);
     }
 
     @Override
@@ -81,7 +81,7 @@ class DefaultMethodParser implements MethodParser {
 
             ByteValueList byteValueList = new ByteValueList();
             byteValueList.values = list.stream()
-                    .map(DataCodecKit::encode)
+                    .map(o -> DataCodecKit.encode(o, actionMethodReturnInfo))
                     .collect(Collectors.toList());
 
             return byteValueList;
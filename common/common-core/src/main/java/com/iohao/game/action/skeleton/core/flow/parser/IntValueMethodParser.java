@@ -49,7 +49,7 @@ final class IntValueMethodParser implements MethodParser {
                 return Collections.emptyList();
             }
 
-            var valueList = DataCodecKit.decode(data, IntValueList.class);
+            var valueList = DataCodecKit.<IntValueList>decode(data, paramInfo);
             return valueList.values;
         }
 
@@ -57,7 +57,7 @@ final class IntValueMethodParser implements MethodParser {
             return 0;
         }
 
-        var intValue = DataCodecKit.decode(data, IntValue.class);
+        var intValue = DataCodecKit.<IntValue>decode(data, paramInfo);
         return intValue.value;
     }
 
@@ -48,7 +48,7 @@ final class LongValueMethodParser implements MethodParser {
                 return Collections.emptyList();
             }
 
-            var valueList = DataCodecKit.decode(data, LongValueList.class);
+            var valueList = DataCodecKit.<LongValueList>decode(data, paramInfo);
             return valueList.values;
         }
 
@@ -56,7 +56,7 @@ final class LongValueMethodParser implements MethodParser {
             return 0L;
         }
 
-        var longValue = DataCodecKit.decode(data, LongValue.class);
+        var longValue = DataCodecKit.<LongValue>decode(data, paramInfo);
         return longValue.value;
     }
 
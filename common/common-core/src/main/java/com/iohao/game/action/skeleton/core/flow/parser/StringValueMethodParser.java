@@ -46,7 +46,7 @@ final class StringValueMethodParser implements MethodParser {
                 return Collections.emptyList();
             }
 
-            StringValueList valueList = DataCodecKit.decode(data, StringValueList.class);
+            StringValueList valueList = DataCodecKit.decode(data, paramInfo);
             return valueList.values;
         }
 
@@ -54,7 +54,7 @@ final class StringValueMethodParser implements MethodParser {
             return null;
         }
 
-        StringValue stringValue = DataCodecKit.decode(data, StringValue.class);
+        StringValue stringValue = DataCodecKit.decode(data, paramInfo);
         return stringValue.value;
     }
 
@@ -18,16 +18,29 @@
  */
 package com.iohao.game.action.skeleton.kit;
 
+import com.iohao.game.action.skeleton.core.AffinityKeyExtractor;
 import com.iohao.game.action.skeleton.core.BarSkeleton;
+import com.iohao.game.action.skeleton.core.exception.ActionErrorEnum;
 import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.action.skeleton.core.flow.FlowContextKit;
 import com.iohao.game.action.skeleton.core.flow.attr.FlowAttr;
 import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.common.kit.ByteKit;
+import com.iohao.game.common.kit.ExecutorKit;
+import com.iohao.game.common.kit.MoreKit;
 import com.iohao.game.common.kit.concurrent.executor.ExecutorRegion;
+import com.iohao.game.common.kit.concurrent.executor.MailboxThreadExecutorRegion;
 import com.iohao.game.common.kit.concurrent.executor.ThreadExecutor;
 import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jctools.maps.NonBlockingHashMap;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 线程执行器相关工具
@@ -35,18 +48,31 @@ import java.util.Optional;
  * @author 渔民小镇
  * @date 2023-12-19
  */
+@Slf4j
 @UtilityClass
 public class ExecutorSelectKit {
+    /** key : cmdMerge, value : 因业务线程繁忙被拒绝的请求数 */
+    final Map<Integer, LongAdder> rejectedMap = new NonBlockingHashMap<>();
+    /** 阻塞 action 转交给虚拟线程执行的次数 */
+    final LongAdder handOffCount = new LongAdder();
+    /** 阻塞邮箱：每个玩家拥有独立的邮箱，邮箱中的任务在虚拟线程中串行执行；第一次转交时创建 */
+    volatile MailboxThreadExecutorRegion blockingRegion;
+
     /**
      * 执行业务框架 （执行 action）
+     * <pre>
+     *     当玩家对应的业务线程积压的任务数达到容量上限时，请求不会被执行，
+     *     而是通过 ActionAfter 直接响应 {@link ActionErrorEnum#busy} 错误码给请求端。
+     * </pre>
      *
      * @param barSkeleton 业务框架
      * @param flowContext flowContext
-     * @return true 表示请求被执行
+     * @return true 表示请求被执行（或因业务线程繁忙被拒绝）
      */
     public boolean processLogic(BarSkeleton barSkeleton, FlowContext flowContext) {
-        HeadMetadata headMetadata = flowContext.getHeadMetadata();
-        final ThreadExecutor threadExecutor = getThreadExecutor(barSkeleton, headMetadata);
+        final HeadMetadata headMetadata = flowContext.getHeadMetadata();
+        final long executorIndex = getExecutorIndex(barSkeleton, flowContext);
+        final ThreadExecutor threadExecutor = getThreadExecutor(barSkeleton, headMetadata, executorIndex);
 
         if (Objects.isNull(threadExecutor)) {
             return false;
@@ -54,17 +80,136 @@ public class ExecutorSelectKit {
 
         flowContext.option(FlowAttr.threadExecutor, threadExecutor);
 
+        // 用户线程中执行的 action，如果是阻塞的，会转交给虚拟线程执行
+        boolean userExecutor = headMetadata.getExecutorSelect() != ExecutorSelectEnum.userVirtualExecutor;
+
         // 使用单例的 ThreadExecutorRegion 来处理，即使在同一进程中启动了多个逻辑服，也不会创建过多线程执行器，而是使用同一个。
-        threadExecutor.execute(() -> {
-            // 在当前线程执行器中执行业务框架
-            barSkeleton.handle(flowContext);
-        });
+        boolean execute = threadExecutor.tryExecute(userExecutor
+                // 在当前线程执行器中执行业务框架
+                ? () -> handle(barSkeleton, flowContext, executorIndex)
+                : () -> barSkeleton.handle(flowContext)
+        );
+
+        if (!execute) {
+            rejectBusy(barSkeleton, flowContext);
+        }
 
         return true;
     }
 
-    private ThreadExecutor getThreadExecutor(BarSkeleton barSkeleton, HeadMetadata headMetadata) {
-        final long executorIndex = getExecutorIndex(headMetadata);
+    private void rejectBusy(BarSkeleton barSkeleton, FlowContext flowContext) {
+        int cmdMerge = flowContext.getHeadMetadata().getCmdMerge();
+        getRejectedCounter(cmdMerge).increment();
+
+        try {
+            FlowContextKit.employ(flowContext);
+            flowContext.getResponse().setError(ActionErrorEnum.busy);
+            // 直接响应错误码给请求端
+            barSkeleton.getActionAfter().execute(flowContext);
+        } catch (Throwable e) {
+            log.error(e.getMessage(), e);
+        } finally {
+            // 请求没有进入业务框架，在这里回收 flow 上下文。see BarSkeleton.handle
+            barSkeleton.getFlowContextFactory().recycle(flowContext);
+        }
+    }
+
+    private LongAdder getRejectedCounter(int cmdMerge) {
+        LongAdder counter = rejectedMap.get(cmdMerge);
+
+        // 无锁化
+        if (Objects.isNull(counter)) {
+            return MoreKit.putIfAbsent(rejectedMap, cmdMerge, new LongAdder());
+        }
+
+        return counter;
+    }
+
+    /**
+     * 因业务线程繁忙被拒绝的请求数
+     *
+     * @param cmdMerge 路由
+     * @return 被拒绝的请求数
+     * @since 21.23
+     */
+    public long countRejected(int cmdMerge) {
+        LongAdder counter = rejectedMap.get(cmdMerge);
+        return Objects.isNull(counter) ? 0 : counter.sum();
+    }
+
+    /**
+     * 各路由因业务线程繁忙被拒绝的请求数
+     *
+     * @return key : cmdMerge, value : 被拒绝的请求数
+     * @since 21.23
+     */
+    public Map<Integer, Long> statRejected() {
+        Map<Integer, Long> map = new TreeMap<>();
+        rejectedMap.forEach((cmdMerge, counter) -> map.put(cmdMerge, counter.sum()));
+        return map;
+    }
+
+    /**
+     * 在用户线程中执行业务框架，阻塞的 action 转交给虚拟线程执行
+     * <pre>
+     *     转交的判断在用户线程中按请求顺序进行：
+     *     1. action 是阻塞的，转交给玩家的阻塞邮箱（虚拟线程中串行执行）。
+     *     2. 玩家的阻塞邮箱中还有未执行完成的任务时，非阻塞的 action 也要转交，排在其后执行，以保证同一玩家的请求顺序。
+     *     3. 阻塞邮箱中的任务都执行完成后，后续的请求回到用户线程中执行。
+     *
+     *     转交后 flowContext 的线程执行器（FlowAttr.threadExecutor）指向阻塞邮箱，
+     *     flowContext.execute、async 回调等后续任务也在阻塞邮箱中执行，不会与用户线程同时处理该玩家的任务。
+     * </pre>
+     */
+    private void handle(BarSkeleton barSkeleton, FlowContext flowContext, long executorIndex) {
+        if (needHandOff(flowContext, executorIndex)) {
+            handOffCount.increment();
+            ThreadExecutor blockingExecutor = getBlockingRegion().getThreadExecutor(executorIndex);
+            flowContext.option(FlowAttr.threadExecutor, blockingExecutor);
+            blockingExecutor.execute(() -> barSkeleton.handle(flowContext));
+            return;
+        }
+
+        barSkeleton.handle(flowContext);
+    }
+
+    private boolean needHandOff(FlowContext flowContext, long executorIndex) {
+        var actionCommand = flowContext.getActionCommand();
+        if (Objects.nonNull(actionCommand) && actionCommand.isBlocking()) {
+            return true;
+        }
+
+        var region = blockingRegion;
+        return Objects.nonNull(region) && region.countInFlight(executorIndex) > 0;
+    }
+
+    private MailboxThreadExecutorRegion getBlockingRegion() {
+        var region = blockingRegion;
+        if (Objects.nonNull(region)) {
+            return region;
+        }
+
+        synchronized (ExecutorSelectKit.class) {
+            if (Objects.isNull(blockingRegion)) {
+                var carrier = ExecutorKit.newVirtualExecutor("UserBlocking-");
+                blockingRegion = new MailboxThreadExecutorRegion("UserBlocking", carrier, 16, TimeUnit.MINUTES.toMillis(1));
+            }
+
+            return blockingRegion;
+        }
+    }
+
+    /**
+     * 阻塞 action 转交给虚拟线程执行的次数
+     *
+     * @return 转交次数
+     * @since 21.23
+     */
+    public long countHandOff() {
+        return handOffCount.sum();
+    }
+
+    private ThreadExecutor getThreadExecutor(BarSkeleton barSkeleton, HeadMetadata headMetadata, long executorIndex) {
         final ExecutorRegion executorRegion = barSkeleton.getExecutorRegion();
 
         final ExecutorSelectEnum executorSelect = headMetadata.getExecutorSelect();
@@ -77,6 +222,63 @@ public class ExecutorSelectKit {
         };
     }
 
+    /**
+     * 获取线程执行器的 index
+     * <pre>
+     *     如果 action 配置了线程执行器亲和性（ExecutorAffinity），会在这里提前解析 action 的业务参数，
+     *     并使用业务参数中指定属性的值作为 index；解析后的参数会保存到 flowContext 中，不会重复解析。
+     *
+     *     否则使用 {@link #getExecutorIndex(HeadMetadata)} 的规则。
+     * </pre>
+     *
+     * @param barSkeleton 业务框架
+     * @param flowContext flowContext
+     * @return 线程执行器的 index
+     * @since 21.23
+     */
+    public long getExecutorIndex(BarSkeleton barSkeleton, FlowContext flowContext) {
+        var actionCommand = flowContext.getActionCommand();
+        if (Objects.nonNull(actionCommand) && Objects.nonNull(actionCommand.getAffinityKeyExtractor())) {
+            long affinityKey = getAffinityKey(barSkeleton, flowContext, actionCommand.getAffinityKeyExtractor());
+            if (affinityKey != AffinityKeyExtractor.NONE) {
+                return affinityKey;
+            }
+        }
+
+        return getExecutorIndex(flowContext.getHeadMetadata());
+    }
+
+    private long getAffinityKey(BarSkeleton barSkeleton, FlowContext flowContext, AffinityKeyExtractor extractor) {
+        try {
+            var paramParser = barSkeleton.getActionMethodParamParser();
+            var params = paramParser.listParam(flowContext);
+            flowContext.setMethodParams(params);
+
+            Object param = flowContext.option(FlowAttr.actionBizParam);
+            return extractor.extract(param);
+        } catch (Throwable e) {
+            // 解析失败时，交给业务框架在线程执行器中重新解析并处理
+            flowContext.setMethodParams(null);
+            return AffinityKeyExtractor.NONE;
+        }
+    }
+
+    /**
+     * 设置线程执行器亲和性 key 到元信息中
+     * <pre>
+     *     请求端（如游戏对外服的插件、访问房间逻辑服的其他逻辑服）如果知道实体 key（如 roomId），
+     *     可以在发送请求前设置，使接收端逻辑服的网络层线程（UserProcessorExecutorSelectorStrategy）
+     *     与 action 的线程执行器使用同一个 key 来选择。
+     * </pre>
+     *
+     * @param headMetadata 元信息
+     * @param affinityKey  实体 key，不能是负数
+     * @since 21.23
+     */
+    public void setAffinityKey(HeadMetadata headMetadata, long affinityKey) {
+        headMetadata.setUserProcessorExecutorSelectorBytes(ByteKit.toBytes(affinityKey));
+    }
+
     public long getExecutorIndex(HeadMetadata headMetadata) {
         var userId = headMetadata.getUserId();
         if (userId != 0) {
@@ -18,6 +18,7 @@
  */
 package com.iohao.game.action.skeleton.protocol;
 
+import com.iohao.game.action.skeleton.core.ActionCommand;
 import com.iohao.game.action.skeleton.core.DataCodecKit;
 import com.iohao.game.action.skeleton.core.codec.DataSelfEncode;
 import com.iohao.game.action.skeleton.core.exception.MsgExceptionInfo;
@@ -82,6 +83,30 @@ public abstract sealed class BarMessage implements Serializable permits RequestM
         return this.setData(bytes);
     }
 
+    /**
+     * 设置 action 的返回值，编码时使用 action 构建时预先解析好的编解码器
+     *
+     * @param data            action 的返回值（已经过 MethodParser 处理）
+     * @param paramResultInfo action 返回值信息
+     * @return this
+     * @since 21.23
+     */
+    public BarMessage setData(Object data, ActionCommand.MethodParamResultInfo paramResultInfo) {
+        if (Objects.isNull(data)) {
+            return this.setData(CommonConst.emptyBytes);
+        }
+
+        // 保存一下业务数据的 class
+        this.dataClass = data.getClass().getName();
+
+        if (data instanceof DataSelfEncode dataSelfEncode) {
+            return this.setData(dataSelfEncode.getEncodeData());
+        }
+
+        byte[] bytes = DataCodecKit.encode(data, paramResultInfo);
+        return this.setData(bytes);
+    }
+
     /**
      * 设置验证的错误信息
      *
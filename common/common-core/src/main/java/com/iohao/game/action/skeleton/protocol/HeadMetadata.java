@@ -170,6 +170,14 @@ public final class HeadMetadata implements Serializable {
     /** 原始的游戏对外服协议引用（开发者可自定义，这里会保存一个引用，方便特殊业务获取） */
     @Ignore
     transient Object externalMessage;
+    /**
+     * 框架自用字段。Broker（游戏网关）透传转发时保存的原始消息帧，只解析了路由相关的字段
+     *
+     * @since 21.23
+     */
+    @Ignore
+    @ToString.Exclude
+    transient byte[] passThroughFrame;
 
     public HeadMetadata setCmdInfo(CmdInfo cmdInfo) {
         this.cmdMerge = cmdInfo.getCmdMerge();
@@ -53,4 +53,23 @@ public class RequestCollectMessage implements Serializable {
     @Serial
     private static final long serialVersionUID = 4271692369352579162L;
     RequestMessage requestMessage;
+    /**
+     * 每个逻辑服的响应期限（毫秒），0 表示使用默认的消息发送超时时间
+     * <pre>
+     *     期限到了还没有响应的逻辑服不再等待，返回已收到的部分结果，
+     *     一个较慢的逻辑服不会拖慢整个请求。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    int deadlineMillis;
+    /**
+     * 收到 completeCount 个有数据的结果后提前完成，不再等待其他逻辑服；0 表示等待所有逻辑服
+     * <pre>
+     *     如设置为 1，表示只需要第一个有数据的结果。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    int completeCount;
 }
@@ -18,6 +18,7 @@
  */
 package com.iohao.game.action.skeleton.protocol.collect;
 
+import com.iohao.game.action.skeleton.core.exception.ActionErrorEnum;
 import com.iohao.game.action.skeleton.core.exception.MsgExceptionInfo;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -29,6 +30,7 @@ import lombok.experimental.FieldDefaults;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 模块之间的访问，访问【同类型】的多个逻辑服
@@ -63,6 +65,24 @@ public class ResponseCollectMessage implements Serializable {
     int statusCode;
     /** 错误信息 */
     String statusMes;
+    /**
+     * 每个逻辑服的响应状态
+     * <pre>
+     *     key : 逻辑服 id
+     *     value : 状态码，0 表示成功；超时为 {@link ActionErrorEnum#timeout}
+     *
+     *     请求提前完成时，还没有响应的逻辑服不在其中。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    Map<String, Integer> logicServerStatusMap;
+    /**
+     * true 表示部分结果，有逻辑服超时或请求提前完成（see RequestCollectMessage#completeCount）
+     *
+     * @since 21.23
+     */
+    boolean partial;
 
     public ResponseCollectMessage setError(MsgExceptionInfo msgExceptionInfo) {
         this.statusCode = msgExceptionInfo.getCode();
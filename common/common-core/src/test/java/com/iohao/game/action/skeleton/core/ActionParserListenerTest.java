@@ -40,6 +40,29 @@ public class ActionParserListenerTest {
         log.info("l : {}", System.currentTimeMillis() - l);
     }
 
+    @Test
+    public void protoCodec() {
+        // action 构建时，预先解析好参数与返回值的编解码器
+        var actionCommand = barSkeleton.getActionCommandRegions()
+                .getActionCommand(ExampleActionCmd.BeeActionCmd.cmd, ExampleActionCmd.BeeActionCmd.hello);
+
+        var paramInfo = actionCommand.getParamInfos()[0];
+        Assert.assertNotNull(paramInfo.getProtoCodec());
+
+        var actionMethodReturnInfo = actionCommand.getActionMethodReturnInfo();
+        Assert.assertNotNull(actionMethodReturnInfo.getProtoCodec());
+
+        // 使用预先解析好的编解码器编解码
+        var bizData = new BeeApple();
+        bizData.content = "a";
+
+        byte[] bytes = DataCodecKit.encode(bizData, actionMethodReturnInfo);
+        Assert.assertArrayEquals(DataCodecKit.encode(bizData), bytes);
+
+        BeeApple decode = DataCodecKit.decode(bytes, paramInfo);
+        Assert.assertEquals(bizData.content, decode.content);
+    }
+
     private void extractedBeeHello() {
         var bizData = new BeeApple();
         bizData.content = "a";
@@ -0,0 +1,175 @@
+package com.iohao.game.action.skeleton.core;
+
+import com.iohao.game.action.skeleton.annotation.ActionController;
+import com.iohao.game.action.skeleton.annotation.ActionMethod;
+import com.iohao.game.action.skeleton.core.data.TestDataKit;
+import com.iohao.game.action.skeleton.core.exception.ActionErrorEnum;
+import com.iohao.game.action.skeleton.core.exception.MsgException;
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.action.skeleton.core.flow.FlowContextKit;
+import com.iohao.game.action.skeleton.core.flow.attr.FlowAttr;
+import com.iohao.game.action.skeleton.kit.ExecutorSelectKit;
+import com.iohao.game.action.skeleton.protocol.wrapper.StringValue;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class AsyncActionTest {
+    static final long userId = 1;
+    static CompletableFuture<String> future;
+
+    BarSkeleton barSkeleton;
+    CountDownLatch latch;
+    final AtomicReference<FlowContext> afterFlowContext = new AtomicReference<>();
+    final AtomicReference<String> afterThreadName = new AtomicReference<>();
+
+    @Before
+    public void setUp() {
+        this.latch = new CountDownLatch(1);
+
+        var builder = BarSkeleton.newBuilder();
+        builder.getSetting().setPrint(false);
+        builder.addActionController(AsyncAction.class);
+        builder.setActionAfter(flowContext -> {
+            this.afterFlowContext.set(flowContext);
+            this.afterThreadName.set(Thread.currentThread().getName());
+            this.latch.countDown();
+        });
+
+        this.barSkeleton = builder.build();
+    }
+
+    @Test
+    public void returnInfo() {
+        var actionCommand = this.barSkeleton.getActionCommandRegions().getActionCommand(CmdKit.merge(AsyncAction.cmd, AsyncAction.hello));
+        var returnInfo = actionCommand.getActionMethodReturnInfo();
+
+        // 返回值类型取 CompletableFuture 的泛型
+        Assert.assertTrue(returnInfo.isAsync());
+        Assert.assertEquals(String.class, returnInfo.getReturnTypeClazz());
+        Assert.assertFalse(returnInfo.isVoid());
+    }
+
+    @Test
+    public void suspend() throws InterruptedException {
+        future = new CompletableFuture<>();
+
+        var flowContext = this.ofFlowContext(AsyncAction.hello);
+        Assert.assertTrue(ExecutorSelectKit.processLogic(this.barSkeleton, flowContext));
+
+        // future 未完成，不会执行 ActionAfter
+        Assert.assertFalse(this.latch.await(100, TimeUnit.MILLISECONDS));
+
+        String threadName = this.afterThreadName.get();
+        Assert.assertNull(threadName);
+
+        // 在其他线程中完成 future，回到玩家所在的线程中继续
+        Thread.ofVirtual().start(() -> future.complete("hello"));
+        Assert.assertTrue(this.latch.await(5, TimeUnit.SECONDS));
+
+        // processLogic 中选择的线程执行器
+        var threadExecutor = flowContext.option(FlowAttr.threadExecutor);
+        Assert.assertEquals(threadExecutor.name(), this.afterThreadName.get());
+
+        FlowContext context = this.afterFlowContext.get();
+        Assert.assertFalse(context.getResponse().hasError());
+        StringValue stringValue = (StringValue) context.getMethodResult();
+        Assert.assertEquals("hello", stringValue.value);
+    }
+
+    @Test
+    public void completed() {
+        future = CompletableFuture.completedFuture("done");
+
+        // 已完成的 future，在当前线程中继续
+        this.barSkeleton.handle(this.ofFlowContext(AsyncAction.hello));
+        Assert.assertEquals(0, this.latch.getCount());
+        Assert.assertEquals(Thread.currentThread().getName(), this.afterThreadName.get());
+
+        StringValue stringValue = (StringValue) this.afterFlowContext.get().getMethodResult();
+        Assert.assertEquals("done", stringValue.value);
+    }
+
+    @Test
+    public void exceptionally() throws InterruptedException {
+        future = new CompletableFuture<>();
+
+        this.barSkeleton.handle(this.ofFlowContext(AsyncAction.hello));
+        future.completeExceptionally(new MsgException(ActionErrorEnum.dataNotExist));
+
+        Assert.assertTrue(this.latch.await(5, TimeUnit.SECONDS));
+
+        FlowContext context = this.afterFlowContext.get();
+        Assert.assertTrue(context.isError());
+        Assert.assertEquals(ActionErrorEnum.dataNotExist.getCode(), context.getResponse().getResponseStatus());
+    }
+
+    @Test
+    public void timeout() throws InterruptedException {
+        // future 一直没有完成
+        future = new CompletableFuture<>();
+
+        var builder = BarSkeleton.newBuilder();
+        builder.getSetting().setPrint(false);
+        builder.getSetting().setAsyncActionTimeoutMillis(50);
+        builder.addActionController(AsyncAction.class);
+        builder.setActionAfter(flowContext -> {
+            this.afterFlowContext.set(flowContext);
+            this.latch.countDown();
+        });
+        this.barSkeleton = builder.build();
+
+        this.barSkeleton.handle(this.ofFlowContext(AsyncAction.hello));
+
+        // 超时后响应错误码，action 返回的 future 不受影响
+        Assert.assertTrue(this.latch.await(5, TimeUnit.SECONDS));
+        FlowContext context = this.afterFlowContext.get();
+        Assert.assertTrue(context.isError());
+        Assert.assertEquals(ActionErrorEnum.timeout.getCode(), context.getResponse().getResponseStatus());
+        Assert.assertFalse(future.isDone());
+    }
+
+    @Test
+    public void asyncVoid() {
+        future = CompletableFuture.completedFuture("void");
+
+        this.barSkeleton.handle(this.ofFlowContext(AsyncAction.none));
+        Assert.assertEquals(0, this.latch.getCount());
+        Assert.assertNull(this.afterFlowContext.get().getResponse().getData());
+    }
+
+    private FlowContext ofFlowContext(int subCmd) {
+        FlowContext flowContext = TestDataKit.ofFlowContext(CmdInfo.of(AsyncAction.cmd, subCmd));
+        flowContext.setBarSkeleton(this.barSkeleton);
+        flowContext.getHeadMetadata().setUserId(userId);
+        FlowContextKit.employ(flowContext);
+        return flowContext;
+    }
+
+    @ActionController(AsyncAction.cmd)
+    public static class AsyncAction {
+        static final int cmd = 92;
+        static final int hello = 1;
+        static final int none = 2;
+
+        @ActionMethod(hello)
+        public CompletableFuture<String> hello() {
+            return future;
+        }
+
+        @ActionMethod(none)
+        public CompletableFuture<Void> none() {
+            return future.thenAccept(s -> {
+            });
+        }
+    }
+}
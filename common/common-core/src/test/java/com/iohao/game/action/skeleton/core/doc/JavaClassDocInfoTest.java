@@ -0,0 +1,84 @@
+package com.iohao.game.action.skeleton.core.doc;
+
+import com.thoughtworks.qdox.JavaProjectBuilder;
+import com.thoughtworks.qdox.model.JavaClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class JavaClassDocInfoTest {
+
+    @Test
+    public void methodKey() throws NoSuchMethodException {
+        String source = """
+                package demo;
+
+                import java.util.List;
+                import java.util.concurrent.CompletableFuture;
+
+                public class AsyncAction {
+                    /** hello */
+                    public <T> CompletableFuture<T> hello(T t) {
+                        return null;
+                    }
+
+                    public <T extends Number> CompletableFuture<List<T>> list(T t, List<String> names, int[] values, Inner[] inners) {
+                        return null;
+                    }
+
+                    public CompletableFuture<Void> none(String... names) {
+                        return null;
+                    }
+
+                    public static class Inner {
+                    }
+                }
+                """;
+
+        JavaProjectBuilder builder = new JavaProjectBuilder();
+        builder.addSource(new StringReader(source));
+        JavaClass javaClass = builder.getClassByName("demo.AsyncAction");
+
+        // qdox 的 JavaMethod.toString 无法擦除没有上界的类型变量
+        var keys = javaClass.getMethods().stream().map(JavaClassDocInfo::methodKey).toList();
+        Assert.assertEquals(List.of(
+                "hello(java.lang.Object)",
+                "list(java.lang.Number,java.util.List,int[],demo.AsyncAction$Inner[])",
+                "none(java.lang.String[])"
+        ), keys);
+
+        var javaClassDocInfo = new JavaClassDocInfo(javaClass);
+        Assert.assertEquals(3, javaClassDocInfo.javaMethodMap.size());
+
+        // 与反射得到的 key 一致
+        Method hello = AsyncAction.class.getMethod("hello", Object.class);
+        Assert.assertEquals("hello(java.lang.Object)", JavaClassDocInfo.methodKey(hello));
+        Method none = AsyncAction.class.getMethod("none", String[].class);
+        Assert.assertEquals("none(java.lang.String[])", JavaClassDocInfo.methodKey(none));
+        Method list = AsyncAction.class.getMethod("list", Number.class, List.class, int[].class, AsyncAction[].class);
+        Assert.assertEquals("list(java.lang.Number,java.util.List,int[],com.iohao.game.action.skeleton.core.doc.JavaClassDocInfoTest$AsyncAction[])"
+                , JavaClassDocInfo.methodKey(list));
+    }
+
+    public static class AsyncAction {
+        public <T> CompletableFuture<T> hello(T t) {
+            return null;
+        }
+
+        public <T extends Number> CompletableFuture<List<T>> list(T t, List<String> names, int[] values, AsyncAction[] inners) {
+            return null;
+        }
+
+        public CompletableFuture<Void> none(String... names) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.iohao.game.action.skeleton.core.flow;
+
+import com.iohao.game.action.skeleton.core.BarMessageKit;
+import com.iohao.game.action.skeleton.core.BarSkeleton;
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.core.action.ExampleActionCmd;
+import com.iohao.game.action.skeleton.core.commumication.InvokeModuleContext;
+import com.iohao.game.action.skeleton.core.action.pojo.BeeApple;
+import com.iohao.game.action.skeleton.core.data.TestDataKit;
+import com.iohao.game.action.skeleton.core.flow.attr.FlowAttr;
+import com.iohao.game.action.skeleton.core.flow.attr.FlowOption;
+import com.iohao.game.action.skeleton.protocol.RequestMessage;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.action.skeleton.protocol.collect.ResponseCollectMessage;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class PooledFlowContextFactoryTest {
+    static final FlowOption<String> nameOption = FlowOption.valueOf("name");
+
+    PooledFlowContextFactory flowContextFactory;
+    BarSkeleton barSkeleton;
+
+    @Before
+    public void setUp() {
+        flowContextFactory = new PooledFlowContextFactory();
+
+        var builder = TestDataKit.createBuilder();
+        builder.setFlowContextFactory(flowContextFactory);
+        barSkeleton = builder.build();
+    }
+
+    @Test
+    public void recycle() {
+        var flowContext = createFlowContext();
+        flowContext.option(FlowAttr.logicServerId, "1");
+        flowContext.option(nameOption, "ioGame");
+
+        barSkeleton.handle(flowContext);
+        Assert.assertEquals(1, flowContextFactory.size());
+
+        // 复用，且属性已重置
+        var reuseFlowContext = flowContextFactory.createFlowContext();
+        Assert.assertSame(flowContext, reuseFlowContext);
+        Assert.assertEquals(0, flowContextFactory.size());
+
+        Assert.assertNull(reuseFlowContext.getRequest());
+        Assert.assertNull(reuseFlowContext.getResponse());
+        Assert.assertNull(reuseFlowContext.getActionCommand());
+        Assert.assertFalse(reuseFlowContext.hasOption(FlowAttr.logicServerId));
+        Assert.assertFalse(reuseFlowContext.hasOption(nameOption));
+        Assert.assertTrue(reuseFlowContext.isExecuteActionAfter());
+    }
+
+    @Test
+    public void retain() {
+        var flowContext = createFlowContext();
+        // 交给其他线程使用的 flowContext 不能复用
+        flowContext.retain();
+
+        barSkeleton.handle(flowContext);
+        Assert.assertEquals(0, flowContextFactory.size());
+        Assert.assertNotNull(flowContext.getRequest());
+    }
+
+    @Test
+    public void invokeModuleFuture() {
+        var invokeModuleContext = new FutureInvokeModuleContext();
+        flowContextFactory = new PooledFlowContextFactory(() -> new FlowContext() {
+            @Override
+            public InvokeModuleContext getInvokeModuleContext() {
+                return invokeModuleContext;
+            }
+        }, 16);
+
+        var builder = TestDataKit.createBuilder();
+        builder.setFlowContextFactory(flowContextFactory);
+        barSkeleton = builder.build();
+
+        // xxxFuture 的后续处理在 flow 结束后才使用 flowContext，flowContext 不能被回收复用
+        var flowContext = createFlowContext();
+        var requestMessage = flowContext.getRequest();
+        var messageFuture = flowContext.invokeModuleMessageFuture(requestMessage)
+                .thenApply(responseMessage -> flowContext.getRequest());
+        var collectFuture = flowContext.invokeModuleCollectMessageFuture(requestMessage)
+                .thenApply(responseCollectMessage -> flowContext.getRequest());
+
+        barSkeleton.handle(flowContext);
+        Assert.assertEquals(0, flowContextFactory.size());
+
+        invokeModuleContext.messageFuture.complete(new ResponseMessage());
+        invokeModuleContext.collectFuture.complete(new ResponseCollectMessage());
+        Assert.assertSame(requestMessage, messageFuture.join());
+        Assert.assertSame(requestMessage, collectFuture.join());
+    }
+
+    @Test
+    public void option() {
+        var flowContext = flowContextFactory.createFlowContext();
+
+        // 框架内置属性使用固定的槽位，不在 options 中
+        Assert.assertNull(flowContext.option(FlowAttr.logicServerTag, "tag"));
+        Assert.assertEquals("tag", flowContext.option(FlowAttr.logicServerTag, "tag2"));
+        Assert.assertEquals("tag2", flowContext.option(FlowAttr.logicServerTag));
+        Assert.assertTrue(flowContext.getOptions().isEmpty());
+
+        // 开发者自定义的属性
+        flowContext.option(nameOption, "ioGame");
+        Assert.assertEquals("ioGame", flowContext.option(nameOption));
+        Assert.assertEquals(1, flowContext.getOptions().size());
+
+        // null 用于删除
+        flowContext.option(FlowAttr.logicServerTag, null);
+        flowContext.option(nameOption, null);
+        Assert.assertFalse(flowContext.hasOption(FlowAttr.logicServerTag));
+        Assert.assertFalse(flowContext.hasOption(nameOption));
+    }
+
+    static class FutureInvokeModuleContext implements InvokeModuleContext {
+        final CompletableFuture<ResponseMessage> messageFuture = new CompletableFuture<>();
+        final CompletableFuture<ResponseCollectMessage> collectFuture = new CompletableFuture<>();
+
+        @Override
+        public void invokeModuleVoidMessage(RequestMessage requestMessage) {
+        }
+
+        @Override
+        public ResponseMessage invokeModuleMessage(RequestMessage requestMessage) {
+            return this.messageFuture.join();
+        }
+
+        @Override
+        public CompletableFuture<ResponseMessage> invokeModuleMessageFuture(RequestMessage requestMessage) {
+            return this.messageFuture;
+        }
+
+        @Override
+        public ResponseCollectMessage invokeModuleCollectMessage(RequestMessage requestMessage) {
+            return this.collectFuture.join();
+        }
+
+        @Override
+        public CompletableFuture<ResponseCollectMessage> invokeModuleCollectMessageFuture(RequestMessage requestMessage) {
+            return this.collectFuture;
+        }
+    }
+
+    private FlowContext createFlowContext() {
+        BeeApple beeApple = new BeeApple();
+        beeApple.setContent("hello");
+
+        var cmdInfo = CmdInfo.of(ExampleActionCmd.BeeActionCmd.cmd, ExampleActionCmd.BeeActionCmd.hello);
+        var flowContext = flowContextFactory.createFlowContext();
+        flowContext.setRequest(BarMessageKit.createRequestMessage(cmdInfo, beeApple));
+
+        return flowContext;
+    }
+}
@@ -0,0 +1,44 @@
+package com.iohao.game.action.skeleton.core.flow.attr;
+
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class FlowOptionTest {
+
+    @Test
+    public void equality() {
+        // 只按属性名判断是否相等
+        Assert.assertEquals(FlowOption.valueOf("userLevel"), new FlowOption<>("userLevel"));
+        Assert.assertEquals(FlowOption.valueOf("threadExecutor"), FlowAttr.threadExecutor);
+        Assert.assertEquals(FlowOption.valueOf("threadExecutor").hashCode(), FlowAttr.threadExecutor.hashCode());
+
+        Assert.assertTrue(FlowAttr.threadExecutor.hasSlot());
+        Assert.assertFalse(FlowOption.valueOf("userLevel").hasSlot());
+    }
+
+    @Test
+    public void builtinName() {
+        // 与内置属性同名时，使用内置属性的槽位
+        Assert.assertSame(FlowAttr.threadExecutor, FlowOption.valueOf("threadExecutor"));
+        Assert.assertEquals(FlowAttr.threadExecutor.slot(), new FlowOption<>("threadExecutor").slot());
+
+        var flowContext = new FlowContext();
+        flowContext.option(FlowOption.valueOf("logicServerId"), "logic-1");
+        Assert.assertEquals("logic-1", flowContext.option(FlowAttr.logicServerId));
+
+        flowContext.option(FlowAttr.logicServerTag, "tag-1");
+        Assert.assertEquals("tag-1", flowContext.option(new FlowOption<String>("logicServerTag")));
+    }
+
+    @Test
+    public void slot() {
+        Assert.assertEquals(FlowOption.SLOT_SIZE - 1, FlowAttr.threadExecutor.slot());
+        Assert.assertThrows(IllegalArgumentException.class, () -> FlowOption.valueOf("overflow", FlowOption.SLOT_SIZE));
+        Assert.assertThrows(IllegalArgumentException.class, () -> FlowOption.valueOf("negative", -1));
+    }
+}
@@ -0,0 +1,116 @@
+package com.iohao.game.action.skeleton.core.flow.internal;
+
+import com.iohao.game.action.skeleton.annotation.ActionController;
+import com.iohao.game.action.skeleton.annotation.ActionMethod;
+import com.iohao.game.action.skeleton.core.BarSkeleton;
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.core.action.ExampleActionCmd;
+import com.iohao.game.action.skeleton.core.data.TestDataKit;
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.action.skeleton.core.flow.FlowContextKit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@Slf4j
+public class BlockingDetectInOutTest {
+
+    @Test
+    public void reclassify() throws InterruptedException {
+        var builder = TestDataKit.createBuilder();
+        BarSkeleton barSkeleton = builder.build();
+
+        var blockingDetectInOut = new BlockingDetectInOut();
+        blockingDetectInOut.setWindowSize(4);
+        blockingDetectInOut.setWarmUpCount(4);
+        // 阈值设置得足够大，避免机器繁忙时误判
+        blockingDetectInOut.setBlockingNanos(TimeUnit.MILLISECONDS.toNanos(20));
+
+        CmdInfo cmdInfo = CmdInfo.of(ExampleActionCmd.BeeActionCmd.cmd, ExampleActionCmd.BeeActionCmd.test_void);
+        var actionCommand = barSkeleton.getActionCommandRegions().getActionCommand(cmdInfo.getCmdMerge());
+
+        try {
+            // 预热期间即使很慢，也不参与评估
+            this.execute(blockingDetectInOut, barSkeleton, cmdInfo, 4, 30);
+            Assert.assertFalse(actionCommand.isBlocking());
+
+            // 执行很快的 action，不会被判定为阻塞的
+            this.execute(blockingDetectInOut, barSkeleton, cmdInfo, 4, 0);
+            Assert.assertFalse(actionCommand.isBlocking());
+            Assert.assertTrue(blockingDetectInOut.getRegion().listBlocking().isEmpty());
+
+            // 大部分时间在等待的 action，被判定为阻塞的
+            this.execute(blockingDetectInOut, barSkeleton, cmdInfo, 4, 30);
+
+            log.info("region : {}", blockingDetectInOut.getRegion().list());
+            Assert.assertTrue(actionCommand.isBlocking());
+            Assert.assertEquals(1, blockingDetectInOut.getRegion().listBlocking().size());
+            Assert.assertEquals(1, blockingDetectInOut.getReclassifiedCount().sum());
+
+            // 耗时恢复正常后，恢复为非阻塞的
+            this.execute(blockingDetectInOut, barSkeleton, cmdInfo, 4, 0);
+            Assert.assertFalse(actionCommand.isBlocking());
+            Assert.assertTrue(blockingDetectInOut.getRegion().listBlocking().isEmpty());
+            Assert.assertEquals(1, blockingDetectInOut.getRestoredCount().sum());
+        } finally {
+            actionCommand.setBlocking(false);
+        }
+    }
+
+    @Test
+    public void skipAsync() throws InterruptedException {
+        var builder = BarSkeleton.newBuilder();
+        builder.getSetting().setPrint(false);
+        builder.addActionController(AsyncAction.class);
+        BarSkeleton barSkeleton = builder.build();
+
+        var blockingDetectInOut = new BlockingDetectInOut();
+        blockingDetectInOut.setWindowSize(4);
+        blockingDetectInOut.setWarmUpCount(0);
+
+        // 异步 action 的耗时跨越多个线程，不参与评估
+        CmdInfo cmdInfo = CmdInfo.of(AsyncAction.cmd, AsyncAction.hello);
+        this.execute(blockingDetectInOut, barSkeleton, cmdInfo, 4, 5);
+
+        var actionCommand = barSkeleton.getActionCommandRegions().getActionCommand(cmdInfo.getCmdMerge());
+        Assert.assertFalse(actionCommand.isBlocking());
+        Assert.assertTrue(blockingDetectInOut.getRegion().list().isEmpty());
+    }
+
+    private void execute(BlockingDetectInOut blockingDetectInOut, BarSkeleton barSkeleton, CmdInfo cmdInfo, int count, long sleepMillis) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            FlowContext flowContext = this.ofFlowContext(barSkeleton, cmdInfo);
+            blockingDetectInOut.fuckIn(flowContext);
+            if (sleepMillis > 0) {
+                TimeUnit.MILLISECONDS.sleep(sleepMillis);
+            }
+
+            blockingDetectInOut.fuckOut(flowContext);
+        }
+    }
+
+    private FlowContext ofFlowContext(BarSkeleton barSkeleton, CmdInfo cmdInfo) {
+        FlowContext flowContext = TestDataKit.ofFlowContext(cmdInfo);
+        flowContext.setBarSkeleton(barSkeleton);
+        FlowContextKit.employ(flowContext);
+        return flowContext;
+    }
+
+    @ActionController(AsyncAction.cmd)
+    public static class AsyncAction {
+        static final int cmd = 93;
+        static final int hello = 1;
+
+        @ActionMethod(hello)
+        public CompletableFuture<String> hello() {
+            return CompletableFuture.completedFuture("hello");
+        }
+    }
+}
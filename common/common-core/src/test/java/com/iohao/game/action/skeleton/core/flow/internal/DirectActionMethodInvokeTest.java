@@ -0,0 +1,91 @@
+package com.iohao.game.action.skeleton.core.flow.internal;
+
+import com.iohao.game.action.skeleton.core.ActionCommand;
+import com.iohao.game.action.skeleton.core.BarSkeleton;
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.core.action.BeeAction;
+import com.iohao.game.action.skeleton.core.action.ExampleActionCmd;
+import com.iohao.game.action.skeleton.core.action.WrapperIntAction;
+import com.iohao.game.action.skeleton.core.action.pojo.BeeApple;
+import com.iohao.game.action.skeleton.core.data.TestDataKit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class DirectActionMethodInvokeTest {
+    BarSkeleton barSkeleton;
+
+    @Before
+    public void setUp() {
+        var builder = TestDataKit.createBuilder();
+        builder.setActionMethodInvoke(new DirectActionMethodInvoke());
+        barSkeleton = builder.build();
+    }
+
+    @Test
+    public void invoke() {
+        var directInvoker = getDirectInvoker(ExampleActionCmd.BeeActionCmd.cmd, ExampleActionCmd.BeeActionCmd.hello);
+
+        BeeApple beeApple = new BeeApple();
+        beeApple.setContent("hello");
+
+        var result = directInvoker.invoke(new BeeAction(), new Object[]{beeApple});
+        Assert.assertTrue(result instanceof BeeApple);
+        Assert.assertEquals("hello，I'm hello", ((BeeApple) result).getContent());
+    }
+
+    @Test
+    public void invokeVoid() {
+        var directInvoker = getDirectInvoker(ExampleActionCmd.BeeActionCmd.cmd, ExampleActionCmd.BeeActionCmd.test_void);
+
+        BeeApple beeApple = new BeeApple();
+        beeApple.setContent("hello");
+
+        Assert.assertNull(directInvoker.invoke(new BeeAction(), new Object[]{beeApple}));
+    }
+
+    @Test
+    public void invokePrimitive() {
+        // 基础类型的参数拆箱，返回值装箱
+        int cmd = ExampleActionCmd.WrapperIntActionCmd.cmd;
+        var directInvoker = getDirectInvoker(cmd, ExampleActionCmd.WrapperIntActionCmd.int2Int);
+        Assert.assertEquals(2, directInvoker.invoke(new WrapperIntAction(), new Object[]{1}));
+    }
+
+    @Test
+    public void handle() {
+        // 通过业务框架处理请求，与 DefaultActionMethodInvoke 的结果一致
+        BeeApple beeApple = new BeeApple();
+        beeApple.setContent("hello");
+
+        var cmdInfo = CmdInfo.of(ExampleActionCmd.BeeActionCmd.cmd, ExampleActionCmd.BeeActionCmd.hello);
+        var flowContext = TestDataKit.ofFlowContext(cmdInfo, beeApple);
+        barSkeleton.handle(flowContext);
+
+        Assert.assertFalse(flowContext.isError());
+        Assert.assertNotNull(flowContext.getResponse().getData());
+    }
+
+    @Test
+    public void defaultInvoke() {
+        // 没有使用 DirectActionMethodInvoke 时，不会生成直接调用器
+        var barSkeleton = TestDataKit.createBuilder().build();
+        ActionCommand actionCommand = barSkeleton.getActionCommandRegions()
+                .getActionCommand(ExampleActionCmd.BeeActionCmd.cmd, ExampleActionCmd.BeeActionCmd.hello);
+
+        Assert.assertNull(actionCommand.getActionMethodDirectInvoker());
+    }
+
+    private ActionMethodDirectInvoker getDirectInvoker(int cmd, int subCmd) {
+        ActionCommand actionCommand = barSkeleton.getActionCommandRegions().getActionCommand(cmd, subCmd);
+        var directInvoker = actionCommand.getActionMethodDirectInvoker();
+        Assert.assertNotNull(directInvoker);
+        // 每个 action 都有各自的调用器实现类
+        Assert.assertTrue(directInvoker.getClass().isHidden());
+        return directInvoker;
+    }
+}
@@ -27,5 +27,6 @@ public class ThreadMonitorInOutTest {
         var region = threadMonitorInOut.getRegion();
         log.info("region : {}", region);
         Assert.assertEquals(region.map.size(), 1);
+        Assert.assertEquals(region.listStatSnapshot().size(), 1);
     }
 }
\ No newline at end of file
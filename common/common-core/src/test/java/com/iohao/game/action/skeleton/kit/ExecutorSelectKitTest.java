@@ -0,0 +1,216 @@
+package com.iohao.game.action.skeleton.kit;
+
+import com.baidu.bjf.remoting.protobuf.annotation.ProtobufClass;
+import com.iohao.game.action.skeleton.annotation.ActionController;
+import com.iohao.game.action.skeleton.annotation.ActionMethod;
+import com.iohao.game.action.skeleton.annotation.ExecutorAffinity;
+import com.iohao.game.action.skeleton.core.BarSkeleton;
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.core.action.ExampleActionCmd;
+import com.iohao.game.action.skeleton.core.data.TestDataKit;
+import com.iohao.game.action.skeleton.core.exception.ActionErrorEnum;
+import com.iohao.game.action.skeleton.core.flow.FlowContext;
+import com.iohao.game.action.skeleton.core.flow.FlowContextKit;
+import com.iohao.game.action.skeleton.core.flow.attr.FlowAttr;
+import com.iohao.game.common.kit.concurrent.executor.ExecutorRegionKit;
+import com.iohao.game.common.kit.concurrent.executor.MailboxThreadExecutorRegion;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class ExecutorSelectKitTest {
+    final long userId = 1;
+    final CmdInfo cmdInfo = CmdInfo.of(ExampleActionCmd.BeeActionCmd.cmd, ExampleActionCmd.BeeActionCmd.test_void);
+
+    @Test
+    public void processLogicBusy() throws InterruptedException {
+        AtomicInteger responseStatus = new AtomicInteger();
+
+        var builder = TestDataKit.createBuilder();
+        builder.setActionAfter(flowContext -> responseStatus.set(flowContext.getResponse().getResponseStatus()));
+        // 使用独立的线程执行器，容量上限不会影响其他测试
+        builder.setExecutorRegion(ExecutorRegionKit.createExecutorRegion());
+        BarSkeleton barSkeleton = builder.build();
+
+        var region = barSkeleton.getExecutorRegion().getUserThreadExecutorRegion();
+        region.setCapacity(1);
+
+        // 阻塞玩家对应的业务线程
+        var threadExecutor = region.getThreadExecutor(this.userId);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch blockLatch = new CountDownLatch(1);
+
+        try {
+            threadExecutor.execute(() -> {
+                startLatch.countDown();
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            Assert.assertTrue(startLatch.await(1, TimeUnit.SECONDS));
+
+            long rejected = ExecutorSelectKit.countRejected(this.cmdInfo.getCmdMerge());
+
+            // 容量为 1，第一个请求进入队列
+            Assert.assertTrue(ExecutorSelectKit.processLogic(barSkeleton, this.ofFlowContext(barSkeleton)));
+            Assert.assertEquals(0, responseStatus.get());
+
+            // 第二个请求被拒绝，直接响应 busy 错误码
+            Assert.assertTrue(ExecutorSelectKit.processLogic(barSkeleton, this.ofFlowContext(barSkeleton)));
+            Assert.assertEquals(ActionErrorEnum.busy.getCode(), responseStatus.get());
+            Assert.assertEquals(rejected + 1, ExecutorSelectKit.countRejected(this.cmdInfo.getCmdMerge()));
+            Assert.assertEquals(rejected + 1, (long) ExecutorSelectKit.statRejected().get(this.cmdInfo.getCmdMerge()));
+            Assert.assertEquals(1, threadExecutor.stat().snapshot().rejected());
+        } finally {
+            blockLatch.countDown();
+            region.setCapacity(0);
+        }
+    }
+
+    @Test
+    public void handOff() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+
+        var builder = TestDataKit.createBuilder();
+        builder.setActionAfter(flowContext -> {
+            threadName.set(Thread.currentThread().getName());
+            latch.countDown();
+        });
+        BarSkeleton barSkeleton = builder.build();
+
+        var actionCommand = barSkeleton.getActionCommandRegions().getActionCommand(this.cmdInfo.getCmdMerge());
+        actionCommand.setBlocking(true);
+
+        try {
+            long handOff = ExecutorSelectKit.countHandOff();
+
+            // 阻塞的 action 转交给虚拟线程执行
+            var flowContext = this.ofFlowContext(barSkeleton);
+            FlowContextKit.employ(flowContext);
+            Assert.assertTrue(ExecutorSelectKit.processLogic(barSkeleton, flowContext));
+
+            Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+            Assert.assertEquals(handOff + 1, ExecutorSelectKit.countHandOff());
+            Assert.assertTrue(threadName.get().startsWith("UserBlocking-"));
+
+            // 转交后，后续任务也在阻塞邮箱中执行
+            Assert.assertSame(flowContext.option(FlowAttr.threadExecutor), flowContext.getThreadExecutor());
+            Assert.assertTrue(flowContext.getThreadExecutor().name().startsWith("UserBlocking-"));
+        } finally {
+            actionCommand.setBlocking(false);
+        }
+    }
+
+    @Test
+    public void affinity() {
+        var builder = BarSkeleton.newBuilder();
+        builder.getSetting().setPrint(false);
+        builder.addActionController(RoomAction.class);
+        BarSkeleton barSkeleton = builder.build();
+
+        RoomReq roomReq = new RoomReq();
+        roomReq.roomId = 1001;
+        roomReq.name = "name";
+
+        // 使用 roomId 作为线程执行器的 index，而不是 userId
+        var flowContext = this.ofRoomFlowContext(barSkeleton, RoomAction.enter, roomReq);
+        Assert.assertEquals(1001, ExecutorSelectKit.getExecutorIndex(barSkeleton, flowContext));
+        // 业务参数已被提前解析
+        Assert.assertNotNull(flowContext.getMethodParams());
+
+        // 方法上的注解优先
+        flowContext = this.ofRoomFlowContext(barSkeleton, RoomAction.chat, roomReq);
+        Assert.assertEquals("name".hashCode(), ExecutorSelectKit.getExecutorIndex(barSkeleton, flowContext));
+
+        // 属性值为 null 时，使用 userId
+        roomReq.name = null;
+        flowContext = this.ofRoomFlowContext(barSkeleton, RoomAction.chat, roomReq);
+        Assert.assertEquals(this.userId, ExecutorSelectKit.getExecutorIndex(barSkeleton, flowContext));
+    }
+
+    @Test
+    public void affinityFollowUp() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+
+        var builder = BarSkeleton.newBuilder();
+        builder.getSetting().setPrint(false);
+        builder.addActionController(RoomAction.class);
+        // 每个 key 一个邮箱，可以区分任务是在哪个线程执行器中执行的
+        builder.setExecutorRegion(ExecutorRegionKit.createMailboxExecutorRegion());
+        builder.setActionAfter(flowContext -> {
+            // action 之后的任务
+            flowContext.execute(latch::countDown);
+            CompletableFuture.runAsync(() -> {
+            }).thenRunAsync(latch::countDown, flowContext.getExecutor());
+        });
+        BarSkeleton barSkeleton = builder.build();
+
+        RoomReq roomReq = new RoomReq();
+        roomReq.roomId = 1002;
+        var flowContext = this.ofRoomFlowContext(barSkeleton, RoomAction.enter, roomReq);
+        Assert.assertTrue(ExecutorSelectKit.processLogic(barSkeleton, flowContext));
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+
+        // 后续任务仍在亲和性 key（roomId）对应的线程执行器中执行，没有使用 userId 对应的线程执行器
+        var region = (MailboxThreadExecutorRegion) barSkeleton.getExecutorRegion().getUserThreadExecutorRegion();
+        var roomExecutor = region.getThreadExecutor(roomReq.roomId);
+        Assert.assertSame(roomExecutor, flowContext.getThreadExecutor());
+        Assert.assertEquals(1, region.countMailbox());
+        // action、execute、async 回调
+        Assert.assertEquals(3, roomExecutor.stat().getEnqueueCount().get());
+    }
+
+    private FlowContext ofRoomFlowContext(BarSkeleton barSkeleton, int subCmd, RoomReq roomReq) {
+        FlowContext flowContext = TestDataKit.ofFlowContext(CmdInfo.of(RoomAction.cmd, subCmd), roomReq);
+        flowContext.setBarSkeleton(barSkeleton);
+        flowContext.getHeadMetadata().setUserId(this.userId);
+        FlowContextKit.employ(flowContext);
+        return flowContext;
+    }
+
+    @ProtobufClass
+    @FieldDefaults(level = AccessLevel.PUBLIC)
+    public static class RoomReq {
+        long roomId;
+        String name;
+    }
+
+    @ActionController(RoomAction.cmd)
+    @ExecutorAffinity("roomId")
+    public static class RoomAction {
+        static final int cmd = 901;
+        static final int enter = 1;
+        static final int chat = 2;
+
+        @ActionMethod(enter)
+        public void enter(RoomReq roomReq) {
+        }
+
+        @ActionMethod(chat)
+        @ExecutorAffinity("name")
+        public void chat(RoomReq roomReq, FlowContext flowContext) {
+        }
+    }
+
+    private FlowContext ofFlowContext(BarSkeleton barSkeleton) {
+        FlowContext flowContext = TestDataKit.ofFlowContext(this.cmdInfo);
+        flowContext.setBarSkeleton(barSkeleton);
+        flowContext.getHeadMetadata().setUserId(this.userId);
+        return flowContext;
+    }
+}
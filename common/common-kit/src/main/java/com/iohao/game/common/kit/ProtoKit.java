@@ -51,6 +51,26 @@ public class ProtoKit {
         Class clazz = data.getClass();
         Codec<Object> codec = ProtobufProxy.create(clazz);
 
+        return toBytes(data, codec);
+    }
+
+    /**
+     * 使用指定的编解码器，将对象转为 pb 字节数组
+     * <pre>
+     *     适用于预先解析好编解码器的场景，省去每次通过 ProtobufProxy 查找编解码器的开销
+     * </pre>
+     *
+     * @param data  对象
+     * @param codec 对象类型对应的编解码器
+     * @return 字节数组 （一定不为null）
+     * @since 21.23
+     */
+    public byte[] toBytes(Object data, Codec<Object> codec) {
+
+        if (Objects.isNull(data)) {
+            return CommonConst.emptyBytes;
+        }
+
         try {
             return codec.encode(data);
         } catch (Throwable e) {
@@ -76,6 +96,27 @@ public class ProtoKit {
 
         Codec<T> codec = ProtobufProxy.create(clazz);
 
+        return parseProtoByte(data, codec);
+    }
+
+    /**
+     * 使用指定的编解码器，将字节解析成 pb 对象
+     * <pre>
+     *     适用于预先解析好编解码器的场景，省去每次通过 ProtobufProxy 查找编解码器的开销
+     * </pre>
+     *
+     * @param data  pb 字节
+     * @param codec pb class 对应的编解码器
+     * @param <T>   t
+     * @return pb 对象
+     * @since 21.23
+     */
+    public <T> T parseProtoByte(byte[] data, Codec<T> codec) {
+
+        if (Objects.isNull(data)) {
+            return null;
+        }
+
         try {
             return codec.decode(data);
         } catch (Throwable e) {
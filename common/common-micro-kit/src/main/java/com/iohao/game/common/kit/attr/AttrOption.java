@@ -18,14 +18,24 @@
  */
 package com.iohao.game.common.kit.attr;
 
+import java.io.Serial;
 import java.io.Serializable;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 
 /**
  * 动态属性的属性项
  * <pre>
  *     see {@link AttrOptionDynamic}
+ *
+ *     每个属性项在声明时会得到一个固定的 id（同名的属性项 id 相同），{@link AttrOptions} 使用 id 作为数组下标来存取属性值。
+ *     属性项应声明为常量，不要使用动态生成的属性名。
+ *
+ *     id 只在当前进程中有效，最多分配 {@link #MAX_ID} 个；超出后的属性项没有 id，{@link AttrOptions} 会按属性名保存在 map 中。
  * </pre>
  *
  * @param <T> t
@@ -33,9 +43,21 @@ import java.util.function.Supplier;
  * @date 2022-01-31
  */
 public final class AttrOption<T> implements Serializable {
+    /** 最多分配的 id 数量 */
+    static final int MAX_ID = 1024;
+    /** 没有 id */
+    static final int NONE_ID = -1;
+    /** key : 属性名，value : 属性 id */
+    static final Map<String, Integer> idMap = new ConcurrentHashMap<>();
+    /** 下标 : 属性 id，value : 属性名 */
+    static final AtomicReferenceArray<String> names = new AtomicReferenceArray<>(MAX_ID);
+    static final AtomicInteger idCounter = new AtomicInteger();
+
     final String name;
     final T defaultValue;
     final Supplier<T> supplier;
+    /** 属性 id，see {@link AttrOptions} */
+    final transient int id;
 
     AttrOption(String name, T devault, Supplier<T> supplier) {
         Objects.requireNonNull(name);
@@ -43,6 +65,37 @@ public final class AttrOption<T> implements Serializable {
         this.name = name;
         this.defaultValue = devault;
         this.supplier = supplier;
+        this.id = idOf(name);
+    }
+
+    static int idOf(String name) {
+        Integer id = idMap.get(name);
+        if (Objects.nonNull(id)) {
+            return id;
+        }
+
+        id = idMap.computeIfAbsent(name, k -> {
+            int newId = idCounter.getAndUpdate(i -> i < MAX_ID ? i + 1 : i);
+            if (newId >= MAX_ID) {
+                // id 已用完，不记录
+                return null;
+            }
+
+            names.set(newId, k);
+            return newId;
+        });
+
+        return Objects.isNull(id) ? NONE_ID : id;
+    }
+
+    static String nameOf(int id) {
+        return names.get(id);
+    }
+
+    @Serial
+    private Object readResolve() {
+        // id 只在当前进程中有效，反序列化时重新获取
+        return new AttrOption<>(this.name, this.defaultValue, this.supplier);
     }
 
     public String name() {
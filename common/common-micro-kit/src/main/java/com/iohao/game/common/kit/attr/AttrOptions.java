@@ -18,17 +18,32 @@
  */
 package com.iohao.game.common.kit.attr;
 
-import org.jctools.maps.NonBlockingHashMap;
-
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serial;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 动态属性的选项载体
  * <pre>
  *     see {@link AttrOptionDynamic}
+ *
+ *     属性值保存在数组中，数组下标为 {@link AttrOption} 的 id，数组会按需增长。
+ *     读操作无锁；写操作加锁，写操作通常只在设置属性时发生，频率远低于读操作。
+ *     没有 id 的属性项（id 已用完）按属性名保存在 map 中。
+ *
+ *     id 只在当前进程中有效，序列化时按属性名保存，反序列化时再转换为当前进程的 id。
+ *
+ *     无锁的实现 see {@link LockFreeAttrOptions}
  * </pre>
  *
  * @author 渔民小镇
@@ -37,8 +52,18 @@ import java.util.Objects;
 public class AttrOptions implements Serializable {
     @Serial
     private static final long serialVersionUID = 9042891580724596100L;
+    /** 序列化的字段，key : 属性名，value : 属性值 */
+    @Serial
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("options", Map.class)
+    };
+    static final VarHandle ARRAY = MethodHandles.arrayElementVarHandle(Object[].class);
+    static final Object[] EMPTY = new Object[0];
 
-    final Map<AttrOption<?>, Object> options = new NonBlockingHashMap<>();
+    /** 属性值，下标为 {@link AttrOption} 的 id */
+    transient volatile Object[] values = EMPTY;
+    /** 没有 id 的属性值，key : 属性名。按需创建 */
+    transient volatile Map<String, Object> overflowMap;
 
     /**
      * 获取选项值。
@@ -50,7 +75,10 @@ public class AttrOptions implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public <T> T option(AttrOption<T> option) {
-        Object value = options.get(option);
+        Object value = option.id == AttrOption.NONE_ID
+                ? this.getOverflow(option.name)
+                : this.get(option.id);
+
         if (Objects.nonNull(value)) {
             return (T) value;
         }
@@ -78,12 +106,98 @@ public class AttrOptions implements Serializable {
      * @return this
      */
     public <T> AttrOptions option(AttrOption<T> option, T value) {
+        this.set(option.id, option.name, value);
+        return this;
+    }
+
+    Object get(int id) {
+        Object[] values = this.values;
+        return id < values.length ? ARRAY.getAcquire(values, id) : null;
+    }
+
+    private Object getOverflow(String name) {
+        Map<String, Object> overflowMap = this.overflowMap;
+        return Objects.isNull(overflowMap) ? null : overflowMap.get(name);
+    }
+
+    void set(int id, String name, Object value) {
+        if (id == AttrOption.NONE_ID) {
+            this.setOverflow(name, value);
+        } else {
+            this.set(id, value);
+        }
+    }
+
+    private synchronized void setOverflow(String name, Object value) {
+        Map<String, Object> overflowMap = this.overflowMap;
+
         if (Objects.isNull(value)) {
-            options.remove(option);
-            return this;
+            if (Objects.nonNull(overflowMap)) {
+                overflowMap.remove(name);
+            }
+
+            return;
         }
 
-        options.put(option, value);
-        return this;
+        if (Objects.isNull(overflowMap)) {
+            overflowMap = new ConcurrentHashMap<>();
+            this.overflowMap = overflowMap;
+        }
+
+        overflowMap.put(name, value);
+    }
+
+    synchronized void set(int id, Object value) {
+        Object[] values = this.values;
+
+        if (id < values.length) {
+            ARRAY.setRelease(values, id, value);
+            return;
+        }
+
+        // 删除不存在的属性
+        if (Objects.isNull(value)) {
+            return;
+        }
+
+        // 扩容，设置好值之后再发布新的数组
+        Object[] newValues = Arrays.copyOf(values, id + 1);
+        newValues[id] = value;
+        this.values = newValues;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        Map<String, Object> options = new HashMap<>();
+
+        Object[] values = this.values;
+        for (int id = 0; id < values.length; id++) {
+            Object value = ARRAY.getAcquire(values, id);
+            if (Objects.nonNull(value)) {
+                options.put(AttrOption.nameOf(id), value);
+            }
+        }
+
+        Map<String, Object> overflowMap = this.overflowMap;
+        if (Objects.nonNull(overflowMap)) {
+            options.putAll(overflowMap);
+        }
+
+        out.putFields().put("options", options);
+        out.writeFields();
+    }
+
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        var options = (Map<String, Object>) in.readFields().get("options", null);
+
+        this.values = EMPTY;
+        if (Objects.isNull(options)) {
+            return;
+        }
+
+        // 按属性名转换为当前进程的 id
+        options.forEach((name, value) -> this.set(AttrOption.idOf(name), name, value));
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.attr;
+
+import java.io.Serial;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 无锁的动态属性选项载体
+ * <pre>
+ *     写操作使用写时复制（copy on write），每次写都会复制一份数组，再通过 CAS 替换。
+ *     适合写竞争较多、且属性数量较少的场景；读操作与 {@link AttrOptions} 一致。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * final AttrOptions options = new LockFreeAttrOptions();
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public final class LockFreeAttrOptions extends AttrOptions {
+    @Serial
+    private static final long serialVersionUID = -2580470143718213380L;
+    static final VarHandle VALUES;
+
+    static {
+        try {
+            VALUES = MethodHandles.lookup().findVarHandle(AttrOptions.class, "values", Object[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    void set(int id, Object value) {
+        for (; ; ) {
+            Object[] values = this.values;
+
+            // 删除不存在的属性
+            if (id >= values.length && Objects.isNull(value)) {
+                return;
+            }
+
+            Object[] newValues = Arrays.copyOf(values, Math.max(values.length, id + 1));
+            newValues[id] = value;
+
+            if (VALUES.compareAndSet(this, values, newValues)) {
+                return;
+            }
+        }
+    }
+}
@@ -18,11 +18,11 @@
  */
 package com.iohao.game.common.kit.concurrent.executor;
 
-import com.iohao.game.common.kit.concurrent.FixedNameThreadFactory;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 
-import java.util.concurrent.*;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * 线程执行器管理域父类
@@ -53,11 +53,11 @@ abstract sealed class AbstractThreadExecutorRegion implements ThreadExecutorRegi
     }
 
     protected ExecutorService createExecutorService(String name) {
-        ThreadFactory threadFactory = new FixedNameThreadFactory(name);
+        return SingleThreadExecutorKit.create(name);
+    }
 
-        return new ThreadPoolExecutor(1, 1,
-                0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                threadFactory);
+    @Override
+    public List<ThreadExecutor> listThreadExecutor() {
+        return List.of(this.threadExecutors);
     }
 }
@@ -64,6 +64,39 @@ public class ExecutorRegionKit {
         return executorRegionSupplier.get();
     }
 
+    /**
+     * 创建使用邮箱线程执行器管理域的 ExecutorRegion
+     * <pre>
+     *     每个玩家（userId）拥有独立的邮箱，用于替代 userId & (2n - 1) 映射到固定线程的 UserThreadExecutorRegion。
+     *     简单的线程执行器管理域不变。
+     * </pre>
+     * for example
+     * <pre>{@code
+     * // 在创建业务框架前设置
+     * ExecutorRegionKit.setExecutorRegionSupplier(ExecutorRegionKit::createMailboxExecutorRegion);
+     * }</pre>
+     *
+     * @return ExecutorRegion
+     * @see MailboxThreadExecutorRegion
+     * @since 21.23
+     */
+    public ExecutorRegion createMailboxExecutorRegion() {
+        return new ExecutorRegion() {
+            final MailboxThreadExecutorRegion userThreadExecutorRegion = new MailboxThreadExecutorRegion("UserMailbox");
+            final SimpleThreadExecutorRegion simpleThreadExecutorRegion = SimpleThreadExecutorRegion.me();
+
+            @Override
+            public ThreadExecutorRegion getUserThreadExecutorRegion() {
+                return this.userThreadExecutorRegion;
+            }
+
+            @Override
+            public ThreadExecutorRegion getSimpleThreadExecutorRegion() {
+                return this.simpleThreadExecutorRegion;
+            }
+        };
+    }
+
     /**
      * 简单的线程执行器管理域
      *
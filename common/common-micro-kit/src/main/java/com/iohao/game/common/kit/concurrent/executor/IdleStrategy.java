@@ -0,0 +1,35 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.concurrent.executor;
+
+/**
+ * MpscSingleThreadExecutor 消费线程空闲（队列中没有任务）时的等待策略
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public enum IdleStrategy {
+    /** 直接 park，有新任务时由生产者唤醒；不占用 CPU，唤醒有一定的延迟 */
+    park,
+    /** 先自旋一段时间，仍没有任务时再 park；兼顾延迟与 CPU 占用 */
+    spinThenPark,
+    /** 一直 Thread.yield，不会 park；延迟最低，但空闲时也会占用 CPU，适合独占 CPU 核心的场景 */
+    yielding
+}
@@ -0,0 +1,175 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.concurrent.executor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 耗时直方图（单位：纳秒）
+ * <pre>
+ *     按 2 的幂分段，每段再细分为 8 个桶，相对误差不超过 12.5%。
+ *     桶的数量是固定的，记录时只做原子累加，不会产生对象分配，可以在生产环境中常开。
+ *
+ *     百分位的值是所在桶的上界（不超过最大值）。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public final class LatencyHistogram {
+    /** 每段细分的桶数：2^SUB_BITS */
+    static final int SUB_BITS = 3;
+    static final int SUB_COUNT = 1 << SUB_BITS;
+    static final int BUCKET_COUNT = (64 - SUB_BITS + 1) * SUB_COUNT;
+
+    final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    final LongAdder totalNanos = new LongAdder();
+    final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒），负数按 0 处理
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        this.buckets.getAndIncrement(indexOf(nanos));
+        this.totalNanos.add(nanos);
+
+        if (nanos > this.maxNanos.get()) {
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /** 清空已记录的数据 */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.buckets.set(i, 0);
+        }
+
+        this.totalNanos.reset();
+        this.maxNanos.set(0);
+    }
+
+    /**
+     * 当前数据的快照
+     *
+     * @return 快照
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.buckets.get(i);
+            count += counts[i];
+        }
+
+        long max = this.maxNanos.get();
+
+        return new Snapshot(count
+                , this.totalNanos.sum()
+                , max
+                , percentile(counts, count, max, 0.5)
+                , percentile(counts, count, max, 0.9)
+                , percentile(counts, count, max, 0.99)
+                , percentile(counts, count, max, 0.999)
+        );
+    }
+
+    static int indexOf(long nanos) {
+        if (nanos < SUB_COUNT) {
+            return (int) nanos;
+        }
+
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return ((exp - SUB_BITS + 1) << SUB_BITS) | sub;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+
+        int shift = (index >>> SUB_BITS) - 1;
+        long lower = (long) (SUB_COUNT | (index & (SUB_COUNT - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    private static long percentile(long[] counts, long count, long max, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long threshold = (long) Math.ceil(count * percentile);
+        long sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            sum += counts[i];
+            if (sum >= threshold) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * 耗时直方图快照（单位：纳秒）
+     *
+     * @param count      记录次数
+     * @param totalNanos 总耗时
+     * @param maxNanos   最大耗时
+     * @param p50        50 百分位
+     * @param p90        90 百分位
+     * @param p99        99 百分位
+     * @param p999       99.9 百分位
+     */
+    public record Snapshot(long count, long totalNanos, long maxNanos, long p50, long p90, long p99, long p999) {
+        /**
+         * 平均耗时
+         *
+         * @return 平均耗时（纳秒）
+         */
+        public long getAvgNanos() {
+            return this.count == 0 ? 0 : this.totalNanos / this.count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("avg %d us, p50 %d us, p99 %d us, p999 %d us, max %d us"
+                    , toMicros(this.getAvgNanos())
+                    , toMicros(this.p50)
+                    , toMicros(this.p99)
+                    , toMicros(this.p999)
+                    , toMicros(this.maxNanos)
+            );
+        }
+
+        private static long toMicros(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.concurrent.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 邮箱：每个实体（如 userId）独享的轻量级任务队列
+ * <pre>
+ *     邮箱本身没有线程，有任务时才会被调度到载体执行器（carrier）中执行；
+ *     每次调度最多执行 quantum 个任务，之后如果还有任务，会重新排队调度，让其他邮箱也能得到执行的机会。
+ *
+ *     同一个邮箱在同一时刻只会被调度一次，所以同一个实体的任务是按提交顺序串行执行的。
+ *
+ *     count 记录已提交但还未执行完成的任务数：
+ *     1. 由 0 变为 1 的生产者负责调度邮箱。
+ *     2. 执行完一批任务后，如果 count 仍大于 0，则重新调度。
+ *     3. 只有 count 为 0 时才能被回收（count 变为 EVICTED），回收后提交的任务会转交给新的邮箱。
+ *
+ *     每个邮箱有独立的运行统计（积压任务数与容量），直方图等汇总数据记录在管理域的运行统计中。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Slf4j
+final class Mailbox implements ThreadExecutorStat.StatExecutor, Runnable {
+    static final int EVICTED = -1;
+
+    final MessagePassingQueue<Runnable> queue = new MpscUnboundedArrayQueue<>(16);
+    final AtomicInteger count = new AtomicInteger();
+    final long key;
+    final MailboxThreadExecutorRegion region;
+    final ThreadExecutor threadExecutor;
+
+    /** 运行统计，在提交任务前绑定 */
+    ThreadExecutorStat stat;
+
+    /** 最后一次执行任务的时间（System.nanoTime） */
+    volatile long lastActiveNanos = System.nanoTime();
+
+    Mailbox(long key, MailboxThreadExecutorRegion region, int threadNo) {
+        this.key = key;
+        this.region = region;
+        String name = region.name + "-" + key;
+        this.threadExecutor = new ThreadExecutor(name, this, threadNo, new ThreadExecutorStat(name, region.stat));
+    }
+
+    @Override
+    public void bindStat(ThreadExecutorStat stat) {
+        this.stat = stat;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        int current;
+        do {
+            current = this.count.get();
+            if (current == EVICTED) {
+                // 邮箱已被回收，转交给该实体新的邮箱
+                this.region.forward(this, command);
+                return;
+            }
+        } while (!this.count.compareAndSet(current, current + 1));
+
+        this.queue.offer(command);
+
+        if (current == 0) {
+            this.region.carrier.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        int quantum = this.region.quantum;
+        ThreadExecutorStat stat = this.stat;
+        int executed = 0;
+
+        for (; executed < quantum; executed++) {
+            Runnable command = this.queue.relaxedPoll();
+            if (command == null) {
+                break;
+            }
+
+            long startNanos = stat.before();
+            try {
+                command.run();
+            } catch (Throwable e) {
+                log.error(e.getMessage(), e);
+            } finally {
+                stat.after(startNanos);
+            }
+        }
+
+        this.lastActiveNanos = System.nanoTime();
+
+        // 还有任务（包括正在提交中的），重新排队调度
+        if (this.count.addAndGet(-executed) > 0) {
+            this.region.carrier.execute(this);
+        }
+    }
+
+    /**
+     * 尝试回收邮箱，只有没有任务时才能回收成功
+     *
+     * @return true 回收成功
+     */
+    boolean tryEvict() {
+        return this.count.compareAndSet(0, EVICTED);
+    }
+
+    /**
+     * 等待执行的任务数量
+     *
+     * @return 任务数量
+     */
+    int size() {
+        return this.queue.size();
+    }
+}
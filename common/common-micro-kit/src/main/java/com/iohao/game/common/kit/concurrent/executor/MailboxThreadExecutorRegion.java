@@ -0,0 +1,235 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.concurrent.executor;
+
+import com.iohao.game.common.kit.ExecutorKit;
+import com.iohao.game.common.kit.MoreKit;
+import com.iohao.game.common.kit.RuntimeKit;
+import com.iohao.game.common.kit.concurrent.IntervalTaskListener;
+import com.iohao.game.common.kit.concurrent.TaskKit;
+import lombok.Getter;
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 邮箱线程执行器管理域：每个实体（如 userId）拥有独立的邮箱
+ * <pre>
+ *     UserThreadExecutorRegion 使用 userId & (2n - 1) 将玩家映射到固定的线程上，
+ *     同一线程上的玩家会互相影响：一个玩家的耗时请求，会阻塞共用该线程的其他玩家。
+ *
+ *     邮箱线程执行器管理域为每个实体创建独立的邮箱（{@link Mailbox}）：
+ *     1. 同一个实体的任务按提交顺序串行执行。
+ *     2. 不同实体之间没有队头阻塞，邮箱之间通过 quantum（每次调度最多执行的任务数）公平调度。
+ *     3. 邮箱在第一次使用时创建，空闲超过 idleTimeout 后被回收。
+ *     4. 邮箱由载体执行器（carrier）执行，可以是平台线程池，也可以是虚拟线程执行器。
+ *
+ *     每个邮箱有独立的积压任务数与容量，一个实体积压的任务不会让其他实体被拒绝；
+ *     管理域的运行统计（ThreadExecutorStat）汇总所有邮箱的排队等待耗时、执行耗时与积压任务数。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * // 在创建业务框架前设置，使用邮箱线程执行器管理域来处理玩家请求
+ * ExecutorRegionKit.setExecutorRegionSupplier(ExecutorRegionKit::createMailboxExecutorRegion);
+ *
+ * // 或者自定义载体执行器、quantum、空闲回收时间
+ * var region = new MailboxThreadExecutorRegion("UserMailbox"
+ *         , ExecutorKit.newVirtualExecutor("UserMailbox")
+ *         , 32
+ *         , TimeUnit.MINUTES.toMillis(1));
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Getter
+public final class MailboxThreadExecutorRegion implements ThreadExecutorRegion {
+    /** 每次调度最多执行的任务数 */
+    static final int DEFAULT_QUANTUM = 64;
+    /** 邮箱空闲多久后被回收 */
+    static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    final NonBlockingHashMapLong<Mailbox> mailboxMap = new NonBlockingHashMapLong<>();
+    final AtomicInteger threadNo = new AtomicInteger();
+    /** 所有邮箱的汇总统计 */
+    final ThreadExecutorStat stat;
+    final String name;
+    final Executor carrier;
+    final int quantum;
+    final long idleTimeoutNanos;
+
+    public MailboxThreadExecutorRegion(String name) {
+        this(name, CarrierHolder.CARRIER, DEFAULT_QUANTUM, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * 邮箱线程执行器管理域
+     *
+     * @param name              名称
+     * @param carrier           载体执行器，邮箱中的任务在该执行器中执行
+     * @param quantum           每次调度最多执行的任务数
+     * @param idleTimeoutMillis 邮箱空闲多久（毫秒）后被回收
+     */
+    public MailboxThreadExecutorRegion(String name, Executor carrier, int quantum, long idleTimeoutMillis) {
+        this(name, carrier, quantum, idleTimeoutMillis, true);
+    }
+
+    MailboxThreadExecutorRegion(String name, Executor carrier, int quantum, long idleTimeoutMillis, boolean evictTask) {
+        if (quantum <= 0 || idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("quantum and idleTimeoutMillis must be positive");
+        }
+
+        this.name = name;
+        this.carrier = Objects.requireNonNull(carrier);
+        this.quantum = quantum;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.stat = new ThreadExecutorStat(name);
+
+        if (evictTask) {
+            // 每隔 idleTimeout / 2 检查一次空闲的邮箱
+            long tick = Math.max(idleTimeoutMillis / 2, 1);
+            TaskKit.runInterval(new IntervalTaskListener() {
+                @Override
+                public void onUpdate() {
+                    evictIdle(System.nanoTime());
+                }
+
+                @Override
+                public Executor getExecutor() {
+                    return TaskKit.getCacheExecutor();
+                }
+            }, tick, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 根据实体 key（如 userId）获取对应的邮箱
+     *
+     * @param key 实体 key
+     * @return 邮箱对应的线程执行器
+     */
+    @Override
+    public ThreadExecutor getThreadExecutor(long key) {
+        return this.getMailbox(key).threadExecutor;
+    }
+
+    Mailbox getMailbox(long key) {
+        Mailbox mailbox = this.mailboxMap.get(key);
+
+        // 无锁化
+        if (Objects.isNull(mailbox)) {
+            Mailbox newValue = new Mailbox(key, this, this.threadNo.incrementAndGet());
+            return MoreKit.putIfAbsent(this.mailboxMap, key, newValue);
+        }
+
+        return mailbox;
+    }
+
+    void forward(Mailbox evicted, Runnable command) {
+        // 回收时会从 map 中移除，这里再移除一次，避免回收线程还没来得及移除时，拿到的仍是已回收的邮箱
+        this.mailboxMap.remove(evicted.key, evicted);
+        this.getMailbox(evicted.key).threadExecutor.execute(command);
+    }
+
+    /**
+     * 回收空闲的邮箱
+     *
+     * @param nowNanos 当前时间（System.nanoTime）
+     * @return 回收的邮箱数量
+     */
+    int evictIdle(long nowNanos) {
+        int evictCount = 0;
+
+        for (Mailbox mailbox : this.mailboxMap.values()) {
+            if (nowNanos - mailbox.lastActiveNanos < this.idleTimeoutNanos) {
+                continue;
+            }
+
+            if (mailbox.tryEvict()) {
+                this.mailboxMap.remove(mailbox.key, mailbox);
+                evictCount++;
+            }
+        }
+
+        return evictCount;
+    }
+
+    /**
+     * 实体对应的邮箱中，已提交但还未执行完成的任务数；不会创建邮箱
+     *
+     * @param key 实体 key
+     * @return 任务数，邮箱不存在时返回 0
+     */
+    public int countInFlight(long key) {
+        Mailbox mailbox = this.mailboxMap.get(key);
+        return Objects.isNull(mailbox) ? 0 : Math.max(mailbox.count.get(), 0);
+    }
+
+    /**
+     * 当前邮箱数量
+     *
+     * @return 邮箱数量
+     */
+    public int countMailbox() {
+        return this.mailboxMap.size();
+    }
+
+    @Override
+    public List<ThreadExecutor> listThreadExecutor() {
+        return this.mailboxMap.values().stream()
+                .map(mailbox -> mailbox.threadExecutor)
+                .toList();
+    }
+
+    /**
+     * 所有邮箱的汇总统计快照，积压任务数是所有邮箱的积压任务数之和，最大积压任务数是单个邮箱的最大值
+     *
+     * @return 汇总统计快照
+     */
+    @Override
+    public List<ThreadExecutorStat.Snapshot> listStatSnapshot() {
+        int backlog = 0;
+        for (Mailbox mailbox : this.mailboxMap.values()) {
+            backlog += mailbox.threadExecutor.stat().getBacklog();
+        }
+
+        return List.of(this.stat.snapshot(backlog));
+    }
+
+    /**
+     * 设置每个邮箱的容量：每个邮箱允许积压（已提交，但还未开始执行）的任务数上限
+     *
+     * @param capacity 容量，0 表示不限制
+     */
+    @Override
+    public void setCapacity(int capacity) {
+        this.stat.setCapacity(Math.max(capacity, 0));
+    }
+
+    private static class CarrierHolder {
+        /** 默认的载体执行器，所有邮箱线程执行器管理域共用 */
+        static final ExecutorService CARRIER = ExecutorKit.newFixedThreadPool(RuntimeKit.availableProcessors, "Mailbox-");
+    }
+}
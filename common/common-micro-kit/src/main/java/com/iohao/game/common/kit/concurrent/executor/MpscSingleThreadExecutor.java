@@ -0,0 +1,283 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.concurrent.executor;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于 MPSC（多生产者单消费者）无锁队列的单线程执行器
+ * <pre>
+ *     用于替代 ThreadPoolExecutor(1, 1, LinkedBlockingQueue)：
+ *     1. 提交任务时无锁，也不需要为每个任务创建链表节点。
+ *     2. 消费线程批量的取出任务执行，空闲时根据 {@link IdleStrategy} 等待。
+ *     3. 任务抛出的异常会被记录到日志中，不会导致消费线程退出。
+ *     4. 消费线程在第一次提交任务时才会创建。
+ *     5. shutdown 之前成功提交的任务都会被执行，shutdown 之后提交的任务会被拒绝。
+ *     6. 通过 ThreadExecutor 使用时，由消费线程记录运行统计，任务不需要包装。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Slf4j
+public final class MpscSingleThreadExecutor extends AbstractExecutorService implements ThreadExecutorStat.StatExecutor {
+    static final int NOT_STARTED = 0;
+    static final int STARTED = 1;
+    static final int SHUTDOWN = 2;
+    static final int TERMINATED = 3;
+
+    /** spinThenPark 策略下，park 前自旋的次数 */
+    static final int SPIN_TIMES = 1000;
+    /** 每批最多执行的任务数量 */
+    static final int BATCH_SIZE = 256;
+
+    final MessagePassingQueue<Runnable> queue = new MpscUnboundedArrayQueue<>(1024);
+    final AtomicInteger state = new AtomicInteger(NOT_STARTED);
+    /** true 表示消费线程已经（或即将）park，生产者需要唤醒它 */
+    final AtomicBoolean sleeping = new AtomicBoolean();
+    /** 正在提交任务的生产者数量，消费线程退出前需要等待这些生产者完成提交 */
+    final AtomicInteger producers = new AtomicInteger();
+    final CountDownLatch terminationLatch = new CountDownLatch(1);
+    final ThreadFactory threadFactory;
+    @Getter
+    final IdleStrategy idleStrategy;
+
+    volatile Thread thread;
+    /** 运行统计，在提交任务前绑定，由消费线程记录 */
+    ThreadExecutorStat stat;
+
+    public MpscSingleThreadExecutor(ThreadFactory threadFactory, IdleStrategy idleStrategy) {
+        this.threadFactory = Objects.requireNonNull(threadFactory);
+        this.idleStrategy = Objects.requireNonNull(idleStrategy);
+    }
+
+    /**
+     * 队列中等待执行的任务数量
+     *
+     * @return 任务数量
+     */
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command);
+
+        this.producers.incrementAndGet();
+        try {
+            // 先登记再检查状态，消费线程看到 SHUTDOWN 后会等待已登记的生产者完成提交
+            if (this.state.get() >= SHUTDOWN) {
+                throw new RejectedExecutionException("executor has been shutdown");
+            }
+
+            this.queue.offer(command);
+        } finally {
+            this.producers.decrementAndGet();
+        }
+
+        if (this.state.get() == NOT_STARTED) {
+            this.startThread();
+        }
+
+        this.wakeup();
+    }
+
+    @Override
+    public void bindStat(ThreadExecutorStat stat) {
+        this.stat = stat;
+    }
+
+    private void startThread() {
+        if (this.state.compareAndSet(NOT_STARTED, STARTED)) {
+            this.newThread();
+        }
+    }
+
+    private void newThread() {
+        Thread newThread = this.threadFactory.newThread(this::runWorker);
+        this.thread = newThread;
+        newThread.start();
+    }
+
+    private void wakeup() {
+        if (this.sleeping.get() && this.sleeping.compareAndSet(true, false)) {
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    private void runWorker() {
+        int idleTimes = 0;
+
+        try {
+            while (true) {
+                if (this.queue.drain(this::runTask, BATCH_SIZE) > 0) {
+                    idleTimes = 0;
+                    continue;
+                }
+
+                if (this.state.get() >= SHUTDOWN) {
+                    // 执行 shutdown 之前已经提交的任务
+                    this.awaitProducers();
+                    while (!this.queue.isEmpty()) {
+                        this.queue.drain(this::runTask, BATCH_SIZE);
+                    }
+
+                    return;
+                }
+
+                idleTimes = this.idle(idleTimes);
+            }
+        } finally {
+            this.state.set(TERMINATED);
+            this.terminationLatch.countDown();
+        }
+    }
+
+    private void awaitProducers() {
+        while (this.producers.get() != 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void runTask(Runnable task) {
+        ThreadExecutorStat stat = this.stat;
+        long startNanos = stat == null ? 0 : stat.before();
+
+        try {
+            task.run();
+        } catch (Throwable e) {
+            log.error(e.getMessage(), e);
+        } finally {
+            if (stat != null) {
+                stat.after(startNanos);
+            }
+        }
+    }
+
+    private int idle(int idleTimes) {
+        switch (this.idleStrategy) {
+            case park -> this.park();
+            case spinThenPark -> {
+                if (idleTimes < SPIN_TIMES) {
+                    Thread.onSpinWait();
+                    return idleTimes + 1;
+                }
+
+                this.park();
+            }
+            case yielding -> Thread.yield();
+        }
+
+        return 0;
+    }
+
+    private void park() {
+        this.sleeping.set(true);
+
+        // park 前再检查一次，避免错过生产者的唤醒
+        if (this.queue.isEmpty() && this.state.get() < SHUTDOWN) {
+            LockSupport.park(this);
+            // 清除中断标记，否则之后的 park 会立即返回，消费线程空转
+            Thread.interrupted();
+        }
+
+        this.sleeping.set(false);
+    }
+
+    @Override
+    public void shutdown() {
+        while (true) {
+            int currentState = this.state.get();
+
+            if (currentState >= SHUTDOWN) {
+                return;
+            }
+
+            if (currentState == NOT_STARTED) {
+                if (this.state.compareAndSet(NOT_STARTED, SHUTDOWN)) {
+                    this.shutdownNotStarted();
+                    return;
+                }
+
+                continue;
+            }
+
+            if (this.state.compareAndSet(STARTED, SHUTDOWN)) {
+                LockSupport.unpark(this.thread);
+                return;
+            }
+        }
+    }
+
+    private void shutdownNotStarted() {
+        // 消费线程没有创建过，但可能有生产者正在提交任务
+        this.awaitProducers();
+
+        if (this.queue.isEmpty()) {
+            this.state.set(TERMINATED);
+            this.terminationLatch.countDown();
+            return;
+        }
+
+        // 创建消费线程来执行已提交的任务，消费线程看到 SHUTDOWN 后会退出
+        this.newThread();
+    }
+
+    /**
+     * 关闭执行器
+     * <pre>
+     *     队列只允许消费线程取出任务，所以已提交的任务仍然会被执行完，返回值总是空列表。
+     * </pre>
+     *
+     * @return 空列表
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.shutdown();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.state.get() >= SHUTDOWN;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.state.get() == TERMINATED;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.terminationLatch.await(timeout, unit);
+    }
+}
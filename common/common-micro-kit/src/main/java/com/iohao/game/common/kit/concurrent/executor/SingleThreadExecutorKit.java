@@ -0,0 +1,117 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.concurrent.executor;
+
+import com.iohao.game.common.kit.concurrent.FixedNameThreadFactory;
+import lombok.Setter;
+import lombok.experimental.UtilityClass;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * 单线程执行器工具
+ * <pre>
+ *     UserThreadExecutorRegion、SimpleThreadExecutorRegion 以及 bolt 中的 ProcessorSelectorThreadExecutorRegion，
+ *     内部的每个线程执行器都是一个单线程执行器，通过该工具来创建。
+ *
+ *     默认使用 ThreadPoolExecutor(1, 1, LinkedBlockingQueue)，
+ *     可以改为基于 MPSC 无锁队列的 {@link MpscSingleThreadExecutor}。
+ *
+ *     注意，需要在 ExecutorRegion 创建前设置（如在 main 方法的第一行）。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * SingleThreadExecutorKit.useMpsc(IdleStrategy.spinThenPark);
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@UtilityClass
+public class SingleThreadExecutorKit {
+    /** 单线程执行器的创建方式，参数为线程名 */
+    @Setter
+    Function<String, ExecutorService> executorServiceFactory = SingleThreadExecutorKit::newThreadPoolExecutor;
+
+    /**
+     * 创建单线程执行器
+     *
+     * @param threadName 线程名
+     * @return 单线程执行器
+     */
+    public ExecutorService create(String threadName) {
+        return executorServiceFactory.apply(threadName);
+    }
+
+    /**
+     * 使用基于 MPSC 无锁队列的单线程执行器
+     *
+     * @param idleStrategy 消费线程空闲时的等待策略
+     */
+    public void useMpsc(IdleStrategy idleStrategy) {
+        Objects.requireNonNull(idleStrategy);
+        executorServiceFactory = threadName -> newMpscExecutor(threadName, idleStrategy);
+    }
+
+    public ExecutorService newThreadPoolExecutor(String threadName) {
+        return new StatThreadPoolExecutor(threadName);
+    }
+
+    public ExecutorService newMpscExecutor(String threadName, IdleStrategy idleStrategy) {
+        return new MpscSingleThreadExecutor(new FixedNameThreadFactory(threadName), idleStrategy);
+    }
+
+    /**
+     * 单线程的 ThreadPoolExecutor，通过 ThreadExecutor 使用时，由工作线程在执行任务的前后记录运行统计
+     */
+    private static final class StatThreadPoolExecutor extends ThreadPoolExecutor implements ThreadExecutorStat.StatExecutor {
+        ThreadExecutorStat stat;
+        /** 当前任务开始执行的时间，只有一个工作线程，不需要同步 */
+        long startNanos;
+
+        StatThreadPoolExecutor(String threadName) {
+            super(1, 1,
+                    0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new FixedNameThreadFactory(threadName));
+        }
+
+        @Override
+        public void bindStat(ThreadExecutorStat stat) {
+            this.stat = stat;
+        }
+
+        @Override
+        protected void beforeExecute(Thread t, Runnable r) {
+            if (this.stat != null) {
+                this.startNanos = this.stat.before();
+            }
+        }
+
+        @Override
+        protected void afterExecute(Runnable r, Throwable t) {
+            if (this.stat != null) {
+                this.stat.after(this.startNanos);
+            }
+        }
+    }
+}
@@ -20,20 +20,38 @@ package com.iohao.game.common.kit.concurrent.executor;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 线程执行器信息
+ * <pre>
+ *     通过 ThreadExecutor 提交的任务会记录运行统计（见 {@link ThreadExecutorStat}），
+ *     所以需要 Executor 的地方，应该使用 ThreadExecutor 本身，而不是其内部的 executor。
+ *
+ *     运行统计只是附属的数据，不参与 equals 与 hashCode。
+ * </pre>
  *
  * @param name     线程执行器名
  * @param executor 线程执行器
  * @param threadNo 编号
+ * @param stat     运行统计：排队等待耗时、执行耗时、积压任务数
  * @author 渔民小镇
  * @date 2023-11-30
  */
 @Slf4j
-public record ThreadExecutor(String name, Executor executor, int threadNo) {
+public record ThreadExecutor(String name, Executor executor, int threadNo, ThreadExecutorStat stat) implements Executor {
+    public ThreadExecutor {
+        if (executor instanceof ThreadExecutorStat.StatExecutor statExecutor) {
+            statExecutor.bindStat(stat);
+        }
+    }
+
+    public ThreadExecutor(String name, Executor executor, int threadNo) {
+        this(name, executor, threadNo, new ThreadExecutorStat(name));
+    }
+
     /**
      * 在将来的某个时间执行给定的命令。
      * <pre>
@@ -46,8 +64,30 @@ public record ThreadExecutor(String name, Executor executor, int threadNo) {
      * @param command 命令
      * @see ThreadExecutor#executeTry(Runnable)
      */
+    @Override
     public void execute(Runnable command) {
-        this.executor.execute(command);
+        if (this.executor instanceof ThreadExecutorStat.StatExecutor) {
+            // 由执行器的消费线程记录，不需要包装任务
+            this.stat.enqueue();
+            try {
+                this.executor.execute(command);
+            } catch (RuntimeException e) {
+                // 任务被拒绝，没有进入队列
+                this.stat.rejected();
+                throw e;
+            }
+        } else if (this.stat.isRequired()) {
+            Runnable task = this.stat.wrap(command);
+            try {
+                this.executor.execute(task);
+            } catch (RuntimeException e) {
+                // 任务被拒绝，没有进入队列
+                this.stat.rejected();
+                throw e;
+            }
+        } else {
+            this.executor.execute(command);
+        }
     }
 
     /**
@@ -56,7 +96,7 @@ public record ThreadExecutor(String name, Executor executor, int threadNo) {
      * @param command 命令
      */
     public void executeTry(Runnable command) {
-        this.executor.execute(() -> {
+        this.execute(() -> {
             try {
                 command.run();
             } catch (Throwable e) {
@@ -65,11 +105,69 @@ public record ThreadExecutor(String name, Executor executor, int threadNo) {
         });
     }
 
+    /**
+     * 尝试在将来的某个时间执行给定的命令
+     * <pre>
+     *     当积压的任务数达到容量上限时，不会执行给定的命令，并返回 false。
+     *     容量上限通过 {@link ThreadExecutor#setCapacity(int)} 设置，默认不限制。
+     *
+     *     与 execute 方法一样，需要开发者自行捕获 command 中的异常。
+     * </pre>
+     *
+     * @param command 命令
+     * @return true 表示命令已提交，false 表示积压的任务数达到容量上限，命令被拒绝
+     * @since 21.23
+     */
+    public boolean tryExecute(Runnable command) {
+        if (this.stat.isFull()) {
+            this.stat.countRejected();
+            return false;
+        }
+
+        this.execute(command);
+        return true;
+    }
+
+    /**
+     * 设置容量：允许积压（已提交，但还未开始执行）的任务数上限
+     *
+     * @param capacity 容量，0 表示不限制
+     * @since 21.23
+     */
+    public void setCapacity(int capacity) {
+        this.stat.setCapacity(Math.max(capacity, 0));
+    }
+
     public int getWorkQueue() {
         if (this.executor instanceof ThreadPoolExecutor threadPoolExecutor) {
             return threadPoolExecutor.getQueue().size();
         }
 
+        if (this.executor instanceof MpscSingleThreadExecutor mpscExecutor) {
+            return mpscExecutor.getQueueSize();
+        }
+
+        if (this.executor instanceof Mailbox mailbox) {
+            return mailbox.size();
+        }
+
         return 0;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        return o instanceof ThreadExecutor that
+                && this.threadNo == that.threadNo
+                && Objects.equals(this.name, that.name)
+                && Objects.equals(this.executor, that.executor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.name, this.executor, this.threadNo);
+    }
 }
@@ -18,6 +18,8 @@
  */
 package com.iohao.game.common.kit.concurrent.executor;
 
+import java.util.List;
+
 /**
  * 线程执行器管理域
  * <pre>
@@ -45,4 +47,44 @@ public interface ThreadExecutorRegion {
     default void execute(Runnable runnable, long index) {
         this.getThreadExecutor(index).execute(runnable);
     }
+
+    /**
+     * 获取所有的线程执行器
+     *
+     * @return 线程执行器列表
+     * @since 21.23
+     */
+    default List<ThreadExecutor> listThreadExecutor() {
+        return List.of();
+    }
+
+    /**
+     * 设置每个线程执行器的容量：允许积压（已提交，但还未开始执行）的任务数上限
+     * <pre>
+     *     达到上限后，通过 {@link ThreadExecutor#tryExecute(Runnable)} 提交的任务会被拒绝；
+     *     业务框架会直接响应 ActionErrorEnum.busy 错误码给请求端，以避免请求无限积压。
+     * </pre>
+     * for example
+     * <pre>{@code
+     * ExecutorRegionKit.getExecutorRegion().getUserThreadExecutorRegion().setCapacity(10_000);
+     * }</pre>
+     *
+     * @param capacity 容量，0 表示不限制
+     * @since 21.23
+     */
+    default void setCapacity(int capacity) {
+        this.listThreadExecutor().forEach(threadExecutor -> threadExecutor.setCapacity(capacity));
+    }
+
+    /**
+     * 获取所有线程执行器的运行统计快照：排队等待耗时、执行耗时、积压任务数
+     *
+     * @return 运行统计快照列表
+     * @since 21.23
+     */
+    default List<ThreadExecutorStat.Snapshot> listStatSnapshot() {
+        return this.listThreadExecutor().stream()
+                .map(threadExecutor -> threadExecutor.stat().snapshot())
+                .toList();
+    }
 }
@@ -0,0 +1,346 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.concurrent.executor;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程执行器的运行统计：排队等待耗时、执行耗时、积压任务数
+ * <pre>
+ *     任务进入线程执行器时记录时间，开始执行时记录排队等待耗时，执行结束时记录执行耗时。
+ *     业务线程监控插件（ThreadMonitorInOut）只能统计 action 的执行耗时，
+ *     而请求在线程执行器中排队等待的时间，往往才是高延迟的来源。
+ *
+ *     单线程执行器（{@link MpscSingleThreadExecutor}、SingleThreadExecutorKit 创建的 ThreadPoolExecutor）
+ *     由消费线程在执行任务的前后记录，任务不需要包装；
+ *     提交任务时只记录一个序号与时间，时间保存在固定大小的环形数组中（按序号取模），
+ *     消费线程按相同的序号取出时间，计算排队等待耗时。
+ *     积压的任务数超过环形数组的大小时，排队等待耗时的记录会被覆盖，此时不记录排队等待耗时。
+ *
+ *     其他执行器（如虚拟线程执行器）只能通过包装任务来记录。
+ *
+ *     邮箱（每个实体一个）使用子统计：积压任务数与容量是邮箱独立的，直方图与汇总数据记录在管理域的统计中，
+ *     这样一个实体积压的任务不会占用其他实体的容量，也不需要为每个邮箱分配直方图。
+ *
+ *     统计数据保存在固定大小的直方图中，记录时不会产生额外的对象分配，默认开启。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * ThreadExecutorRegion region = ExecutorRegionKit.getExecutorRegion().getUserThreadExecutorRegion();
+ * for (ThreadExecutorStat.Snapshot snapshot : region.listStatSnapshot()) {
+ *     System.out.println(snapshot);
+ * }
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Getter
+public final class ThreadExecutorStat {
+    /** true 开启线程执行器的运行统计；设置了容量的线程执行器，需要积压任务数，不受此开关影响 */
+    @Getter
+    @Setter
+    static boolean enable = true;
+
+    /** 环形数组的大小，必须是 2 的幂 */
+    static final int TIME_RING_SIZE = 1024;
+    /** 子统计（邮箱）环形数组的大小，必须是 2 的幂 */
+    static final int CHILD_TIME_RING_SIZE = 32;
+
+    final String name;
+    /** 汇总统计，子统计的直方图、最大积压任务数、被拒绝的任务数会记录到汇总统计中；null 表示没有 */
+    final ThreadExecutorStat parent;
+    /** 排队等待耗时 */
+    final LatencyHistogram waitHistogram;
+    /** 执行耗时 */
+    final LatencyHistogram runHistogram;
+    /** 已提交的任务数，同时也是下一个提交任务的序号 */
+    final AtomicLong enqueueCount = new AtomicLong();
+    /** 已开始执行（或被拒绝）的任务数，同时也是下一个开始执行任务的序号 */
+    final AtomicLong startCount = new AtomicLong();
+    /** 任务提交时间（System.nanoTime），下标为序号取模 */
+    final AtomicLongArray enqueueNanosRing;
+    final int timeRingMask;
+    /** 最大积压的任务数 */
+    final AtomicInteger maxBacklog = new AtomicInteger();
+    /** 因积压任务数达到容量上限，被拒绝的任务数 */
+    final LongAdder rejectedCount = new LongAdder();
+    /**
+     * 容量：允许积压的任务数上限，0 表示不限制
+     * <pre>
+     *     只对 ThreadExecutor.tryExecute 生效，是一个软上限（多个生产者并发提交时，可能会略微超出）。
+     *     子统计没有设置容量时，使用汇总统计的容量（作为每个子统计各自的上限）。
+     * </pre>
+     */
+    @Setter
+    volatile int capacity;
+
+    public ThreadExecutorStat(String name) {
+        this.name = name;
+        this.parent = null;
+        this.waitHistogram = new LatencyHistogram();
+        this.runHistogram = new LatencyHistogram();
+        this.enqueueNanosRing = new AtomicLongArray(TIME_RING_SIZE);
+        this.timeRingMask = TIME_RING_SIZE - 1;
+    }
+
+    /**
+     * 子统计：积压任务数与容量独立，直方图与汇总数据记录在汇总统计中
+     *
+     * @param name   名称
+     * @param parent 汇总统计
+     */
+    ThreadExecutorStat(String name, ThreadExecutorStat parent) {
+        this.name = name;
+        this.parent = Objects.requireNonNull(parent);
+        this.waitHistogram = parent.waitHistogram;
+        this.runHistogram = parent.runHistogram;
+        this.enqueueNanosRing = new AtomicLongArray(CHILD_TIME_RING_SIZE);
+        this.timeRingMask = CHILD_TIME_RING_SIZE - 1;
+    }
+
+    /**
+     * 当前积压（已提交，但还未开始执行）的任务数
+     *
+     * @return 积压的任务数
+     */
+    public int getBacklog() {
+        long backlog = this.enqueueCount.get() - this.startCount.get();
+        return (int) Math.max(backlog, 0);
+    }
+
+    /**
+     * 任务进入线程执行器，由生产者在提交任务前调用
+     */
+    void enqueue() {
+        long seq = this.enqueueCount.getAndIncrement();
+
+        if (enable) {
+            this.enqueueNanosRing.setRelease((int) (seq & this.timeRingMask), System.nanoTime());
+        }
+
+        this.updateMaxBacklog((int) (seq + 1 - this.startCount.get()));
+    }
+
+    private void updateMaxBacklog(int current) {
+        if (current > this.maxBacklog.get()) {
+            this.maxBacklog.accumulateAndGet(current, Math::max);
+        }
+
+        if (this.parent != null) {
+            this.parent.updateMaxBacklog(current);
+        }
+    }
+
+    /**
+     * 因积压任务数达到容量上限，任务被拒绝
+     */
+    void countRejected() {
+        this.rejectedCount.increment();
+
+        if (this.parent != null) {
+            this.parent.rejectedCount.increment();
+        }
+    }
+
+    /**
+     * 实际生效的容量
+     *
+     * @return 容量，0 表示不限制
+     */
+    int getEffectiveCapacity() {
+        int capacity = this.capacity;
+        if (capacity == 0 && this.parent != null) {
+            return this.parent.capacity;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * 任务没有进入线程执行器（被拒绝），不计入积压任务数
+     */
+    void rejected() {
+        this.startCount.incrementAndGet();
+    }
+
+    boolean isFull() {
+        int capacity = this.getEffectiveCapacity();
+        return capacity > 0 && this.getBacklog() >= capacity;
+    }
+
+    boolean isRequired() {
+        return enable || this.getEffectiveCapacity() > 0;
+    }
+
+    /**
+     * 任务开始执行，由单线程执行器的消费线程调用（任务按提交顺序执行）
+     *
+     * @return 开始执行的时间，用于 {@link #after(long)}
+     */
+    long before() {
+        long seq = this.startCount.getAndIncrement();
+
+        if (seq >= this.enqueueCount.get()) {
+            // 没有通过 ThreadExecutor 提交的任务，不计入统计
+            this.startCount.decrementAndGet();
+            return 0;
+        }
+
+        if (!enable) {
+            return 0;
+        }
+
+        long startNanos = System.nanoTime();
+        // 积压的任务数没有超过环形数组的大小，提交时间还没有被覆盖
+        if (this.enqueueCount.get() - seq <= this.enqueueNanosRing.length()) {
+            long enqueueNanos = this.enqueueNanosRing.getAcquire((int) (seq & this.timeRingMask));
+            this.waitHistogram.record(startNanos - enqueueNanos);
+        }
+
+        return startNanos;
+    }
+
+    /**
+     * 任务开始执行，提交时间由包装任务携带
+     *
+     * @param enqueueNanos 提交时间
+     * @param startNanos   开始执行的时间
+     */
+    void before(long enqueueNanos, long startNanos) {
+        this.startCount.incrementAndGet();
+        this.waitHistogram.record(startNanos - enqueueNanos);
+    }
+
+    void after(long startNanos) {
+        if (startNanos != 0) {
+            this.runHistogram.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * 包装任务，任务执行时会记录排队等待耗时与执行耗时
+     * <pre>
+     *     只用于无法在执行器内部记录的执行器，如虚拟线程执行器。
+     * </pre>
+     *
+     * @param command 任务
+     * @return 包装后的任务
+     */
+    Runnable wrap(Runnable command) {
+        long seq = this.enqueueCount.getAndIncrement();
+        this.updateMaxBacklog((int) (seq + 1 - this.startCount.get()));
+
+        return new StatTask(this, command, System.nanoTime());
+    }
+
+    /** 清空已记录的数据（当前积压任务数除外） */
+    public void reset() {
+        this.waitHistogram.reset();
+        this.runHistogram.reset();
+        this.maxBacklog.set(this.getBacklog());
+        this.rejectedCount.reset();
+    }
+
+    /**
+     * 当前统计数据的快照
+     *
+     * @return 快照
+     */
+    public Snapshot snapshot() {
+        return this.snapshot(this.getBacklog());
+    }
+
+    /**
+     * 当前统计数据的快照
+     *
+     * @param backlog 当前积压的任务数，汇总统计使用所有子统计的积压任务数之和
+     * @return 快照
+     */
+    Snapshot snapshot(int backlog) {
+        return new Snapshot(this.name
+                , backlog
+                , this.maxBacklog.get()
+                , this.rejectedCount.sum()
+                , this.waitHistogram.snapshot()
+                , this.runHistogram.snapshot()
+        );
+    }
+
+    private record StatTask(ThreadExecutorStat stat, Runnable command, long enqueueNanos) implements Runnable {
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            this.stat.before(this.enqueueNanos, startNanos);
+
+            try {
+                this.command.run();
+            } finally {
+                this.stat.after(startNanos);
+            }
+        }
+    }
+
+    /**
+     * 由消费线程记录运行统计的执行器，提交的任务不需要包装
+     */
+    interface StatExecutor extends Executor {
+        /**
+         * 绑定运行统计，需要在提交任务前调用
+         *
+         * @param stat 运行统计
+         */
+        void bindStat(ThreadExecutorStat stat);
+    }
+
+    /**
+     * 线程执行器运行统计的快照
+     *
+     * @param name       线程执行器名
+     * @param backlog    当前积压的任务数
+     * @param maxBacklog 最大积压的任务数
+     * @param rejected   因积压任务数达到容量上限，被拒绝的任务数
+     * @param waitTime   排队等待耗时
+     * @param runTime    执行耗时
+     */
+    public record Snapshot(String name, int backlog, int maxBacklog, long rejected,
+                           LatencyHistogram.Snapshot waitTime, LatencyHistogram.Snapshot runTime) {
+        @Override
+        public String toString() {
+            return String.format("[%s] count %d, backlog %d, maxBacklog %d, rejected %d%n  wait: %s%n  run : %s"
+                    , this.name
+                    , this.runTime.count()
+                    , this.backlog
+                    , this.maxBacklog
+                    , this.rejected
+                    , this.waitTime
+                    , this.runTime
+            );
+        }
+    }
+}
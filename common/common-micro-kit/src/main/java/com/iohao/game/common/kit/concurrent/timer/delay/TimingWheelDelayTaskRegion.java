@@ -0,0 +1,457 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.common.kit.concurrent.timer.delay;
+
+import com.iohao.game.common.kit.concurrent.DaemonThreadFactory;
+import com.iohao.game.common.kit.concurrent.TaskListener;
+import lombok.Getter;
+import org.jctools.maps.NonBlockingHashMap;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 基于分层时间轮的轻量可控延时任务域
+ * <pre>
+ *     {@link DelayTaskKit} 默认使用的延时任务域，每次 tick 都会遍历所有的延时任务，开销与任务总数成正比；
+ *     而时间轮每次 tick 只处理当前到期的槽位，开销只与到期的任务数量有关，适合大量的延时任务（如房间、技能冷却）。
+ *
+ *     1. 时间轮共 6 层，每层 64 个槽位；tick 默认为 10 ms，第 1 层覆盖 640 ms，第 2 层覆盖约 41 秒，依次类推。
+ *     2. 创建、取消、增加或减少延时时间，都只是将任务放入一个无锁队列中，时间复杂度为 O(1)，由时间轮线程统一处理。
+ *     3. 任务到期后，如果 {@link TaskListener#getExecutor()} 指定了执行器，就由该执行器执行任务，否则使用时间轮线程执行。
+ * </pre>
+ * for example
+ * <pre>{@code
+ * DelayTaskKit.setDelayTaskRegion(new TimingWheelDelayTaskRegion());
+ * }</pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public final class TimingWheelDelayTaskRegion implements DelayTaskRegion, DelayTaskRegionEnhance {
+    static final int WHEEL_BITS = 6;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    static final int LEVELS = 6;
+    /** 时间轮能容纳的最大 tick 数，超出的任务先放在最高层，到时再重新计算 */
+    static final long MAX_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    final Map<String, TimingWheelDelayTask> taskMap = new NonBlockingHashMap<>();
+    /** 待处理的任务（新增、取消、修改延时时间），由时间轮线程消费 */
+    final MessagePassingQueue<TimingWheelDelayTask> pendingQueue = new MpscUnboundedArrayQueue<>(1024);
+    final TimingWheelBucket[][] wheels = new TimingWheelBucket[LEVELS][WHEEL_SIZE];
+
+    @Getter
+    final long tickMillis;
+    final LongSupplier clock;
+    volatile boolean active = true;
+    /** 下一个需要处理的 tick，只由时间轮线程访问 */
+    long nextTick;
+
+    public TimingWheelDelayTaskRegion() {
+        this(10);
+    }
+
+    /**
+     * 创建时间轮延时任务域
+     *
+     * @param tickMillis 每个 tick 的时间（毫秒），即任务的执行精度
+     */
+    public TimingWheelDelayTaskRegion(long tickMillis) {
+        this(tickMillis, monotonicClock(), true);
+    }
+
+    TimingWheelDelayTaskRegion(long tickMillis, LongSupplier clock, boolean start) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be greater than 0");
+        }
+
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+
+        for (TimingWheelBucket[] wheel : this.wheels) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel[i] = new TimingWheelBucket();
+            }
+        }
+
+        if (start) {
+            new DaemonThreadFactory("iohao.com:DelayTaskTimingWheel")
+                    .newThread(this::runWorker)
+                    .start();
+        }
+    }
+
+    private static LongSupplier monotonicClock() {
+        long startNanos = System.nanoTime();
+        return () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    long currentTimeMillis() {
+        return this.clock.getAsLong();
+    }
+
+    @Override
+    public Optional<DelayTask> optional(String taskId) {
+        return Optional.ofNullable(this.taskMap.get(taskId));
+    }
+
+    @Override
+    public void cancel(String taskId) {
+        var task = this.taskMap.remove(taskId);
+        if (Objects.nonNull(task)) {
+            task.cancel();
+        }
+    }
+
+    @Override
+    public int count() {
+        return this.taskMap.size();
+    }
+
+    @Override
+    public DelayTask of(TaskListener taskListener) {
+        return new TimingWheelDelayTask(taskListener, this);
+    }
+
+    @Override
+    public DelayTask of(String taskId, TaskListener taskListener) {
+        return new TimingWheelDelayTask(taskId, taskListener, this);
+    }
+
+    @Override
+    public void stop() {
+        this.active = false;
+    }
+
+    @Override
+    public void forEach(Consumer<DelayTaskExecutor> consumer) {
+        this.taskMap.values().forEach(consumer);
+    }
+
+    @Override
+    public void runDelayTask(DelayTaskExecutor delayTaskExecutor) {
+        var task = (TimingWheelDelayTask) delayTaskExecutor;
+        var oldTask = this.taskMap.put(task.taskId, task);
+
+        // taskId 相同时，覆盖之前的延时任务
+        if (Objects.nonNull(oldTask) && oldTask != task) {
+            oldTask.cancel();
+        }
+
+        this.submit(task);
+    }
+
+    void submit(TimingWheelDelayTask task) {
+        // 任务已经在队列中时，不需要重复添加；时间轮线程处理时会读取最新的状态
+        if (task.queued.compareAndSet(false, true)) {
+            this.pendingQueue.offer(task);
+        }
+    }
+
+    private void runWorker() {
+        while (this.active) {
+            long now = this.currentTimeMillis();
+            this.advance(now / this.tickMillis);
+
+            long sleepMillis = this.nextTick * this.tickMillis - this.currentTimeMillis();
+            if (sleepMillis > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(sleepMillis));
+            }
+        }
+    }
+
+    /**
+     * 处理待处理的任务，并推进时间轮到指定的 tick（包含）
+     *
+     * @param nowTick 当前 tick
+     */
+    void advance(long nowTick) {
+        this.pendingQueue.drain(this::reschedule);
+
+        while (this.nextTick <= nowTick) {
+            long tick = this.nextTick;
+
+            // 高层的槽位到期时，将任务降级到低层
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((tick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    int slot = (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                    this.wheels[level][slot].drainTo(this::schedule);
+                }
+            }
+
+            this.wheels[0][(int) (tick & WHEEL_MASK)].drainTo(this::expire);
+            this.nextTick = tick + 1;
+        }
+    }
+
+    private void reschedule(TimingWheelDelayTask task) {
+        task.queued.set(false);
+
+        if (Objects.nonNull(task.bucket)) {
+            task.bucket.remove(task);
+        }
+
+        if (task.isActive()) {
+            this.schedule(task);
+        }
+    }
+
+    private void schedule(TimingWheelDelayTask task) {
+        long expireTick = this.expireTick(task);
+
+        if (expireTick < this.nextTick) {
+            // 已经到期
+            this.expire(task);
+            return;
+        }
+
+        long ticks = expireTick - this.nextTick;
+        if (ticks > MAX_TICKS) {
+            ticks = MAX_TICKS;
+            expireTick = this.nextTick + MAX_TICKS;
+        }
+
+        int level = 0;
+        while (ticks >= WHEEL_SIZE) {
+            ticks >>>= WHEEL_BITS;
+            level++;
+        }
+
+        int slot = (int) ((expireTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        this.wheels[level][slot].add(task);
+    }
+
+    private long expireTick(TimingWheelDelayTask task) {
+        long deadline = task.deadline.get();
+        return deadline <= 0 ? 0 : (deadline + this.tickMillis - 1) / this.tickMillis;
+    }
+
+    private void expire(TimingWheelDelayTask task) {
+        if (!task.isActive()) {
+            return;
+        }
+
+        // 到期前延时时间被增加了，重新放入时间轮
+        if (this.expireTick(task) >= this.nextTick + 1) {
+            this.schedule(task);
+            return;
+        }
+
+        task.run();
+    }
+}
+
+final class TimingWheelBucket {
+    TimingWheelDelayTask head;
+    TimingWheelDelayTask tail;
+
+    void add(TimingWheelDelayTask task) {
+        task.bucket = this;
+
+        if (Objects.isNull(this.tail)) {
+            this.head = task;
+        } else {
+            this.tail.next = task;
+            task.prev = this.tail;
+        }
+
+        this.tail = task;
+    }
+
+    void remove(TimingWheelDelayTask task) {
+        var prev = task.prev;
+        var next = task.next;
+
+        if (Objects.isNull(prev)) {
+            this.head = next;
+        } else {
+            prev.next = next;
+        }
+
+        if (Objects.isNull(next)) {
+            this.tail = prev;
+        } else {
+            next.prev = prev;
+        }
+
+        task.prev = null;
+        task.next = null;
+        task.bucket = null;
+    }
+
+    void drainTo(Consumer<TimingWheelDelayTask> consumer) {
+        var task = this.head;
+        this.head = null;
+        this.tail = null;
+
+        while (Objects.nonNull(task)) {
+            var next = task.next;
+            task.prev = null;
+            task.next = null;
+            task.bucket = null;
+
+            consumer.accept(task);
+            task = next;
+        }
+    }
+}
+
+@Getter
+final class TimingWheelDelayTask implements DelayTaskExecutor {
+    final String taskId;
+    final TaskListener taskListener;
+    final TimingWheelDelayTaskRegion delayTaskRegion;
+    final AtomicBoolean active = new AtomicBoolean(true);
+    final AtomicBoolean started = new AtomicBoolean();
+    /** 启动前为延时时间，启动后为到期时间（时间轮时钟的毫秒数） */
+    final AtomicLong deadline = new AtomicLong();
+    /** true 表示已经在时间轮的待处理队列中 */
+    final AtomicBoolean queued = new AtomicBoolean();
+
+    /** 以下字段只由时间轮线程访问 */
+    TimingWheelBucket bucket;
+    TimingWheelDelayTask prev;
+    TimingWheelDelayTask next;
+
+    TimingWheelDelayTask(TaskListener taskListener, TimingWheelDelayTaskRegion delayTaskRegion) {
+        this(String.valueOf(SimpleDelayTask.taskIdCounter.getAndIncrement()), taskListener, delayTaskRegion);
+    }
+
+    TimingWheelDelayTask(String taskId, TaskListener taskListener, TimingWheelDelayTaskRegion delayTaskRegion) {
+        this.taskId = taskId;
+        this.taskListener = taskListener;
+        this.delayTaskRegion = delayTaskRegion;
+    }
+
+    @Override
+    public boolean isActive() {
+        return this.active.get();
+    }
+
+    @Override
+    public void cancel() {
+        if (this.isActive() && this.active.compareAndSet(true, false)) {
+            // 只移除自己，不影响相同 taskId 的新任务
+            this.delayTaskRegion.taskMap.remove(this.taskId, this);
+            this.delayTaskRegion.submit(this);
+        }
+    }
+
+    @Override
+    public long getMillis() {
+        long millis = this.deadline.get();
+        if (this.started.get()) {
+            millis -= this.delayTaskRegion.currentTimeMillis();
+        }
+
+        return millis < 0 ? 0 : millis;
+    }
+
+    @Override
+    public DelayTask plusTimeMillis(long millis) {
+        if (this.isActive()) {
+            this.deadline.addAndGet(millis);
+
+            if (this.started.get()) {
+                this.delayTaskRegion.submit(this);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public DelayTask task() {
+        if (this.isActive() && this.started.compareAndSet(false, true)) {
+            // 延时时间转为到期时间
+            this.deadline.addAndGet(this.delayTaskRegion.currentTimeMillis());
+            this.delayTaskRegion.runDelayTask(this);
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean triggerUpdate() {
+        return this.isActive() && this.getMillis() <= 0;
+    }
+
+    @Override
+    public void onUpdate() {
+        // 执行前任务可能已被取消（如交给执行器后）
+        if (!this.active.compareAndSet(true, false)) {
+            return;
+        }
+
+        this.delayTaskRegion.taskMap.remove(this.taskId, this);
+
+        if (this.taskListener.triggerUpdate()) {
+            this.taskListener.onUpdate();
+        }
+    }
+
+    @Override
+    public void onException(Throwable e) {
+        this.taskListener.onException(e);
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return this.taskListener.getExecutor();
+    }
+
+    void run() {
+        var executor = this.getExecutor();
+
+        if (Objects.nonNull(executor)) {
+            executor.execute(this::runUpdate);
+        } else {
+            this.runUpdate();
+        }
+    }
+
+    private void runUpdate() {
+        try {
+            this.onUpdate();
+        } catch (Throwable e) {
+            this.onException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TimingWheelDelayTask{" +
+                "taskId='" + this.taskId + '\'' +
+                ", active=" + this.active +
+                ", timeMillis=" + getMillis() +
+                '}';
+    }
+}
@@ -34,6 +34,11 @@
  *     6. 可设置任务监听回调
  *     7. 内部使用 Netty HashedWheelTimer，轻松支持百万任务。
  * </pre>
+ * 延时任务数量较多时（如大量的房间、技能冷却），可以使用基于分层时间轮的 {@link com.iohao.game.common.kit.concurrent.timer.delay.TimingWheelDelayTaskRegion}，
+ * 每次 tick 只处理到期的任务
+ * <pre>{@code
+ * DelayTaskKit.setDelayTaskRegion(new TimingWheelDelayTaskRegion());
+ * }</pre>
  * for example
  * <pre>{@code
  * public class DelayTaskTest {
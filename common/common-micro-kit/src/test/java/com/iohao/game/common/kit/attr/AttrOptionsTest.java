@@ -0,0 +1,191 @@
+package com.iohao.game.common.kit.attr;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jctools.maps.NonBlockingHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@Slf4j
+public class AttrOptionsTest {
+    static final AttrOption<Long> userIdOption = AttrOption.valueOf("AttrOptionsTest.userId");
+    static final AttrOption<String> nicknameOption = AttrOption.valueOf("AttrOptionsTest.nickname");
+    static final AttrOption<Integer> levelOption = AttrOption.valueOf("AttrOptionsTest.level", 1);
+    static final AttrOption<Boolean> activeOption = AttrOption.valueOf("AttrOptionsTest.active");
+    static final AttrOption<List<String>> tagsOption = AttrOption.valueOf("AttrOptionsTest.tags", () -> new ArrayList<>());
+
+    @Test
+    public void option() {
+        option(new AttrOptions());
+        option(new LockFreeAttrOptions());
+    }
+
+    private void option(AttrOptions options) {
+        Assert.assertNull(options.option(userIdOption));
+        Assert.assertEquals(1, options.option(levelOption).intValue());
+        Assert.assertNotNull(options.option(tagsOption));
+        Assert.assertSame(options.option(tagsOption), options.option(tagsOption));
+
+        options.option(userIdOption, 10L).option(levelOption, 2);
+        Assert.assertEquals(10L, options.option(userIdOption).longValue());
+        Assert.assertEquals(2, options.option(levelOption).intValue());
+
+        options.option(userIdOption, null);
+        Assert.assertNull(options.option(userIdOption));
+        // 删除不存在的属性
+        options.option(AttrOption.valueOf("AttrOptionsTest.none"), null);
+    }
+
+    @Test
+    public void id() {
+        AttrOption<Long> option = AttrOption.valueOf("AttrOptionsTest.userId");
+        Assert.assertEquals(userIdOption.id, option.id);
+        Assert.assertNotEquals(userIdOption.id, nicknameOption.id);
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        AttrOptions options = new AttrOptions();
+        options.option(nicknameOption, "a");
+
+        var outputStream = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(outputStream)) {
+            out.writeObject(nicknameOption);
+            out.writeObject(options);
+        }
+
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            AttrOption<?> option = (AttrOption<?>) in.readObject();
+            Assert.assertEquals(nicknameOption.id, option.id);
+
+            AttrOptions newOptions = (AttrOptions) in.readObject();
+            Assert.assertEquals("a", newOptions.option(nicknameOption));
+        }
+    }
+
+    @Test
+    public void serializableByName() throws Exception {
+        // 模拟其他进程：属性值只有属性名，没有当前进程的 id
+        AttrOptions options = new LockFreeAttrOptions();
+        options.set(AttrOption.NONE_ID, nicknameOption.name(), "b");
+        options.option(levelOption, 3);
+        Assert.assertNull(options.option(nicknameOption));
+
+        AttrOptions newOptions = copy(options);
+        Assert.assertEquals(LockFreeAttrOptions.class, newOptions.getClass());
+        Assert.assertEquals("b", newOptions.option(nicknameOption));
+        Assert.assertEquals(3, newOptions.option(levelOption).intValue());
+        Assert.assertNull(newOptions.option(userIdOption));
+    }
+
+    @Test
+    public void overflow() {
+        // id 用完后的属性项按属性名保存
+        AttrOptions options = new AttrOptions();
+        options.set(AttrOption.NONE_ID, "AttrOptionsTest.overflow", 1);
+        Assert.assertEquals(1, options.overflowMap.get("AttrOptionsTest.overflow"));
+
+        options.set(AttrOption.NONE_ID, "AttrOptionsTest.overflow", null);
+        Assert.assertTrue(options.overflowMap.isEmpty());
+
+        Assert.assertTrue(AttrOption.idCounter.get() <= AttrOption.MAX_ID);
+        Assert.assertEquals(nicknameOption.name(), AttrOption.nameOf(nicknameOption.id));
+    }
+
+    private AttrOptions copy(AttrOptions options) throws Exception {
+        var outputStream = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(outputStream)) {
+            out.writeObject(options);
+        }
+
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            return (AttrOptions) in.readObject();
+        }
+    }
+
+    @Test
+    public void lockFree() throws InterruptedException {
+        AttrOptions options = new LockFreeAttrOptions();
+        List<AttrOption<Integer>> optionList = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            optionList.add(AttrOption.valueOf("AttrOptionsTest.lockFree" + i));
+        }
+
+        // 多个线程同时写不同的属性，不能丢失
+        CountDownLatch latch = new CountDownLatch(optionList.size());
+        for (int i = 0; i < optionList.size(); i++) {
+            int value = i;
+            Thread.ofVirtual().start(() -> {
+                options.option(optionList.get(value), value);
+                latch.countDown();
+            });
+        }
+
+        latch.await();
+        for (int i = 0; i < optionList.size(); i++) {
+            Assert.assertEquals(i, options.option(optionList.get(i)).intValue());
+        }
+    }
+
+    @Test
+    public void footprint() {
+        int sessionSize = 10_000;
+
+        // 数组实现
+        long arrayBytes = allocatedBytes(sessionSize, () -> {
+            AttrOptions options = new AttrOptions();
+            options.option(userIdOption, 1L)
+                    .option(nicknameOption, "a")
+                    .option(levelOption, 1)
+                    .option(activeOption, Boolean.TRUE)
+                    .option(tagsOption, List.of());
+            return options;
+        });
+
+        // 原来的 NonBlockingHashMap 实现
+        long mapBytes = allocatedBytes(sessionSize, () -> {
+            Map<AttrOption<?>, Object> options = new NonBlockingHashMap<>();
+            options.put(userIdOption, 1L);
+            options.put(nicknameOption, "a");
+            options.put(levelOption, 1);
+            options.put(activeOption, Boolean.TRUE);
+            options.put(tagsOption, List.of());
+            return options;
+        });
+
+        log.info("bytes per session, array : {}, map : {}", arrayBytes / sessionSize, mapBytes / sessionSize);
+        Assert.assertTrue(arrayBytes < mapBytes);
+    }
+
+    private long allocatedBytes(int size, Supplier<Object> supplier) {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        // 预热
+        Object[] sessions = new Object[size];
+        for (int i = 0; i < size; i++) {
+            sessions[i] = supplier.get();
+        }
+
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < size; i++) {
+            sessions[i] = supplier.get();
+        }
+
+        return threadBean.getThreadAllocatedBytes(threadId) - start;
+    }
+}
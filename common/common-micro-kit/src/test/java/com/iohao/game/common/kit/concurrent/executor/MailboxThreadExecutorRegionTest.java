@@ -0,0 +1,185 @@
+package com.iohao.game.common.kit.concurrent.executor;
+
+import com.iohao.game.common.kit.ExecutorKit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class MailboxThreadExecutorRegionTest {
+    final ExecutorService carrier = ExecutorKit.newFixedThreadPool(2, "MailboxTest-");
+
+    @After
+    public void tearDown() {
+        this.carrier.shutdownNow();
+    }
+
+    private MailboxThreadExecutorRegion newRegion() {
+        return new MailboxThreadExecutorRegion("MailboxTest", this.carrier, 4, 1, false);
+    }
+
+    @Test
+    public void ordering() throws InterruptedException {
+        var region = this.newRegion();
+
+        int keyCount = 64;
+        int producerCount = 4;
+        int taskCount = 2_000;
+
+        // [key][producer] 最后执行的任务编号，同一个 key 的任务串行执行，不需要同步
+        int[][] lastValues = new int[keyCount][producerCount];
+        CountDownLatch latch = new CountDownLatch(keyCount * producerCount * taskCount);
+        AtomicReference<String> error = new AtomicReference<>();
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            int producer = p;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 1; i <= taskCount; i++) {
+                    for (int key = 0; key < keyCount; key++) {
+                        int value = i;
+                        int[] values = lastValues[key];
+                        region.execute(() -> {
+                            if (values[producer] + 1 != value) {
+                                error.set("out of order");
+                            }
+
+                            values[producer] = value;
+                            latch.countDown();
+                        }, key);
+                    }
+                }
+            }));
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertNull(error.get());
+        Assert.assertEquals(keyCount, region.countMailbox());
+    }
+
+    @Test
+    public void noHeadOfLineBlocking() throws InterruptedException {
+        var region = this.newRegion();
+
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        region.execute(() -> {
+            try {
+                blockLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1);
+
+        // 同一个 key 的任务需要等待
+        CountDownLatch sameKeyLatch = new CountDownLatch(1);
+        region.execute(sameKeyLatch::countDown, 1);
+
+        // 其他 key 的任务不受影响
+        CountDownLatch otherKeyLatch = new CountDownLatch(1);
+        region.execute(otherKeyLatch::countDown, 1 + 16);
+
+        Assert.assertTrue(otherKeyLatch.await(1, TimeUnit.SECONDS));
+        Assert.assertFalse(sameKeyLatch.await(50, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1, region.getThreadExecutor(1).getWorkQueue());
+
+        blockLatch.countDown();
+        Assert.assertTrue(sameKeyLatch.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void capacityPerMailbox() throws InterruptedException {
+        var region = this.newRegion();
+        region.setCapacity(1);
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        var busy = region.getThreadExecutor(1);
+
+        try {
+            busy.execute(() -> {
+                startLatch.countDown();
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Assert.assertTrue(startLatch.await(1, TimeUnit.SECONDS));
+
+            // 容量为 1，同一个邮箱的第二个积压任务被拒绝
+            Assert.assertTrue(busy.tryExecute(() -> {
+            }));
+            Assert.assertFalse(busy.tryExecute(() -> {
+            }));
+
+            // 其他邮箱有独立的容量，不受影响
+            var other = region.getThreadExecutor(2);
+            CountDownLatch otherLatch = new CountDownLatch(1);
+            Assert.assertTrue(other.tryExecute(otherLatch::countDown));
+            Assert.assertTrue(otherLatch.await(1, TimeUnit.SECONDS));
+
+            Assert.assertEquals(1, busy.stat().snapshot().rejected());
+            Assert.assertEquals(0, other.stat().snapshot().rejected());
+
+            // 汇总统计
+            var snapshot = region.listStatSnapshot().getFirst();
+            Assert.assertEquals(1, snapshot.backlog());
+            Assert.assertEquals(1, snapshot.rejected());
+        } finally {
+            blockLatch.countDown();
+        }
+    }
+
+    @Test
+    public void evict() throws InterruptedException {
+        var region = this.newRegion();
+
+        var threadExecutor = region.getThreadExecutor(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        threadExecutor.execute(latch::countDown);
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+
+        // 等待邮箱执行完这一批任务
+        Mailbox mailbox = region.getMailbox(1);
+        while (mailbox.count.get() != 0) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+
+        // 有任务的邮箱不会被回收
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        region.execute(() -> {
+            try {
+                blockLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 2);
+
+        long later = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        Assert.assertEquals(1, region.evictIdle(later));
+        Assert.assertEquals(1, region.countMailbox());
+        blockLatch.countDown();
+
+        // 持有已回收邮箱的线程执行器，提交的任务会转交给新的邮箱
+        CountDownLatch forwardLatch = new CountDownLatch(1);
+        threadExecutor.execute(forwardLatch::countDown);
+        Assert.assertTrue(forwardLatch.await(1, TimeUnit.SECONDS));
+
+        Assert.assertEquals(2, region.countMailbox());
+        Assert.assertNotSame(threadExecutor, region.getThreadExecutor(1));
+    }
+}
@@ -0,0 +1,172 @@
+package com.iohao.game.common.kit.concurrent.executor;
+
+import com.iohao.game.common.kit.concurrent.FixedNameThreadFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class MpscSingleThreadExecutorTest {
+    static final int PRODUCER_COUNT = 4;
+    static final int TASK_COUNT = 50_000;
+
+    @Test
+    public void execute() throws InterruptedException {
+        for (IdleStrategy idleStrategy : IdleStrategy.values()) {
+            this.execute(idleStrategy);
+        }
+    }
+
+    private void execute(IdleStrategy idleStrategy) throws InterruptedException {
+        var executor = SingleThreadExecutorKit.newMpscExecutor("Mpsc-" + idleStrategy, idleStrategy);
+
+        // 单线程消费，不需要同步；每个生产者提交的任务按顺序执行
+        int[] lastValues = new int[PRODUCER_COUNT];
+        List<Thread> producers = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(PRODUCER_COUNT * TASK_COUNT);
+        AtomicReference<String> error = new AtomicReference<>();
+
+        for (int p = 0; p < PRODUCER_COUNT; p++) {
+            int producer = p;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 1; i <= TASK_COUNT; i++) {
+                    int value = i;
+                    executor.execute(() -> {
+                        if (lastValues[producer] + 1 != value) {
+                            error.set(idleStrategy + " out of order");
+                        }
+
+                        lastValues[producer] = value;
+                        latch.countDown();
+                    });
+                }
+            }));
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        Assert.assertTrue(idleStrategy.name(), latch.await(10, TimeUnit.SECONDS));
+        Assert.assertNull(error.get());
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void exception() throws InterruptedException {
+        var executor = new MpscSingleThreadExecutor(new FixedNameThreadFactory("Mpsc-exception"), IdleStrategy.park);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // 任务抛出的异常不会导致消费线程退出
+        executor.execute(() -> {
+            throw new IllegalStateException("test exception");
+        });
+
+        executor.execute(latch::countDown);
+
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void workQueue() throws InterruptedException {
+        var executor = new MpscSingleThreadExecutor(new FixedNameThreadFactory("Mpsc-workQueue"), IdleStrategy.park);
+        var threadExecutor = new ThreadExecutor("Mpsc-workQueue", executor, 1);
+
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        threadExecutor.execute(() -> {
+            try {
+                blockLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        for (int i = 0; i < 10; i++) {
+            threadExecutor.execute(() -> {
+            });
+        }
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertEquals(10, threadExecutor.getWorkQueue());
+
+        blockLatch.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertEquals(0, threadExecutor.getWorkQueue());
+    }
+
+    @Test
+    public void shutdownBeforeStart() throws InterruptedException {
+        var executor = new MpscSingleThreadExecutor(new FixedNameThreadFactory("Mpsc-shutdown"), IdleStrategy.park);
+        executor.shutdown();
+
+        Assert.assertTrue(executor.isShutdown());
+        Assert.assertTrue(executor.awaitTermination(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void interrupt() throws InterruptedException {
+        var executor = new MpscSingleThreadExecutor(new FixedNameThreadFactory("Mpsc-interrupt"), IdleStrategy.park);
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(latch::countDown);
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+
+        // 消费线程被中断后，仍然会 park，而不是空转
+        executor.thread.interrupt();
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertEquals(Thread.State.WAITING, executor.thread.getState());
+
+        CountDownLatch afterLatch = new CountDownLatch(1);
+        executor.execute(afterLatch::countDown);
+        Assert.assertTrue(afterLatch.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void shutdownRace() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            var executor = new MpscSingleThreadExecutor(new FixedNameThreadFactory("Mpsc-race"), IdleStrategy.park);
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger executed = new AtomicInteger();
+
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCER_COUNT; p++) {
+                producers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        try {
+                            executor.execute(executed::incrementAndGet);
+                            accepted.incrementAndGet();
+                        } catch (RejectedExecutionException e) {
+                            return;
+                        }
+                    }
+                }));
+            }
+
+            // 与生产者并发的 shutdown（包括消费线程还没有创建的情况）
+            executor.shutdown();
+
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            // 提交成功的任务都会被执行
+            Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+            Assert.assertEquals(accepted.get(), executed.get());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.iohao.game.common.kit.concurrent.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@Slf4j
+public class ThreadExecutorStatTest {
+
+    @Test
+    public void histogramBucket() {
+        long lastUpperBound = -1;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT - LatencyHistogram.SUB_COUNT; i++) {
+            long upperBound = LatencyHistogram.upperBoundOf(i);
+            Assert.assertTrue(upperBound > lastUpperBound);
+            Assert.assertEquals(i, LatencyHistogram.indexOf(upperBound));
+            Assert.assertEquals(i, LatencyHistogram.indexOf(lastUpperBound + 1));
+            lastUpperBound = upperBound;
+        }
+
+        Assert.assertEquals(Long.MAX_VALUE, lastUpperBound);
+    }
+
+    @Test
+    public void histogramPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        var snapshot = histogram.snapshot();
+        log.info("{}", snapshot);
+
+        Assert.assertEquals(1000, snapshot.count());
+        Assert.assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), snapshot.maxNanos());
+        assertNear(TimeUnit.MICROSECONDS.toNanos(500), snapshot.p50());
+        assertNear(TimeUnit.MICROSECONDS.toNanos(990), snapshot.p99());
+        assertNear(TimeUnit.MICROSECONDS.toNanos(500), snapshot.getAvgNanos());
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.snapshot().count());
+        Assert.assertEquals(0, histogram.snapshot().p99());
+    }
+
+    private static void assertNear(long expected, long actual) {
+        // 相对误差不超过 12.5%
+        Assert.assertTrue(expected + " : " + actual, Math.abs(actual - expected) <= expected / 8);
+    }
+
+    @Test
+    public void stat() throws InterruptedException {
+        // 包装任务
+        stat(Executors.newSingleThreadExecutor());
+        // 由消费线程记录
+        stat(SingleThreadExecutorKit.newThreadPoolExecutor("stat-pool"));
+        stat(SingleThreadExecutorKit.newMpscExecutor("stat-mpsc", IdleStrategy.park));
+    }
+
+    private void stat(ExecutorService executor) throws InterruptedException {
+        var threadExecutor = new ThreadExecutor("stat", executor, 1);
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        threadExecutor.execute(() -> {
+            startLatch.countDown();
+            try {
+                blockLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Assert.assertTrue(startLatch.await(1, TimeUnit.SECONDS));
+
+        int taskCount = 10;
+        CountDownLatch latch = new CountDownLatch(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            threadExecutor.executeTry(latch::countDown);
+        }
+
+        TimeUnit.MILLISECONDS.sleep(20);
+        var stat = threadExecutor.stat();
+        Assert.assertEquals(taskCount, stat.snapshot().backlog());
+
+        blockLatch.countDown();
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+
+        var snapshot = stat.snapshot();
+        log.info("{}", snapshot);
+
+        Assert.assertEquals(0, snapshot.backlog());
+        Assert.assertEquals(taskCount, snapshot.maxBacklog());
+        Assert.assertEquals(taskCount + 1, snapshot.waitTime().count());
+        Assert.assertEquals(taskCount + 1, snapshot.runTime().count());
+        // 后提交的任务需要等待第一个任务执行完成
+        Assert.assertTrue(snapshot.waitTime().maxNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+        Assert.assertTrue(snapshot.runTime().maxNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+
+        // 任务被拒绝时，不计入积压任务数
+        Assert.assertThrows(RuntimeException.class, () -> threadExecutor.execute(() -> {
+        }));
+        Assert.assertEquals(0, stat.snapshot().backlog());
+
+        stat.reset();
+        Assert.assertEquals(0, stat.snapshot().maxBacklog());
+        Assert.assertEquals(0, stat.snapshot().waitTime().count());
+    }
+
+    @Test
+    public void directSubmit() throws InterruptedException {
+        var executor = SingleThreadExecutorKit.newMpscExecutor("stat-direct", IdleStrategy.park);
+        var threadExecutor = new ThreadExecutor("stat-direct", executor, 1);
+
+        // 直接提交到执行器的任务，不计入统计
+        CountDownLatch latch = new CountDownLatch(2);
+        executor.execute(latch::countDown);
+        threadExecutor.execute(latch::countDown);
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+
+        var snapshot = threadExecutor.stat().snapshot();
+        Assert.assertEquals(0, snapshot.backlog());
+        Assert.assertEquals(1, snapshot.runTime().count());
+    }
+
+    @Test
+    public void equality() {
+        var executor = Executors.newSingleThreadExecutor();
+        var threadExecutor = new ThreadExecutor("equality", executor, 1);
+        var other = new ThreadExecutor("equality", executor, 1, new ThreadExecutorStat("other"));
+
+        // 运行统计不参与 equals 与 hashCode
+        Assert.assertEquals(threadExecutor, other);
+        Assert.assertEquals(threadExecutor.hashCode(), other.hashCode());
+        Assert.assertNotEquals(threadExecutor, new ThreadExecutor("equality", executor, 2));
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void region() {
+        var region = ExecutorRegionKit.getExecutorRegion().getUserThreadExecutorRegion();
+        Assert.assertEquals(region.listThreadExecutor().size(), region.listStatSnapshot().size());
+        Assert.assertFalse(region.listStatSnapshot().isEmpty());
+    }
+}
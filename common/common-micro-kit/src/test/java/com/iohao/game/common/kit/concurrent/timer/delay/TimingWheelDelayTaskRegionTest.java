@@ -0,0 +1,157 @@
+package com.iohao.game.common.kit.concurrent.timer.delay;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+@Slf4j
+public class TimingWheelDelayTaskRegionTest {
+    static final long TICK_MILLIS = 10;
+
+    final AtomicLong clock = new AtomicLong();
+    TimingWheelDelayTaskRegion region;
+    List<Long> fireTimeList;
+
+    @Before
+    public void setUp() {
+        this.clock.set(0);
+        this.region = new TimingWheelDelayTaskRegion(TICK_MILLIS, this.clock::get, false);
+        this.fireTimeList = new ArrayList<>();
+    }
+
+    @Test
+    public void expire() {
+        long[] delays = {0, 5, 10, 640, 1000, 41_000, 50_000, 3_000_000};
+        for (long delay : delays) {
+            this.region.of(() -> this.fireTimeList.add(this.clock.get()))
+                    .plusTimeMillis(delay)
+                    .task();
+        }
+
+        Assert.assertEquals(delays.length, this.region.count());
+
+        this.runTo(3_100_000);
+
+        Assert.assertEquals(delays.length, this.fireTimeList.size());
+        Assert.assertEquals(0, this.region.count());
+
+        for (int i = 0; i < delays.length; i++) {
+            long fireTime = this.fireTimeList.get(i);
+            // 不会提前执行，延迟不超过一个 tick
+            Assert.assertTrue(fireTime >= delays[i]);
+            Assert.assertTrue(fireTime < delays[i] + TICK_MILLIS);
+        }
+    }
+
+    @Test
+    public void plusAndMinus() {
+        DelayTask plusTask = this.region.of(() -> this.fireTimeList.add(this.clock.get()))
+                .plusTime(Duration.ofSeconds(1))
+                .task();
+
+        DelayTask minusTask = this.region.of(() -> this.fireTimeList.add(-this.clock.get()))
+                .plusTime(Duration.ofSeconds(100))
+                .task();
+
+        this.runTo(500);
+        Assert.assertEquals(500, plusTask.getMillis());
+
+        // 1.5 秒后执行
+        plusTask.plusTimeMillis(500);
+        // 2 秒后执行
+        minusTask.minusTimeMillis(98_000);
+
+        this.runTo(200_000);
+
+        Assert.assertEquals(List.of(1500L, -2000L), this.fireTimeList);
+        Assert.assertFalse(plusTask.isActive());
+        Assert.assertFalse(minusTask.isActive());
+    }
+
+    @Test
+    public void cancel() {
+        DelayTask delayTask = this.region.of(() -> this.fireTimeList.add(1L))
+                .plusTimeMillis(1000)
+                .task();
+
+        this.region.of("taskId", () -> this.fireTimeList.add(2L))
+                .plusTimeMillis(1000)
+                .task();
+
+        Assert.assertEquals(2, this.region.count());
+
+        this.runTo(500);
+        delayTask.cancel();
+        this.region.cancel("taskId");
+
+        Assert.assertFalse(delayTask.isActive());
+        Assert.assertEquals(0, this.region.count());
+
+        this.runTo(2000);
+        Assert.assertTrue(this.fireTimeList.isEmpty());
+    }
+
+    @Test
+    public void cover() {
+        String taskId = "1";
+        DelayTask delayTask = this.region.of(taskId, () -> this.fireTimeList.add(1L))
+                .plusTimeMillis(1000)
+                .task();
+
+        this.runTo(500);
+
+        // 因为 taskId 相同，所以会覆盖之前的延时任务
+        this.region.of(taskId, () -> this.fireTimeList.add(2L))
+                .plusTimeMillis(1000)
+                .task();
+
+        Assert.assertFalse(delayTask.isActive());
+        Assert.assertEquals(1, this.region.count());
+        Assert.assertTrue(this.region.optional(taskId).isPresent());
+
+        this.runTo(3000);
+        Assert.assertEquals(List.of(2L), this.fireTimeList);
+        Assert.assertTrue(this.region.optional(taskId).isEmpty());
+    }
+
+    @Test
+    public void timer() throws InterruptedException {
+        TimingWheelDelayTaskRegion delayTaskRegion = new TimingWheelDelayTaskRegion();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        long timeMillis = System.currentTimeMillis();
+        delayTaskRegion.of(latch::countDown)
+                .plusTime(Duration.ofMillis(200))
+                .task();
+
+        Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+
+        long value = System.currentTimeMillis() - timeMillis;
+        log.info("{} ms 后，执行延时任务", value);
+        Assert.assertTrue(value >= 200);
+
+        delayTaskRegion.stop();
+    }
+
+    private void runTo(long timeMillis) {
+        // 模拟时间的流逝，每次推进一个 tick
+        while (this.clock.get() < timeMillis) {
+            this.region.advance(this.clock.get() / TICK_MILLIS);
+            this.clock.addAndGet(TICK_MILLIS);
+        }
+
+        this.region.advance(this.clock.get() / TICK_MILLIS);
+    }
+}
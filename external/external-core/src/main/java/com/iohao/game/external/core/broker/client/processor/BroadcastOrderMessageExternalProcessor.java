@@ -21,17 +21,21 @@ package com.iohao.game.external.core.broker.client.processor;
 import com.alipay.remoting.AsyncContext;
 import com.alipay.remoting.BizContext;
 import com.alipay.remoting.rpc.protocol.AsyncUserProcessor;
+import com.iohao.game.bolt.broker.core.common.BroadcastOrderThreadExecutorRegion;
+import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage;
-import com.iohao.game.common.kit.ExecutorKit;
 import com.iohao.game.external.core.aware.UserSessionsAware;
 import com.iohao.game.external.core.message.ExternalCodecKit;
 import com.iohao.game.external.core.session.UserSessions;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-
 /**
  * 接收并处理 来自网关的广播消息 - 顺序的
+ * <pre>
+ *     在网络线程中按到达的顺序，把广播分派到多个单线程通道中处理：
+ *     推送给玩家的按 userId 分区，全服广播按来源（网关连接）分区，同一个玩家收到的顺序不变。
+ *
+ *     通道的数量 see {@link IoGameGlobalConfig#broadcastOrderLanes}
+ * </pre>
  *
  * @author 渔民小镇
  * @date 2023-02-21
@@ -39,7 +43,6 @@ import java.util.concurrent.ExecutorService;
 public final class BroadcastOrderMessageExternalProcessor extends AsyncUserProcessor<BroadcastOrderMessage>
         implements UserSessionsAware {
 
-    final ExecutorService executorService = ExecutorKit.newSingleThreadExecutor("BroadcastOrderExternal");
     UserSessions<?, ?> userSessions;
 
     @Override
@@ -49,16 +52,24 @@ public final class BroadcastOrderMessageExternalProcessor extends AsyncUserProce
 
     @Override
     public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, BroadcastOrderMessage message) {
-        ExternalCodecKit.broadcast(message, this.userSessions);
+        // 来源网关的连接
+        long sourceKey = bizCtx.getRemoteAddress().hashCode();
+        Holder.region.execute(message, sourceKey, theMessage -> ExternalCodecKit.broadcast(theMessage, this.userSessions));
     }
 
     @Override
-    public Executor getExecutor() {
-        return executorService;
+    public boolean processInIOThread() {
+        // 在网络线程中分派，保证到达的顺序
+        return true;
     }
 
     @Override
     public String interest() {
         return BroadcastOrderMessage.class.getName();
     }
+
+    private static class Holder {
+        static final BroadcastOrderThreadExecutorRegion region = new BroadcastOrderThreadExecutorRegion(
+                "BroadcastOrderExternal", IoGameGlobalConfig.broadcastOrderLanes);
+    }
 }
@@ -19,15 +19,28 @@
 package com.iohao.game.external.core.message;
 
 import com.alipay.remoting.rpc.RpcCommandType;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.iohao.game.action.skeleton.core.DataCodecKit;
+import com.iohao.game.action.skeleton.core.codec.ProtoDataCodec;
 import com.iohao.game.action.skeleton.protocol.BarMessage;
 import com.iohao.game.action.skeleton.protocol.HeadMetadata;
 import com.iohao.game.action.skeleton.protocol.RequestMessage;
+import com.iohao.game.common.kit.exception.ThrowKit;
 import com.iohao.game.external.core.config.ExternalGlobalConfig;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.io.IOException;
+import java.util.Objects;
 
 /**
  * 默认的游戏对外服协议编解码
  * <pre>
  *     使用默认的游戏对外服协议 {@link ExternalMessage}
+ *
+ *     业务数据编解码器为 {@link ProtoDataCodec} 时，直接在 ByteBuf 上按 protobuf 格式编解码；
+ *     其他编解码器（如 JsonDataCodec、自定义的 DataCodec）仍然通过 {@link DataCodecKit} 编解码。
  * </pre>
  *
  * @author 渔民小镇
@@ -36,6 +49,18 @@ import com.iohao.game.external.core.config.ExternalGlobalConfig;
  */
 @SuppressWarnings("unchecked")
 public final class DefaultExternalCodec implements ExternalCodec {
+    /*
+     * ExternalMessage 各字段的 protobuf tag（fieldNumber << 3 | wireType），
+     * 与 jprotobuf 生成的编解码保持一致：int 类型的字段总是写入，String、byte[] 非 null 时才写入。
+     */
+    static final int cmdCodeTag = 1 << 3;
+    static final int protocolSwitchTag = 2 << 3;
+    static final int cmdMergeTag = 3 << 3;
+    static final int responseStatusTag = 4 << 3;
+    static final int validMsgTag = 5 << 3 | 2;
+    static final int dataTag = 6 << 3 | 2;
+    static final int msgIdTag = 7 << 3;
+
     @Override
     public <T> T convertExternalMessage(BarMessage message) {
         // 游戏框架内置的协议， 与游戏前端相互通讯的协议
@@ -95,4 +120,128 @@ public final class DefaultExternalCodec implements ExternalCodec {
 
         return requestMessage;
     }
-}
\ No newline at end of file
+
+    @Override
+    public ByteBuf encode(ByteBufAllocator alloc, BarMessage message, boolean withLength) {
+        if (!isProtoDataCodec()) {
+            return ExternalCodec.super.encode(alloc, message, withLength);
+        }
+
+        /*
+         * 不创建 ExternalMessage 与中间的字节数组，直接将协议写入 ByteBuf。
+         * 字段与 convertExternalMessage 方法中的一致。
+         */
+        HeadMetadata headMetadata = message.getHeadMetadata();
+        int cmdCode = headMetadata.getCmdCode();
+        int protocolSwitch = ExternalGlobalConfig.protocolSwitch;
+        int cmdMerge = headMetadata.getCmdMerge();
+        int responseStatus = message.getResponseStatus();
+        String validMsg = message.getValidatorMsg();
+        byte[] data = message.getData();
+        int msgId = headMetadata.getMsgId();
+
+        int size = CodedOutputStream.computeInt32Size(1, cmdCode)
+                + CodedOutputStream.computeInt32Size(2, protocolSwitch)
+                + CodedOutputStream.computeInt32Size(3, cmdMerge)
+                + CodedOutputStream.computeSInt32Size(4, responseStatus)
+                + (Objects.isNull(validMsg) ? 0 : CodedOutputStream.computeStringSize(5, validMsg))
+                + (Objects.isNull(data) ? 0 : CodedOutputStream.computeByteArraySize(6, data))
+                + CodedOutputStream.computeInt32Size(7, msgId);
+
+        // 使用默认 buffer 。如果没有做任何配置，通常默认实现为池化的 direct （直接内存，也称为堆外内存）
+        ByteBuf buffer = alloc.buffer(withLength ? size + 4 : size);
+        if (withLength) {
+            buffer.writeInt(size);
+        }
+
+        int writerIndex = buffer.writerIndex();
+
+        try {
+            // 直接写入 buffer 的内存中
+            CodedOutputStream output = CodedOutputStream.newInstance(buffer.nioBuffer(writerIndex, size));
+            output.writeInt32(1, cmdCode);
+            output.writeInt32(2, protocolSwitch);
+            output.writeInt32(3, cmdMerge);
+            output.writeSInt32(4, responseStatus);
+
+            if (Objects.nonNull(validMsg)) {
+                output.writeString(5, validMsg);
+            }
+
+            if (Objects.nonNull(data)) {
+                output.writeByteArray(6, data);
+            }
+
+            output.writeInt32(7, msgId);
+            output.flush();
+        } catch (IOException e) {
+            buffer.release();
+            ThrowKit.ofRuntimeException(e);
+        }
+
+        buffer.writerIndex(writerIndex + size);
+        return buffer;
+    }
+
+    @Override
+    public RequestMessage decodeRequest(ByteBuf in, int length) {
+        if (!isProtoDataCodec()) {
+            return ExternalCodec.super.decodeRequest(in, length);
+        }
+
+        /*
+         * 不创建 ExternalMessage 与中间的字节数组，直接从 ByteBuf 中读取协议。
+         * 字段与 convertRequest 方法中的一致，业务数据 data 只会拷贝一次。
+         */
+        int cmdCode = 0;
+        int cmdMerge = 0;
+        int responseStatus = 0;
+        String validMsg = null;
+        byte[] data = null;
+        int msgId = 0;
+
+        int readerIndex = in.readerIndex();
+
+        try {
+            CodedInputStream input = CodedInputStream.newInstance(in.nioBuffer(readerIndex, length));
+
+            for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+                switch (tag) {
+                    case cmdCodeTag -> cmdCode = input.readInt32();
+                    case cmdMergeTag -> cmdMerge = input.readInt32();
+                    case responseStatusTag -> responseStatus = input.readSInt32();
+                    case validMsgTag -> validMsg = input.readString();
+                    case dataTag -> data = input.readByteArray();
+                    case msgIdTag -> msgId = input.readInt32();
+                    // protocolSwitch 以及未知的字段
+                    default -> input.skipField(tag);
+                }
+            }
+        } catch (IOException e) {
+            ThrowKit.ofRuntimeException(e);
+        }
+
+        in.readerIndex(readerIndex + length);
+
+        // 元信息
+        HeadMetadata headMetadata = new HeadMetadata()
+                .setCmdMerge(cmdMerge)
+                .setRpcCommandType(RpcCommandType.REQUEST_ONEWAY)
+                .setMsgId(msgId)
+                .setCmdCode(cmdCode);
+
+        // 请求
+        RequestMessage requestMessage = new RequestMessage();
+        requestMessage.setResponseStatus(responseStatus);
+        requestMessage.setValidatorMsg(validMsg);
+        requestMessage.setHeadMetadata(headMetadata);
+        requestMessage.setData(data);
+
+        return requestMessage;
+    }
+
+    private static boolean isProtoDataCodec() {
+        // 直接编解码的格式与 jprotobuf 一致，只适用于 protobuf
+        return DataCodecKit.getDataCodec() instanceof ProtoDataCodec;
+    }
+}
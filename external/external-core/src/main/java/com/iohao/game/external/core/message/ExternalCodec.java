@@ -19,11 +19,14 @@
 package com.iohao.game.external.core.message;
 
 import com.alipay.remoting.rpc.RpcCommandType;
+import com.iohao.game.action.skeleton.core.DataCodecKit;
 import com.iohao.game.action.skeleton.protocol.BarMessage;
 import com.iohao.game.action.skeleton.protocol.HeadMetadata;
 import com.iohao.game.action.skeleton.protocol.RequestMessage;
 import com.iohao.game.action.skeleton.protocol.ResponseMessage;
 import com.iohao.game.external.core.config.ExternalGlobalConfig;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 
 /**
  * 游戏对外服协议编解码
@@ -89,4 +92,50 @@ public interface ExternalCodec {
      * @return RequestMessage
      */
     RequestMessage convertRequest(Object externalMessage);
+
+    /**
+     * 将 BarMessage 编码到 ByteBuf 中
+     * <pre>
+     *     默认实现：BarMessage ---> 游戏对外服协议 ---> 字节数组 ---> ByteBuf
+     *     实现类可以直接将协议写入 ByteBuf，省去中间对象与字节数组的拷贝
+     * </pre>
+     *
+     * @param alloc      ByteBufAllocator
+     * @param message    BarMessage
+     * @param withLength true 表示在消息前写入 4 个字节的消息长度
+     * @return ByteBuf
+     * @since 21.23
+     */
+    default ByteBuf encode(ByteBufAllocator alloc, BarMessage message, boolean withLength) {
+        Object externalMessage = this.convertExternalMessage(message);
+        byte[] bytes = DataCodecKit.encode(externalMessage);
+
+        ByteBuf buffer = alloc.buffer(withLength ? bytes.length + 4 : bytes.length);
+        if (withLength) {
+            buffer.writeInt(bytes.length);
+        }
+
+        buffer.writeBytes(bytes);
+        return buffer;
+    }
+
+    /**
+     * 从 ByteBuf 中解码出 RequestMessage
+     * <pre>
+     *     默认实现：ByteBuf ---> 字节数组 ---> 游戏对外服协议 ---> RequestMessage
+     *     实现类可以直接从 ByteBuf 中读取协议，省去中间对象与字节数组的拷贝
+     * </pre>
+     *
+     * @param in     ByteBuf
+     * @param length 消息长度
+     * @return RequestMessage
+     * @since 21.23
+     */
+    default RequestMessage decodeRequest(ByteBuf in, int length) {
+        byte[] bytes = new byte[length];
+        in.readBytes(bytes);
+
+        ExternalMessage externalMessage = DataCodecKit.decode(bytes, ExternalMessage.class);
+        return this.convertRequest(externalMessage);
+    }
 }
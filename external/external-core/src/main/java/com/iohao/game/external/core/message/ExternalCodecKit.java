@@ -31,6 +31,8 @@ import com.iohao.game.bolt.broker.core.message.BrokerClientModuleMessage;
 import com.iohao.game.common.consts.CommonConst;
 import com.iohao.game.common.kit.CollKit;
 import com.iohao.game.external.core.session.UserSessions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import lombok.experimental.UtilityClass;
 
 import java.util.Collection;
@@ -89,6 +91,14 @@ public class ExternalCodecKit {
         return externalCodec.convertRequest(externalMessage);
     }
 
+    public ByteBuf encode(ByteBufAllocator alloc, BarMessage message, boolean withLength) {
+        return externalCodec.encode(alloc, message, withLength);
+    }
+
+    public RequestMessage decodeRequest(ByteBuf in, int length) {
+        return externalCodec.decodeRequest(in, length);
+    }
+
     public void employError(BarMessage message, MsgExceptionInfo exceptionInfo) {
         message.setResponseStatus(exceptionInfo.getCode());
         message.setValidatorMsg(exceptionInfo.getMsg());
@@ -109,7 +119,7 @@ public class ExternalCodecKit {
         // 推送消息给指定的真实用户列表
         Collection<Long> userIdList = message.getUserIdList();
         if (CollKit.notEmpty(userIdList)) {
-            userSessions.ifPresent(userIdList, userSession -> userSession.writeAndFlush(responseMessage));
+            userSessions.broadcast(userIdList, responseMessage);
             return;
         }
 
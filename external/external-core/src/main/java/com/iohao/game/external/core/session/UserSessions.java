@@ -148,6 +148,20 @@ public interface UserSessions<SessionContext, Session extends UserSession> exten
      */
     void broadcast(Object msg);
 
+    /**
+     * 消息广播给指定的玩家列表
+     * <pre>
+     *     玩家存在时会触发。实现类可以只编码一次消息，再将编码结果发送给各个玩家。
+     * </pre>
+     *
+     * @param userIdList userIdList
+     * @param msg        消息
+     * @since 21.23
+     */
+    default void broadcast(Collection<Long> userIdList, Object msg) {
+        this.ifPresent(userIdList, userSession -> userSession.writeAndFlush(msg));
+    }
+
     /**
      * 遍历所有玩家
      *
@@ -0,0 +1,83 @@
+package com.iohao.game.external.core.message;
+
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.core.DataCodecKit;
+import com.iohao.game.action.skeleton.core.codec.DataCodec;
+import com.iohao.game.action.skeleton.core.codec.JsonDataCodec;
+import com.iohao.game.action.skeleton.core.codec.ProtoDataCodec;
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.RequestMessage;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class DefaultExternalCodecTest {
+    final DataCodec dataCodec = DataCodecKit.getDataCodec();
+    final DefaultExternalCodec externalCodec = new DefaultExternalCodec();
+
+    @After
+    public void tearDown() {
+        DataCodecKit.setDataCodec(this.dataCodec);
+    }
+
+    @Test
+    public void protobuf() {
+        DataCodecKit.setDataCodec(new ProtoDataCodec());
+        this.roundTrip();
+    }
+
+    @Test
+    public void json() {
+        // 非 protobuf 的编解码器，仍然使用 DataCodecKit 编解码
+        DataCodecKit.setDataCodec(new JsonDataCodec());
+        this.roundTrip();
+    }
+
+    private void roundTrip() {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setHeadMetadata(new HeadMetadata()
+                .setCmdInfo(CmdInfo.of(1, 2))
+                .setMsgId(7)
+                .setCmdCode(ExternalMessageCmdCode.biz));
+        responseMessage.setResponseStatus(-1001);
+        responseMessage.setValidatorMsg("验证");
+        responseMessage.setData(new byte[]{1, 2, 3});
+
+        // 编码的结果与 DataCodecKit 编码 ExternalMessage 的结果一致
+        ByteBuf buffer = this.externalCodec.encode(UnpooledByteBufAllocator.DEFAULT, responseMessage, true);
+        byte[] expected = DataCodecKit.encode(this.externalCodec.convertExternalMessage(responseMessage));
+        Assert.assertEquals(expected.length, buffer.readInt());
+        Assert.assertArrayEquals(expected, ByteBufUtil.getBytes(buffer));
+
+        ExternalMessage externalMessage = DataCodecKit.decode(ByteBufUtil.getBytes(buffer), ExternalMessage.class);
+        buffer.release();
+        Assert.assertEquals(CmdInfo.of(1, 2).getCmdMerge(), externalMessage.getCmdMerge());
+        Assert.assertEquals(-1001, externalMessage.getResponseStatus());
+        Assert.assertEquals("验证", externalMessage.getValidMsg());
+        Assert.assertArrayEquals(new byte[]{1, 2, 3}, externalMessage.getData());
+        Assert.assertEquals(7, externalMessage.getMsgId());
+
+        // 解码客户端的请求
+        ByteBuf in = Unpooled.wrappedBuffer(new byte[]{9}, DataCodecKit.encode(externalMessage));
+        in.readByte();
+        RequestMessage requestMessage = this.externalCodec.decodeRequest(in, in.readableBytes());
+        Assert.assertEquals(0, in.readableBytes());
+
+        HeadMetadata headMetadata = requestMessage.getHeadMetadata();
+        Assert.assertEquals(CmdInfo.of(1, 2).getCmdMerge(), headMetadata.getCmdMerge());
+        Assert.assertEquals(7, headMetadata.getMsgId());
+        Assert.assertEquals(ExternalMessageCmdCode.biz, headMetadata.getCmdCode());
+        Assert.assertEquals(-1001, requestMessage.getResponseStatus());
+        Assert.assertEquals("验证", requestMessage.getValidatorMsg());
+        Assert.assertArrayEquals(new byte[]{1, 2, 3}, requestMessage.getData());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.external.core.netty.handler.codec;
+
+import com.iohao.game.action.skeleton.protocol.BarMessage;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandler;
+
+/**
+ * 可共享编码结果的编码器
+ * <pre>
+ *     广播时，同一个消息只编码一次，编码结果以 retainedDuplicate 的方式写入到各个玩家的 channel 中，
+ *     避免每个玩家都重新编码、拷贝一次相同的数据。
+ *
+ *     编码结果直接写入 channel，不会再经过该编码器。
+ *     没有实现该接口的编解码器，广播时仍然按原来的方式在各个 channel 中单独编码。
+ *     实现类的普通编码流程也应委托给 {@link #encode(ByteBufAllocator, BarMessage)}，保证两种方式的编码结果一致。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public interface SharedExternalEncoder extends ChannelHandler {
+    /**
+     * 编码消息
+     *
+     * @param alloc   alloc
+     * @param message message
+     * @return 编码结果，ByteBuf 或 ByteBufHolder
+     */
+    Object encode(ByteBufAllocator alloc, BarMessage message);
+}
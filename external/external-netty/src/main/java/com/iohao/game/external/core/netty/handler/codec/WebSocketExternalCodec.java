@@ -18,11 +18,10 @@
  */
 package com.iohao.game.external.core.netty.handler.codec;
 
-import com.iohao.game.action.skeleton.core.DataCodecKit;
 import com.iohao.game.action.skeleton.protocol.BarMessage;
 import com.iohao.game.external.core.message.ExternalCodecKit;
-import com.iohao.game.external.core.message.ExternalMessage;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageCodec;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
@@ -35,38 +34,33 @@ import java.util.List;
  * @author 渔民小镇
  * @date 2023-02-21
  */
-public class WebSocketExternalCodec extends MessageToMessageCodec<BinaryWebSocketFrame, BarMessage> {
+public class WebSocketExternalCodec extends MessageToMessageCodec<BinaryWebSocketFrame, BarMessage> implements SharedExternalEncoder {
     @Override
     protected void encode(ChannelHandlerContext ctx, BarMessage message, List<Object> out) {
+        out.add(this.encode(ctx.alloc(), message));
+    }
+
+    @Override
+    public BinaryWebSocketFrame encode(ByteBufAllocator alloc, BarMessage message) {
         /*
          * 编码器 - 将消息发送到请求端（客户端）；【游戏对外服】发送消息给【游戏客户端】
-         * ResponseMessage ---> ExternalMessage ---> 字节数组
+         * ResponseMessage ---> ByteBuf
+         *
+         * 使用默认 buffer 。如果没有做任何配置，通常默认实现为池化的 direct （直接内存，也称为堆外内存）
          */
-        ExternalMessage externalMessage = ExternalCodecKit.convertExternalMessage(message);
-
-        byte[] bytes = DataCodecKit.encode(externalMessage);
+        ByteBuf byteBuf = ExternalCodecKit.encode(alloc, message, false);
 
-        // 使用默认 buffer 。如果没有做任何配置，通常默认实现为池化的 direct （直接内存，也称为堆外内存）
-        ByteBuf byteBuf = ctx.alloc().buffer(bytes.length);
-        byteBuf.writeBytes(bytes);
-
-        BinaryWebSocketFrame socketFrame = new BinaryWebSocketFrame(byteBuf);
-        out.add(socketFrame);
+        return new BinaryWebSocketFrame(byteBuf);
     }
 
     @Override
     protected void decode(ChannelHandlerContext ctx, BinaryWebSocketFrame binary, List<Object> out) {
         /*
          * 解码器 - 接收请求端的消息（客户端）；
-         * 字节数组 ---> ExternalMessage ---> RequestMessage
+         * ByteBuf ---> RequestMessage
          */
         ByteBuf contentBuf = binary.content();
-        byte[] bytes = new byte[contentBuf.readableBytes()];
-        contentBuf.readBytes(bytes);
-
-        ExternalMessage externalMessage = DataCodecKit.decode(bytes, ExternalMessage.class);
-
-        BarMessage message = ExternalCodecKit.convertRequestMessage(externalMessage);
+        BarMessage message = ExternalCodecKit.decodeRequest(contentBuf, contentBuf.readableBytes());
 
         //【游戏对外服】接收【游戏客户端】的消息
         out.add(message);
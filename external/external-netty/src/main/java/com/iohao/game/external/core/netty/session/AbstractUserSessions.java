@@ -18,7 +18,13 @@
  */
 package com.iohao.game.external.core.netty.session;
 
+import com.alipay.remoting.exception.RemotingException;
+import com.iohao.game.bolt.broker.core.aware.BrokerClientAware;
 import com.iohao.game.bolt.broker.core.aware.CmdRegionsAware;
+import com.iohao.game.bolt.broker.core.client.BrokerClient;
+import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
+import com.iohao.game.bolt.broker.core.message.UserOfflineMessage;
+import com.iohao.game.common.consts.IoGameLogName;
 import com.iohao.game.common.kit.attr.AttrOptions;
 import com.iohao.game.core.common.cmd.CmdRegions;
 import com.iohao.game.external.core.config.ExternalJoinEnum;
@@ -33,6 +39,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
 import org.jctools.maps.NonBlockingHashMap;
 import org.jctools.maps.NonBlockingHashMapLong;
 
@@ -46,9 +53,10 @@ import java.util.function.Consumer;
  * @author 渔民小镇
  * @date 2023-05-28
  */
+@Slf4j(topic = IoGameLogName.ExternalTopic)
 @FieldDefaults(level = AccessLevel.PROTECTED)
 abstract class AbstractUserSessions<ChannelHandlerContext, Session extends UserSession>
-        implements UserSessions<ChannelHandlerContext, Session>, CmdRegionsAware {
+        implements UserSessions<ChannelHandlerContext, Session>, CmdRegionsAware, BrokerClientAware {
 
     @Getter
     final AttrOptions options = new AttrOptions();
@@ -70,6 +78,9 @@ abstract class AbstractUserSessions<ChannelHandlerContext, Session extends UserS
     @Setter
     UserHook userHook;
 
+    @Setter
+    BrokerClient brokerClient;
+
     @Override
     public boolean existUserSession(long userId) {
         return this.userIdMap.containsKey(userId);
@@ -127,6 +138,29 @@ abstract class AbstractUserSessions<ChannelHandlerContext, Session extends UserS
         this.userHook.quit(userSession);
     }
 
+    /**
+     * 通知 Broker（游戏网关）玩家下线了，用于移除玩家所在的游戏对外服记录
+     *
+     * @param userSession userSession
+     */
+    void userOffline(UserSession userSession) {
+        if (Objects.isNull(this.brokerClient) || !IoGameGlobalConfig.brokerUserDirectory) {
+            return;
+        }
+
+        int idHash = this.brokerClient.getBrokerClientModuleMessage().getIdHash();
+        var offlineMessage = UserOfflineMessage.of(userSession.getUserId(), idHash);
+
+        // 每个 Broker（游戏网关）都有各自的记录，需要全部通知
+        this.brokerClient.getBrokerClientManager().forEach(brokerClientItem -> {
+            try {
+                brokerClientItem.oneway(offlineMessage);
+            } catch (RemotingException e) {
+                log.error(e.getMessage(), e);
+            }
+        });
+    }
+
     void settingDefault(UserSession userSession) {
         // 保存连接方式
         ExternalJoinEnum externalJoinEnum = this.option(UserSessionOption.externalJoin);
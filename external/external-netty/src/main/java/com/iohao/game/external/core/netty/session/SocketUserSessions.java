@@ -18,19 +18,31 @@
  */
 package com.iohao.game.external.core.netty.session;
 
-
+import com.iohao.game.action.skeleton.protocol.BarMessage;
 import com.iohao.game.common.kit.concurrent.executor.ExecutorRegionKit;
+import com.iohao.game.external.core.netty.handler.codec.SharedExternalEncoder;
 import com.iohao.game.external.core.session.UserChannelId;
 import com.iohao.game.external.core.session.UserSessionState;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandler;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -46,6 +58,8 @@ import java.util.Objects;
 public final class SocketUserSessions extends AbstractUserSessions<ChannelHandlerContext, SocketUserSession> {
     /** 用户 session，与channel是 1:1 的关系 */
     static final AttributeKey<SocketUserSession> userSessionKey = AttributeKey.valueOf("userSession");
+    /** channel 可共享编码结果的编码器，没有时为 Boolean.FALSE */
+    static final AttributeKey<Object> sharedEncoderKey = AttributeKey.valueOf("sharedEncoder");
 
     final ChannelGroup channelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
 
@@ -121,6 +135,7 @@ public final class SocketUserSessions extends AbstractUserSessions<ChannelHandle
         if (userSession.getState() == UserSessionState.ACTIVE && userSession.isVerifyIdentity()) {
             userSession.setState(UserSessionState.DEAD);
             this.userHookQuit(userSession);
+            this.userOffline(userSession);
         }
 
         removeUserSessionMap(userSession);
@@ -152,6 +167,112 @@ public final class SocketUserSessions extends AbstractUserSessions<ChannelHandle
 
     @Override
     public void broadcast(Object msg) {
+        if (msg instanceof BarMessage message) {
+            this.writeAndFlush(this.channelGroup, message);
+            return;
+        }
+
         this.channelGroup.writeAndFlush(msg);
     }
+
+    @Override
+    public void broadcast(Collection<Long> userIdList, Object msg) {
+        if (!(msg instanceof BarMessage message)) {
+            super.broadcast(userIdList, msg);
+            return;
+        }
+
+        List<Channel> channelList = userIdList.stream()
+                .map(this.userIdMap::get)
+                .filter(Objects::nonNull)
+                .map(SocketUserSession::getChannel)
+                .toList();
+
+        this.writeAndFlush(channelList, message);
+    }
+
+    /**
+     * 消息只编码一次，编码结果以 retainedDuplicate 的方式写入到各个 channel 中
+     * <pre>
+     *     编码结果从 pipeline 的 tail 写入，编码器之后（靠近 tail）如果有开发者添加的出站 handler，
+     *     这些 handler 需要处理原始的 BarMessage，这样的 channel 会单独编码，see {@link #findSharedEncoder(ChannelPipeline)}
+     *
+     *     写入失败时，netty 会释放写入的 duplicate；编码结果本身在所有 channel 写入后释放。
+     * </pre>
+     *
+     * @param channels channels
+     * @param message  message
+     */
+    void writeAndFlush(Iterable<Channel> channels, BarMessage message) {
+        Class<?> encoderClass = null;
+        Object encoded = null;
+
+        try {
+            for (Channel channel : channels) {
+                SharedExternalEncoder encoder = getSharedEncoder(channel);
+                if (Objects.isNull(encoder)) {
+                    // 编解码器不支持共享编码结果，由 channel 单独编码
+                    channel.writeAndFlush(message);
+                    continue;
+                }
+
+                // 通常所有 channel 的编解码器都相同，只会编码一次
+                if (encoder.getClass() != encoderClass) {
+                    ReferenceCountUtil.release(encoded);
+                    // 编码异常时，finally 中不再重复释放
+                    encoded = null;
+                    encoded = encoder.encode(channel.alloc(), message);
+                    encoderClass = encoder.getClass();
+                }
+
+                channel.writeAndFlush(retainedDuplicate(encoded));
+            }
+        } finally {
+            ReferenceCountUtil.release(encoded);
+        }
+    }
+
+    private static SharedExternalEncoder getSharedEncoder(Channel channel) {
+        // pipeline 通常在连接建立时编排好，查找结果缓存在 channel 中
+        Attribute<Object> attr = channel.attr(sharedEncoderKey);
+        Object encoder = attr.get();
+        if (Objects.isNull(encoder)) {
+            encoder = findSharedEncoder(channel.pipeline());
+            attr.set(encoder);
+        }
+
+        return encoder instanceof SharedExternalEncoder sharedEncoder ? sharedEncoder : null;
+    }
+
+    static Object findSharedEncoder(ChannelPipeline pipeline) {
+        SharedExternalEncoder encoder = null;
+
+        // 从 head 到 tail
+        for (Map.Entry<String, ChannelHandler> entry : pipeline) {
+            ChannelHandler handler = entry.getValue();
+            if (handler instanceof SharedExternalEncoder sharedEncoder) {
+                encoder = sharedEncoder;
+                continue;
+            }
+
+            // 编码器之后的出站 handler 会先于编码器处理写出的消息；IdleStateHandler 只记录写出的时间，不关心消息的类型
+            if (Objects.nonNull(encoder) && handler instanceof ChannelOutboundHandler && !(handler instanceof IdleStateHandler)) {
+                return Boolean.FALSE;
+            }
+        }
+
+        return Objects.isNull(encoder) ? Boolean.FALSE : encoder;
+    }
+
+    private static Object retainedDuplicate(Object encoded) {
+        if (encoded instanceof ByteBuf byteBuf) {
+            return byteBuf.retainedDuplicate();
+        }
+
+        if (encoded instanceof ByteBufHolder byteBufHolder) {
+            return byteBufHolder.retainedDuplicate();
+        }
+
+        return ReferenceCountUtil.retain(encoded);
+    }
 }
@@ -0,0 +1,131 @@
+package com.iohao.game.external.core.netty.session;
+
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.protocol.BarMessage;
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.external.core.netty.handler.codec.TcpExternalCodec;
+import com.iohao.game.external.core.netty.handler.codec.WebSocketExternalCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.timeout.IdleStateHandler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class SocketUserSessionsTest {
+    final SocketUserSessions userSessions = new SocketUserSessions();
+
+    @Test
+    public void sharedFrame() {
+        BarMessage message = createMessage();
+        byte[] expected = encodeAlone(message);
+
+        // 关闭的 channel 写入失败，netty 会释放写入的 duplicate
+        EmbeddedChannel closedChannel = new EmbeddedChannel(new TcpExternalCodec());
+        closedChannel.close();
+
+        List<EmbeddedChannel> channelList = List.of(
+                new EmbeddedChannel(new TcpExternalCodec()),
+                new EmbeddedChannel(new TcpExternalCodec(), new IdleStateHandler(0, 0, 0)),
+                new EmbeddedChannel(new TcpExternalCodec())
+        );
+
+        List<Channel> writeChannelList = new ArrayList<>(channelList);
+        writeChannelList.add(1, closedChannel);
+        this.userSessions.writeAndFlush(writeChannelList, message);
+
+        List<ByteBuf> frameList = new ArrayList<>();
+        for (EmbeddedChannel channel : channelList) {
+            ByteBuf frame = channel.readOutbound();
+            Assert.assertArrayEquals(expected, ByteBufUtil.getBytes(frame));
+            frameList.add(frame);
+        }
+
+        // 所有的 duplicate 共享同一个编码结果，每个 channel 持有一次引用
+        ByteBuf shared = frameList.getFirst().unwrap();
+        frameList.forEach(frame -> Assert.assertSame(shared, frame.unwrap()));
+        Assert.assertEquals(frameList.size(), shared.refCnt());
+
+        frameList.forEach(ByteBuf::release);
+        Assert.assertEquals(0, shared.refCnt());
+        Assert.assertNull(closedChannel.readOutbound());
+    }
+
+    @Test
+    public void webSocketFrame() {
+        BarMessage message = createMessage();
+        var channel1 = new EmbeddedChannel(new WebSocketExternalCodec());
+        var channel2 = new EmbeddedChannel(new WebSocketExternalCodec());
+
+        this.userSessions.writeAndFlush(List.of(channel1, channel2), message);
+
+        BinaryWebSocketFrame frame1 = channel1.readOutbound();
+        BinaryWebSocketFrame frame2 = channel2.readOutbound();
+        Assert.assertEquals(ByteBufUtil.hexDump(frame1.content()), ByteBufUtil.hexDump(frame2.content()));
+
+        ByteBuf shared = frame1.content().unwrap();
+        Assert.assertSame(shared, frame2.content().unwrap());
+        Assert.assertEquals(2, shared.refCnt());
+
+        frame1.release();
+        Assert.assertEquals(1, shared.refCnt());
+        frame2.release();
+        Assert.assertEquals(0, shared.refCnt());
+    }
+
+    @Test
+    public void outboundHandler() {
+        BarMessage message = createMessage();
+        List<Object> messageList = new ArrayList<>();
+
+        // 开发者在编解码器之后添加的出站 handler，需要处理原始的 BarMessage
+        var channel = new EmbeddedChannel(new TcpExternalCodec(), new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                messageList.add(msg);
+                ctx.write(msg, promise);
+            }
+        });
+
+        this.userSessions.writeAndFlush(List.of(channel), message);
+
+        Assert.assertEquals(List.of(message), messageList);
+        ByteBuf frame = channel.readOutbound();
+        Assert.assertArrayEquals(encodeAlone(message), ByteBufUtil.getBytes(frame));
+        frame.release();
+        Assert.assertEquals(0, frame.refCnt());
+    }
+
+    private byte[] encodeAlone(BarMessage message) {
+        var channel = new EmbeddedChannel(new TcpExternalCodec());
+        channel.writeOutbound(message);
+        ByteBuf byteBuf = channel.readOutbound();
+        byte[] bytes = ByteBufUtil.getBytes(byteBuf);
+        byteBuf.release();
+        return bytes;
+    }
+
+    private BarMessage createMessage() {
+        HeadMetadata headMetadata = new HeadMetadata()
+                .setCmdInfo(CmdInfo.of(1, 2))
+                .setMsgId(100);
+
+        ResponseMessage message = new ResponseMessage();
+        message.setHeadMetadata(headMetadata);
+        message.setData(new byte[]{1, 2, 3});
+        return message;
+    }
+}
@@ -28,6 +28,7 @@ import com.iohao.game.bolt.broker.cluster.BrokerClusterManagerBuilder;
 import com.iohao.game.bolt.broker.cluster.BrokerRunModeEnum;
 import com.iohao.game.bolt.broker.core.aware.*;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
+import com.iohao.game.bolt.broker.core.common.processor.BatchMessageProcessor;
 import com.iohao.game.bolt.broker.server.aware.BrokerClientModulesAware;
 import com.iohao.game.bolt.broker.server.aware.BrokerServerAware;
 import com.iohao.game.bolt.broker.server.balanced.BalancedManager;
@@ -131,6 +132,9 @@ public class BrokerServerBuilder implements AwareInject {
 
         RpcServer rpcServer = brokerServer.getRpcServer();
 
+        // 批量消息处理器，把批量消息中的消息派发给已注册的处理器
+        BatchMessageProcessor batchMessageProcessor = new BatchMessageProcessor();
+
         // 注册用户处理器 添加到 bolt rpcServer 中
         this.processorList.forEach(processorSupplier -> {
 
@@ -139,8 +143,12 @@ public class BrokerServerBuilder implements AwareInject {
             aware(userProcessor);
 
             rpcServer.registerUserProcessor(userProcessor);
+            batchMessageProcessor.addUserProcessor(userProcessor);
         });
 
+        aware(batchMessageProcessor);
+        rpcServer.registerUserProcessor(batchMessageProcessor);
+
         // 注册连接器 添加到 bolt rpcServer 中
         connectionEventProcessorMap.forEach((type, valueSupplier) -> {
 
@@ -280,6 +288,8 @@ public class BrokerServerBuilder implements AwareInject {
 
         // 处理 - 改变用户 id -- external server
         Supplier<UserProcessor<?>> changeUserIdMessageSupplier = SettingUserIdMessageBrokerProcessor::new;
+        // 处理 - 玩家下线 -- external server
+        Supplier<UserProcessor<?>> userOfflineMessageSupplier = UserOfflineMessageBrokerProcessor::new;
 
         // 处理 - （响应真实用户的请求）把逻辑服的响应转发到对外服
         Supplier<UserProcessor<?>> responseMessageSupplier = ResponseMessageBrokerProcessor::new;
@@ -308,6 +318,7 @@ public class BrokerServerBuilder implements AwareInject {
                 .registerUserProcessor(registerSupplier)
                 .registerUserProcessor(externalMessageSupplier)
                 .registerUserProcessor(changeUserIdMessageSupplier)
+                .registerUserProcessor(userOfflineMessageSupplier)
                 .registerUserProcessor(responseMessageSupplier)
                 .registerUserProcessor(innerModuleMessageSupplier)
                 .registerUserProcessor(innerModuleVoidMessageSupplier)
@@ -86,6 +86,7 @@ public class BalancedManager {
         loadBalanced.register(brokerClientProxy);
 
         brokerClientProxy.setCmdMergeList(null);
+        brokerClientProxy.setVoidCmdMergeList(null);
 
         this.refMap.put(address, brokerClientProxy);
     }
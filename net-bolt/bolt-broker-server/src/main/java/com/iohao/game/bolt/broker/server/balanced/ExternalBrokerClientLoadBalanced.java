@@ -20,6 +20,7 @@ package com.iohao.game.bolt.broker.server.balanced;
 
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientProxy;
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 import org.jctools.maps.NonBlockingHashMap;
 
@@ -46,6 +47,9 @@ public class ExternalBrokerClientLoadBalanced implements BrokerClientLoadBalance
     final Map<Integer, BrokerClientProxy> map = new NonBlockingHashMap<>();
     /** 对外服 list */
     List<BrokerClientProxy> list = Collections.emptyList();
+    /** 玩家所在的对外服记录 */
+    @Getter
+    final ExternalUserDirectory userDirectory = new ExternalUserDirectory();
 
     @Override
     public void register(BrokerClientProxy brokerClientProxy) {
@@ -62,6 +66,8 @@ public class ExternalBrokerClientLoadBalanced implements BrokerClientLoadBalance
         int externalId = brokerClientProxy.getIdHash();
 
         this.map.remove(externalId);
+        // 对外服下线后，其上的玩家记录都不再有效
+        this.userDirectory.removeExternal(externalId);
 
         this.resetSelector();
     }
@@ -0,0 +1,122 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.balanced;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import java.util.Objects;
+
+/**
+ * 玩家所在的游戏对外服记录
+ * <pre>
+ *     key : userId
+ *     value : 游戏对外服（每个游戏对外服一个 ExternalUsers，记录的是同一个对象，登录时不产生装箱）
+ *
+ *     玩家登录（设置 userId）时记录，玩家下线或游戏对外服下线时移除。
+ *     同一玩家以最后一次登录的游戏对外服为准；移除时只有记录与预期一致才移除，避免误删新的登录记录。
+ *
+ *     每个游戏对外服还记录了其上的玩家（反向索引），游戏对外服下线时只处理该对外服上的玩家。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public final class ExternalUserDirectory {
+    /** userId - 玩家所在的游戏对外服 */
+    final NonBlockingHashMapLong<ExternalUsers> userMap = new NonBlockingHashMapLong<>();
+    /** 游戏对外服 idHash - 游戏对外服 */
+    final NonBlockingHashMapLong<ExternalUsers> externalMap = new NonBlockingHashMapLong<>();
+
+    public void put(long userId, int externalId) {
+        ExternalUsers externalUsers = this.getExternalUsers(externalId);
+        // 先加入反向索引，游戏对外服下线时能找到该玩家
+        externalUsers.userIdMap.put(userId, Boolean.TRUE);
+
+        ExternalUsers previous = this.userMap.put(userId, externalUsers);
+        if (Objects.nonNull(previous) && previous != externalUsers) {
+            previous.userIdMap.remove(userId);
+        }
+    }
+
+    /**
+     * 获取玩家所在的游戏对外服
+     *
+     * @param userId userId
+     * @return 游戏对外服 idHash，没有记录时返回 0
+     */
+    public int get(long userId) {
+        ExternalUsers externalUsers = this.userMap.get(userId);
+        return Objects.isNull(externalUsers) ? 0 : externalUsers.externalId;
+    }
+
+    public void remove(long userId, int externalId) {
+        ExternalUsers externalUsers = this.externalMap.get(externalId);
+        if (Objects.nonNull(externalUsers) && this.userMap.remove(userId, externalUsers)) {
+            externalUsers.userIdMap.remove(userId);
+        }
+    }
+
+    /**
+     * 移除游戏对外服上的所有玩家记录，游戏对外服下线时使用
+     *
+     * @param externalId 游戏对外服 idHash
+     */
+    public void removeExternal(int externalId) {
+        ExternalUsers externalUsers = this.externalMap.remove(externalId);
+        if (Objects.isNull(externalUsers)) {
+            return;
+        }
+
+        for (long userId : externalUsers.userIdMap.keySetLong()) {
+            this.userMap.remove(userId, externalUsers);
+        }
+    }
+
+    public int size() {
+        return this.userMap.size();
+    }
+
+    private ExternalUsers getExternalUsers(int externalId) {
+        ExternalUsers externalUsers = this.externalMap.get(externalId);
+        if (Objects.nonNull(externalUsers)) {
+            return externalUsers;
+        }
+
+        externalUsers = new ExternalUsers(externalId);
+        ExternalUsers previous = this.externalMap.putIfAbsent(externalId, externalUsers);
+        return Objects.isNull(previous) ? externalUsers : previous;
+    }
+
+    /**
+     * 游戏对外服及其上的玩家
+     */
+    static final class ExternalUsers {
+        final int externalId;
+        /** 该游戏对外服上的玩家，value 只作为占位 */
+        final NonBlockingHashMapLong<Boolean> userIdMap = new NonBlockingHashMapLong<>();
+
+        ExternalUsers(int externalId) {
+            this.externalId = externalId;
+        }
+    }
+}
@@ -18,14 +18,18 @@
  */
 package com.iohao.game.bolt.broker.server.balanced;
 
+import com.iohao.game.action.skeleton.core.CmdKit;
+import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientLoad;
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientProxy;
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientRegion;
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientRegionFactory;
 import com.iohao.game.common.kit.MoreKit;
 import lombok.Setter;
 import org.jctools.maps.NonBlockingHashMap;
+import org.jctools.maps.NonBlockingHashMapLong;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -36,6 +40,8 @@ import java.util.Objects;
  * @date 2022-05-14
  */
 public final class LogicBrokerClientLoadBalanced implements BrokerClientLoadBalanced {
+    private static final BrokerClientRegion[][] EMPTY = new BrokerClientRegion[0][0];
+    private static final BrokerClientRegion[] EMPTY_SUB = new BrokerClientRegion[0];
 
     /**
      * 路由与逻辑服域的关联
@@ -46,6 +52,18 @@ public final class LogicBrokerClientLoadBalanced implements BrokerClientLoadBala
      */
     final Map<Integer, BrokerClientRegion> cmdClientRegionMap = new NonBlockingHashMap<>();
 
+    /**
+     * 路由表，由 cmdClientRegionMap 编译而来. 下标对应 cmd
+     * <pre>
+     *     第一维: cmd
+     *     第二维: cmd 下面的子 subCmd
+     *
+     *     每个请求都会经过 Broker（游戏网关），这里使用数组，避免每次转发时对 cmdMerge 装箱与 hash 查找；
+     *     逻辑服注册、移除时重新生成整个路由表后再替换（copy-on-write），读取时不需要加锁。
+     * </pre>
+     */
+    volatile BrokerClientRegion[][] routeTable = EMPTY;
+
     /**
      * 逻辑服tag 与逻辑服域的关联
      * <pre>
@@ -55,7 +73,23 @@ public final class LogicBrokerClientLoadBalanced implements BrokerClientLoadBala
      */
     final Map<String, BrokerClientRegion> tagClientRegionMap = new NonBlockingHashMap<>();
 
-    final Map<Integer, BrokerClientProxy> serverIdClientProxyMap = new NonBlockingHashMap<>();
+    /**
+     * 逻辑服 idHash 与逻辑服的关联
+     * <pre>
+     *     key : idHash
+     *     value : BrokerClientProxy
+     * </pre>
+     */
+    final NonBlockingHashMapLong<BrokerClientProxy> serverIdClientProxyMap = new NonBlockingHashMapLong<>();
+
+    /**
+     * 逻辑服地址与负载统计的关联，只包含开启了负载统计的逻辑服
+     * <pre>
+     *     key : 逻辑服地址
+     *     value : BrokerClientLoad
+     * </pre>
+     */
+    final Map<String, BrokerClientLoad> addressLoadMap = new NonBlockingHashMap<>();
 
     @Setter
     BrokerClientRegionFactory brokerClientRegionFactory;
@@ -76,6 +110,13 @@ public final class LogicBrokerClientLoadBalanced implements BrokerClientLoadBala
         }
 
         this.serverIdClientProxyMap.put(brokerClientProxy.getIdHash(), brokerClientProxy);
+
+        BrokerClientLoad load = brokerClientProxy.getLoad();
+        if (Objects.nonNull(load)) {
+            this.addressLoadMap.put(brokerClientProxy.getAddress(), load);
+        }
+
+        this.resetRouteTable();
     }
 
     @Override
@@ -89,6 +130,11 @@ public final class LogicBrokerClientLoadBalanced implements BrokerClientLoadBala
         brokerClientRegion.remove(id);
 
         this.serverIdClientProxyMap.remove(brokerClientProxy.getIdHash());
+        if (Objects.nonNull(brokerClientProxy.getLoad())) {
+            this.addressLoadMap.remove(brokerClientProxy.getAddress());
+        }
+
+        this.resetRouteTable();
     }
 
     /**
@@ -99,13 +145,20 @@ public final class LogicBrokerClientLoadBalanced implements BrokerClientLoadBala
      */
     public BrokerClientRegion getBrokerClientRegion(int cmdMerge) {
         // 通过 路由信息 得到对应的逻辑服列表（域）
-        BrokerClientRegion region = this.cmdClientRegionMap.get(cmdMerge);
+        int cmd = CmdKit.getCmd(cmdMerge);
+        int subCmd = CmdKit.getSubCmd(cmdMerge);
 
-        if (Objects.isNull(region)) {
+        var routeTable = this.routeTable;
+        if (cmd < 0 || cmd >= routeTable.length) {
             return null;
         }
 
-        return region;
+        var subRegions = routeTable[cmd];
+        if (subCmd >= subRegions.length) {
+            return null;
+        }
+
+        return subRegions[subCmd];
     }
 
     public Collection<BrokerClientRegion> listBrokerClientRegion() {
@@ -116,6 +169,56 @@ public final class LogicBrokerClientLoadBalanced implements BrokerClientLoadBala
         return this.serverIdClientProxyMap.get(idHash);
     }
 
+    /**
+     * 将 cmdClientRegionMap 编译成二维数组路由表，并替换当前的路由表
+     */
+    private synchronized void resetRouteTable() {
+        // key : cmd, value : subCmd 最大值
+        Map<Integer, Integer> subCmdMaxMap = new HashMap<>();
+        this.cmdClientRegionMap.keySet().forEach(cmdMerge -> {
+            int cmd = CmdKit.getCmd(cmdMerge);
+            int subCmd = CmdKit.getSubCmd(cmdMerge);
+            subCmdMaxMap.merge(cmd, subCmd, Math::max);
+        });
+
+        int cmdMax = subCmdMaxMap.keySet().stream().max(Integer::compareTo).orElse(-1);
+
+        var table = new BrokerClientRegion[cmdMax + 1][];
+        for (int cmd = 0; cmd < table.length; cmd++) {
+            Integer subCmdMax = subCmdMaxMap.get(cmd);
+            table[cmd] = Objects.isNull(subCmdMax) ? EMPTY_SUB : new BrokerClientRegion[subCmdMax + 1];
+        }
+
+        this.cmdClientRegionMap.forEach((cmdMerge, brokerClientRegion) -> {
+            int cmd = CmdKit.getCmd(cmdMerge);
+            int subCmd = CmdKit.getSubCmd(cmdMerge);
+            table[cmd][subCmd] = brokerClientRegion;
+        });
+
+        this.routeTable = table;
+    }
+
+    /**
+     * 根据逻辑服地址得到负载统计
+     *
+     * @param address 逻辑服地址
+     * @return 负载统计，逻辑服没有开启负载统计时返回 null
+     * @since 21.23
+     */
+    public BrokerClientLoad getBrokerClientLoad(String address) {
+        return this.addressLoadMap.get(address);
+    }
+
+    /**
+     * 是否有逻辑服开启了负载统计
+     *
+     * @return true 有逻辑服开启了负载统计
+     * @since 21.23
+     */
+    public boolean hasBrokerClientLoad() {
+        return !this.addressLoadMap.isEmpty();
+    }
+
     private BrokerClientRegion getBrokerClientRegionByTag(String tag) {
         BrokerClientRegion brokerClientRegion = this.tagClientRegionMap.get(tag);
 
@@ -0,0 +1,232 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 逻辑服的负载统计
+ * <pre>
+ *     Broker（游戏网关）把请求转发给逻辑服时记录，逻辑服的响应经过 Broker 时结束，得到
+ *     1. 未完成的请求数（outstanding）
+ *     2. 响应耗时的 peak-EWMA：比平均值慢的响应立即生效，比平均值快的响应按时间衰减生效
+ *
+ *     只记录会有响应的请求，返回值为 void 的 action（逻辑服注册时上报）不记录；
+ *     丢失了响应的请求在超过 IoGameGlobalConfig.timeoutMillis 后清除。
+ *
+ *     未完成的请求保存在固定大小的开放寻址表中（key、开始时间都是 long），记录与统计过程不加锁、不装箱；
+ *     表满时（未完成的请求过多）新的请求不再记录。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public final class BrokerClientLoad {
+    /** 响应耗时的衰减时间 */
+    static final double decayNanos = TimeUnit.SECONDS.toNanos(10);
+    static final long sweepIntervalNanos = TimeUnit.SECONDS.toNanos(1);
+    /** 未完成的请求表的大小，2 的幂 */
+    static final int pendingCapacity = 4096;
+    static final int pendingMask = pendingCapacity - 1;
+    /** 查找空位或请求时最多探测的位置数 */
+    static final int maxProbe = 16;
+    static final long EMPTY = 0;
+
+    /** 未完成的请求 key，{@link #EMPTY} 表示空位 */
+    final AtomicLongArray pendingKeys = new AtomicLongArray(pendingCapacity);
+    /** 转发请求时的时间（纳秒），与 pendingKeys 的位置对应 */
+    final AtomicLongArray pendingTimes = new AtomicLongArray(pendingCapacity);
+    final AtomicInteger outstanding = new AtomicInteger();
+    /** 返回值为 void 的 action 命令，已排序 */
+    final int[] voidCmdMerges;
+
+    /** 响应耗时的 peak-EWMA（纳秒），double 的 bits */
+    final AtomicLong ewmaBits = new AtomicLong();
+    final AtomicLong ewmaTime = new AtomicLong(System.nanoTime());
+    final AtomicLong sweepTime = new AtomicLong(System.nanoTime());
+
+    public BrokerClientLoad() {
+        this(null);
+    }
+
+    /**
+     * @param voidCmdMergeList 返回值为 void 的 action 命令列表，这类请求不记录
+     */
+    public BrokerClientLoad(List<Integer> voidCmdMergeList) {
+        this.voidCmdMerges = Objects.isNull(voidCmdMergeList)
+                ? new int[0]
+                : voidCmdMergeList.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * 请求转发给逻辑服时调用
+     *
+     * @param headMetadata 请求元信息
+     */
+    public void onRequest(HeadMetadata headMetadata) {
+        if (!this.expectResponse(headMetadata.getCmdMerge())) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long key = key(headMetadata);
+        int index = (int) key;
+
+        // 相同 key 的请求各自占用一个位置
+        for (int i = 0; i < maxProbe; i++) {
+            int slot = (index + i) & pendingMask;
+            if (this.pendingKeys.get(slot) == EMPTY && this.pendingKeys.compareAndSet(slot, EMPTY, key)) {
+                this.pendingTimes.set(slot, now);
+                this.outstanding.incrementAndGet();
+                break;
+            }
+        }
+
+        long lastSweepTime = this.sweepTime.get();
+        if (now - lastSweepTime > sweepIntervalNanos && this.sweepTime.compareAndSet(lastSweepTime, now)) {
+            this.sweep(now);
+        }
+    }
+
+    /**
+     * 逻辑服的响应经过 Broker 时调用
+     *
+     * @param headMetadata 响应元信息
+     */
+    public void onResponse(HeadMetadata headMetadata) {
+        long key = key(headMetadata);
+        int index = (int) key;
+
+        for (int i = 0; i < maxProbe; i++) {
+            int slot = (index + i) & pendingMask;
+            if (this.pendingKeys.get(slot) != key) {
+                continue;
+            }
+
+            // 先取开始时间，释放位置后可能被新的请求使用
+            long startTime = this.pendingTimes.get(slot);
+            if (this.pendingKeys.compareAndSet(slot, key, EMPTY)) {
+                this.outstanding.decrementAndGet();
+
+                long now = System.nanoTime();
+                this.observe(now - startTime, now);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 请求是否会有响应
+     *
+     * @param cmdMerge 合并路由
+     * @return true 会有响应，返回值为 void 的 action 没有响应
+     */
+    public boolean expectResponse(int cmdMerge) {
+        return this.voidCmdMerges.length == 0 || Arrays.binarySearch(this.voidCmdMerges, cmdMerge) < 0;
+    }
+
+    /**
+     * 未完成的请求数
+     *
+     * @return 未完成的请求数
+     */
+    public int getOutstanding() {
+        return this.outstanding.get();
+    }
+
+    /**
+     * 响应耗时的 peak-EWMA（纳秒）
+     *
+     * @return peak-EWMA
+     */
+    public double getEwmaNanos() {
+        return Double.longBitsToDouble(this.ewmaBits.get());
+    }
+
+    /**
+     * 负载成本，peak-EWMA * (未完成的请求数 + 1)
+     * <pre>
+     *     还没有响应耗时样本时，成本只取决于未完成的请求数
+     * </pre>
+     *
+     * @return 负载成本
+     */
+    public double getCost() {
+        return (this.getEwmaNanos() + 1) * (this.getOutstanding() + 1);
+    }
+
+    private void observe(long rttNanos, long now) {
+        double elapsed = Math.max(now - this.ewmaTime.getAndSet(now), 0);
+        double w = Math.exp(-elapsed / decayNanos);
+
+        long prevBits;
+        long nextBits;
+        do {
+            prevBits = this.ewmaBits.get();
+            double ewma = Double.longBitsToDouble(prevBits);
+            double next = rttNanos > ewma ? rttNanos : ewma * w + rttNanos * (1 - w);
+            nextBits = Double.doubleToRawLongBits(next);
+        } while (!this.ewmaBits.compareAndSet(prevBits, nextBits));
+    }
+
+    private void sweep(long now) {
+        long expireNanos = TimeUnit.MILLISECONDS.toNanos(IoGameGlobalConfig.timeoutMillis);
+
+        for (int slot = 0; slot < pendingCapacity; slot++) {
+            long key = this.pendingKeys.get(slot);
+            if (key == EMPTY) {
+                continue;
+            }
+
+            long startTime = this.pendingTimes.get(slot);
+            if (now - startTime > expireNanos && this.pendingKeys.compareAndSet(slot, key, EMPTY)) {
+                this.outstanding.decrementAndGet();
+            }
+        }
+    }
+
+    private static long key(HeadMetadata headMetadata) {
+        // 64 位混合，不同的请求几乎不会得到相同的 key
+        long key = mix(headMetadata.getUserId());
+        key = mix(key ^ (((long) headMetadata.getSourceClientId() << 32) | (headMetadata.getCmdMerge() & 0xFFFFFFFFL)));
+        key = mix(key ^ headMetadata.getMsgId());
+        return key == EMPTY ? 1 : key;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
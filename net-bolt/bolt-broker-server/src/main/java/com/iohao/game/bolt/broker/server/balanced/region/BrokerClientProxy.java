@@ -18,16 +18,24 @@
  */
 package com.iohao.game.bolt.broker.server.balanced.region;
 
+import com.alipay.remoting.InvokeContext;
 import com.alipay.remoting.exception.RemotingException;
 import com.alipay.remoting.rpc.RpcServer;
+import com.iohao.game.action.skeleton.protocol.BarMessage;
 import com.iohao.game.bolt.broker.core.client.BrokerClientType;
+import com.iohao.game.bolt.broker.core.codec.CompactSerializer;
+import com.iohao.game.bolt.broker.core.common.FutureInvokeCallback;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
+import com.iohao.game.bolt.broker.core.common.MessageBatcher;
+import com.iohao.game.bolt.broker.core.message.BatchMessage;
 import com.iohao.game.bolt.broker.core.message.BrokerClientModuleMessage;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 模块信息代理
@@ -66,6 +74,10 @@ public class BrokerClientProxy {
     final BrokerClientType brokerClientType;
     final RpcServer rpcServer;
     final int withNo;
+    /** true 表示与逻辑服通信时使用紧凑格式的序列化 */
+    final boolean compactSerializer;
+    /** 批量发送器，发给游戏对外服的 oneway 消息合并发送；没有开启时为 null */
+    final MessageBatcher messageBatcher;
 
     /** 状态 */
     int status;
@@ -73,6 +85,10 @@ public class BrokerClientProxy {
     /** 消息发送超时时间 */
     int timeoutMillis = IoGameGlobalConfig.timeoutMillis;
     List<Integer> cmdMergeList;
+    /** 返回值为 void 的 action 命令列表，注册完成后清除 */
+    List<Integer> voidCmdMergeList;
+    /** 负载统计，由 {@link LoadBrokerClientRegion} 开启；没有开启时为 null */
+    volatile BrokerClientLoad load;
 
     public BrokerClientProxy(BrokerClientModuleMessage brokerClientModuleMessage, RpcServer rpcServer) {
         this.id = brokerClientModuleMessage.getId();
@@ -82,17 +98,103 @@ public class BrokerClientProxy {
         this.tag = brokerClientModuleMessage.getTag();
         this.brokerClientType = brokerClientModuleMessage.getBrokerClientType();
         this.cmdMergeList = brokerClientModuleMessage.getCmdMergeList();
+        this.voidCmdMergeList = brokerClientModuleMessage.getVoidCmdMergeList();
         this.rpcServer = rpcServer;
         this.withNo = brokerClientModuleMessage.getWithNo();
         this.status = brokerClientModuleMessage.getStatus();
+        this.compactSerializer = IoGameGlobalConfig.compactSerializer
+                && Boolean.TRUE.equals(brokerClientModuleMessage.getHeader(CompactSerializer.HEADER_NAME));
+
+        // 开启了批量发送，并且游戏对外服能处理批量消息时，Broker 发给游戏对外服的 oneway 消息合并发送
+        boolean batch = IoGameGlobalConfig.batchFlushMillis > 0
+                && this.brokerClientType == BrokerClientType.EXTERNAL
+                && Boolean.TRUE.equals(brokerClientModuleMessage.getHeader(BatchMessage.HEADER_NAME));
+
+        this.messageBatcher = batch
+                ? new MessageBatcher(this::directOneway, IoGameGlobalConfig.batchFlushMillis, IoGameGlobalConfig.batchMaxSize)
+                : null;
     }
 
     public void oneway(Object request) throws RemotingException, InterruptedException {
-        rpcServer.oneway(address, request);
+        if (Objects.nonNull(this.messageBatcher)) {
+            this.messageBatcher.add(request);
+            return;
+        }
+
+        this.directOneway(request);
+    }
+
+    /**
+     * 先把批量发送器中积累的 oneway 消息发出，再直接发送其他消息，保持同一连接上的发送顺序
+     */
+    private void flushBatch() {
+        if (Objects.nonNull(this.messageBatcher)) {
+            this.messageBatcher.flush();
+        }
+    }
+
+    private void directOneway(Object request) throws RemotingException, InterruptedException {
+        rpcServer.oneway(address, request, this.createInvokeContext(request));
     }
 
     public <T> T invokeSync(Object message) throws RemotingException, InterruptedException {
-        return (T) rpcServer.invokeSync(address, message, timeoutMillis);
+        this.flushBatch();
+        return (T) rpcServer.invokeSync(address, message, this.createInvokeContext(message), timeoutMillis);
+    }
+
+    /**
+     * 异步调用，调用期间不会占用线程
+     *
+     * @param message       message
+     * @param timeoutMillis 超时时间，超时后 future 以 InvokeTimeoutException 异常完成
+     * @return future
+     * @since 21.23
+     */
+    public CompletableFuture<Object> invokeFuture(Object message, int timeoutMillis) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+
+        try {
+            this.flushBatch();
+            var callback = new FutureInvokeCallback(future);
+            rpcServer.invokeWithCallback(address, message, this.createInvokeContext(message), callback, timeoutMillis);
+        } catch (RemotingException e) {
+            future.completeExceptionally(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * 异步调用，调用期间不会占用线程
+     *
+     * @param message message
+     * @return future
+     * @since 21.23
+     */
+    public CompletableFuture<Object> invokeFuture(Object message) {
+        return this.invokeFuture(message, timeoutMillis);
+    }
+
+    private InvokeContext createInvokeContext(Object request) {
+        if (this.compactSerializer) {
+            return CompactSerializer.createInvokeContext(request);
+        }
+
+        // 透传的消息只解析了路由字段，使用 Hessian 发送前需要完整解析
+        if (request instanceof BarMessage message) {
+            CompactSerializer.materialize(message);
+        } else if (request instanceof BatchMessage batchMessage) {
+            for (Object element : batchMessage.getMessageList()) {
+                if (element instanceof BarMessage message) {
+                    CompactSerializer.materialize(message);
+                }
+            }
+        }
+
+        return null;
     }
 
     @Override
@@ -64,6 +64,23 @@ public interface BrokerClientRegion {
      */
     BrokerClientProxy getBrokerClientProxy(HeadMetadata headMetadata);
 
+    /**
+     * 选择逻辑服时是否只使用路由字段
+     * <pre>
+     *     开启了 IoGameGlobalConfig.brokerPassThrough 时，Broker（游戏网关）只解析了请求元信息中的路由字段：
+     *     cmdMerge、sourceClientId、endPointClientId、userId、msgId，其他字段（attachmentData、customData 等）为默认值。
+     *
+     *     返回 false 时，Broker 在选择逻辑服前会完整解析请求，{@link #getBrokerClientProxy(HeadMetadata)} 可以读取所有字段；
+     *     默认为 false，只使用路由字段的实现可以返回 true，省去完整解析的开销。
+     * </pre>
+     *
+     * @return true 只使用路由字段
+     * @since 21.23
+     */
+    default boolean isRoutingFieldsOnly() {
+        return false;
+    }
+
     /**
      * BrokerClientProxy map
      *
@@ -40,4 +40,15 @@ public interface BrokerClientRegionFactory {
      * @return BrokerClientRegion
      */
     BrokerClientRegion createBrokerClientRegion(String tag);
+
+    /**
+     * 按逻辑服负载选择逻辑服的 BrokerClientRegion 工厂
+     *
+     * @param loadSelect 选择策略
+     * @return BrokerClientRegionFactory
+     * @since 21.23
+     */
+    static BrokerClientRegionFactory of(LoadSelectEnum loadSelect) {
+        return tag -> new LoadBrokerClientRegion(tag, loadSelect);
+    }
 }
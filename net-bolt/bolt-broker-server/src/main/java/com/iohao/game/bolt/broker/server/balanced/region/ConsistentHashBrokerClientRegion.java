@@ -0,0 +1,140 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * 负载均衡，按 key 的一致性哈希选择逻辑服
+ * <pre>
+ *     相同 key（默认是 userId）的请求总是由同一个逻辑服处理，有状态的逻辑服可以把玩家数据放在本地内存中；
+ *     逻辑服加入或离开时，只有小部分 key 会迁移，可通过 {@link ConsistentHashMoveListener} 预热迁移过来的 key。
+ *
+ *     与 {@link DefaultBrokerClientRegion} 一样，指定了 endPointClientId 时优先使用绑定的游戏逻辑服。
+ *
+ *     自定义 keyFunction 时，Broker 在选择逻辑服前会完整解析透传的请求，keyFunction 可以读取请求元信息的所有字段；
+ *     keyFunction 只读取路由字段（cmdMerge、sourceClientId、endPointClientId、userId、msgId）时，
+ *     使用 setKeyFunction(keyFunction, true) 可以省去完整解析的开销。
+ *
+ *     使用方式
+ *     brokerServerBuilder.brokerClientRegionFactory(ConsistentHashBrokerClientRegion::new);
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public class ConsistentHashBrokerClientRegion extends DefaultBrokerClientRegion {
+    /** 每个逻辑服的虚拟节点数量 */
+    final int virtualNodes;
+    /** 从请求元信息中取得 key，默认是 userId */
+    ToLongFunction<HeadMetadata> keyFunction = HeadMetadata::getUserId;
+    /** keyFunction 是否只读取路由字段 */
+    boolean routingFieldsOnly = true;
+    /** 一致性哈希环变化时的回调 */
+    @Setter
+    ConsistentHashMoveListener moveListener;
+
+    volatile ConsistentHashRing ring = ConsistentHashRing.EMPTY;
+
+    public ConsistentHashBrokerClientRegion(String tag) {
+        this(tag, 160);
+    }
+
+    public ConsistentHashBrokerClientRegion(String tag, int virtualNodes) {
+        super(tag);
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * 设置从请求元信息中取得 key 的函数
+     * <pre>
+     *     keyFunction 可以读取请求元信息的所有字段，Broker 在选择逻辑服前会完整解析透传的请求
+     * </pre>
+     *
+     * @param keyFunction keyFunction
+     */
+    public void setKeyFunction(ToLongFunction<HeadMetadata> keyFunction) {
+        this.setKeyFunction(keyFunction, false);
+    }
+
+    /**
+     * 设置从请求元信息中取得 key 的函数
+     *
+     * @param keyFunction       keyFunction
+     * @param routingFieldsOnly true 表示 keyFunction 只读取路由字段（cmdMerge、sourceClientId、endPointClientId、userId、msgId）
+     */
+    public void setKeyFunction(ToLongFunction<HeadMetadata> keyFunction, boolean routingFieldsOnly) {
+        this.keyFunction = Objects.requireNonNull(keyFunction);
+        this.routingFieldsOnly = routingFieldsOnly;
+    }
+
+    @Override
+    public boolean isRoutingFieldsOnly() {
+        return this.routingFieldsOnly;
+    }
+
+    @Override
+    public BrokerClientProxy getBrokerClientProxy(HeadMetadata headMetadata) {
+        int endPointClientId = headMetadata.getEndPointClientId();
+
+        // 得到指定的逻辑服
+        if (endPointClientId != 0) {
+            BrokerClientProxy brokerClientProxy = this.idHashProxyMap.get(endPointClientId);
+            if (Objects.nonNull(brokerClientProxy)) {
+                return brokerClientProxy;
+            }
+        }
+
+        long key = this.keyFunction.applyAsLong(headMetadata);
+        return this.ring.get(ConsistentHashRing.hash(key));
+    }
+
+    @Override
+    public synchronized void add(BrokerClientProxy brokerClientProxy) {
+        super.add(brokerClientProxy);
+        this.resetRing();
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        super.remove(id);
+        this.resetRing();
+    }
+
+    private void resetRing() {
+        ConsistentHashRing oldRing = this.ring;
+        ConsistentHashRing newRing = ConsistentHashRing.of(this.brokerClientProxyMap.values(), this.virtualNodes);
+        this.ring = newRing;
+
+        if (Objects.isNull(this.moveListener)) {
+            return;
+        }
+
+        List<ConsistentHashMove> moves = ConsistentHashRing.diff(oldRing, newRing);
+        if (!moves.isEmpty()) {
+            this.moveListener.onMove(this.tag, moves);
+        }
+    }
+}
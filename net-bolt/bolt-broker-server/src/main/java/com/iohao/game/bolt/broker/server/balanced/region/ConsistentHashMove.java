@@ -0,0 +1,53 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+/**
+ * 一致性哈希环上迁移的一段 key
+ * <pre>
+ *     哈希值在 (startExclusive, endInclusive] 区间内的 key 从 from 逻辑服迁移到了 to 逻辑服；
+ *     当 startExclusive >= endInclusive 时，表示区间跨过了环的起点。
+ *
+ *     key 的哈希值 see {@link ConsistentHashRing#hash(long)}
+ * </pre>
+ *
+ * @param startExclusive 区间起点（不包含）
+ * @param endInclusive   区间终点（包含）
+ * @param from           迁移前负责这段 key 的逻辑服
+ * @param to             迁移后负责这段 key 的逻辑服
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public record ConsistentHashMove(int startExclusive, int endInclusive, BrokerClientProxy from, BrokerClientProxy to) {
+    /**
+     * 哈希值是否在当前区间内
+     *
+     * @param hash key 的哈希值
+     * @return true 在当前区间内
+     */
+    public boolean contains(int hash) {
+        if (startExclusive < endInclusive) {
+            return hash > startExclusive && hash <= endInclusive;
+        }
+
+        // 跨过了环的起点
+        return hash > startExclusive || hash <= endInclusive;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+import java.util.List;
+
+/**
+ * 一致性哈希环变化时的回调
+ * <pre>
+ *     逻辑服加入或离开时，只有小部分 key 会迁移到其他逻辑服；
+ *     开发者可以在这里通知 to 逻辑服预热这些 key 的状态（如玩家数据），通知 from 逻辑服释放。
+ *
+ *     回调在逻辑服注册、移除的线程中执行，耗时的操作请自行异步处理。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@FunctionalInterface
+public interface ConsistentHashMoveListener {
+    /**
+     * 一致性哈希环上有 key 发生了迁移
+     *
+     * @param tag   逻辑服 tag
+     * @param moves 迁移的 key 区间
+     */
+    void onMove(String tag, List<ConsistentHashMove> moves);
+}
@@ -0,0 +1,175 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+import com.iohao.game.common.kit.HashKit;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * 一致性哈希环（不可变）
+ * <pre>
+ *     每个逻辑服在环上有 virtualNodes 个虚拟节点，key 由顺时针方向的第一个虚拟节点所属的逻辑服负责；
+ *     逻辑服加入或离开时，只有约 1/N 的 key 会迁移。
+ *
+ *     环上的节点发生变化时，重新生成整个环后再替换（copy-on-write），查找时不需要加锁。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public final class ConsistentHashRing {
+    static final ConsistentHashRing EMPTY = new ConsistentHashRing(new int[0], new BrokerClientProxy[0]);
+
+    /** 虚拟节点的哈希值，升序 */
+    final int[] hashes;
+    /** 虚拟节点所属的逻辑服，下标与 hashes 对应 */
+    final BrokerClientProxy[] nodes;
+
+    private ConsistentHashRing(int[] hashes, BrokerClientProxy[] nodes) {
+        this.hashes = hashes;
+        this.nodes = nodes;
+    }
+
+    /**
+     * 创建一致性哈希环
+     *
+     * @param proxies      逻辑服列表
+     * @param virtualNodes 每个逻辑服的虚拟节点数量
+     * @return 一致性哈希环
+     */
+    public static ConsistentHashRing of(Collection<BrokerClientProxy> proxies, int virtualNodes) {
+        if (proxies.isEmpty()) {
+            return EMPTY;
+        }
+
+        // key : 虚拟节点的哈希值；哈希值冲突时，保留 id 较小的逻辑服，使结果与加入顺序无关
+        TreeMap<Integer, BrokerClientProxy> ring = new TreeMap<>();
+        for (BrokerClientProxy proxy : proxies) {
+            String id = proxy.getId();
+
+            for (int i = 0; i < virtualNodes; i++) {
+                int hash = HashKit.hash32(id + "#" + i);
+                ring.merge(hash, proxy, (a, b) -> a.getId().compareTo(b.getId()) <= 0 ? a : b);
+            }
+        }
+
+        int[] hashes = new int[ring.size()];
+        BrokerClientProxy[] nodes = new BrokerClientProxy[ring.size()];
+        int index = 0;
+        for (Map.Entry<Integer, BrokerClientProxy> entry : ring.entrySet()) {
+            hashes[index] = entry.getKey();
+            nodes[index] = entry.getValue();
+            index++;
+        }
+
+        return new ConsistentHashRing(hashes, nodes);
+    }
+
+    /**
+     * key 的哈希值
+     * <pre>
+     *     逻辑服可以用这个方法判断某个 key 是否在 {@link ConsistentHashMove} 的区间内
+     * </pre>
+     *
+     * @param key key，如 userId
+     * @return 哈希值
+     */
+    public static int hash(long key) {
+        // murmur3 fmix64
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * 得到负责该哈希值的逻辑服
+     *
+     * @param hash key 的哈希值
+     * @return 逻辑服，环上没有逻辑服时返回 null
+     */
+    public BrokerClientProxy get(int hash) {
+        int length = this.hashes.length;
+        if (length == 0) {
+            return null;
+        }
+
+        int index = Arrays.binarySearch(this.hashes, hash);
+        if (index < 0) {
+            // 顺时针方向的第一个虚拟节点
+            index = -index - 1;
+        }
+
+        return this.nodes[index == length ? 0 : index];
+    }
+
+    /**
+     * 环上的虚拟节点数量
+     *
+     * @return 虚拟节点数量
+     */
+    public int size() {
+        return this.hashes.length;
+    }
+
+    /**
+     * 比较两个环，得到迁移的 key 区间
+     *
+     * @param oldRing 变化前的环
+     * @param newRing 变化后的环
+     * @return 迁移的 key 区间；变化前的环为空时，没有 key 需要迁移
+     */
+    public static List<ConsistentHashMove> diff(ConsistentHashRing oldRing, ConsistentHashRing newRing) {
+        if (oldRing.size() == 0 || newRing.size() == 0) {
+            return Collections.emptyList();
+        }
+
+        // 两个环上所有的虚拟节点把环切成若干段，每段在新旧环上各自只属于一个逻辑服
+        int[] boundaries = IntStream.concat(Arrays.stream(oldRing.hashes), Arrays.stream(newRing.hashes))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        List<ConsistentHashMove> moves = new ArrayList<>();
+        int start = boundaries[boundaries.length - 1];
+        for (int end : boundaries) {
+            BrokerClientProxy from = oldRing.get(end);
+            BrokerClientProxy to = newRing.get(end);
+
+            if (from != to) {
+                ConsistentHashMove last = moves.isEmpty() ? null : moves.getLast();
+                if (last != null && last.endInclusive() == start && last.from() == from && last.to() == to) {
+                    // 与上一段相连，合并
+                    moves.set(moves.size() - 1, new ConsistentHashMove(last.startExclusive(), end, from, to));
+                } else {
+                    moves.add(new ConsistentHashMove(start, end, from, to));
+                }
+            }
+
+            start = end;
+        }
+
+        return moves;
+    }
+}
@@ -24,6 +24,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 import org.jctools.maps.NonBlockingHashMap;
+import org.jctools.maps.NonBlockingHashMapLong;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -52,6 +53,13 @@ public class DefaultBrokerClientRegion implements BrokerClientRegion {
      */
     @Getter
     final Map<Integer, BrokerClientProxy> brokerClientProxyMap = new NonBlockingHashMap<>();
+    /**
+     * 逻辑服 idHash 与逻辑服的关联，与 brokerClientProxyMap 内容一致
+     * <pre>
+     *     绑定逻辑服的请求通过 endPointClientId 查找逻辑服，使用基本类型的 key 避免装箱
+     * </pre>
+     */
+    final NonBlockingHashMapLong<BrokerClientProxy> idHashProxyMap = new NonBlockingHashMapLong<>();
     final String tag;
 
     ElementSelector<BrokerClientProxy> elementSelector;
@@ -60,12 +68,18 @@ public class DefaultBrokerClientRegion implements BrokerClientRegion {
         this.tag = tag;
     }
 
+    @Override
+    public boolean isRoutingFieldsOnly() {
+        // 只使用 endPointClientId
+        return true;
+    }
+
     @Override
     public BrokerClientProxy getBrokerClientProxy(HeadMetadata headMetadata) {
         int endPointClientId = headMetadata.getEndPointClientId();
 
         // 得到指定的逻辑服
-        if (endPointClientId != 0 && this.brokerClientProxyMap.containsKey(endPointClientId)) {
+        if (endPointClientId != 0) {
 
             /*
              * 查看当前 endPointClientId 是否属于当前 Region
@@ -77,7 +91,7 @@ public class DefaultBrokerClientRegion implements BrokerClientRegion {
              */
 
             // 如果找到了就返回，没找到则使用继续往下找
-            BrokerClientProxy brokerClientProxy = this.brokerClientProxyMap.get(endPointClientId);
+            BrokerClientProxy brokerClientProxy = this.idHashProxyMap.get(endPointClientId);
             if (Objects.nonNull(brokerClientProxy)) {
                 return brokerClientProxy;
             }
@@ -95,12 +109,14 @@ public class DefaultBrokerClientRegion implements BrokerClientRegion {
     public void add(BrokerClientProxy brokerClientProxy) {
         int id = brokerClientProxy.getIdHash();
         this.brokerClientProxyMap.put(id, brokerClientProxy);
+        this.idHashProxyMap.put(id, brokerClientProxy);
         this.resetSelector();
     }
 
     @Override
     public void remove(int id) {
         this.brokerClientProxyMap.remove(id);
+        this.idHashProxyMap.remove(id);
         this.resetSelector();
     }
 
@@ -115,8 +131,19 @@ public class DefaultBrokerClientRegion implements BrokerClientRegion {
     }
 
     private void resetSelector() {
-        // 随机选择器
         List<BrokerClientProxy> list = new ArrayList<>(brokerClientProxyMap.values());
-        this.elementSelector = ElementSelector.of(list);
+        this.elementSelector = this.createElementSelector(list);
+    }
+
+    /**
+     * 创建逻辑服选择器，子类可以重写来实现自己的负载算法
+     *
+     * @param list 域下的所有逻辑服
+     * @return 逻辑服选择器
+     * @since 21.23
+     */
+    protected ElementSelector<BrokerClientProxy> createElementSelector(List<BrokerClientProxy> list) {
+        // 轮询选择器
+        return ElementSelector.of(list);
     }
 }
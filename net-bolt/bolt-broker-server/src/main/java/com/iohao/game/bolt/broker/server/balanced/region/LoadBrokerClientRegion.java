@@ -0,0 +1,62 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+import com.iohao.game.bolt.broker.core.loadbalance.ElementSelector;
+
+import java.util.List;
+
+/**
+ * 负载均衡，按逻辑服的负载选择逻辑服
+ * <pre>
+ *     与 {@link DefaultBrokerClientRegion} 一样，绑定的游戏逻辑服不存在时会取一个其他的游戏逻辑服来处理；
+ *     没有绑定时按 {@link LoadSelectEnum} 策略选择负载较低的逻辑服，
+ *     避免某个逻辑服在 GC 或处理热点数据时依旧分到相同比例的请求。
+ *
+ *     使用方式
+ *     brokerServerBuilder.brokerClientRegionFactory(BrokerClientRegionFactory.of(LoadSelectEnum.PEAK_EWMA));
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public class LoadBrokerClientRegion extends DefaultBrokerClientRegion {
+    final LoadSelectEnum loadSelect;
+
+    public LoadBrokerClientRegion(String tag, LoadSelectEnum loadSelect) {
+        super(tag);
+        this.loadSelect = loadSelect;
+    }
+
+    @Override
+    public void add(BrokerClientProxy brokerClientProxy) {
+        // 开启负载统计
+        if (brokerClientProxy.getLoad() == null) {
+            brokerClientProxy.setLoad(new BrokerClientLoad(brokerClientProxy.getVoidCmdMergeList()));
+        }
+
+        super.add(brokerClientProxy);
+    }
+
+    @Override
+    protected ElementSelector<BrokerClientProxy> createElementSelector(List<BrokerClientProxy> list) {
+        return new LoadElementSelector(list, this.loadSelect);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+import com.iohao.game.bolt.broker.core.loadbalance.ElementSelector;
+import com.iohao.game.common.kit.exception.ThrowKit;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按逻辑服负载选择逻辑服的元素选择器
+ * <pre>
+ *     负载数据来自 BrokerClientProxy#getLoad，see {@link BrokerClientLoad}
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+final class LoadElementSelector implements ElementSelector<BrokerClientProxy> {
+    final List<BrokerClientProxy> elements;
+    final int size;
+    final LoadSelectEnum loadSelect;
+    final AtomicLong counter = new AtomicLong();
+
+    LoadElementSelector(List<BrokerClientProxy> elements, LoadSelectEnum loadSelect) {
+        this.elements = elements;
+        this.size = elements.size();
+        this.loadSelect = loadSelect;
+    }
+
+    @Override
+    public BrokerClientProxy next() {
+        return switch (size) {
+            case 0 -> null;
+            case 1 -> elements.getFirst();
+            default -> switch (loadSelect) {
+                case LEAST_OUTSTANDING -> this.leastOutstanding();
+                case POWER_OF_TWO_CHOICES -> this.powerOfTwoChoices(false);
+                case PEAK_EWMA -> this.powerOfTwoChoices(true);
+            };
+        };
+    }
+
+    private BrokerClientProxy leastOutstanding() {
+        // 轮换起始位置，未完成请求数相同时不总是选中第一个
+        int start = (int) (counter.getAndIncrement() % size);
+
+        BrokerClientProxy result = null;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            BrokerClientProxy proxy = elements.get((start + i) % size);
+            int outstanding = proxy.getLoad().getOutstanding();
+
+            if (outstanding < min) {
+                min = outstanding;
+                result = proxy;
+            }
+        }
+
+        return result;
+    }
+
+    private BrokerClientProxy powerOfTwoChoices(boolean cost) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(size);
+        // 与 a 不同的另一个下标
+        int b = (a + 1 + random.nextInt(size - 1)) % size;
+
+        BrokerClientProxy proxyA = elements.get(a);
+        BrokerClientProxy proxyB = elements.get(b);
+        BrokerClientLoad loadA = proxyA.getLoad();
+        BrokerClientLoad loadB = proxyB.getLoad();
+
+        if (cost) {
+            return loadA.getCost() <= loadB.getCost() ? proxyA : proxyB;
+        }
+
+        return loadA.getOutstanding() <= loadB.getOutstanding() ? proxyA : proxyB;
+    }
+
+    @Override
+    public BrokerClientProxy get() {
+        BrokerClientProxy next = next();
+
+        if (Objects.isNull(next)) {
+            ThrowKit.ofNullPointerException("LoadElementSelector next is null");
+        }
+
+        return next;
+    }
+}
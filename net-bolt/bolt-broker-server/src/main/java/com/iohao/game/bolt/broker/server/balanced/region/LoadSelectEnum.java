@@ -0,0 +1,35 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+/**
+ * 按逻辑服负载选择逻辑服的策略
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public enum LoadSelectEnum {
+    /** 选择未完成请求数最少的逻辑服 */
+    LEAST_OUTSTANDING,
+    /** 随机取两个逻辑服，选择未完成请求数较少的一个 */
+    POWER_OF_TWO_CHOICES,
+    /** 随机取两个逻辑服，选择负载成本（响应耗时 peak-EWMA * 未完成请求数）较低的一个 */
+    PEAK_EWMA
+}
@@ -21,6 +21,7 @@ package com.iohao.game.bolt.broker.server.balanced.region;
 import com.iohao.game.action.skeleton.core.exception.ActionErrorEnum;
 import com.iohao.game.action.skeleton.protocol.HeadMetadata;
 import org.jctools.maps.NonBlockingHashMap;
+import org.jctools.maps.NonBlockingHashMapLong;
 
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +44,13 @@ public final class StrictBrokerClientRegion implements BrokerClientRegion {
      * </pre>
      */
     final Map<Integer, BrokerClientProxy> brokerClientProxyMap = new NonBlockingHashMap<>();
+    /**
+     * 逻辑服 idHash 与逻辑服的关联，与 brokerClientProxyMap 内容一致
+     * <pre>
+     *     绑定逻辑服的请求通过 endPointClientId 查找逻辑服，使用基本类型的 key 避免装箱
+     * </pre>
+     */
+    final NonBlockingHashMapLong<BrokerClientProxy> idHashProxyMap = new NonBlockingHashMapLong<>();
     final String tag;
     WithElementSelector<BrokerClientProxy> withElementSelector;
 
@@ -56,7 +64,7 @@ public final class StrictBrokerClientRegion implements BrokerClientRegion {
         int endPointClientId = headMetadata.getEndPointClientId();
         if (endPointClientId != 0) {
             // 通过绑定的逻辑服 id 来查找对应的游戏逻辑服
-            BrokerClientProxy brokerClientProxy = this.brokerClientProxyMap.get(endPointClientId);
+            BrokerClientProxy brokerClientProxy = this.idHashProxyMap.get(endPointClientId);
 
             if (Objects.isNull(brokerClientProxy)) {
                 headMetadata.setOther(ActionErrorEnum.findBindingLogicServerNotExist);
@@ -76,12 +84,14 @@ public final class StrictBrokerClientRegion implements BrokerClientRegion {
     public void add(BrokerClientProxy brokerClientProxy) {
         int id = brokerClientProxy.getIdHash();
         this.brokerClientProxyMap.put(id, brokerClientProxy);
+        this.idHashProxyMap.put(id, brokerClientProxy);
         this.resetSelector();
     }
 
     @Override
     public void remove(int id) {
         this.brokerClientProxyMap.remove(id);
+        this.idHashProxyMap.remove(id);
         this.resetSelector();
     }
 
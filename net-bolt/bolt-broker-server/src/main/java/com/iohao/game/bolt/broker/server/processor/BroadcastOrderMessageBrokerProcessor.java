@@ -21,22 +21,22 @@ package com.iohao.game.bolt.broker.server.processor;
 import com.alipay.remoting.AsyncContext;
 import com.alipay.remoting.BizContext;
 import com.alipay.remoting.rpc.protocol.AsyncUserProcessor;
+import com.iohao.game.bolt.broker.core.common.BroadcastOrderThreadExecutorRegion;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage;
 import com.iohao.game.bolt.broker.server.BrokerServer;
 import com.iohao.game.bolt.broker.server.aware.BrokerServerAware;
 import com.iohao.game.common.consts.IoGameLogName;
-import com.iohao.game.common.kit.ExecutorKit;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-
 /**
  * 把逻辑服的广播 顺序的 转发到对外服
  * <pre>
- *     只使用了一个线程
+ *     在网络线程中按到达的顺序，把广播分派到多个单线程通道中转发：
+ *     推送给玩家的按 userId 分区，全服广播按来源逻辑服分区，同一个玩家（或同一逻辑服的全服广播）的顺序不变。
+ *
+ *     通道的数量 see {@link IoGameGlobalConfig#broadcastOrderLanes}
  * </pre>
  *
  * @author 渔民小镇
@@ -47,25 +47,34 @@ import java.util.concurrent.ExecutorService;
 public final class BroadcastOrderMessageBrokerProcessor extends AsyncUserProcessor<BroadcastOrderMessage>
         implements BrokerServerAware {
     BrokerServer brokerServer;
-    final ExecutorService executorService = ExecutorKit.newSingleThreadExecutor("BroadcastOrderBroker");
 
     @Override
     public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, BroadcastOrderMessage broadcastOrderMessage) {
-        if (IoGameGlobalConfig.broadcastLog) {
-            log.info("Broadcast 网关 顺序的 广播消息到对外服务器 {}", broadcastOrderMessage);
-        }
+        // 来源逻辑服的连接
+        long sourceKey = bizCtx.getRemoteAddress().hashCode();
 
-        BrokerExternalKit.sendMessageToExternal(this.brokerServer, broadcastOrderMessage);
-    }
+        Holder.region.execute(broadcastOrderMessage, sourceKey, message -> {
+            if (IoGameGlobalConfig.broadcastLog) {
+                log.info("Broadcast 网关 顺序的 广播消息到对外服务器 {}", message);
+            }
 
+            BrokerExternalKit.sendMessageToExternal(this.brokerServer, message);
+        });
+    }
 
     @Override
-    public Executor getExecutor() {
-        return executorService;
+    public boolean processInIOThread() {
+        // 在网络线程中分派，保证到达的顺序
+        return true;
     }
 
     @Override
     public String interest() {
         return BroadcastOrderMessage.class.getName();
     }
+
+    private static class Holder {
+        static final BroadcastOrderThreadExecutorRegion region = new BroadcastOrderThreadExecutorRegion(
+                "BroadcastOrderBroker", IoGameGlobalConfig.broadcastOrderLanes);
+    }
 }
@@ -23,14 +23,16 @@ import com.iohao.game.action.skeleton.protocol.HeadMetadata;
 import com.iohao.game.action.skeleton.protocol.ResponseMessage;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.core.message.BroadcastMessage;
+import com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage;
 import com.iohao.game.bolt.broker.server.BrokerServer;
 import com.iohao.game.bolt.broker.server.balanced.BalancedManager;
 import com.iohao.game.bolt.broker.server.balanced.ExternalBrokerClientLoadBalanced;
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientProxy;
+import com.iohao.game.common.kit.CollKit;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
+import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -50,14 +52,23 @@ public class BrokerExternalKit {
      * @param broadcastMessage 数据
      */
     public void sendMessageToExternal(BrokerServer brokerServer, BroadcastMessage broadcastMessage) {
+        // 游戏对外服相关
+        BalancedManager balancedManager = brokerServer.getBalancedManager();
+        var externalLoadBalanced = balancedManager.getExternalLoadBalanced();
+        sendMessageToExternal(externalLoadBalanced, broadcastMessage);
+    }
+
+    void sendMessageToExternal(ExternalBrokerClientLoadBalanced externalLoadBalanced, BroadcastMessage broadcastMessage) {
         // 指定的游戏对外服 id
         ResponseMessage responseMessage = broadcastMessage.getResponseMessage();
         HeadMetadata headMetadata = responseMessage.getHeadMetadata();
         int sourceClientId = headMetadata.getSourceClientId();
 
-        // 游戏对外服相关
-        BalancedManager balancedManager = brokerServer.getBalancedManager();
-        var externalLoadBalanced = balancedManager.getExternalLoadBalanced();
+        // 没有指定游戏对外服 id，根据玩家所在的游戏对外服转发
+        if (sourceClientId == 0 && IoGameGlobalConfig.brokerUserDirectory && !broadcastMessage.isBroadcastAll()) {
+            sendMessageToUserExternal(broadcastMessage, externalLoadBalanced);
+            return;
+        }
 
         // 没有指定游戏对外服 id，全部转发
         if (sourceClientId == 0) {
@@ -72,6 +83,78 @@ public class BrokerExternalKit {
         stream.forEach(consumer);
     }
 
+    /**
+     * 将广播按玩家所在的游戏对外服拆分后转发，找不到所在游戏对外服的玩家，转发到所有的游戏对外服
+     *
+     * @param broadcastMessage     数据
+     * @param externalLoadBalanced externalLoadBalanced
+     */
+    private void sendMessageToUserExternal(BroadcastMessage broadcastMessage, ExternalBrokerClientLoadBalanced externalLoadBalanced) {
+        Collection<Long> userIdList = broadcastMessage.getUserIdList();
+
+        // 推送给单个玩家
+        if (CollKit.isEmpty(userIdList)) {
+            long userId = broadcastMessage.getResponseMessage().getHeadMetadata().getUserId();
+            BrokerClientProxy brokerClientProxy = getUserExternal(userId, externalLoadBalanced);
+
+            if (Objects.isNull(brokerClientProxy)) {
+                sendMessage(externalLoadBalanced.listBrokerClientProxy(), broadcastMessage);
+            } else {
+                consumer(broadcastMessage).accept(brokerClientProxy);
+            }
+
+            return;
+        }
+
+        // 推送给玩家列表，按游戏对外服分组
+        Map<BrokerClientProxy, List<Long>> userIdMap = new HashMap<>();
+        List<Long> unknownUserIdList = new ArrayList<>();
+
+        for (Long userId : userIdList) {
+            BrokerClientProxy brokerClientProxy = getUserExternal(userId, externalLoadBalanced);
+            if (Objects.isNull(brokerClientProxy)) {
+                unknownUserIdList.add(userId);
+            } else {
+                userIdMap.computeIfAbsent(brokerClientProxy, k -> new ArrayList<>()).add(userId);
+            }
+        }
+
+        userIdMap.forEach((brokerClientProxy, theUserIdList) -> {
+            var message = copyBroadcastMessage(broadcastMessage, theUserIdList);
+            consumer(message).accept(brokerClientProxy);
+        });
+
+        if (!unknownUserIdList.isEmpty()) {
+            var message = userIdMap.isEmpty()
+                    ? broadcastMessage
+                    : copyBroadcastMessage(broadcastMessage, unknownUserIdList);
+
+            sendMessage(externalLoadBalanced.listBrokerClientProxy(), message);
+        }
+    }
+
+    /**
+     * 得到玩家所在的游戏对外服
+     *
+     * @param userId               userId
+     * @param externalLoadBalanced externalLoadBalanced
+     * @return 玩家所在的游戏对外服，没有记录或游戏对外服不存在时返回 null
+     */
+    BrokerClientProxy getUserExternal(long userId, ExternalBrokerClientLoadBalanced externalLoadBalanced) {
+        var userDirectory = externalLoadBalanced.getUserDirectory();
+        int externalId = userDirectory.get(userId);
+        return externalId == 0 ? null : externalLoadBalanced.get(externalId);
+    }
+
+    private BroadcastMessage copyBroadcastMessage(BroadcastMessage broadcastMessage, List<Long> userIdList) {
+        // 保持广播的类型，有顺序的广播仍然是有顺序的
+        BroadcastMessage message = broadcastMessage instanceof BroadcastOrderMessage
+                ? new BroadcastOrderMessage()
+                : new BroadcastMessage();
+
+        return message.setResponseMessage(broadcastMessage.getResponseMessage()).setUserIdList(userIdList);
+    }
+
     /**
      * 将数据发送给所有的游戏对外服
      *
@@ -22,6 +22,7 @@ import com.alipay.remoting.Connection;
 import com.alipay.remoting.ConnectionEventProcessor;
 import com.alipay.remoting.ConnectionEventType;
 import com.alipay.remoting.exception.RemotingException;
+import com.iohao.game.bolt.broker.core.codec.CompactSerializer;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.core.message.RequestBrokerClientModuleMessage;
 import com.iohao.game.bolt.broker.server.BrokerServer;
@@ -74,6 +75,16 @@ public class ConnectionEventBrokerProcessor implements ConnectionEventProcessor,
         int withNo = brokerServer.getWithNo();
         requestBrokerClientModuleMessage.setWithNo(withNo);
 
+        if (IoGameGlobalConfig.compactSerializer) {
+            // 注册紧凑格式的序列化器，并告知客户端 Broker 支持该格式
+            CompactSerializer.me();
+            requestBrokerClientModuleMessage.setCompactSerializer(true);
+            requestBrokerClientModuleMessage.setPassThrough(IoGameGlobalConfig.brokerPassThrough);
+        }
+
+        // 告知客户端 Broker 能处理批量消息
+        requestBrokerClientModuleMessage.setBatch(true);
+
         //  通知客户端发送模块信息
         try {
             brokerServer.getRpcServer().oneway(conn, requestBrokerClientModuleMessage);
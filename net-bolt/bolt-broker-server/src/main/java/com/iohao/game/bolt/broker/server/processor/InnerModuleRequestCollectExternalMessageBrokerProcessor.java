@@ -20,24 +20,26 @@ package com.iohao.game.bolt.broker.server.processor;
 
 import com.alipay.remoting.AsyncContext;
 import com.alipay.remoting.BizContext;
-import com.alipay.remoting.exception.RemotingException;
 import com.iohao.game.action.skeleton.protocol.external.RequestCollectExternalMessage;
 import com.iohao.game.action.skeleton.protocol.external.ResponseCollectExternalItemMessage;
 import com.iohao.game.action.skeleton.protocol.external.ResponseCollectExternalMessage;
 import com.iohao.game.bolt.broker.core.common.AbstractAsyncUserProcessor;
+import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.server.BrokerServer;
 import com.iohao.game.bolt.broker.server.aware.BrokerServerAware;
 import com.iohao.game.bolt.broker.server.balanced.BalancedManager;
 import com.iohao.game.bolt.broker.server.balanced.ExternalBrokerClientLoadBalanced;
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientProxy;
 import com.iohao.game.common.kit.CompletableFutureKit;
-import com.iohao.game.core.common.NetCommonKit;
+import com.iohao.game.core.common.client.ExternalBizCodeCont;
 import lombok.AccessLevel;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
@@ -59,6 +61,14 @@ import java.util.stream.Stream;
 public final class InnerModuleRequestCollectExternalMessageBrokerProcessor extends AbstractAsyncUserProcessor<RequestCollectExternalMessage>
         implements BrokerServerAware {
 
+    /** 与单个玩家相关的业务码 */
+    static final Set<Integer> userBizCodeSet = Set.of(
+            ExternalBizCodeCont.existUser,
+            ExternalBizCodeCont.forcedOffline,
+            ExternalBizCodeCont.attachment,
+            ExternalBizCodeCont.userHeadMetadata
+    );
+
     BrokerServer brokerServer;
 
     @Override
@@ -82,30 +92,43 @@ public final class InnerModuleRequestCollectExternalMessageBrokerProcessor exten
             RequestCollectExternalMessage requestCollectMessage,
             ExternalBrokerClientLoadBalanced externalLoadBalanced) {
 
-        // 游戏对外服 id
-        int sourceClientId = requestCollectMessage.getSourceClientId();
-        Stream<BrokerClientProxy> stream = BrokerExternalKit.streamToggle(sourceClientId, externalLoadBalanced);
-
-        return stream.map(brokerClientProxy -> CompletableFuture.supplyAsync(() -> {
-            ResponseCollectExternalItemMessage itemMessage;
+        Stream<BrokerClientProxy> stream = this.stream(requestCollectMessage, externalLoadBalanced);
 
-            try {
-                // 请求方请求其它服务器得到的响应数据
-                itemMessage = brokerClientProxy.invokeSync(requestCollectMessage);
-            } catch (RemotingException | InterruptedException e) {
+        // 异步请求游戏对外服，请求期间不占用线程；超时或出错的游戏对外服不参与聚合
+        return stream.map(brokerClientProxy -> brokerClientProxy.invokeFuture(requestCollectMessage).handle((result, e) -> {
+            if (Objects.nonNull(e)) {
                 log.error(e.getMessage(), e);
                 return null;
             }
 
             // 有错误或没有数据的，就不做处理了，意义不大
-            if (itemMessage == null) {
+            if (result == null) {
                 return null;
             }
 
             String logicServerId = brokerClientProxy.getId();
             // 得到一个逻辑服的结果
-            return itemMessage.setLogicServerId(logicServerId);
-        }, NetCommonKit.getVirtualExecutor())).toList();
+            return ((ResponseCollectExternalItemMessage) result).setLogicServerId(logicServerId);
+        })).toList();
+    }
+
+    Stream<BrokerClientProxy> stream(RequestCollectExternalMessage requestCollectMessage,
+                                     ExternalBrokerClientLoadBalanced externalLoadBalanced) {
+        // 游戏对外服 id
+        int sourceClientId = requestCollectMessage.getSourceClientId();
+
+        // 没有指定游戏对外服 id 时，与玩家相关的业务只访问玩家所在的游戏对外服
+        if (sourceClientId == 0 && IoGameGlobalConfig.brokerUserDirectory
+                && userBizCodeSet.contains(requestCollectMessage.getBizCode())) {
+
+            long userId = requestCollectMessage.getUserId();
+            BrokerClientProxy brokerClientProxy = BrokerExternalKit.getUserExternal(userId, externalLoadBalanced);
+            if (Objects.nonNull(brokerClientProxy)) {
+                return Stream.of(brokerClientProxy);
+            }
+        }
+
+        return BrokerExternalKit.streamToggle(sourceClientId, externalLoadBalanced);
     }
 
     @Override
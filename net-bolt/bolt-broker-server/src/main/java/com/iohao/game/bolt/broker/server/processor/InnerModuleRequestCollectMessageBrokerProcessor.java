@@ -20,7 +20,7 @@ package com.iohao.game.bolt.broker.server.processor;
 
 import com.alipay.remoting.AsyncContext;
 import com.alipay.remoting.BizContext;
-import com.alipay.remoting.exception.RemotingException;
+import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
 import com.iohao.game.action.skeleton.core.exception.ActionErrorEnum;
 import com.iohao.game.action.skeleton.protocol.HeadMetadata;
 import com.iohao.game.action.skeleton.protocol.RequestMessage;
@@ -35,15 +35,19 @@ import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.server.BrokerServer;
 import com.iohao.game.bolt.broker.server.aware.BrokerServerAware;
 import com.iohao.game.bolt.broker.server.balanced.BalancedManager;
+import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientProxy;
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientRegion;
-import com.iohao.game.common.kit.CompletableFutureKit;
 import com.iohao.game.core.common.NetCommonKit;
 import lombok.AccessLevel;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -57,7 +61,9 @@ import java.util.concurrent.CompletableFuture;
  * </pre>
  *
  * <pre>
- *     处理方式使用 CompletableFuture、ForkJoinPool 并行访问所有相同有逻辑服。
+ *     处理方式使用异步回调并行访问所有相同的逻辑服，请求期间不占用线程。
+ *     每个逻辑服有响应期限（see RequestCollectMessage#deadlineMillis），期限到了还没有响应的逻辑服不再等待，返回已收到的部分结果；
+ *     有数据的结果达到 RequestCollectMessage#completeCount 时，提前完成。
  * </pre>
  *
  * @author 渔民小镇
@@ -93,11 +99,8 @@ public final class InnerModuleRequestCollectMessageBrokerProcessor extends Abstr
         }
 
         // 并行调用多个逻辑服
-        var futureList = this.listFuture(requestMessage, brokerClientRegion);
-        CompletableFutureKit.sequenceAsync(futureList).thenAcceptAsync(messageList -> {
-            var responseCollectMessage = new ResponseCollectMessage();
-            responseCollectMessage.setMessageList(messageList);
-
+        var collect = this.invoke(requestCollectMessage, brokerClientRegion);
+        collect.future.thenAcceptAsync(responseCollectMessage -> {
             // 将响应数据给回请求方
             asyncCtx.sendResponse(responseCollectMessage);
 
@@ -124,38 +127,111 @@ public final class InnerModuleRequestCollectMessageBrokerProcessor extends Abstr
         }
     }
 
-    private List<CompletableFuture<ResponseCollectItemMessage>> listFuture(RequestMessage requestMessage
-            , BrokerClientRegion brokerClientRegion) {
+    private Collect invoke(RequestCollectMessage requestCollectMessage, BrokerClientRegion brokerClientRegion) {
+        RequestMessage requestMessage = requestCollectMessage.getRequestMessage();
+        int deadlineMillis = requestCollectMessage.getDeadlineMillis();
 
-        // 逻辑服列表 stream；异步请求逻辑服
-        var stream = brokerClientRegion.listBrokerClientProxy().stream();
-        return stream.map(brokerClientProxy -> CompletableFuture.supplyAsync(() -> {
-            ResponseMessage responseMessage;
+        var brokerClientProxyList = brokerClientRegion.listBrokerClientProxy();
+        var collect = new Collect(brokerClientProxyList.size(), requestCollectMessage.getCompleteCount());
 
-            try {
+        // 异步请求逻辑服，请求期间不占用线程；期限到了还没有响应的逻辑服，以超时异常完成
+        for (BrokerClientProxy brokerClientProxy : brokerClientProxyList) {
+            int timeoutMillis = deadlineMillis > 0 ? deadlineMillis : brokerClientProxy.getTimeoutMillis();
+            // 逻辑服 id
+            String logicServerId = brokerClientProxy.getId();
+
+            brokerClientProxy.invokeFuture(requestMessage, timeoutMillis).whenComplete((result, e) -> {
                 // 请求方请求其它服务器得到的响应数据
-                responseMessage = brokerClientProxy.invokeSync(requestMessage);
-            } catch (RemotingException | InterruptedException e) {
+                collect.add(logicServerId, (ResponseMessage) result, e);
+            });
+        }
+
+        return collect;
+    }
+
+    /**
+     * 收集多个逻辑服的结果
+     * <pre>
+     *     所有逻辑服都有了结果（响应或超时），或者有数据的结果达到 completeCount 时完成。
+     * </pre>
+     */
+    static final class Collect {
+        final CompletableFuture<ResponseCollectMessage> future = new CompletableFuture<>();
+        final List<ResponseCollectItemMessage> messageList = new ArrayList<>();
+        final Map<String, Integer> logicServerStatusMap = new HashMap<>();
+        final int completeCount;
+        /** 还没有结果的逻辑服数量 */
+        int remaining;
+        boolean partial;
+
+        Collect(int size, int completeCount) {
+            this.remaining = size;
+            this.completeCount = completeCount;
+
+            if (size == 0) {
+                this.complete();
+            }
+        }
+
+        synchronized void add(String logicServerId, ResponseMessage responseMessage, Throwable e) {
+            // 已经提前完成了
+            if (this.future.isDone()) {
+                return;
+            }
+
+            this.remaining--;
+
+            try {
+                int status = this.status(responseMessage, e);
+                this.logicServerStatusMap.put(logicServerId, status);
+
+                byte[] data;
+                // 有错误或没有数据的，就不做处理了，意义不大
+                if (status == 0 && (data = responseMessage.getData()) != null && data.length != 0) {
+                    // 得到一个逻辑服的结果
+                    var itemMessage = new ResponseCollectItemMessage()
+                            .setResponseMessage(responseMessage)
+                            .setLogicServerId(logicServerId);
+
+                    this.messageList.add(itemMessage);
+                }
+            } finally {
+                // 无论当前结果是否处理成功，都要检查是否可以完成，避免请求方一直等待
+                boolean enough = this.completeCount > 0 && this.messageList.size() >= this.completeCount;
+                if (this.remaining == 0 || enough) {
+                    this.partial |= this.remaining > 0;
+                    this.complete();
+                }
+            }
+        }
+
+        private int status(ResponseMessage responseMessage, Throwable e) {
+            if (e instanceof InvokeTimeoutException) {
+                this.partial = true;
+                return ActionErrorEnum.timeout.getCode();
+            }
+
+            if (Objects.nonNull(e)) {
                 log.error(e.getMessage(), e);
-                return null;
+                return ActionErrorEnum.systemOtherErrCode.getCode();
             }
 
-            byte[] data;
-            // 有错误或没有数据的，就不做处理了，意义不大
-            if (responseMessage == null
-                    || responseMessage.hasError()
-                    || (data = responseMessage.getData()) == null
-                    || data.length == 0) {
-                return null;
+            if (Objects.isNull(responseMessage)) {
+                // 没有异常也没有响应，当作错误处理
+                return ActionErrorEnum.systemOtherErrCode.getCode();
             }
 
-            // 逻辑服 id
-            String logicServerId = brokerClientProxy.getId();
-            // 得到一个逻辑服的结果
-            return new ResponseCollectItemMessage()
-                    .setResponseMessage(responseMessage)
-                    .setLogicServerId(logicServerId);
-        }, NetCommonKit.getVirtualExecutor())).toList();
+            return responseMessage.getResponseStatus();
+        }
+
+        private void complete() {
+            var responseCollectMessage = new ResponseCollectMessage()
+                    .setMessageList(this.messageList)
+                    .setLogicServerStatusMap(this.logicServerStatusMap)
+                    .setPartial(this.partial);
+
+            this.future.complete(responseCollectMessage);
+        }
     }
 
     @Override
@@ -29,6 +29,7 @@ import com.iohao.game.action.skeleton.protocol.RequestMessage;
 import com.iohao.game.action.skeleton.protocol.ResponseMessage;
 import com.iohao.game.bolt.broker.core.aware.CmdRegionsAware;
 import com.iohao.game.bolt.broker.core.aware.UserProcessorExecutorSelectorAware;
+import com.iohao.game.bolt.broker.core.codec.CompactSerializer;
 import com.iohao.game.bolt.broker.core.common.AbstractAsyncUserProcessor;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.core.common.UserProcessorExecutorSelectorStrategy;
@@ -37,6 +38,7 @@ import com.iohao.game.bolt.broker.server.aware.BrokerServerAware;
 import com.iohao.game.bolt.broker.server.balanced.BalancedManager;
 import com.iohao.game.bolt.broker.server.balanced.ExternalBrokerClientLoadBalanced;
 import com.iohao.game.bolt.broker.server.balanced.LogicBrokerClientLoadBalanced;
+import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientLoad;
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientProxy;
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientRegion;
 import com.iohao.game.bolt.broker.server.kit.EndPointClientIdKit;
@@ -85,6 +87,11 @@ public final class RequestMessageBrokerProcessor extends AbstractAsyncUserProces
             return;
         }
 
+        // 透传的请求只解析了路由字段，逻辑服域需要读取其他字段时先完整解析
+        if (!brokerClientRegion.isRoutingFieldsOnly()) {
+            CompactSerializer.materialize(request);
+        }
+
         EndPointClientIdKit.endPointClientId(headMetadata, this.cmdRegions);
 
         headMetadata.setWithNo(this.brokerServer.getWithNo());
@@ -96,6 +103,12 @@ public final class RequestMessageBrokerProcessor extends AbstractAsyncUserProces
             return;
         }
 
+        // 负载统计
+        BrokerClientLoad load = brokerClientProxy.getLoad();
+        if (load != null) {
+            load.onRequest(headMetadata);
+        }
+
         try {
             brokerClientProxy.oneway(request);
         } catch (RemotingException | InterruptedException | NullPointerException e) {
@@ -104,6 +117,8 @@ public final class RequestMessageBrokerProcessor extends AbstractAsyncUserProces
     }
 
     private void extractedPrint(RequestMessage request) {
+        // 透传的消息只解析了路由字段
+        CompactSerializer.materialize(request);
 
         log.info("游戏网关把对外服 请求 转发到逻辑服 : {}", request);
 
@@ -117,6 +132,7 @@ public final class RequestMessageBrokerProcessor extends AbstractAsyncUserProces
 
     private void extractedNotRoute(BizContext bizCtx, RequestMessage requestMessage) {
         // 路由不存在
+        CompactSerializer.materialize(requestMessage);
         Connection connection = bizCtx.getConnection();
         ResponseMessage responseMessage = requestMessage.createResponseMessage();
         HeadMetadata headMetadata = requestMessage.getHeadMetadata();
@@ -23,12 +23,15 @@ import com.alipay.remoting.BizContext;
 import com.alipay.remoting.exception.RemotingException;
 import com.iohao.game.action.skeleton.protocol.HeadMetadata;
 import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.bolt.broker.core.codec.CompactSerializer;
 import com.iohao.game.bolt.broker.core.common.AbstractAsyncUserProcessor;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.server.BrokerServer;
 import com.iohao.game.bolt.broker.server.aware.BrokerServerAware;
 import com.iohao.game.bolt.broker.server.balanced.BalancedManager;
 import com.iohao.game.bolt.broker.server.balanced.ExternalBrokerClientLoadBalanced;
+import com.iohao.game.bolt.broker.server.balanced.LogicBrokerClientLoadBalanced;
+import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientLoad;
 import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientProxy;
 import com.iohao.game.common.consts.IoGameLogName;
 import lombok.Setter;
@@ -52,6 +55,8 @@ public final class ResponseMessageBrokerProcessor extends AbstractAsyncUserProce
     @Override
     public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, ResponseMessage responseMessage) {
         if (IoGameGlobalConfig.requestResponseLog) {
+            // 透传的消息只解析了路由字段
+            CompactSerializer.materialize(responseMessage);
             log.info("把逻辑服的响应转发到对外服 {}", responseMessage);
         }
 
@@ -59,6 +64,16 @@ public final class ResponseMessageBrokerProcessor extends AbstractAsyncUserProce
         int sourceClientId = headMetadata.getSourceClientId();
 
         BalancedManager balancedManager = brokerServer.getBalancedManager();
+
+        LogicBrokerClientLoadBalanced logicBalanced = balancedManager.getLogicBalanced();
+        if (logicBalanced.hasBrokerClientLoad()) {
+            // 负载统计，响应来自逻辑服的连接
+            BrokerClientLoad load = logicBalanced.getBrokerClientLoad(bizCtx.getRemoteAddress());
+            if (Objects.nonNull(load)) {
+                load.onResponse(headMetadata);
+            }
+        }
+
         ExternalBrokerClientLoadBalanced externalLoadBalanced = balancedManager.getExternalLoadBalanced();
         BrokerClientProxy brokerClientProxy = externalLoadBalanced.get(sourceClientId);
 
@@ -23,6 +23,7 @@ import com.alipay.remoting.BizContext;
 import com.alipay.remoting.exception.RemotingException;
 import com.iohao.game.action.skeleton.protocol.HeadMetadata;
 import com.iohao.game.bolt.broker.core.common.AbstractAsyncUserProcessor;
+import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.action.skeleton.protocol.login.SettingUserIdMessage;
 import com.iohao.game.action.skeleton.protocol.login.SettingUserIdMessageResponse;
 import com.iohao.game.bolt.broker.server.BrokerServer;
@@ -67,6 +68,13 @@ public final class SettingUserIdMessageBrokerProcessor extends AbstractAsyncUser
             try {
                 // 转发给对外服, 并得到对外服的响应
                 SettingUserIdMessageResponse messageResponse = brokerClientProxy.invokeSync(settingUserIdMessage);
+
+                // 记录玩家所在的对外服
+                if (IoGameGlobalConfig.brokerUserDirectory && messageResponse.isSuccess()) {
+                    var userDirectory = externalLoadBalanced.getUserDirectory();
+                    userDirectory.put(messageResponse.getUserId(), sourceClientId);
+                }
+
                 asyncCtx.sendResponse(messageResponse);
             } catch (RemotingException | InterruptedException e) {
                 log.error(e.getMessage(), e);
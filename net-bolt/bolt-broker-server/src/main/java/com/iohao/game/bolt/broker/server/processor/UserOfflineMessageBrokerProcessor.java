@@ -0,0 +1,55 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.server.processor;
+
+import com.alipay.remoting.AsyncContext;
+import com.alipay.remoting.BizContext;
+import com.iohao.game.bolt.broker.core.common.AbstractAsyncUserProcessor;
+import com.iohao.game.bolt.broker.core.message.UserOfflineMessage;
+import com.iohao.game.bolt.broker.server.BrokerServer;
+import com.iohao.game.bolt.broker.server.aware.BrokerServerAware;
+import lombok.Setter;
+
+/**
+ * 玩家下线，移除玩家所在的游戏对外服记录
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Setter
+public final class UserOfflineMessageBrokerProcessor extends AbstractAsyncUserProcessor<UserOfflineMessage>
+        implements BrokerServerAware {
+
+    BrokerServer brokerServer;
+
+    @Override
+    public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, UserOfflineMessage message) {
+        var userDirectory = this.brokerServer.getBalancedManager()
+                .getExternalLoadBalanced()
+                .getUserDirectory();
+
+        userDirectory.remove(message.getUserId(), message.getSourceClientId());
+    }
+
+    @Override
+    public String interest() {
+        return UserOfflineMessage.class.getName();
+    }
+}
@@ -0,0 +1,55 @@
+package com.iohao.game.bolt.broker.server.balanced;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class ExternalUserDirectoryTest {
+
+    @Test
+    public void remove() {
+        ExternalUserDirectory userDirectory = new ExternalUserDirectory();
+        userDirectory.put(1, 100);
+        Assert.assertEquals(100, userDirectory.get(1));
+        Assert.assertEquals(0, userDirectory.get(2));
+
+        // 玩家在另一个对外服登录后，旧对外服的下线通知不能移除新的记录
+        userDirectory.put(1, 200);
+        userDirectory.remove(1, 100);
+        Assert.assertEquals(200, userDirectory.get(1));
+
+        userDirectory.remove(1, 200);
+        Assert.assertEquals(0, userDirectory.get(1));
+    }
+
+    @Test
+    public void removeExternal() {
+        ExternalUserDirectory userDirectory = new ExternalUserDirectory();
+        userDirectory.put(1, 100);
+        userDirectory.put(2, 100);
+        userDirectory.put(3, 200);
+
+        userDirectory.removeExternal(100);
+        Assert.assertEquals(0, userDirectory.get(1));
+        Assert.assertEquals(0, userDirectory.get(2));
+        Assert.assertEquals(200, userDirectory.get(3));
+        Assert.assertEquals(1, userDirectory.size());
+
+        // 玩家换到另一个对外服登录后，旧对外服下线不影响新的记录
+        userDirectory.put(4, 300);
+        userDirectory.put(4, 200);
+        userDirectory.put(5, 300);
+        userDirectory.removeExternal(300);
+        Assert.assertEquals(200, userDirectory.get(4));
+        Assert.assertEquals(0, userDirectory.get(5));
+
+        // 对外服下线后重新上线，可以再次记录
+        userDirectory.put(1, 100);
+        Assert.assertEquals(100, userDirectory.get(1));
+        userDirectory.removeExternal(200);
+        Assert.assertEquals(1, userDirectory.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.iohao.game.bolt.broker.server.balanced;
+
+import com.iohao.game.action.skeleton.core.CmdKit;
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.bolt.broker.core.client.BrokerClientType;
+import com.iohao.game.bolt.broker.core.message.BrokerClientModuleMessage;
+import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientProxy;
+import com.iohao.game.bolt.broker.server.balanced.region.StrictBrokerClientRegion;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class LogicBrokerClientLoadBalancedTest {
+
+    @Test
+    public void getBrokerClientRegion() {
+        LogicBrokerClientLoadBalanced balanced = new LogicBrokerClientLoadBalanced();
+        balanced.setBrokerClientRegionFactory(StrictBrokerClientRegion::new);
+
+        Assert.assertNull(balanced.getBrokerClientRegion(CmdKit.merge(1, 1)));
+
+        var hall1 = createProxy("hall-1", "hall", CmdKit.merge(1, 1), CmdKit.merge(1, 20));
+        var hall2 = createProxy("hall-2", "hall", CmdKit.merge(1, 1), CmdKit.merge(1, 20));
+        var room = createProxy("room-1", "room", CmdKit.merge(3, 0));
+        balanced.register(hall1);
+        balanced.register(hall2);
+        balanced.register(room);
+
+        var hallRegion = balanced.getBrokerClientRegion(CmdKit.merge(1, 20));
+        Assert.assertNotNull(hallRegion);
+        Assert.assertEquals("hall", hallRegion.getTag());
+        Assert.assertSame(hallRegion, balanced.getBrokerClientRegion(CmdKit.merge(1, 1)));
+        Assert.assertEquals("room", balanced.getBrokerClientRegion(CmdKit.merge(3, 0)).getTag());
+
+        // 未注册的路由
+        Assert.assertNull(balanced.getBrokerClientRegion(CmdKit.merge(1, 2)));
+        Assert.assertNull(balanced.getBrokerClientRegion(CmdKit.merge(1, 21)));
+        Assert.assertNull(balanced.getBrokerClientRegion(CmdKit.merge(2, 0)));
+        Assert.assertNull(balanced.getBrokerClientRegion(CmdKit.merge(100, 0)));
+        Assert.assertNull(balanced.getBrokerClientRegion(-1));
+
+        Assert.assertSame(hall2, balanced.getBrokerClientProxyByIdHash(hall2.getIdHash()));
+
+        // 绑定逻辑服
+        HeadMetadata headMetadata = new HeadMetadata().setEndPointClientId(hall2.getIdHash());
+        Assert.assertSame(hall2, hallRegion.getBrokerClientProxy(headMetadata));
+
+        balanced.remove(hall2);
+        Assert.assertNull(balanced.getBrokerClientProxyByIdHash(hall2.getIdHash()));
+        Assert.assertNull(hallRegion.getBrokerClientProxy(headMetadata));
+        Assert.assertEquals(1, hallRegion.count());
+    }
+
+    private BrokerClientProxy createProxy(String id, String tag, Integer... cmdMerges) {
+        var moduleMessage = new BrokerClientModuleMessage()
+                .setId(id)
+                .setName(id)
+                .setTag(tag)
+                .setBrokerClientType(BrokerClientType.LOGIC)
+                .setCmdMergeList(List.of(cmdMerges));
+
+        return new BrokerClientProxy(moduleMessage, null);
+    }
+}
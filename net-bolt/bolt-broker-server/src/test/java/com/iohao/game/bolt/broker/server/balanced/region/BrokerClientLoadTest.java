@@ -0,0 +1,80 @@
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+import com.iohao.game.action.skeleton.core.CmdKit;
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class BrokerClientLoadTest {
+
+    @Test
+    public void voidAction() {
+        int voidCmdMerge = CmdKit.merge(1, 2);
+        var load = new BrokerClientLoad(List.of(voidCmdMerge));
+
+        // 返回值为 void 的 action 没有响应，不记录
+        load.onRequest(createHeadMetadata(voidCmdMerge, 1));
+        Assert.assertEquals(0, load.getOutstanding());
+
+        load.onRequest(createHeadMetadata(CmdKit.merge(1, 1), 1));
+        Assert.assertEquals(1, load.getOutstanding());
+
+        // 没有记录的请求的响应（如 void action 的错误响应）不影响统计
+        load.onResponse(createHeadMetadata(voidCmdMerge, 1));
+        Assert.assertEquals(1, load.getOutstanding());
+        Assert.assertEquals(0, load.getEwmaNanos(), 0);
+    }
+
+    @Test
+    public void sameKey() {
+        var load = new BrokerClientLoad();
+        int cmdMerge = CmdKit.merge(1, 1);
+
+        // 相同的请求各自记录
+        load.onRequest(createHeadMetadata(cmdMerge, 0));
+        load.onRequest(createHeadMetadata(cmdMerge, 0));
+        Assert.assertEquals(2, load.getOutstanding());
+
+        load.onResponse(createHeadMetadata(cmdMerge, 0));
+        Assert.assertEquals(1, load.getOutstanding());
+        load.onResponse(createHeadMetadata(cmdMerge, 0));
+        Assert.assertEquals(0, load.getOutstanding());
+
+        // 多余的响应不影响统计
+        load.onResponse(createHeadMetadata(cmdMerge, 0));
+        Assert.assertEquals(0, load.getOutstanding());
+    }
+
+    @Test
+    public void distinctKey() {
+        var load = new BrokerClientLoad();
+
+        // 字段值此消彼长的请求不会被当作同一个请求
+        load.onRequest(createHeadMetadata(CmdKit.merge(1, 1), 31));
+        load.onResponse(createHeadMetadata(CmdKit.merge(1, 2), 0));
+        Assert.assertEquals(1, load.getOutstanding());
+
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            load.onRequest(createHeadMetadata(CmdKit.merge(2, i), i));
+        }
+
+        Assert.assertEquals(count + 1, load.getOutstanding());
+
+        for (int i = 0; i < count; i++) {
+            load.onResponse(createHeadMetadata(CmdKit.merge(2, i), i));
+        }
+
+        Assert.assertEquals(1, load.getOutstanding());
+    }
+
+    private HeadMetadata createHeadMetadata(int cmdMerge, int msgId) {
+        return new HeadMetadata().setUserId(1).setCmdMerge(cmdMerge).setMsgId(msgId);
+    }
+}
@@ -0,0 +1,127 @@
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.bolt.broker.core.client.BrokerClientType;
+import com.iohao.game.bolt.broker.core.message.BrokerClientModuleMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class ConsistentHashBrokerClientRegionTest {
+    static final int userCount = 10000;
+
+    @Test
+    public void sticky() {
+        var region = new ConsistentHashBrokerClientRegion("room");
+        for (int i = 1; i <= 4; i++) {
+            region.add(createProxy("room-" + i));
+        }
+
+        Map<Long, BrokerClientProxy> ownerMap = this.ownerMap(region);
+        // 相同 userId 总是同一个逻辑服
+        Assert.assertEquals(ownerMap, this.ownerMap(region));
+
+        // 每个逻辑服都分到了 key
+        Assert.assertEquals(4, ownerMap.values().stream().distinct().count());
+    }
+
+    @Test
+    public void move() {
+        var region = new ConsistentHashBrokerClientRegion("room");
+        List<ConsistentHashMove> moveList = new ArrayList<>();
+        region.setMoveListener((tag, moves) -> moveList.addAll(moves));
+
+        for (int i = 1; i <= 4; i++) {
+            region.add(createProxy("room-" + i));
+        }
+
+        Map<Long, BrokerClientProxy> before = this.ownerMap(region);
+        moveList.clear();
+
+        var proxy5 = createProxy("room-5");
+        region.add(proxy5);
+        Map<Long, BrokerClientProxy> after = this.ownerMap(region);
+
+        int moved = 0;
+        for (long userId = 1; userId <= userCount; userId++) {
+            BrokerClientProxy from = before.get(userId);
+            BrokerClientProxy to = after.get(userId);
+            int hash = ConsistentHashRing.hash(userId);
+
+            if (from != to) {
+                moved++;
+                // 只会迁移到新加入的逻辑服，并且在回调的区间内
+                Assert.assertSame(proxy5, to);
+                Assert.assertTrue(moveList.stream().anyMatch(move -> move.contains(hash) && move.from() == from && move.to() == to));
+            } else {
+                Assert.assertTrue(moveList.stream().noneMatch(move -> move.contains(hash)));
+            }
+        }
+
+        // 约 1/5 的 key 发生迁移
+        Assert.assertTrue(moved > userCount / 10 && moved < userCount * 3 / 10);
+
+        // 离开后，key 回到原来的逻辑服
+        region.remove(proxy5.getIdHash());
+        Assert.assertEquals(before, this.ownerMap(region));
+    }
+
+    @Test
+    public void binding() {
+        var region = new ConsistentHashBrokerClientRegion("room");
+        var proxy1 = createProxy("room-1");
+        var proxy2 = createProxy("room-2");
+        region.add(proxy1);
+        region.add(proxy2);
+
+        HeadMetadata headMetadata = new HeadMetadata().setUserId(1);
+        BrokerClientProxy owner = region.getBrokerClientProxy(headMetadata);
+        BrokerClientProxy other = owner == proxy1 ? proxy2 : proxy1;
+
+        headMetadata.setEndPointClientId(other.getIdHash());
+        Assert.assertSame(other, region.getBrokerClientProxy(headMetadata));
+
+        // 默认的 key 只使用路由字段，透传的请求不需要完整解析
+        Assert.assertTrue(region.isRoutingFieldsOnly());
+
+        // 自定义 key，可以读取所有字段
+        region.setKeyFunction(metadata -> metadata.getCustomData().length);
+        Assert.assertFalse(region.isRoutingFieldsOnly());
+
+        region.setKeyFunction(HeadMetadata::getCmdMerge, true);
+        Assert.assertTrue(region.isRoutingFieldsOnly());
+        Assert.assertSame(region.getBrokerClientProxy(new HeadMetadata().setCmdMerge(7)),
+                region.getBrokerClientProxy(new HeadMetadata().setCmdMerge(7).setUserId(2)));
+    }
+
+    private Map<Long, BrokerClientProxy> ownerMap(ConsistentHashBrokerClientRegion region) {
+        Map<Long, BrokerClientProxy> map = new HashMap<>();
+        HeadMetadata headMetadata = new HeadMetadata();
+
+        for (long userId = 1; userId <= userCount; userId++) {
+            headMetadata.setUserId(userId);
+            map.put(userId, region.getBrokerClientProxy(headMetadata));
+        }
+
+        return map;
+    }
+
+    private BrokerClientProxy createProxy(String id) {
+        var moduleMessage = new BrokerClientModuleMessage()
+                .setId(id)
+                .setName(id)
+                .setTag("room")
+                .setBrokerClientType(BrokerClientType.LOGIC)
+                .setCmdMergeList(List.of());
+
+        return new BrokerClientProxy(moduleMessage, null);
+    }
+}
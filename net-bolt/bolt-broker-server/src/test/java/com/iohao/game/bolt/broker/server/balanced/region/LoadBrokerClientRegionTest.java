@@ -0,0 +1,113 @@
+package com.iohao.game.bolt.broker.server.balanced.region;
+
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.bolt.broker.core.client.BrokerClientType;
+import com.iohao.game.bolt.broker.core.message.BrokerClientModuleMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class LoadBrokerClientRegionTest {
+
+    @Test
+    public void leastOutstanding() {
+        var region = BrokerClientRegionFactory.of(LoadSelectEnum.LEAST_OUTSTANDING).createBrokerClientRegion("hall");
+        var proxy1 = createProxy("hall-1");
+        var proxy2 = createProxy("hall-2");
+        var proxy3 = createProxy("hall-3");
+        region.add(proxy1);
+        region.add(proxy2);
+        region.add(proxy3);
+
+        proxy1.getLoad().onRequest(createHeadMetadata(1));
+        proxy2.getLoad().onRequest(createHeadMetadata(2));
+
+        HeadMetadata headMetadata = new HeadMetadata();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(proxy3, region.getBrokerClientProxy(headMetadata));
+        }
+
+        // 响应后，未完成的请求数减少
+        proxy1.getLoad().onResponse(createHeadMetadata(1));
+        proxy3.getLoad().onRequest(createHeadMetadata(3));
+        Assert.assertEquals(0, proxy1.getLoad().getOutstanding());
+        Assert.assertSame(proxy1, region.getBrokerClientProxy(headMetadata));
+    }
+
+    @Test
+    public void powerOfTwoChoices() {
+        var region = BrokerClientRegionFactory.of(LoadSelectEnum.POWER_OF_TWO_CHOICES).createBrokerClientRegion("hall");
+        var proxy1 = createProxy("hall-1");
+        var proxy2 = createProxy("hall-2");
+        region.add(proxy1);
+        region.add(proxy2);
+
+        proxy1.getLoad().onRequest(createHeadMetadata(1));
+
+        HeadMetadata headMetadata = new HeadMetadata();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(proxy2, region.getBrokerClientProxy(headMetadata));
+        }
+    }
+
+    @Test
+    public void peakEwma() throws InterruptedException {
+        var region = BrokerClientRegionFactory.of(LoadSelectEnum.PEAK_EWMA).createBrokerClientRegion("hall");
+        var slow = createProxy("hall-1");
+        var fast = createProxy("hall-2");
+        region.add(slow);
+        region.add(fast);
+
+        fast.getLoad().onRequest(createHeadMetadata(1));
+        fast.getLoad().onResponse(createHeadMetadata(1));
+
+        slow.getLoad().onRequest(createHeadMetadata(2));
+        TimeUnit.MILLISECONDS.sleep(20);
+        slow.getLoad().onResponse(createHeadMetadata(2));
+
+        // 比平均值慢的响应立即生效
+        Assert.assertTrue(slow.getLoad().getEwmaNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+        Assert.assertTrue(slow.getLoad().getCost() > fast.getLoad().getCost());
+
+        HeadMetadata headMetadata = new HeadMetadata();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(fast, region.getBrokerClientProxy(headMetadata));
+        }
+    }
+
+    @Test
+    public void binding() {
+        var region = BrokerClientRegionFactory.of(LoadSelectEnum.PEAK_EWMA).createBrokerClientRegion("hall");
+        var proxy1 = createProxy("hall-1");
+        var proxy2 = createProxy("hall-2");
+        region.add(proxy1);
+        region.add(proxy2);
+
+        proxy2.getLoad().onRequest(createHeadMetadata(1));
+
+        // 绑定的逻辑服优先于负载
+        HeadMetadata headMetadata = new HeadMetadata().setEndPointClientId(proxy2.getIdHash());
+        Assert.assertSame(proxy2, region.getBrokerClientProxy(headMetadata));
+    }
+
+    private HeadMetadata createHeadMetadata(int msgId) {
+        return new HeadMetadata().setUserId(1).setMsgId(msgId);
+    }
+
+    private BrokerClientProxy createProxy(String id) {
+        var moduleMessage = new BrokerClientModuleMessage()
+                .setId(id)
+                .setName(id)
+                .setTag("hall")
+                .setBrokerClientType(BrokerClientType.LOGIC)
+                .setCmdMergeList(List.of());
+
+        return new BrokerClientProxy(moduleMessage, null);
+    }
+}
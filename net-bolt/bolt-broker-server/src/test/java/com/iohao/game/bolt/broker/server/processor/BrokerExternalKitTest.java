@@ -0,0 +1,158 @@
+package com.iohao.game.bolt.broker.server.processor;
+
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.action.skeleton.protocol.external.RequestCollectExternalMessage;
+import com.iohao.game.bolt.broker.core.client.BrokerClientType;
+import com.iohao.game.bolt.broker.core.message.BroadcastMessage;
+import com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage;
+import com.iohao.game.bolt.broker.core.message.BrokerClientModuleMessage;
+import com.iohao.game.bolt.broker.server.balanced.ExternalBrokerClientLoadBalanced;
+import com.iohao.game.bolt.broker.server.balanced.region.BrokerClientProxy;
+import com.iohao.game.core.common.client.ExternalBizCodeCont;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class BrokerExternalKitTest {
+    ExternalBrokerClientLoadBalanced externalLoadBalanced;
+    RecordBrokerClientProxy external1;
+    RecordBrokerClientProxy external2;
+
+    @Before
+    public void setUp() {
+        this.externalLoadBalanced = new ExternalBrokerClientLoadBalanced();
+        this.external1 = createProxy("external-1");
+        this.external2 = createProxy("external-2");
+        this.externalLoadBalanced.register(this.external1);
+        this.externalLoadBalanced.register(this.external2);
+
+        var userDirectory = this.externalLoadBalanced.getUserDirectory();
+        userDirectory.put(1, this.external1.getIdHash());
+        userDirectory.put(2, this.external1.getIdHash());
+        userDirectory.put(3, this.external2.getIdHash());
+    }
+
+    @Test
+    public void splitByExternal() {
+        BroadcastMessage broadcastMessage = new BroadcastOrderMessage()
+                .setResponseMessage(createResponseMessage(0))
+                .setUserIdList(List.of(1L, 2L, 3L));
+
+        BrokerExternalKit.sendMessageToExternal(this.externalLoadBalanced, broadcastMessage);
+
+        // 按玩家所在的游戏对外服拆分，有顺序的广播仍然是有顺序的
+        BroadcastMessage message1 = this.external1.single();
+        Assert.assertEquals(BroadcastOrderMessage.class, message1.getClass());
+        Assert.assertEquals(List.of(1L, 2L), message1.getUserIdList());
+        Assert.assertSame(broadcastMessage.getResponseMessage(), message1.getResponseMessage());
+
+        BroadcastMessage message2 = this.external2.single();
+        Assert.assertEquals(BroadcastOrderMessage.class, message2.getClass());
+        Assert.assertEquals(List.of(3L), message2.getUserIdList());
+    }
+
+    @Test
+    public void unknownUser() {
+        // 找不到所在游戏对外服的玩家，转发到所有的游戏对外服
+        BroadcastMessage broadcastMessage = new BroadcastMessage()
+                .setResponseMessage(createResponseMessage(0))
+                .setUserIdList(List.of(1L, 4L, 5L));
+
+        BrokerExternalKit.sendMessageToExternal(this.externalLoadBalanced, broadcastMessage);
+
+        Assert.assertEquals(2, this.external1.messageList.size());
+        Set<List<Long>> userIdListSet = new HashSet<>();
+        this.external1.messageList.forEach(message -> userIdListSet.add(List.copyOf(((BroadcastMessage) message).getUserIdList())));
+        Assert.assertEquals(Set.of(List.of(1L), List.of(4L, 5L)), userIdListSet);
+
+        Assert.assertEquals(List.of(4L, 5L), this.external2.single().getUserIdList());
+
+        // 全部玩家都找不到时，原样转发
+        this.external1.messageList.clear();
+        this.external2.messageList.clear();
+        broadcastMessage.setUserIdList(List.of(4L));
+        BrokerExternalKit.sendMessageToExternal(this.externalLoadBalanced, broadcastMessage);
+        Assert.assertSame(broadcastMessage, this.external1.single());
+        Assert.assertSame(broadcastMessage, this.external2.single());
+    }
+
+    @Test
+    public void singleUser() {
+        BroadcastMessage broadcastMessage = new BroadcastMessage().setResponseMessage(createResponseMessage(3));
+        BrokerExternalKit.sendMessageToExternal(this.externalLoadBalanced, broadcastMessage);
+        Assert.assertTrue(this.external1.messageList.isEmpty());
+        Assert.assertSame(broadcastMessage, this.external2.single());
+
+        // 找不到玩家
+        broadcastMessage = new BroadcastMessage().setResponseMessage(createResponseMessage(4));
+        BrokerExternalKit.sendMessageToExternal(this.externalLoadBalanced, broadcastMessage);
+        Assert.assertSame(broadcastMessage, this.external1.single());
+        Assert.assertEquals(2, this.external2.messageList.size());
+
+        // 玩家所在的游戏对外服下线后，记录随之移除
+        this.externalLoadBalanced.remove(this.external2);
+        Assert.assertEquals(0, this.externalLoadBalanced.getUserDirectory().get(3));
+    }
+
+    @Test
+    public void collect() {
+        var processor = new InnerModuleRequestCollectExternalMessageBrokerProcessor();
+
+        RequestCollectExternalMessage message = new RequestCollectExternalMessage()
+                .setBizCode(ExternalBizCodeCont.existUser)
+                .setUserId(3);
+        Assert.assertEquals(List.of(this.external2), processor.stream(message, this.externalLoadBalanced).toList());
+
+        // 找不到玩家，访问所有的游戏对外服
+        message.setUserId(4);
+        Assert.assertEquals(2, processor.stream(message, this.externalLoadBalanced).count());
+
+        // 自定义的业务码，访问所有的游戏对外服
+        message.setBizCode(1).setUserId(3);
+        Assert.assertEquals(2, processor.stream(message, this.externalLoadBalanced).count());
+    }
+
+    private ResponseMessage createResponseMessage(long userId) {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setHeadMetadata(new HeadMetadata().setUserId(userId));
+        return responseMessage;
+    }
+
+    private RecordBrokerClientProxy createProxy(String id) {
+        var moduleMessage = new BrokerClientModuleMessage()
+                .setId(id)
+                .setName(id)
+                .setBrokerClientType(BrokerClientType.EXTERNAL)
+                .setCmdMergeList(List.of());
+
+        return new RecordBrokerClientProxy(moduleMessage);
+    }
+
+    static class RecordBrokerClientProxy extends BrokerClientProxy {
+        final List<Object> messageList = new ArrayList<>();
+
+        RecordBrokerClientProxy(BrokerClientModuleMessage brokerClientModuleMessage) {
+            super(brokerClientModuleMessage, null);
+        }
+
+        @Override
+        public void oneway(Object request) {
+            this.messageList.add(request);
+        }
+
+        BroadcastMessage single() {
+            Assert.assertEquals(1, this.messageList.size());
+            return (BroadcastMessage) this.messageList.getFirst();
+        }
+    }
+}
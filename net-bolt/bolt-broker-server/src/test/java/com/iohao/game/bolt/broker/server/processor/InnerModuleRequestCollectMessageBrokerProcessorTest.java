@@ -0,0 +1,87 @@
+package com.iohao.game.bolt.broker.server.processor;
+
+import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
+import com.iohao.game.action.skeleton.core.exception.ActionErrorEnum;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.action.skeleton.protocol.collect.ResponseCollectMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class InnerModuleRequestCollectMessageBrokerProcessorTest {
+
+    @Test
+    public void deadline() {
+        var collect = new InnerModuleRequestCollectMessageBrokerProcessor.Collect(2, 0);
+
+        collect.add("1", createResponseMessage(), null);
+        Assert.assertFalse(collect.future.isDone());
+
+        // 期限到了还没有响应的逻辑服，以超时异常完成
+        collect.add("2", null, new InvokeTimeoutException("timeout"));
+
+        ResponseCollectMessage responseCollectMessage = collect.future.join();
+        Assert.assertTrue(responseCollectMessage.isPartial());
+        Assert.assertEquals(1, responseCollectMessage.getMessageList().size());
+        Assert.assertEquals(0, (int) responseCollectMessage.getLogicServerStatusMap().get("1"));
+        Assert.assertEquals(ActionErrorEnum.timeout.getCode(), (int) responseCollectMessage.getLogicServerStatusMap().get("2"));
+    }
+
+    @Test
+    public void partial() {
+        var collect = new InnerModuleRequestCollectMessageBrokerProcessor.Collect(3, 0);
+
+        collect.add("1", createResponseMessage(), null);
+        collect.add("2", null, new IllegalStateException("error"));
+        // 没有异常也没有响应的，当作错误处理，并且最后一个结果到达时仍然能完成
+        collect.add("3", null, null);
+
+        ResponseCollectMessage responseCollectMessage = collect.future.join();
+        Assert.assertFalse(responseCollectMessage.isPartial());
+        Assert.assertEquals(1, responseCollectMessage.getMessageList().size());
+        Assert.assertEquals(ActionErrorEnum.systemOtherErrCode.getCode(), (int) responseCollectMessage.getLogicServerStatusMap().get("2"));
+        Assert.assertEquals(ActionErrorEnum.systemOtherErrCode.getCode(), (int) responseCollectMessage.getLogicServerStatusMap().get("3"));
+    }
+
+    @Test
+    public void completeCount() {
+        var collect = new InnerModuleRequestCollectMessageBrokerProcessor.Collect(3, 2);
+
+        collect.add("1", createResponseMessage(), null);
+        // 没有数据的结果不计入 completeCount
+        collect.add("2", new ResponseMessage(), null);
+        Assert.assertFalse(collect.future.isDone());
+
+        collect.add("3", createResponseMessage(), null);
+        Assert.assertTrue(collect.future.isDone());
+        Assert.assertEquals(2, collect.future.join().getMessageList().size());
+
+        // 有数据的结果达到 completeCount 时提前完成，之后的结果不再处理
+        collect = new InnerModuleRequestCollectMessageBrokerProcessor.Collect(3, 1);
+        collect.add("1", createResponseMessage(), null);
+
+        ResponseCollectMessage responseCollectMessage = collect.future.join();
+        Assert.assertTrue(responseCollectMessage.isPartial());
+        Assert.assertEquals(1, responseCollectMessage.getMessageList().size());
+
+        collect.add("2", createResponseMessage(), null);
+        Assert.assertEquals(1, responseCollectMessage.getMessageList().size());
+        Assert.assertFalse(responseCollectMessage.getLogicServerStatusMap().containsKey("2"));
+    }
+
+    @Test
+    public void empty() {
+        var collect = new InnerModuleRequestCollectMessageBrokerProcessor.Collect(0, 0);
+        Assert.assertTrue(collect.future.isDone());
+        Assert.assertTrue(collect.future.join().getMessageList().isEmpty());
+    }
+
+    private ResponseMessage createResponseMessage() {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setData(new byte[]{1});
+        return responseMessage;
+    }
+}
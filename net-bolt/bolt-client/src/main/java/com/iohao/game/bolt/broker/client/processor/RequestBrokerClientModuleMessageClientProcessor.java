@@ -26,6 +26,7 @@ import com.iohao.game.bolt.broker.core.aware.BrokerClientItemAware;
 import com.iohao.game.bolt.broker.core.client.BrokerClient;
 import com.iohao.game.bolt.broker.core.client.BrokerClientItem;
 import com.iohao.game.bolt.broker.core.client.BrokerClientManager;
+import com.iohao.game.bolt.broker.core.client.BrokerClientType;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.core.message.RequestBrokerClientModuleMessage;
 import lombok.Setter;
@@ -56,11 +57,18 @@ public class RequestBrokerClientModuleMessageClientProcessor extends AsyncUserPr
 
         int withNo = request.getWithNo();
         this.brokerClientItem.setBrokerServerWithNo(withNo);
+        // 双方都支持时，才使用紧凑格式的序列化
+        this.brokerClientItem.setCompactSerializer(IoGameGlobalConfig.compactSerializer && request.isCompactSerializer());
+        this.brokerClientItem.setPassThrough(this.brokerClientItem.isCompactSerializer()
+                && IoGameGlobalConfig.brokerPassThrough && request.isPassThrough());
+        // 开启了批量发送，并且 Broker 能处理批量消息时，逻辑服发给 Broker 的 oneway 消息合并发送
+        BrokerClient brokerClient = this.brokerClientItem.getBrokerClient();
+        this.brokerClientItem.setBatch(IoGameGlobalConfig.batchFlushMillis > 0 && request.isBatch()
+                && brokerClient.getBrokerClientType() == BrokerClientType.LOGIC);
         // 客户端服务器注册到游戏网关服
         this.brokerClientItem.registerToBroker();
 
         if (IoGameGlobalConfig.requestResponseLog) {
-            BrokerClient brokerClient = brokerClientItem.getBrokerClient();
             BrokerClientManager brokerClientManager = brokerClient.getBrokerClientManager();
             log.info("brokerClientItems : {}", brokerClientManager.countActiveItem());
         }
@@ -25,10 +25,12 @@ import com.iohao.game.action.skeleton.core.BarSkeleton;
 import com.iohao.game.action.skeleton.protocol.processor.SimpleServerInfo;
 import com.iohao.game.bolt.broker.core.aware.AwareInject;
 import com.iohao.game.bolt.broker.core.client.config.BrokerClientStatusConfig;
+import com.iohao.game.bolt.broker.core.codec.CompactSerializer;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
 import com.iohao.game.bolt.broker.core.common.processor.hook.ClientProcessorHooks;
 import com.iohao.game.bolt.broker.core.common.processor.listener.BrokerClientListener;
 import com.iohao.game.bolt.broker.core.common.processor.listener.BrokerClientListenerRegion;
+import com.iohao.game.bolt.broker.core.message.BatchMessage;
 import com.iohao.game.bolt.broker.core.message.BrokerClientModuleMessage;
 import com.iohao.game.common.kit.HashKit;
 import com.iohao.game.common.kit.NetworkKit;
@@ -261,6 +263,14 @@ public class BrokerClientBuilder {
         return Collections.emptyList();
     }
 
+    private List<Integer> listVoidCmdMerge() {
+        if (Objects.nonNull(barSkeleton)) {
+            return barSkeleton.getActionCommandRegions().listVoidCmdMerge();
+        }
+
+        return Collections.emptyList();
+    }
+
     /**
      * 初始化 模块信息
      *
@@ -269,17 +279,29 @@ public class BrokerClientBuilder {
     private BrokerClientModuleMessage createBrokerClientMessage() {
         var cmdMergeList = this.listCmdMerge();
 
-        return new BrokerClientModuleMessage()
+        var brokerClientModuleMessage = new BrokerClientModuleMessage()
                 .setId(this.id)
                 .setName(this.appName)
                 .setAddress(NetworkKit.LOCAL_IP)
                 .setCmdMergeList(cmdMergeList)
+                .setVoidCmdMergeList(this.listVoidCmdMerge())
                 .setBrokerClientType(this.brokerClientType)
                 .setTag(this.tag)
                 .setStatus(this.status)
                 .setWithNo(this.withNo)
                 .setIoGamePid(ioGamePidRandom)
                 ;
+
+        if (IoGameGlobalConfig.compactSerializer) {
+            // 注册紧凑格式的序列化器，并告知 Broker 当前逻辑服支持该格式
+            CompactSerializer.me();
+            brokerClientModuleMessage.addHeader(CompactSerializer.HEADER_NAME, true);
+        }
+
+        // 告知 Broker 当前客户端能处理批量消息
+        brokerClientModuleMessage.addHeader(BatchMessage.HEADER_NAME, true);
+
+        return brokerClientModuleMessage;
     }
 
     private SimpleServerInfo createSimpleServerInfo() {
@@ -21,6 +21,7 @@ package com.iohao.game.bolt.broker.core.client;
 import com.alipay.remoting.Connection;
 import com.alipay.remoting.ConnectionEventProcessor;
 import com.alipay.remoting.ConnectionEventType;
+import com.alipay.remoting.InvokeContext;
 import com.alipay.remoting.config.BoltClientOption;
 import com.alipay.remoting.exception.RemotingException;
 import com.alipay.remoting.rpc.RpcClient;
@@ -39,7 +40,11 @@ import com.iohao.game.action.skeleton.pulse.Pulses;
 import com.iohao.game.action.skeleton.pulse.core.consumer.PulseConsumers;
 import com.iohao.game.action.skeleton.pulse.core.producer.PulseProducers;
 import com.iohao.game.bolt.broker.core.aware.*;
+import com.iohao.game.bolt.broker.core.codec.CompactSerializer;
+import com.iohao.game.bolt.broker.core.common.FutureInvokeCallback;
 import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
+import com.iohao.game.bolt.broker.core.common.MessageBatcher;
+import com.iohao.game.bolt.broker.core.common.processor.BatchMessageProcessor;
 import com.iohao.game.bolt.broker.core.message.BrokerClientItemConnectMessage;
 import com.iohao.game.bolt.broker.core.message.BrokerClientModuleMessage;
 import com.iohao.game.bolt.broker.core.message.InnerModuleMessage;
@@ -56,6 +61,7 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -83,6 +89,8 @@ public class BrokerClientItem implements CommunicationAggregationContext, AwareI
     final RpcClient rpcClient;
     /** 广播 */
     final Broadcast broadcast = new Broadcast(this);
+    /** 批量消息处理器，把 Broker 发来的批量消息派发给已注册的处理器 */
+    final BatchMessageProcessor batchMessageProcessor = new BatchMessageProcessor();
 
     /** 与 broker 通信的连接 */
     Connection connection;
@@ -99,6 +107,12 @@ public class BrokerClientItem implements CommunicationAggregationContext, AwareI
     /** aware 注入扩展 */
     AwareInject awareInject;
     int brokerServerWithNo;
+    /** true 表示与 broker 通信时使用紧凑格式的序列化（双方协商后设置） */
+    boolean compactSerializer;
+    /** true 表示发给 broker 的 RequestMessage、ResponseMessage 由 broker 透传转发（双方协商后设置） */
+    boolean passThrough;
+    /** 批量发送器，发给 broker 的 oneway 消息合并发送（双方协商后设置）；没有开启时为 null */
+    volatile MessageBatcher messageBatcher;
 
     public BrokerClientItem(String address) {
         this.address = address;
@@ -109,7 +123,8 @@ public class BrokerClientItem implements CommunicationAggregationContext, AwareI
     }
 
     public Object invokeSync(final Object request, final int timeoutMillis) throws RemotingException, InterruptedException {
-        return rpcClient.invokeSync(connection, request, timeoutMillis);
+        this.flushBatch();
+        return rpcClient.invokeSync(connection, request, this.createInvokeContext(request), timeoutMillis);
     }
 
     public Object invokeSync(final Object request) throws RemotingException, InterruptedException {
@@ -117,11 +132,95 @@ public class BrokerClientItem implements CommunicationAggregationContext, AwareI
     }
 
     public void oneway(final Object request) throws RemotingException {
-        this.rpcClient.oneway(connection, request);
+        MessageBatcher messageBatcher = this.messageBatcher;
+        if (Objects.nonNull(messageBatcher)) {
+            messageBatcher.add(request);
+            return;
+        }
+
+        this.directOneway(request);
+    }
+
+    /**
+     * 开启或关闭批量发送（双方协商后设置）
+     * <pre>
+     *     开启后，oneway 消息（响应、广播等）在 {@link IoGameGlobalConfig#batchFlushMillis} 内合并为一个批量消息发送；
+     *     关闭时，会先把已积累的消息发出。
+     * </pre>
+     *
+     * @param batch true 开启批量发送
+     * @since 21.23
+     */
+    public void setBatch(boolean batch) {
+        MessageBatcher messageBatcher = this.messageBatcher;
+        if (batch == Objects.nonNull(messageBatcher)) {
+            return;
+        }
+
+        this.messageBatcher = batch
+                ? new MessageBatcher(this::directOneway, IoGameGlobalConfig.batchFlushMillis, IoGameGlobalConfig.batchMaxSize)
+                : null;
+
+        if (Objects.nonNull(messageBatcher)) {
+            messageBatcher.flush();
+        }
+    }
+
+    /**
+     * 先把批量发送器中积累的 oneway 消息发出，再直接发送其他消息，保持同一连接上的发送顺序
+     */
+    private void flushBatch() {
+        MessageBatcher messageBatcher = this.messageBatcher;
+        if (Objects.nonNull(messageBatcher)) {
+            messageBatcher.flush();
+        }
+    }
+
+    private void directOneway(Object request) throws RemotingException {
+        this.rpcClient.oneway(this.connection, request, this.createInvokeContext(request));
+    }
+
+    /**
+     * 异步调用，调用期间不会占用线程
+     * <pre>
+     *     在响应的回调中完成 future，超时由 bolt 共享的定时器处理，超时后 future 以 InvokeTimeoutException 异常完成。
+     *
+     *     future 在虚拟线程中完成（see {@link FutureInvokeCallback}），后续处理中可以再发起同步调用。
+     * </pre>
+     *
+     * @param request       request
+     * @param timeoutMillis 超时时间
+     * @return future
+     * @since 21.23
+     */
+    public CompletableFuture<Object> invokeFuture(final Object request, final int timeoutMillis) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+
+        try {
+            this.flushBatch();
+            var callback = new FutureInvokeCallback(future);
+            this.rpcClient.invokeWithCallback(connection, request, this.createInvokeContext(request), callback, timeoutMillis);
+        } catch (RemotingException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * 异步调用，调用期间不会占用线程
+     *
+     * @param request request
+     * @return future
+     * @since 21.23
+     */
+    public CompletableFuture<Object> invokeFuture(final Object request) {
+        return this.invokeFuture(request, timeoutMillis);
     }
 
     void invokeWithCallback(Object request) throws RemotingException {
-        this.rpcClient.invokeWithCallback(connection, request, null, timeoutMillis);
+        this.flushBatch();
+        this.rpcClient.invokeWithCallback(connection, request, this.createInvokeContext(request), null, timeoutMillis);
     }
 
     @Override
@@ -167,14 +266,29 @@ public class BrokerClientItem implements CommunicationAggregationContext, AwareI
             moduleMessage.setRequestMessage(requestMessage);
             return (ResponseMessage) this.invokeSync(moduleMessage);
         } catch (RemotingException | InterruptedException e) {
-            log.error(e.getMessage(), e);
-            var responseMessage = requestMessage.createResponseMessage();
-            responseMessage.setResponseStatus(ActionErrorEnum.systemOtherErrCode.getCode());
-            responseMessage.setValidatorMsg(e.getMessage());
-            return responseMessage;
+            return this.errorResponseMessage(requestMessage, e);
         }
     }
 
+    @Override
+    public CompletableFuture<ResponseMessage> invokeModuleMessageFuture(RequestMessage requestMessage) {
+        InnerModuleMessage moduleMessage = new InnerModuleMessage();
+        moduleMessage.setRequestMessage(requestMessage);
+
+        return this.invokeFuture(moduleMessage).handle((result, e) -> Objects.isNull(e)
+                ? (ResponseMessage) result
+                : this.errorResponseMessage(requestMessage, e)
+        );
+    }
+
+    private ResponseMessage errorResponseMessage(RequestMessage requestMessage, Throwable e) {
+        log.error(e.getMessage(), e);
+        var responseMessage = requestMessage.createResponseMessage();
+        responseMessage.setResponseStatus(ActionErrorEnum.systemOtherErrCode.getCode());
+        responseMessage.setValidatorMsg(e.getMessage());
+        return responseMessage;
+    }
+
     @Override
     public void invokeModuleVoidMessage(RequestMessage requestMessage) {
         try {
@@ -193,18 +307,47 @@ public class BrokerClientItem implements CommunicationAggregationContext, AwareI
                 .setRequestMessage(requestMessage);
 
         try {
-            return (ResponseCollectMessage) this.invokeSync(requestCollectMessage);
+            return (ResponseCollectMessage) this.invokeSync(requestCollectMessage, this.getCollectTimeoutMillis(requestCollectMessage));
         } catch (RemotingException | InterruptedException e) {
-            log.error(e.getMessage(), e);
-            ResponseCollectMessage responseCollectMessage = new ResponseCollectMessage();
-            responseCollectMessage.setStatusCode(ActionErrorEnum.systemOtherErrCode.getCode());
-            responseCollectMessage.setStatusMes(e.getMessage());
-            responseCollectMessage.setMessageList(Collections.emptyList());
-
-            return responseCollectMessage;
+            return errorResponseCollectMessage(e);
         }
     }
 
+    @Override
+    public CompletableFuture<ResponseCollectMessage> invokeModuleCollectMessageFuture(RequestMessage requestMessage) {
+
+        RequestCollectMessage requestCollectMessage = new RequestCollectMessage()
+                .setRequestMessage(requestMessage);
+
+        return this.invokeModuleCollectMessageFuture(requestCollectMessage);
+    }
+
+    @Override
+    public CompletableFuture<ResponseCollectMessage> invokeModuleCollectMessageFuture(RequestCollectMessage requestCollectMessage) {
+        int invokeTimeoutMillis = this.getCollectTimeoutMillis(requestCollectMessage);
+
+        return this.invokeFuture(requestCollectMessage, invokeTimeoutMillis).handle((result, e) -> Objects.isNull(e)
+                ? (ResponseCollectMessage) result
+                : errorResponseCollectMessage(e)
+        );
+    }
+
+    private int getCollectTimeoutMillis(RequestCollectMessage requestCollectMessage) {
+        // 指定了逻辑服的响应期限时，需要给 Broker（游戏网关）留出聚合结果的时间
+        int deadlineMillis = requestCollectMessage.getDeadlineMillis();
+        return deadlineMillis > 0 ? deadlineMillis + this.timeoutMillis : this.timeoutMillis;
+    }
+
+    private static ResponseCollectMessage errorResponseCollectMessage(Throwable e) {
+        log.error(e.getMessage(), e);
+        ResponseCollectMessage responseCollectMessage = new ResponseCollectMessage();
+        responseCollectMessage.setStatusCode(ActionErrorEnum.systemOtherErrCode.getCode());
+        responseCollectMessage.setStatusMes(e.getMessage());
+        responseCollectMessage.setMessageList(Collections.emptyList());
+
+        return responseCollectMessage;
+    }
+
     @Override
     public ResponseCollectExternalMessage invokeExternalModuleCollectMessage(int bizCode, Serializable data) {
         RequestCollectExternalMessage request = new RequestCollectExternalMessage()
@@ -246,6 +389,7 @@ public class BrokerClientItem implements CommunicationAggregationContext, AwareI
         aware(processor);
 
         this.rpcClient.registerUserProcessor(processor);
+        this.batchMessageProcessor.addUserProcessor(processor);
     }
 
     @Override
@@ -283,12 +427,22 @@ public class BrokerClientItem implements CommunicationAggregationContext, AwareI
 
     private void internalOneway(Object responseObject) {
         try {
-            rpcClient.oneway(connection, responseObject);
+            this.oneway(responseObject);
         } catch (RemotingException e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    private InvokeContext createInvokeContext(Object request) {
+        if (!this.compactSerializer) {
+            return null;
+        }
+
+        return this.passThrough
+                ? CompactSerializer.createPassThroughInvokeContext(request)
+                : CompactSerializer.createInvokeContext(request);
+    }
+
     /**
      * 注册到网关 broker
      * 客户端服务器注册到网关服
@@ -312,6 +466,8 @@ public class BrokerClientItem implements CommunicationAggregationContext, AwareI
     }
 
     public void startup() {
+        aware(this.batchMessageProcessor);
+        this.rpcClient.registerUserProcessor(this.batchMessageProcessor);
         this.rpcClient.startup();
         this.send();
     }
@@ -0,0 +1,116 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.core.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 紧凑格式的读取器，与 {@link CompactOutput} 对应
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+final class CompactInput {
+    final byte[] buffer;
+    int position;
+
+    CompactInput(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    int readByte() {
+        return this.buffer[this.position++];
+    }
+
+    int readInt() {
+        int value = (this.buffer[this.position] & 0xFF) << 24
+                | (this.buffer[this.position + 1] & 0xFF) << 16
+                | (this.buffer[this.position + 2] & 0xFF) << 8
+                | (this.buffer[this.position + 3] & 0xFF);
+
+        this.position += 4;
+        return value;
+    }
+
+    long readLong() {
+        long high = this.readInt();
+        return (high << 32) | (this.readInt() & 0xFFFFFFFFL);
+    }
+
+    int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = this.buffer[this.position++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalStateException("malformed varint");
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = this.buffer[this.position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalStateException("malformed varlong");
+    }
+
+    int readSInt() {
+        int value = this.readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readSLong() {
+        long value = this.readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    byte[] readBytes() {
+        int length = this.readLength();
+        byte[] bytes = Arrays.copyOfRange(this.buffer, this.position, this.position + length);
+        this.position += length;
+        return bytes;
+    }
+
+    String readString() {
+        int length = this.readLength();
+        String value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+        this.position += length;
+        return value;
+    }
+
+    private int readLength() {
+        int length = this.readVarInt();
+        if (length < 0 || length > this.buffer.length - this.position) {
+            throw new IllegalStateException("malformed length : " + length);
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.core.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 紧凑格式的写入器，整数使用 varint（有符号的使用 zigzag），路由头使用定长的 big-endian 整数
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+final class CompactOutput {
+    byte[] buffer;
+    int position;
+
+    CompactOutput(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * 在已有的 buffer 上改写
+     *
+     * @param buffer   buffer
+     * @param position 开始改写的位置
+     */
+    CompactOutput(byte[] buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    void writeByte(int value) {
+        this.ensureCapacity(1);
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    void writeInt(int value) {
+        this.ensureCapacity(4);
+        this.buffer[this.position++] = (byte) (value >>> 24);
+        this.buffer[this.position++] = (byte) (value >>> 16);
+        this.buffer[this.position++] = (byte) (value >>> 8);
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    void writeLong(long value) {
+        this.writeInt((int) (value >>> 32));
+        this.writeInt((int) value);
+    }
+
+    void writeVarInt(int value) {
+        this.ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        this.ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    void writeSInt(int value) {
+        this.writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    void writeSLong(long value) {
+        this.writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeBytes(byte[] bytes) {
+        this.writeVarInt(bytes.length);
+        this.ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+    }
+
+    void writeString(String value) {
+        this.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    byte[] toBytes() {
+        return Arrays.copyOf(this.buffer, this.position);
+    }
+
+    private void ensureCapacity(int length) {
+        int minCapacity = this.position + length;
+        if (minCapacity > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(minCapacity, this.buffer.length << 1));
+        }
+    }
+}
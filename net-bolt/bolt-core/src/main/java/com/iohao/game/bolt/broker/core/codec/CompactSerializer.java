@@ -0,0 +1,624 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.core.codec;
+
+import com.alipay.remoting.InvokeContext;
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.serialization.Serializer;
+import com.alipay.remoting.serialization.SerializerManager;
+import com.iohao.game.action.skeleton.kit.ExecutorSelectEnum;
+import com.iohao.game.action.skeleton.protocol.BarMessage;
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.RequestMessage;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.bolt.broker.core.message.BatchMessage;
+import com.iohao.game.bolt.broker.core.message.BroadcastMessage;
+import com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage;
+import com.iohao.game.bolt.broker.core.message.InnerModuleMessage;
+import com.iohao.game.bolt.broker.core.message.InnerModuleVoidMessage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 紧凑格式的 bolt 序列化器
+ * <pre>
+ *     对内部通信中最频繁的消息（RequestMessage、ResponseMessage、BroadcastMessage、InnerModuleMessage 等）
+ *     使用手写的二进制格式：整数使用 varint，HeadMetadata、BarMessage 使用位图标记有值的字段，业务数据 data 原样写入。
+ *     其他类型的消息仍然使用 Hessian。
+ *
+ *     序列化器以 {@link #CODE} 注册到 bolt 的 SerializerManager 中，bolt 会把序列化器编号写入每个消息帧，
+ *     响应消息也会沿用请求消息的序列化器编号，因此接收方总是能正确的解析。
+ *
+ *     是否使用该序列化器，由连接双方协商（逻辑服注册到 Broker 时交换），只有双方都支持时才会使用，
+ *     所以新旧版本可以混合部署。
+ *
+ *     BarMessage 以定长的路由头开始（cmdMerge、sourceClientId、endPointClientId、userId、msgId 以及 bindingLogicServerIds），
+ *     Broker（游戏网关）转发 RequestMessage、ResponseMessage 时只需要这些字段。
+ *     客户端发给 Broker 的这两种消息使用 {@link #PASS_THROUGH_CODE} 编号，Broker 只解析路由头，
+ *     转发时把路由头改写回原始消息帧后原样发出，业务数据 data、attachmentData 等不会被解析与重新编码。
+ *     在 Broker 中需要读取其他字段时，先调用 {@link #materialize(BarMessage)}。
+ *
+ *     BatchMessage 中的每个消息使用当前序列化器单独编码（类型名 + 消息帧），因此透传的消息在批量消息中同样有效。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public final class CompactSerializer implements Serializer {
+    /** 序列化器编号 */
+    public static final byte CODE = 16;
+    /**
+     * Broker 透传使用的序列化器编号
+     * <pre>
+     *     编码与 {@link #CODE} 相同，只是 Broker 解码 RequestMessage、ResponseMessage 时只解析路由头
+     * </pre>
+     */
+    public static final byte PASS_THROUGH_CODE = 17;
+    /** 协商时使用的 header name */
+    public static final String HEADER_NAME = "compactSerializer";
+    /** 格式版本 */
+    static final int VERSION = 2;
+    /** 顶层 BarMessage 定长路由头的位置：格式版本 1 byte + 是否有元信息 1 byte */
+    static final int ROUTING_OFFSET = 2;
+
+    final Serializer hessianSerializer = SerializerManager.getSerializer(SerializerManager.Hessian2);
+    /** true 表示解码 RequestMessage、ResponseMessage 时只解析路由头 */
+    final boolean passThrough;
+
+    @Override
+    public byte[] serialize(Object obj) throws CodecException {
+        Class<?> clazz = obj.getClass();
+        if (!supports(clazz)) {
+            return this.hessianSerializer.serialize(obj);
+        }
+
+        if (obj instanceof BarMessage message && Objects.nonNull(passThroughFrame(message))) {
+            // 透传：把当前的路由字段改写回原始消息帧，其余部分原样发出
+            HeadMetadata headMetadata = message.getHeadMetadata();
+            byte[] frame = headMetadata.getPassThroughFrame();
+            writeRoutingFixed(new CompactOutput(frame, ROUTING_OFFSET), headMetadata);
+            return frame;
+        }
+
+        CompactOutput output = new CompactOutput(estimateSize(obj));
+        output.writeByte(VERSION);
+
+        try {
+            if (obj instanceof BarMessage message) {
+                writeBarMessage(output, message);
+            } else if (obj instanceof BroadcastMessage message) {
+                writeBroadcastMessage(output, message);
+            } else if (obj instanceof InnerModuleMessage message) {
+                writeNullableBarMessage(output, message.getRequestMessage());
+            } else if (obj instanceof InnerModuleVoidMessage message) {
+                writeNullableBarMessage(output, message.getRequestMessage());
+            } else if (obj instanceof BatchMessage message) {
+                this.writeBatchMessage(output, message);
+            }
+        } catch (RuntimeException e) {
+            throw new CodecException("compact serialize error : " + clazz.getName(), e);
+        }
+
+        return output.toBytes();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(byte[] data, String clazz) throws CodecException {
+        try {
+            return (T) switch (clazz) {
+                case "com.iohao.game.action.skeleton.protocol.RequestMessage" -> this.passThrough
+                        ? readPassThrough(data, new RequestMessage())
+                        : readBarMessage(createInput(data), new RequestMessage());
+                case "com.iohao.game.action.skeleton.protocol.ResponseMessage" -> this.passThrough
+                        ? readPassThrough(data, new ResponseMessage())
+                        : readBarMessage(createInput(data), new ResponseMessage());
+                case "com.iohao.game.bolt.broker.core.message.BroadcastMessage" ->
+                        readBroadcastMessage(createInput(data), new BroadcastMessage());
+                case "com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage" ->
+                        readBroadcastMessage(createInput(data), new BroadcastOrderMessage());
+                case "com.iohao.game.bolt.broker.core.message.InnerModuleMessage" -> {
+                    InnerModuleMessage moduleMessage = new InnerModuleMessage();
+                    moduleMessage.setRequestMessage(readNullableBarMessage(createInput(data), new RequestMessage()));
+                    yield moduleMessage;
+                }
+                case "com.iohao.game.bolt.broker.core.message.InnerModuleVoidMessage" -> {
+                    InnerModuleVoidMessage moduleVoidMessage = new InnerModuleVoidMessage();
+                    moduleVoidMessage.setRequestMessage(readNullableBarMessage(createInput(data), new RequestMessage()));
+                    yield moduleVoidMessage;
+                }
+                case "com.iohao.game.bolt.broker.core.message.BatchMessage" -> this.readBatchMessage(createInput(data));
+                default -> this.hessianSerializer.deserialize(data, clazz);
+            };
+        } catch (RuntimeException e) {
+            throw new CodecException("compact deserialize error : " + clazz, e);
+        }
+    }
+
+    /**
+     * 是否使用紧凑格式序列化
+     *
+     * @param clazz 消息类型
+     * @return true 使用紧凑格式
+     */
+    public static boolean supports(Class<?> clazz) {
+        // 只支持确切的类型，开发者扩展的子类仍然使用 Hessian
+        return clazz == RequestMessage.class
+                || clazz == ResponseMessage.class
+                || clazz == BroadcastMessage.class
+                || clazz == BroadcastOrderMessage.class
+                || clazz == InnerModuleMessage.class
+                || clazz == InnerModuleVoidMessage.class
+                || clazz == BatchMessage.class;
+    }
+
+    /**
+     * 创建使用紧凑格式序列化的 InvokeContext
+     *
+     * @param request 请求消息
+     * @return 消息不支持紧凑格式时返回 null
+     */
+    public static InvokeContext createInvokeContext(Object request) {
+        if (!supports(request.getClass())) {
+            return null;
+        }
+
+        InvokeContext invokeContext = new InvokeContext();
+        invokeContext.put(InvokeContext.BOLT_CUSTOM_SERIALIZER, CODE);
+        return invokeContext;
+    }
+
+    /**
+     * 创建 Broker 透传的 InvokeContext，客户端（逻辑服、对外服）发给 Broker 时使用
+     * <pre>
+     *     只有 RequestMessage、ResponseMessage（包括 BatchMessage 中的）使用透传，其他消息与 {@link #createInvokeContext(Object)} 相同
+     * </pre>
+     *
+     * @param request 请求消息
+     * @return 消息不支持紧凑格式时返回 null
+     */
+    public static InvokeContext createPassThroughInvokeContext(Object request) {
+        Class<?> clazz = request.getClass();
+        if (clazz != RequestMessage.class && clazz != ResponseMessage.class && clazz != BatchMessage.class) {
+            return createInvokeContext(request);
+        }
+
+        InvokeContext invokeContext = new InvokeContext();
+        invokeContext.put(InvokeContext.BOLT_CUSTOM_SERIALIZER, PASS_THROUGH_CODE);
+        return invokeContext;
+    }
+
+    /**
+     * 完整解析透传的消息
+     * <pre>
+     *     透传的消息只解析了路由相关的字段；在 Broker 中需要读取其他字段（data、channelId 等）时，先调用该方法。
+     *     已经修改过的路由字段会保留，解析后消息按普通方式编码。
+     * </pre>
+     *
+     * @param message 消息
+     */
+    public static void materialize(BarMessage message) {
+        byte[] frame = passThroughFrame(message);
+        if (Objects.isNull(frame)) {
+            return;
+        }
+
+        HeadMetadata headMetadata = message.getHeadMetadata();
+        headMetadata.setPassThroughFrame(null);
+
+        CompactInput input = createInput(frame);
+        input.readByte();
+        // 跳过路由头，保留当前的路由字段
+        readRoutingHeader(input, new HeadMetadata());
+        readBarMessageBody(input, message, headMetadata);
+    }
+
+    private static byte[] passThroughFrame(BarMessage message) {
+        HeadMetadata headMetadata = message.getHeadMetadata();
+        return Objects.isNull(headMetadata) ? null : headMetadata.getPassThroughFrame();
+    }
+
+    private static <T extends BarMessage> T readPassThrough(byte[] data, T message) {
+        CompactInput input = createInput(data);
+
+        // 没有元信息时没有路由字段，完整解析
+        if (input.readByte() == 0) {
+            return readBarMessageBody(input, message, null);
+        }
+
+        HeadMetadata headMetadata = readRoutingHeader(input, new HeadMetadata());
+        headMetadata.setPassThroughFrame(data);
+        message.setHeadMetadata(headMetadata);
+        return message;
+    }
+
+    private static CompactInput createInput(byte[] data) {
+        CompactInput input = new CompactInput(data);
+        int version = input.readByte();
+        if (version != VERSION) {
+            throw new IllegalStateException("compact serializer version not supported : " + version);
+        }
+
+        return input;
+    }
+
+    private static int estimateSize(Object obj) {
+        if (obj instanceof BatchMessage batchMessage) {
+            // 每个消息按 128 字节预估，不足时会自动扩容
+            return 128 * batchMessage.getMessageList().size();
+        }
+
+        BarMessage message = switch (obj) {
+            case BarMessage barMessage -> barMessage;
+            case BroadcastMessage broadcastMessage -> broadcastMessage.getResponseMessage();
+            case InnerModuleMessage moduleMessage -> moduleMessage.getRequestMessage();
+            case InnerModuleVoidMessage moduleVoidMessage -> moduleVoidMessage.getRequestMessage();
+            default -> null;
+        };
+
+        byte[] data = Objects.isNull(message) ? null : message.getData();
+        return 64 + (Objects.isNull(data) ? 0 : data.length);
+    }
+
+    private static void writeBroadcastMessage(CompactOutput output, BroadcastMessage message) {
+        ResponseMessage responseMessage = message.getResponseMessage();
+        Collection<Long> userIdList = message.getUserIdList();
+
+        int flags = 0;
+        if (Objects.nonNull(responseMessage)) {
+            flags |= 1;
+        }
+
+        if (Objects.nonNull(userIdList)) {
+            flags |= 1 << 1;
+        }
+
+        if (message.isBroadcastAll()) {
+            flags |= 1 << 2;
+        }
+
+        output.writeVarInt(flags);
+
+        if (Objects.nonNull(responseMessage)) {
+            writeBarMessage(output, responseMessage);
+        }
+
+        if (Objects.nonNull(userIdList)) {
+            // 跳过 null 元素（Hessian 会保留 null，但 null 的 userId 不会推送给任何玩家）
+            int size = 0;
+            for (Long userId : userIdList) {
+                if (Objects.nonNull(userId)) {
+                    size++;
+                }
+            }
+
+            output.writeVarInt(size);
+            for (Long userId : userIdList) {
+                if (Objects.nonNull(userId)) {
+                    output.writeSLong(userId);
+                }
+            }
+        }
+    }
+
+    private static BroadcastMessage readBroadcastMessage(CompactInput input, BroadcastMessage message) {
+        int flags = input.readVarInt();
+
+        if ((flags & 1) != 0) {
+            message.setResponseMessage(readBarMessage(input, new ResponseMessage()));
+        }
+
+        if ((flags & (1 << 1)) != 0) {
+            int size = input.readVarInt();
+            List<Long> userIdList = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                userIdList.add(input.readSLong());
+            }
+
+            message.setUserIdList(userIdList);
+        }
+
+        return message.setBroadcastAll((flags & (1 << 2)) != 0);
+    }
+
+    private void writeBatchMessage(CompactOutput output, BatchMessage message) throws CodecException {
+        List<Object> messageList = message.getMessageList();
+        output.writeVarInt(messageList.size());
+
+        for (Object element : messageList) {
+            output.writeString(element.getClass().getName());
+            output.writeBytes(this.serialize(element));
+        }
+    }
+
+    private BatchMessage readBatchMessage(CompactInput input) throws CodecException {
+        int size = input.readVarInt();
+        List<Object> messageList = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            String clazz = input.readString();
+            messageList.add(this.deserialize(input.readBytes(), clazz));
+        }
+
+        return new BatchMessage().setMessageList(messageList);
+    }
+
+    private static void writeNullableBarMessage(CompactOutput output, BarMessage message) {
+        output.writeByte(Objects.isNull(message) ? 0 : 1);
+        if (Objects.nonNull(message)) {
+            writeBarMessage(output, message);
+        }
+    }
+
+    private static <T extends BarMessage> T readNullableBarMessage(CompactInput input, T message) {
+        return input.readByte() == 0 ? null : readBarMessage(input, message);
+    }
+
+    private static void writeBarMessage(CompactOutput output, BarMessage message) {
+        // 透传的消息被嵌套在其他消息中发送时，需要完整解析后重新编码
+        materialize(message);
+
+        HeadMetadata headMetadata = message.getHeadMetadata();
+        output.writeByte(Objects.isNull(headMetadata) ? 0 : 1);
+        if (Objects.nonNull(headMetadata)) {
+            writeRoutingHeader(output, headMetadata);
+        }
+
+        String validatorMsg = message.getValidatorMsg();
+        String dataClass = message.getDataClass();
+        byte[] data = message.getData();
+
+        int flags = 0;
+        flags |= message.getResponseStatus() != 0 ? 1 : 0;
+        flags |= Objects.nonNull(validatorMsg) ? 1 << 1 : 0;
+        flags |= Objects.nonNull(headMetadata) ? 1 << 2 : 0;
+        flags |= Objects.nonNull(dataClass) ? 1 << 3 : 0;
+        flags |= Objects.nonNull(data) ? 1 << 4 : 0;
+        output.writeVarInt(flags);
+
+        if (message.getResponseStatus() != 0) {
+            output.writeSInt(message.getResponseStatus());
+        }
+
+        if (Objects.nonNull(validatorMsg)) {
+            output.writeString(validatorMsg);
+        }
+
+        if (Objects.nonNull(headMetadata)) {
+            writeHeadMetadata(output, headMetadata);
+        }
+
+        if (Objects.nonNull(dataClass)) {
+            output.writeString(dataClass);
+        }
+
+        if (Objects.nonNull(data)) {
+            output.writeBytes(data);
+        }
+    }
+
+    private static <T extends BarMessage> T readBarMessage(CompactInput input, T message) {
+        HeadMetadata headMetadata = input.readByte() == 0 ? null : readRoutingHeader(input, new HeadMetadata());
+        return readBarMessageBody(input, message, headMetadata);
+    }
+
+    private static <T extends BarMessage> T readBarMessageBody(CompactInput input, T message, HeadMetadata headMetadata) {
+        if (Objects.nonNull(headMetadata)) {
+            message.setHeadMetadata(headMetadata);
+        }
+
+        int flags = input.readVarInt();
+
+        if ((flags & 1) != 0) {
+            message.setResponseStatus(input.readSInt());
+        }
+
+        if ((flags & (1 << 1)) != 0) {
+            message.setValidatorMsg(input.readString());
+        }
+
+        if ((flags & (1 << 2)) != 0) {
+            readHeadMetadata(input, headMetadata);
+        }
+
+        if ((flags & (1 << 3)) != 0) {
+            message.setDataClass(input.readString());
+        }
+
+        if ((flags & (1 << 4)) != 0) {
+            message.setData(input.readBytes());
+        }
+
+        return message;
+    }
+
+    private static void writeRoutingHeader(CompactOutput output, HeadMetadata headMetadata) {
+        writeRoutingFixed(output, headMetadata);
+
+        // 0 表示 null，其他值为长度 + 1
+        int[] bindingLogicServerIds = headMetadata.getBindingLogicServerIds();
+        if (Objects.isNull(bindingLogicServerIds)) {
+            output.writeVarInt(0);
+            return;
+        }
+
+        output.writeVarInt(bindingLogicServerIds.length + 1);
+        for (int bindingLogicServerId : bindingLogicServerIds) {
+            output.writeSInt(bindingLogicServerId);
+        }
+    }
+
+    /**
+     * 定长的路由字段，Broker 透传时在原始消息帧上直接改写
+     */
+    private static void writeRoutingFixed(CompactOutput output, HeadMetadata headMetadata) {
+        output.writeInt(headMetadata.getCmdMerge());
+        output.writeInt(headMetadata.getSourceClientId());
+        output.writeInt(headMetadata.getEndPointClientId());
+        output.writeLong(headMetadata.getUserId());
+        output.writeInt(headMetadata.getMsgId());
+    }
+
+    private static HeadMetadata readRoutingHeader(CompactInput input, HeadMetadata headMetadata) {
+        headMetadata.setCmdMerge(input.readInt());
+        headMetadata.setSourceClientId(input.readInt());
+        headMetadata.setEndPointClientId(input.readInt());
+        headMetadata.setUserId(input.readLong());
+        headMetadata.setMsgId(input.readInt());
+
+        int length = input.readVarInt() - 1;
+        if (length >= 0) {
+            int[] bindingLogicServerIds = new int[length];
+            for (int i = 0; i < length; i++) {
+                bindingLogicServerIds[i] = input.readSInt();
+            }
+
+            headMetadata.setBindingLogicServerIds(bindingLogicServerIds);
+        }
+
+        return headMetadata;
+    }
+
+    private static void writeHeadMetadata(CompactOutput output, HeadMetadata headMetadata) {
+        byte[] attachmentData = headMetadata.getAttachmentData();
+        String channelId = headMetadata.getChannelId();
+        byte[] customData = headMetadata.getCustomData();
+        ExecutorSelectEnum executorSelect = headMetadata.getExecutorSelect();
+        String traceId = headMetadata.getTraceId();
+        byte[] selectorBytes = headMetadata.getUserProcessorExecutorSelectorBytes();
+
+        // 位图，标记有值的字段；bit 0 ~ 3、7、9 对应的路由字段已经写在路由头中
+        int flags = 0;
+        flags |= headMetadata.getRpcCommandType() != 0 ? 1 << 4 : 0;
+        flags |= Objects.nonNull(attachmentData) ? 1 << 5 : 0;
+        flags |= Objects.nonNull(channelId) ? 1 << 6 : 0;
+        flags |= headMetadata.getStick() != 0 ? 1 << 8 : 0;
+        flags |= headMetadata.getCacheCondition() != 0 ? 1 << 10 : 0;
+        flags |= Objects.nonNull(customData) ? 1 << 11 : 0;
+        flags |= Objects.nonNull(executorSelect) ? 1 << 12 : 0;
+        flags |= Objects.nonNull(traceId) ? 1 << 13 : 0;
+        flags |= Objects.nonNull(selectorBytes) ? 1 << 14 : 0;
+        output.writeVarInt(flags);
+
+        if ((flags & (1 << 4)) != 0) {
+            output.writeByte(headMetadata.getRpcCommandType());
+        }
+
+        if ((flags & (1 << 5)) != 0) {
+            output.writeBytes(attachmentData);
+        }
+
+        if ((flags & (1 << 6)) != 0) {
+            output.writeString(channelId);
+        }
+
+        if ((flags & (1 << 8)) != 0) {
+            output.writeSInt(headMetadata.getStick());
+        }
+
+        if ((flags & (1 << 10)) != 0) {
+            output.writeSInt(headMetadata.getCacheCondition());
+        }
+
+        if ((flags & (1 << 11)) != 0) {
+            output.writeBytes(customData);
+        }
+
+        if ((flags & (1 << 12)) != 0) {
+            output.writeString(executorSelect.name());
+        }
+
+        if ((flags & (1 << 13)) != 0) {
+            output.writeString(traceId);
+        }
+
+        if ((flags & (1 << 14)) != 0) {
+            output.writeBytes(selectorBytes);
+        }
+    }
+
+    private static void readHeadMetadata(CompactInput input, HeadMetadata headMetadata) {
+        int flags = input.readVarInt();
+
+        if ((flags & (1 << 4)) != 0) {
+            headMetadata.setRpcCommandType((byte) input.readByte());
+        }
+
+        if ((flags & (1 << 5)) != 0) {
+            headMetadata.setAttachmentData(input.readBytes());
+        }
+
+        if ((flags & (1 << 6)) != 0) {
+            headMetadata.setChannelId(input.readString());
+        }
+
+        if ((flags & (1 << 8)) != 0) {
+            headMetadata.setStick(input.readSInt());
+        }
+
+        if ((flags & (1 << 10)) != 0) {
+            headMetadata.setCacheCondition(input.readSInt());
+        }
+
+        if ((flags & (1 << 11)) != 0) {
+            headMetadata.setCustomData(input.readBytes());
+        }
+
+        if ((flags & (1 << 12)) != 0) {
+            headMetadata.setExecutorSelect(ExecutorSelectEnum.valueOf(input.readString()));
+        }
+
+        if ((flags & (1 << 13)) != 0) {
+            headMetadata.setTraceId(input.readString());
+        }
+
+        if ((flags & (1 << 14)) != 0) {
+            headMetadata.setUserProcessorExecutorSelectorBytes(input.readBytes());
+        }
+    }
+
+    public static CompactSerializer me() {
+        return Holder.ME;
+    }
+
+    /**
+     * Broker 透传使用的序列化器，编号为 {@link #PASS_THROUGH_CODE}
+     *
+     * @return CompactSerializer
+     */
+    public static CompactSerializer passThrough() {
+        return Holder.PASS_THROUGH;
+    }
+
+    private CompactSerializer(byte code, boolean passThrough) {
+        this.passThrough = passThrough;
+        // 注册到 bolt 中，收发消息时根据消息帧中的序列化器编号找到该序列化器
+        SerializerManager.addSerializer(code, this);
+    }
+
+    /** 通过 JVM 的类加载机制, 保证只加载一次 (singleton) */
+    private static class Holder {
+        static final CompactSerializer ME = new CompactSerializer(CODE, false);
+        static final CompactSerializer PASS_THROUGH = new CompactSerializer(PASS_THROUGH_CODE, true);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.core.common;
+
+import com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage;
+import com.iohao.game.common.kit.CollKit;
+import com.iohao.game.common.kit.concurrent.executor.SingleThreadExecutorKit;
+import com.iohao.game.common.kit.concurrent.executor.ThreadExecutor;
+import com.iohao.game.common.kit.concurrent.executor.ThreadExecutorRegion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 有序广播的线程执行器管理域
+ * <pre>
+ *     把有序广播分派到多个单线程执行器（通道）中执行，同一个 key 的广播总是在同一个通道中按顺序执行：
+ *     推送给单个玩家的，key 为 userId；
+ *     推送给玩家列表的，按玩家所在的通道拆分为多个广播，每个玩家收到的顺序不变；
+ *     全服广播的，key 为来源（发送广播的连接），同一来源的全服广播顺序不变。
+ *
+ *     需要按消息到达的顺序调用 {@link #execute(BroadcastOrderMessage, long, Consumer)}，通常在网络线程中调用。
+ *     通道的数量 see {@link IoGameGlobalConfig#broadcastOrderLanes}
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public final class BroadcastOrderThreadExecutorRegion implements ThreadExecutorRegion {
+    final ThreadExecutor[] threadExecutors;
+    final int executorLength;
+
+    public BroadcastOrderThreadExecutorRegion(String threadName, int executorSize) {
+        // 向上取 2 的 n 次方，使用位运算得到通道
+        int size = executorSize <= 1 ? 1 : Integer.highestOneBit(executorSize - 1) << 1;
+        this.threadExecutors = new ThreadExecutor[size];
+        this.executorLength = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            // 线程名：name-线程总数-当前线程编号
+            int threadNo = i + 1;
+            String threadNamePrefix = String.format("%s-%s-%s", threadName, size, threadNo);
+            var executor = SingleThreadExecutorKit.create(threadNamePrefix);
+            this.threadExecutors[i] = new ThreadExecutor(threadNamePrefix, executor, threadNo);
+        }
+    }
+
+    @Override
+    public ThreadExecutor getThreadExecutor(long index) {
+        return this.threadExecutors[(int) (index & this.executorLength)];
+    }
+
+    @Override
+    public List<ThreadExecutor> listThreadExecutor() {
+        return List.of(this.threadExecutors);
+    }
+
+    /**
+     * 在广播对应的通道中执行
+     *
+     * @param message   有序广播
+     * @param sourceKey 来源，全服广播时使用
+     * @param consumer  在通道中执行的逻辑；推送给玩家列表时，可能会执行多次（每次为拆分后的广播）
+     */
+    public void execute(BroadcastOrderMessage message, long sourceKey, Consumer<BroadcastOrderMessage> consumer) {
+        // 全服广播
+        if (message.isBroadcastAll()) {
+            this.getThreadExecutor(sourceKey).execute(() -> consumer.accept(message));
+            return;
+        }
+
+        // 推送给单个玩家
+        Collection<Long> userIdList = message.getUserIdList();
+        if (CollKit.isEmpty(userIdList)) {
+            long userId = message.getResponseMessage().getHeadMetadata().getUserId();
+            this.getThreadExecutor(userId).execute(() -> consumer.accept(message));
+            return;
+        }
+
+        // 推送给玩家列表，按玩家所在的通道拆分
+        Map<ThreadExecutor, List<Long>> userIdMap = new LinkedHashMap<>();
+        for (Long userId : userIdList) {
+            userIdMap.computeIfAbsent(this.getThreadExecutor(userId), k -> new ArrayList<>()).add(userId);
+        }
+
+        if (userIdMap.size() == 1) {
+            userIdMap.keySet().iterator().next().execute(() -> consumer.accept(message));
+            return;
+        }
+
+        userIdMap.forEach((threadExecutor, theUserIdList) -> {
+            BroadcastOrderMessage orderMessage = new BroadcastOrderMessage();
+            orderMessage.setResponseMessage(message.getResponseMessage()).setUserIdList(theUserIdList);
+            threadExecutor.execute(() -> consumer.accept(orderMessage));
+        });
+    }
+}
@@ -49,6 +49,10 @@ final class DefaultUserProcessorExecutorSelectorStrategy extends DefaultCustomSe
             RequestMessage message = (RequestMessage) command.getRequestObject();
             HeadMetadata headMetadata = message.getHeadMetadata();
 
+            /*
+             * 请求端通过 ExecutorSelectKit.setAffinityKey 设置了线程执行器亲和性 key（如 roomId）时，
+             * 这里已经有值，接收端的网络层线程会与 action 的线程执行器使用同一个 key 来选择。
+             */
             if (Objects.isNull(headMetadata.getUserProcessorExecutorSelectorBytes())) {
                 // 做一个简单的优化，避免多次序列化
                 long executorIndex = ExecutorSelectKit.getExecutorIndex(headMetadata);
@@ -84,7 +88,8 @@ final class DefaultUserProcessorExecutorSelectorStrategy extends DefaultCustomSe
 
         // see RpcRequestProcessor.java:105
         long executorIndex = (long) requestHeader;
-        return threadExecutorRegion.getThreadExecutor(executorIndex).executor();
+        // 通过 ThreadExecutor 提交，任务会计入运行统计与积压任务数
+        return threadExecutorRegion.getThreadExecutor(executorIndex);
     }
 
     private DefaultUserProcessorExecutorSelectorStrategy() {
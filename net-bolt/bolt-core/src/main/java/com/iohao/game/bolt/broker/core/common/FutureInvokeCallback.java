@@ -0,0 +1,72 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.core.common;
+
+import com.alipay.remoting.InvokeCallback;
+import com.iohao.game.common.kit.ExecutorKit;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * bolt 异步调用的回调，在响应的回调中完成 future
+ * <pre>
+ *     超时由 bolt 共享的定时器处理，超时后 future 以 InvokeTimeoutException 异常完成。
+ *
+ *     future 在回调执行器中完成（默认是虚拟线程），不会在网络线程中完成；
+ *     所以 future 的后续处理中可以再发起同步调用，不会阻塞读取响应的网络线程。
+ * </pre>
+ *
+ * @param future   future
+ * @param executor 回调执行器，future 在该执行器中完成
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+public record FutureInvokeCallback(CompletableFuture<Object> future, Executor executor) implements InvokeCallback {
+    public FutureInvokeCallback {
+        Objects.requireNonNull(future);
+        Objects.requireNonNull(executor);
+    }
+
+    public FutureInvokeCallback(CompletableFuture<Object> future) {
+        this(future, CallbackExecutorHolder.EXECUTOR);
+    }
+
+    @Override
+    public void onResponse(Object result) {
+        this.future.complete(result);
+    }
+
+    @Override
+    public void onException(Throwable e) {
+        this.future.completeExceptionally(e);
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    private static class CallbackExecutorHolder {
+        /** 默认的回调执行器 */
+        static final Executor EXECUTOR = ExecutorKit.newVirtualExecutor("FutureInvokeCallback");
+    }
+}
@@ -20,6 +20,7 @@ package com.iohao.game.bolt.broker.core.common;
 
 import com.iohao.game.action.skeleton.core.IoGameCommonCoreConfig;
 import com.iohao.game.bolt.broker.core.aware.UserProcessorExecutorAware;
+import com.iohao.game.common.kit.RuntimeKit;
 import lombok.Getter;
 import lombok.experimental.UtilityClass;
 
@@ -90,6 +91,84 @@ public class IoGameGlobalConfig {
      */
     public boolean brokerSniperToggleAK47 = true;
 
+    /**
+     * true 表示 Broker（游戏网关）记录玩家所在的游戏对外服
+     * <pre>
+     *     游戏逻辑服给指定的玩家列表广播，或访问游戏对外服中与玩家相关的数据时，
+     *     如果没有指定游戏对外服，游戏网关会根据记录只转发到玩家所在的游戏对外服上。
+     *
+     *     记录在玩家登录（设置 userId）时建立，在玩家下线或游戏对外服下线时移除；
+     *     找不到记录的玩家，仍然会转发到所有的游戏对外服上。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    public boolean brokerUserDirectory = true;
+
+    /**
+     * true 表示内部通信使用紧凑格式的序列化（CompactSerializer）
+     * <pre>
+     *     RequestMessage、ResponseMessage、BroadcastMessage 等高频消息使用 varint 与位图编码，
+     *     体积与编解码开销都小于 Hessian，其他消息仍然使用 Hessian。
+     *
+     *     逻辑服与 Broker（游戏网关）在注册时协商，只有双方都开启时才会使用，新旧版本可以混合部署。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    public boolean compactSerializer = true;
+
+    /**
+     * true 表示 Broker（游戏网关）透传转发 RequestMessage、ResponseMessage
+     * <pre>
+     *     Broker 只解析路由相关的字段（cmdMerge、sourceClientId、endPointClientId、userId、msgId、bindingLogicServerIds），
+     *     业务数据等其余部分原样转发，不再完整的解码与重新编码。
+     *
+     *     需要开启 compactSerializer，与紧凑格式一样在注册时协商。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    public boolean brokerPassThrough = true;
+
+    /**
+     * 批量发送的时间窗口（毫秒），0 表示不开启批量发送
+     * <pre>
+     *     开启后，逻辑服发往 Broker（游戏网关）、Broker 发往游戏对外服的 oneway 消息（响应、广播等），
+     *     在时间窗口内合并为一个 BatchMessage 发送，减少消息帧与 flush 的次数，接收方按顺序逐个处理；
+     *     积累的消息数量达到 batchMaxSize 时立即发送。
+     *     同步、异步调用（invokeSync、invokeFuture 等）不合并，发送前会先发出已积累的 oneway 消息，
+     *     同一连接上的消息仍然按发送的顺序到达，如先广播再调用强制下线、设置 userId 等。
+     *
+     *     每个消息最多增加 batchFlushMillis 的延迟，通常设置为 1 ~ 2 毫秒。
+     *     只有接收方支持批量消息时（注册时协商）才会合并发送，
+     *     批次大小的统计可以通过 BrokerClientItem、BrokerClientProxy 的 messageBatcher 得到。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    public int batchFlushMillis;
+
+    /**
+     * 批量发送时，一个批次最多包含的消息数量
+     *
+     * @since 21.23
+     */
+    public int batchMaxSize = 64;
+
+    /**
+     * 有序广播的通道数量（会向上取 2 的 n 次方）
+     * <pre>
+     *     Broker（游戏网关）与游戏对外服把有序广播分派到多个单线程通道中执行，
+     *     推送给玩家的按 userId 分区，全服广播按来源分区，同一个玩家（或同一来源的全服广播）的顺序不变。
+     *
+     *     设置为 1 时，所有的有序广播使用同一个线程。需要在启动前设置。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    public int broadcastOrderLanes = RuntimeKit.availableProcessors2n;
+
     /** true 开启集群相关日志 */
     public boolean brokerClusterLog;
     /** true 使用调度器打印集群信息，默认 30 秒打印一次（目前不提供打印频率设置） */
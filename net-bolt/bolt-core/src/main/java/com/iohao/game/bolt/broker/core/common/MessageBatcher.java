@@ -0,0 +1,226 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.core.common;
+
+import com.alipay.remoting.exception.RemotingException;
+import com.iohao.game.bolt.broker.core.message.BatchMessage;
+import com.iohao.game.common.kit.ExecutorKit;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 批量发送器，一个连接一个
+ * <pre>
+ *     把发往同一连接的 oneway 消息合并为一个 {@link BatchMessage} 发送，减少消息帧与 flush 的次数。
+ *
+ *     第一个消息加入时开始计时，flushMillis 后把期间积累的消息一起发出；
+ *     积累的消息数量达到 maxSize 时，不再等待，在当前线程立即发出。
+ *     发送时持有锁，批次按加入的顺序发出；只有一个消息时直接发送该消息，不使用 BatchMessage 包装。
+ *
+ *     批次大小的统计（批次数量、消息数量、最大批次等）用于调整 flushMillis 与 maxSize。
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @see IoGameGlobalConfig#batchFlushMillis
+ * @since 21.23
+ */
+@Slf4j
+public final class MessageBatcher {
+    final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    /** 队列中等待发送的消息数量 */
+    final AtomicInteger pendingCount = new AtomicInteger();
+    /** true 表示已经安排了定时发送 */
+    final AtomicBoolean flushScheduled = new AtomicBoolean();
+    final ReentrantLock flushLock = new ReentrantLock();
+    final BatchSender sender;
+    /** 时间窗口（毫秒） */
+    @Getter
+    final int flushMillis;
+    /** 一个批次最多包含的消息数量 */
+    @Getter
+    final int maxSize;
+
+    /** 发送的消息帧数量（包括只有一个消息的批次） */
+    final LongAdder batchCount = new LongAdder();
+    /** 发送的消息数量 */
+    final LongAdder messageCount = new LongAdder();
+    /** 因数量达到 maxSize 而发送的次数 */
+    final LongAdder sizeFlushCount = new LongAdder();
+    /** 因时间窗口到期而发送的次数 */
+    final LongAdder windowFlushCount = new LongAdder();
+    /** 最大的批次 */
+    final AtomicInteger maxBatchSize = new AtomicInteger();
+
+    public MessageBatcher(BatchSender sender, int flushMillis, int maxSize) {
+        this.sender = sender;
+        this.flushMillis = Math.max(flushMillis, 1);
+        this.maxSize = Math.max(maxSize, 1);
+    }
+
+    /**
+     * 加入消息，在时间窗口到期或数量达到 maxSize 时发送
+     *
+     * @param message oneway 消息
+     */
+    public void add(Object message) {
+        this.queue.offer(message);
+
+        if (this.pendingCount.incrementAndGet() >= this.maxSize) {
+            this.sizeFlushCount.increment();
+            this.flush();
+            return;
+        }
+
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            Holder.scheduler.schedule(this::windowFlush, this.flushMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 立即发送队列中所有的消息
+     */
+    public void flush() {
+        this.flushLock.lock();
+
+        try {
+            int size;
+            while ((size = Math.min(this.pendingCount.get(), this.maxSize)) > 0) {
+                List<Object> messageList = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    messageList.add(this.queue.poll());
+                }
+
+                this.pendingCount.addAndGet(-size);
+                this.send(messageList);
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    private void windowFlush() {
+        this.flushScheduled.set(false);
+
+        if (this.pendingCount.get() > 0) {
+            this.windowFlushCount.increment();
+            this.flush();
+        }
+    }
+
+    private void send(List<Object> messageList) {
+        int size = messageList.size();
+        this.batchCount.increment();
+        this.messageCount.add(size);
+        this.maxBatchSize.accumulateAndGet(size, Math::max);
+
+        Object message = size == 1
+                ? messageList.getFirst()
+                : new BatchMessage().setMessageList(messageList);
+
+        try {
+            this.sender.send(message);
+        } catch (RemotingException e) {
+            log.error(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return 发送的消息帧数量
+     */
+    public long getBatchCount() {
+        return this.batchCount.sum();
+    }
+
+    /**
+     * @return 发送的消息数量
+     */
+    public long getMessageCount() {
+        return this.messageCount.sum();
+    }
+
+    /**
+     * @return 平均每个消息帧包含的消息数量
+     */
+    public double getAvgBatchSize() {
+        long batchCount = this.batchCount.sum();
+        return batchCount == 0 ? 0 : (double) this.messageCount.sum() / batchCount;
+    }
+
+    /**
+     * @return 最大的批次
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize.get();
+    }
+
+    /**
+     * @return 因数量达到 maxSize 而发送的次数；占比高时可以增大 maxSize
+     */
+    public long getSizeFlushCount() {
+        return this.sizeFlushCount.sum();
+    }
+
+    /**
+     * @return 因时间窗口到期而发送的次数
+     */
+    public long getWindowFlushCount() {
+        return this.windowFlushCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "MessageBatcher{flushMillis=%d, maxSize=%d, batchCount=%d, messageCount=%d, avgBatchSize=%.2f, maxBatchSize=%d, sizeFlushCount=%d, windowFlushCount=%d}"
+                .formatted(this.flushMillis, this.maxSize, this.getBatchCount(), this.getMessageCount(), this.getAvgBatchSize()
+                        , this.getMaxBatchSize(), this.getSizeFlushCount(), this.getWindowFlushCount());
+    }
+
+    /**
+     * 发送消息（单个消息或 BatchMessage）
+     */
+    @FunctionalInterface
+    public interface BatchSender {
+        /**
+         * 发送消息
+         *
+         * @param message 单个消息或 BatchMessage
+         * @throws RemotingException    RemotingException
+         * @throws InterruptedException InterruptedException
+         */
+        void send(Object message) throws RemotingException, InterruptedException;
+    }
+
+    private static class Holder {
+        static final ScheduledExecutorService scheduler = ExecutorKit.newSingleScheduled("ioGameBatch-");
+    }
+}
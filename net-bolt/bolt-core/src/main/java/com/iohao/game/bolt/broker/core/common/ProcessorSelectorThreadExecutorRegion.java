@@ -19,11 +19,11 @@
 package com.iohao.game.bolt.broker.core.common;
 
 import com.iohao.game.common.kit.RuntimeKit;
-import com.iohao.game.common.kit.concurrent.FixedNameThreadFactory;
+import com.iohao.game.common.kit.concurrent.executor.SingleThreadExecutorKit;
 import com.iohao.game.common.kit.concurrent.executor.ThreadExecutor;
 import com.iohao.game.common.kit.concurrent.executor.ThreadExecutorRegion;
 
-import java.util.concurrent.*;
+import java.util.List;
 
 /**
  * @author 渔民小镇
@@ -43,7 +43,7 @@ final class ProcessorSelectorThreadExecutorRegion implements ThreadExecutorRegio
             // 线程名：name-线程总数-当前线程编号
             int threadNo = i + 1;
             String threadNamePrefix = String.format("%s-%s-%s", threadName, threadExecutors.length, threadNo);
-            var executor = this.createExecutorService(threadNamePrefix);
+            var executor = SingleThreadExecutorKit.create(threadNamePrefix);
             this.threadExecutors[i] = new ThreadExecutor(threadNamePrefix, executor, threadNo);
         }
     }
@@ -54,10 +54,8 @@ final class ProcessorSelectorThreadExecutorRegion implements ThreadExecutorRegio
         return this.threadExecutors[index];
     }
 
-    private ExecutorService createExecutorService(String threadNamePrefix) {
-        return new ThreadPoolExecutor(1, 1,
-                0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                new FixedNameThreadFactory(threadNamePrefix));
+    @Override
+    public List<ThreadExecutor> listThreadExecutor() {
+        return List.of(this.threadExecutors);
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.core.common.processor;
+
+import com.alipay.remoting.AsyncContext;
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.rpc.protocol.AsyncUserProcessor;
+import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.alipay.remoting.rpc.protocol.UserProcessor;
+import com.iohao.game.bolt.broker.core.common.AbstractAsyncUserProcessor;
+import com.iohao.game.bolt.broker.core.message.BatchMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 批量消息处理器
+ * <pre>
+ *     在网络线程中按到达的顺序，把 BatchMessage 中的每个消息派发给对应的处理器（与单独发送时处理器相同）；
+ *     每个消息仍然在对应处理器的线程执行器中执行，处理器在网络线程中处理的（如有序广播），则直接在当前线程处理。
+ *     因此消息交给处理器的顺序与单独发送时一致。
+ *
+ *     处理器在注册到 bolt 时，同时添加到这里，see {@link #addUserProcessor(UserProcessor)}
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Slf4j
+public final class BatchMessageProcessor extends AbstractAsyncUserProcessor<BatchMessage> {
+    /** key : 消息类型，value : 处理器 */
+    final Map<String, UserProcessor<?>> processorMap = new ConcurrentHashMap<>();
+
+    /**
+     * 添加处理器，批量消息中的消息会派发给对应的处理器
+     *
+     * @param userProcessor 处理器
+     */
+    public void addUserProcessor(UserProcessor<?> userProcessor) {
+        this.processorMap.put(userProcessor.interest(), userProcessor);
+    }
+
+    @Override
+    public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, BatchMessage batchMessage) {
+        List<Object> messageList = batchMessage.getMessageList();
+        if (Objects.isNull(messageList)) {
+            return;
+        }
+
+        for (Object message : messageList) {
+            UserProcessor<?> userProcessor = this.processorMap.get(message.getClass().getName());
+            if (Objects.isNull(userProcessor)) {
+                log.warn("BatchMessage 中的消息没有对应的处理器 : {}", message.getClass().getName());
+                continue;
+            }
+
+            Executor executor = userProcessor.processInIOThread() ? null : userProcessor.getExecutor();
+            if (Objects.isNull(executor)) {
+                this.dispatch(userProcessor, bizCtx, asyncCtx, message);
+            } else {
+                executor.execute(() -> this.dispatch(userProcessor, bizCtx, asyncCtx, message));
+            }
+        }
+    }
+
+    @Override
+    public boolean processInIOThread() {
+        // 在网络线程中派发，保证批次之间的顺序
+        return true;
+    }
+
+    private void dispatch(UserProcessor<?> userProcessor, BizContext bizCtx, AsyncContext asyncCtx, Object message) {
+        try {
+            this.handle(userProcessor, bizCtx, asyncCtx, message);
+        } catch (Throwable e) {
+            // 一个消息处理出错，不影响同一批次中的其他消息
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(UserProcessor<?> userProcessor, BizContext bizCtx, AsyncContext asyncCtx, Object message) throws Exception {
+        if (userProcessor instanceof AsyncUserProcessor<?> processor) {
+            ((AsyncUserProcessor<Object>) processor).handleRequest(bizCtx, asyncCtx, message);
+        } else if (userProcessor instanceof SyncUserProcessor<?> processor) {
+            // 批量消息都是 oneway 的，不需要返回值
+            ((SyncUserProcessor<Object>) processor).handleRequest(bizCtx, message);
+        }
+    }
+
+    @Override
+    public String interest() {
+        return BatchMessage.class.getName();
+    }
+}
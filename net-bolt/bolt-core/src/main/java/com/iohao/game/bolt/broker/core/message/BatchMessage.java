@@ -0,0 +1,56 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.core.message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 批量消息
+ * <pre>
+ *     开启批量发送后，短时间内发往同一连接的多个 oneway 消息会合并为一个 BatchMessage 发送，
+ *     接收方按顺序把每个消息派发给对应的处理器。
+ *
+ *     see IoGameGlobalConfig#batchFlushMillis
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchMessage implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 3162489703418855032L;
+    /** 协商时使用的 header name，表示接收方能处理批量消息 */
+    public static final String HEADER_NAME = "batchMessage";
+
+    /** 消息列表，按发送的顺序 */
+    List<Object> messageList;
+}
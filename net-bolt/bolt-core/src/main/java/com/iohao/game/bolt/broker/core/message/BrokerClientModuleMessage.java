@@ -78,6 +78,16 @@ public class BrokerClientModuleMessage implements Serializable {
     String address;
     @ToString.Exclude
     List<Integer> cmdMergeList;
+    /**
+     * 返回值为 void 的 action 命令列表
+     * <pre>
+     *     这类请求正常处理时不会有响应，Broker（游戏网关）做负载统计时不记录这类请求。
+     * </pre>
+     *
+     * @since 21.23
+     */
+    @ToString.Exclude
+    List<Integer> voidCmdMergeList;
     /** 模拟的同进程 pid */
     String ioGamePid;
 
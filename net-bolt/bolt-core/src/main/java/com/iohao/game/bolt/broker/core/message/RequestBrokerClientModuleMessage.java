@@ -34,4 +34,22 @@ public class RequestBrokerClientModuleMessage implements Serializable {
     @Serial
     private static final long serialVersionUID = -8701320309480192037L;
     int withNo;
+    /**
+     * true 表示 Broker 支持紧凑格式的序列化
+     *
+     * @since 21.23
+     */
+    boolean compactSerializer;
+    /**
+     * true 表示 Broker 支持透传转发
+     *
+     * @since 21.23
+     */
+    boolean passThrough;
+    /**
+     * true 表示 Broker 能处理批量消息
+     *
+     * @since 21.23
+     */
+    boolean batch;
 }
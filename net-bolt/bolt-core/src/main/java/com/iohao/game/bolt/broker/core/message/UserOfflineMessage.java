@@ -0,0 +1,59 @@
+/*
+ * ioGame
+ * Copyright (C) 2021 - present  渔民小镇 （262610965@qq.com、luoyizhu@gmail.com） . All Rights Reserved.
+ * # iohao.com . 渔民小镇
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.iohao.game.bolt.broker.core.message;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 玩家下线消息
+ * <pre>
+ *     游戏对外服中，已经身份验证的玩家下线时，通知 Broker（游戏网关）
+ * </pre>
+ *
+ * @author 渔民小镇
+ * @date 2026-10-17
+ * @since 21.23
+ */
+@Getter
+@Setter
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserOfflineMessage implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 4571302968830317562L;
+
+    /** 下线的玩家 */
+    long userId;
+    /** 玩家所在的游戏对外服 idHash */
+    int sourceClientId;
+
+    public static UserOfflineMessage of(long userId, int sourceClientId) {
+        UserOfflineMessage offlineMessage = new UserOfflineMessage();
+        offlineMessage.userId = userId;
+        offlineMessage.sourceClientId = sourceClientId;
+        return offlineMessage;
+    }
+}
@@ -0,0 +1,246 @@
+package com.iohao.game.bolt.broker.core.client;
+
+import com.alipay.remoting.AsyncContext;
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.rpc.RpcConfigs;
+import com.alipay.remoting.rpc.RpcServer;
+import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.iohao.game.action.skeleton.core.BarMessageKit;
+import com.iohao.game.action.skeleton.core.CmdInfo;
+import com.iohao.game.action.skeleton.core.CmdKit;
+import com.iohao.game.action.skeleton.core.exception.ActionErrorEnum;
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.bolt.broker.core.common.AbstractAsyncUserProcessor;
+import com.iohao.game.bolt.broker.core.common.IoGameGlobalConfig;
+import com.iohao.game.bolt.broker.core.common.MessageBatcher;
+import com.iohao.game.bolt.broker.core.common.processor.BatchMessageProcessor;
+import com.iohao.game.bolt.broker.core.message.InnerModuleMessage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class BrokerClientItemTest {
+    RpcServer rpcServer;
+    BrokerClientItem brokerClientItem;
+    /** 单线程处理，用于检查消息的顺序 */
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    ResponseMessageProcessor responseMessageProcessor = new ResponseMessageProcessor();
+
+    @Before
+    public void setUp() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+
+        // 与 BrokerServer 相同，一次读取到的多个消息帧在网络线程中按顺序处理
+        System.setProperty(RpcConfigs.DISPATCH_MSG_LIST_IN_DEFAULT_EXECUTOR, "false");
+
+        this.rpcServer = new RpcServer(port, true);
+        this.rpcServer.registerUserProcessor(new InnerModuleMessageProcessor(this.executor, this.responseMessageProcessor.msgIdList));
+
+        this.responseMessageProcessor.setUserProcessorExecutor(this.executor);
+        var batchMessageProcessor = new BatchMessageProcessor();
+        batchMessageProcessor.setUserProcessorExecutor(this.executor);
+        batchMessageProcessor.addUserProcessor(this.responseMessageProcessor);
+        this.rpcServer.registerUserProcessor(this.responseMessageProcessor);
+        this.rpcServer.registerUserProcessor(batchMessageProcessor);
+        this.rpcServer.startup();
+
+        String address = "127.0.0.1:" + port;
+        this.brokerClientItem = new BrokerClientItem(address);
+        this.brokerClientItem.getRpcClient().startup();
+        this.brokerClientItem.setConnection(this.brokerClientItem.getRpcClient().getConnection(address, 1000));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.brokerClientItem.getRpcClient().shutdown();
+        this.rpcServer.shutdown();
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void invokeModuleMessageFuture() {
+        var requestMessage = BarMessageKit.createRequestMessage(CmdInfo.of(1, 1));
+
+        var future = this.brokerClientItem.invokeModuleMessageFuture(requestMessage);
+        ResponseMessage responseMessage = future.join();
+        Assert.assertEquals(requestMessage.getHeadMetadata().getCmdMerge(), responseMessage.getHeadMetadata().getCmdMerge());
+        Assert.assertFalse(responseMessage.hasError());
+
+        // 同步调用
+        responseMessage = this.brokerClientItem.invokeModuleMessage(requestMessage);
+        Assert.assertFalse(responseMessage.hasError());
+    }
+
+    @Test
+    public void nestedInvoke() {
+        var requestMessage = BarMessageKit.createRequestMessage(CmdInfo.of(1, 1));
+
+        // future 不在网络线程中完成，后续处理中发起同步调用不会阻塞读取响应的网络线程
+        ResponseMessage responseMessage = this.brokerClientItem.invokeModuleMessageFuture(requestMessage)
+                .thenApply(r -> this.brokerClientItem.invokeModuleMessage(requestMessage))
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join();
+
+        Assert.assertFalse(responseMessage.hasError());
+    }
+
+    @Test
+    public void timeout() {
+        this.brokerClientItem.setTimeoutMillis(100);
+
+        // 服务端处理较慢，超时后 future 以错误码完成
+        var requestMessage = BarMessageKit.createRequestMessage(CmdInfo.of(1, 2));
+        ResponseMessage responseMessage = this.brokerClientItem.invokeModuleMessageFuture(requestMessage).join();
+        Assert.assertEquals(ActionErrorEnum.systemOtherErrCode.getCode(), responseMessage.getResponseStatus());
+    }
+
+    @Test
+    public void batch() throws InterruptedException {
+        int batchFlushMillis = IoGameGlobalConfig.batchFlushMillis;
+        int batchMaxSize = IoGameGlobalConfig.batchMaxSize;
+        // 时间窗口足够长，测试期间只有数量达到 maxSize 与手动 flush 两种发送
+        IoGameGlobalConfig.batchFlushMillis = (int) TimeUnit.MINUTES.toMillis(1);
+        IoGameGlobalConfig.batchMaxSize = 16;
+
+        try {
+            this.brokerClientItem.setBatch(true);
+            MessageBatcher messageBatcher = this.brokerClientItem.getMessageBatcher();
+            Assert.assertNotNull(messageBatcher);
+
+            int count = 100;
+            this.responseMessageProcessor.latch = new CountDownLatch(count);
+            for (int i = 0; i < count; i++) {
+                ResponseMessage responseMessage = new ResponseMessage();
+                responseMessage.setHeadMetadata(new HeadMetadata().setMsgId(i));
+                this.brokerClientItem.invokeOneway(responseMessage);
+            }
+
+            // 96 个消息按数量发出了 6 个批次，剩余的 4 个消息还在等待时间窗口
+            Assert.assertEquals(6, messageBatcher.getSizeFlushCount());
+            Assert.assertEquals(96, messageBatcher.getMessageCount());
+            messageBatcher.flush();
+
+            // 接收方按发送的顺序处理
+            Assert.assertTrue(this.responseMessageProcessor.latch.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(IntStream.range(0, count).boxed().toList(), this.responseMessageProcessor.msgIdList);
+
+            // 合并发送
+            Assert.assertEquals(count, messageBatcher.getMessageCount());
+            Assert.assertEquals(7, messageBatcher.getBatchCount());
+            Assert.assertEquals(16, messageBatcher.getMaxBatchSize());
+            Assert.assertEquals(6, messageBatcher.getSizeFlushCount());
+            Assert.assertEquals(0, messageBatcher.getWindowFlushCount());
+
+            this.brokerClientItem.setBatch(false);
+            Assert.assertNull(this.brokerClientItem.getMessageBatcher());
+        } finally {
+            IoGameGlobalConfig.batchFlushMillis = batchFlushMillis;
+            IoGameGlobalConfig.batchMaxSize = batchMaxSize;
+        }
+    }
+
+    @Test
+    public void batchBeforeInvoke() {
+        int batchFlushMillis = IoGameGlobalConfig.batchFlushMillis;
+        IoGameGlobalConfig.batchFlushMillis = (int) TimeUnit.MINUTES.toMillis(1);
+
+        try {
+            this.brokerClientItem.setBatch(true);
+
+            int count = 3;
+            this.responseMessageProcessor.latch = new CountDownLatch(count);
+            for (int i = 0; i < count; i++) {
+                ResponseMessage responseMessage = new ResponseMessage();
+                responseMessage.setHeadMetadata(new HeadMetadata().setMsgId(i));
+                this.brokerClientItem.invokeOneway(responseMessage);
+            }
+
+            // 同步调用前先发出积累的 oneway 消息，接收方按发送的顺序处理
+            var requestMessage = BarMessageKit.createRequestMessage(CmdInfo.of(1, 1));
+            requestMessage.getHeadMetadata().setMsgId(count);
+            Assert.assertFalse(this.brokerClientItem.invokeModuleMessage(requestMessage).hasError());
+            Assert.assertEquals(IntStream.rangeClosed(0, count).boxed().toList(), this.responseMessageProcessor.msgIdList);
+
+            // 异步调用同样先发出积累的 oneway 消息
+            this.responseMessageProcessor.msgIdList.clear();
+            ResponseMessage responseMessage = new ResponseMessage();
+            responseMessage.setHeadMetadata(new HeadMetadata().setMsgId(0));
+            this.brokerClientItem.invokeOneway(responseMessage);
+            requestMessage.getHeadMetadata().setMsgId(1);
+            Assert.assertFalse(this.brokerClientItem.invokeModuleMessageFuture(requestMessage).join().hasError());
+            Assert.assertEquals(List.of(0, 1), this.responseMessageProcessor.msgIdList);
+
+            this.brokerClientItem.setBatch(false);
+        } finally {
+            IoGameGlobalConfig.batchFlushMillis = batchFlushMillis;
+        }
+    }
+
+    static class ResponseMessageProcessor extends AbstractAsyncUserProcessor<ResponseMessage> {
+        final List<Integer> msgIdList = new CopyOnWriteArrayList<>();
+        CountDownLatch latch;
+
+        @Override
+        public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, ResponseMessage request) {
+            this.msgIdList.add(request.getHeadMetadata().getMsgId());
+            this.latch.countDown();
+        }
+
+        @Override
+        public String interest() {
+            return ResponseMessage.class.getName();
+        }
+    }
+
+    static class InnerModuleMessageProcessor extends SyncUserProcessor<InnerModuleMessage> {
+        /** 与 ResponseMessageProcessor 使用同一个单线程处理，记录请求在 oneway 消息之间的顺序 */
+        final Executor executor;
+        final List<Integer> msgIdList;
+
+        InnerModuleMessageProcessor(Executor executor, List<Integer> msgIdList) {
+            this.executor = executor;
+            this.msgIdList = msgIdList;
+        }
+
+        @Override
+        public Object handleRequest(BizContext bizCtx, InnerModuleMessage request) throws Exception {
+            var requestMessage = request.getRequestMessage();
+            this.msgIdList.add(requestMessage.getHeadMetadata().getMsgId());
+            if (CmdKit.getSubCmd(requestMessage.getHeadMetadata().getCmdMerge()) == 2) {
+                TimeUnit.MILLISECONDS.sleep(500);
+            }
+
+            return requestMessage.createResponseMessage();
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return this.executor;
+        }
+
+        @Override
+        public String interest() {
+            return InnerModuleMessage.class.getName();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.iohao.game.bolt.broker.core.codec;
+
+import com.alipay.remoting.InvokeContext;
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.serialization.Serializer;
+import com.alipay.remoting.serialization.SerializerManager;
+import com.iohao.game.action.skeleton.kit.ExecutorSelectEnum;
+import com.iohao.game.action.skeleton.protocol.BarMessage;
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.RequestMessage;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.bolt.broker.core.message.BatchMessage;
+import com.iohao.game.bolt.broker.core.message.BroadcastMessage;
+import com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage;
+import com.iohao.game.bolt.broker.core.message.InnerModuleMessage;
+import com.iohao.game.bolt.broker.core.message.RequestBrokerClientModuleMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class CompactSerializerTest {
+    final CompactSerializer serializer = CompactSerializer.me();
+
+    @Test
+    public void register() {
+        Serializer registered = SerializerManager.getSerializer(CompactSerializer.CODE);
+        Assert.assertSame(serializer, registered);
+    }
+
+    @Test
+    public void requestMessage() throws CodecException {
+        RequestMessage message = createRequestMessage();
+
+        byte[] bytes = serializer.serialize(message);
+        RequestMessage result = serializer.deserialize(bytes, RequestMessage.class.getName());
+        assertBarMessage(message, result);
+
+        // 紧凑格式的体积小于 Hessian
+        byte[] hessianBytes = SerializerManager.getSerializer(SerializerManager.Hessian2).serialize(message);
+        Assert.assertTrue(bytes.length < hessianBytes.length);
+    }
+
+    @Test
+    public void emptyMessage() throws CodecException {
+        ResponseMessage message = new ResponseMessage();
+
+        byte[] bytes = serializer.serialize(message);
+        ResponseMessage result = serializer.deserialize(bytes, ResponseMessage.class.getName());
+        assertBarMessage(message, result);
+    }
+
+    @Test
+    public void broadcastMessage() throws CodecException {
+        ResponseMessage responseMessage = createRequestMessage().createResponseMessage();
+        responseMessage.setResponseStatus(-1001);
+        responseMessage.setValidatorMsg("验证");
+        responseMessage.setData(new byte[]{1, 2, 3});
+
+        BroadcastMessage message = new BroadcastOrderMessage()
+                .setResponseMessage(responseMessage)
+                .setUserIdList(List.of(1L, -2L, Long.MAX_VALUE))
+                .setBroadcastAll(true);
+
+        byte[] bytes = serializer.serialize(message);
+        BroadcastMessage result = serializer.deserialize(bytes, BroadcastOrderMessage.class.getName());
+
+        Assert.assertEquals(BroadcastOrderMessage.class, result.getClass());
+        Assert.assertTrue(result.isBroadcastAll());
+        Assert.assertEquals(message.getUserIdList(), result.getUserIdList());
+        assertBarMessage(responseMessage, result.getResponseMessage());
+    }
+
+    @Test
+    public void nullUserId() throws CodecException {
+        List<Long> userIdList = new ArrayList<>();
+        userIdList.add(1L);
+        userIdList.add(null);
+        userIdList.add(3L);
+
+        BroadcastMessage message = new BroadcastMessage()
+                .setResponseMessage(new ResponseMessage())
+                .setUserIdList(userIdList);
+
+        // null 元素被跳过
+        byte[] bytes = serializer.serialize(message);
+        BroadcastMessage result = serializer.deserialize(bytes, BroadcastMessage.class.getName());
+        Assert.assertEquals(List.of(1L, 3L), result.getUserIdList());
+    }
+
+    @Test
+    public void innerModuleMessage() throws CodecException {
+        InnerModuleMessage message = new InnerModuleMessage();
+        message.setRequestMessage(createRequestMessage());
+
+        byte[] bytes = serializer.serialize(message);
+        InnerModuleMessage result = serializer.deserialize(bytes, InnerModuleMessage.class.getName());
+        assertBarMessage(message.getRequestMessage(), result.getRequestMessage());
+
+        message.setRequestMessage(null);
+        bytes = serializer.serialize(message);
+        result = serializer.deserialize(bytes, InnerModuleMessage.class.getName());
+        Assert.assertNull(result.getRequestMessage());
+    }
+
+    @Test
+    public void fallback() throws CodecException {
+        // 其他类型的消息使用 Hessian
+        RequestBrokerClientModuleMessage message = new RequestBrokerClientModuleMessage();
+        message.setWithNo(10);
+        message.setCompactSerializer(true);
+
+        byte[] bytes = serializer.serialize(message);
+        RequestBrokerClientModuleMessage result = serializer.deserialize(bytes, RequestBrokerClientModuleMessage.class.getName());
+        Assert.assertEquals(10, result.getWithNo());
+        Assert.assertTrue(result.isCompactSerializer());
+
+        Assert.assertNull(CompactSerializer.createInvokeContext(message));
+        Assert.assertNotNull(CompactSerializer.createInvokeContext(new RequestMessage()));
+    }
+
+    @Test
+    public void passThrough() throws CodecException {
+        RequestMessage message = createRequestMessage();
+        byte[] bytes = serializer.serialize(message);
+
+        // Broker 只解析路由字段
+        CompactSerializer passThrough = CompactSerializer.passThrough();
+        Assert.assertSame(passThrough, SerializerManager.getSerializer(CompactSerializer.PASS_THROUGH_CODE));
+        RequestMessage routed = passThrough.deserialize(bytes, RequestMessage.class.getName());
+        HeadMetadata routedHead = routed.getHeadMetadata();
+        Assert.assertEquals(-100L, routedHead.getUserId());
+        Assert.assertEquals(65537, routedHead.getCmdMerge());
+        Assert.assertEquals(-765, routedHead.getSourceClientId());
+        Assert.assertEquals(22, routedHead.getEndPointClientId());
+        Assert.assertEquals(Integer.MIN_VALUE, routedHead.getMsgId());
+        Assert.assertArrayEquals(new int[]{1, -2, 3}, routedHead.getBindingLogicServerIds());
+        Assert.assertNull(routedHead.getChannelId());
+        Assert.assertNull(routed.getData());
+
+        // 转发时改写路由字段，其余部分原样发出
+        routedHead.setEndPointClientId(33);
+        byte[] forwardBytes = serializer.serialize(routed);
+        Assert.assertSame(bytes, forwardBytes);
+
+        message.getHeadMetadata().setEndPointClientId(33);
+        RequestMessage result = serializer.deserialize(forwardBytes, RequestMessage.class.getName());
+        assertBarMessage(message, result);
+    }
+
+    @Test
+    public void materialize() throws CodecException {
+        ResponseMessage message = createRequestMessage().createResponseMessage();
+        message.setData(new byte[]{7, 7});
+        byte[] bytes = serializer.serialize(message);
+
+        ResponseMessage routed = CompactSerializer.passThrough().deserialize(bytes, ResponseMessage.class.getName());
+        routed.getHeadMetadata().setEndPointClientId(44);
+        CompactSerializer.materialize(routed);
+
+        // 完整解析后，保留已修改的路由字段
+        message.getHeadMetadata().setEndPointClientId(44);
+        assertBarMessage(message, routed);
+        Assert.assertNull(routed.getHeadMetadata().getPassThroughFrame());
+
+        // 透传的消息嵌套在其他消息中时，完整编码
+        ResponseMessage nested = CompactSerializer.passThrough().deserialize(bytes, ResponseMessage.class.getName());
+        BroadcastMessage broadcastMessage = new BroadcastMessage().setResponseMessage(nested);
+        BroadcastMessage result = serializer.deserialize(serializer.serialize(broadcastMessage), BroadcastMessage.class.getName());
+        message.getHeadMetadata().setEndPointClientId(22);
+        assertBarMessage(message, result.getResponseMessage());
+
+        // 只有 RequestMessage、ResponseMessage 使用透传
+        Assert.assertEquals((Object) CompactSerializer.PASS_THROUGH_CODE, CompactSerializer.createPassThroughInvokeContext(message)
+                .get(InvokeContext.BOLT_CUSTOM_SERIALIZER));
+        Assert.assertEquals((Object) CompactSerializer.CODE, CompactSerializer.createPassThroughInvokeContext(broadcastMessage)
+                .get(InvokeContext.BOLT_CUSTOM_SERIALIZER));
+    }
+
+    @Test
+    public void batchMessage() throws CodecException {
+        RequestMessage requestMessage = createRequestMessage();
+        BroadcastMessage broadcastMessage = new BroadcastMessage()
+                .setResponseMessage(requestMessage.createResponseMessage())
+                .setBroadcastAll(true);
+        RequestBrokerClientModuleMessage moduleMessage = new RequestBrokerClientModuleMessage();
+        moduleMessage.setWithNo(10);
+
+        BatchMessage batchMessage = new BatchMessage().setMessageList(List.of(requestMessage, broadcastMessage, moduleMessage));
+        byte[] bytes = serializer.serialize(batchMessage);
+
+        BatchMessage result = serializer.deserialize(bytes, BatchMessage.class.getName());
+        List<Object> messageList = result.getMessageList();
+        Assert.assertEquals(3, messageList.size());
+        assertBarMessage(requestMessage, (RequestMessage) messageList.get(0));
+        Assert.assertTrue(((BroadcastMessage) messageList.get(1)).isBroadcastAll());
+        // 其他类型的消息使用 Hessian
+        Assert.assertEquals(10, ((RequestBrokerClientModuleMessage) messageList.get(2)).getWithNo());
+
+        // 批量消息中的 RequestMessage、ResponseMessage 同样透传
+        Assert.assertEquals((Object) CompactSerializer.PASS_THROUGH_CODE, CompactSerializer.createPassThroughInvokeContext(batchMessage)
+                .get(InvokeContext.BOLT_CUSTOM_SERIALIZER));
+
+        BatchMessage routed = CompactSerializer.passThrough().deserialize(bytes, BatchMessage.class.getName());
+        RequestMessage routedMessage = (RequestMessage) routed.getMessageList().getFirst();
+        Assert.assertNotNull(routedMessage.getHeadMetadata().getPassThroughFrame());
+        Assert.assertNull(routedMessage.getData());
+
+        routedMessage.getHeadMetadata().setEndPointClientId(33);
+        result = serializer.deserialize(serializer.serialize(routed), BatchMessage.class.getName());
+        requestMessage.getHeadMetadata().setEndPointClientId(33);
+        assertBarMessage(requestMessage, (RequestMessage) result.getMessageList().getFirst());
+    }
+
+    private RequestMessage createRequestMessage() {
+        HeadMetadata headMetadata = new HeadMetadata()
+                .setUserId(-100L)
+                .setCmdMerge(65537)
+                .setSourceClientId(-765)
+                .setEndPointClientId(22)
+                .setRpcCommandType((byte) 1)
+                .setAttachmentData(new byte[]{9, 8})
+                .setChannelId("channel")
+                .setMsgId(Integer.MIN_VALUE)
+                .setStick(3)
+                .setBindingLogicServerIds(new int[]{1, -2, 3})
+                .setCacheCondition(7)
+                .setCustomData(new byte[]{5})
+                .setExecutorSelect(ExecutorSelectEnum.userVirtualExecutor)
+                .setTraceId("traceId")
+                .setUserProcessorExecutorSelectorBytes(new byte[]{4, 4});
+
+        RequestMessage message = new RequestMessage();
+        message.setHeadMetadata(headMetadata);
+        message.setDataClass("com.iohao.Demo");
+        message.setData(new byte[]{1, 2, 3, 4});
+        return message;
+    }
+
+    private void assertBarMessage(BarMessage expected, BarMessage result) {
+        Assert.assertEquals(expected.getResponseStatus(), result.getResponseStatus());
+        Assert.assertEquals(expected.getValidatorMsg(), result.getValidatorMsg());
+        Assert.assertEquals(expected.getDataClass(), result.getDataClass());
+        Assert.assertArrayEquals(expected.getData(), result.getData());
+
+        HeadMetadata expectedHead = expected.getHeadMetadata();
+        HeadMetadata resultHead = result.getHeadMetadata();
+        if (expectedHead == null) {
+            Assert.assertNull(resultHead);
+            return;
+        }
+
+        Assert.assertEquals(expectedHead.toString(), resultHead.toString());
+    }
+}
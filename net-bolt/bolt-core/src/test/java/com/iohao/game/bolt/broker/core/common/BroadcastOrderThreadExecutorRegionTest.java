@@ -0,0 +1,141 @@
+package com.iohao.game.bolt.broker.core.common;
+
+import com.iohao.game.action.skeleton.protocol.HeadMetadata;
+import com.iohao.game.action.skeleton.protocol.ResponseMessage;
+import com.iohao.game.bolt.broker.core.message.BroadcastOrderMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * @author 渔民小镇
+ * @date 2026-10-17
+ */
+public class BroadcastOrderThreadExecutorRegionTest {
+    static final int userCount = 100;
+    static final int sourceCount = 4;
+
+    @Test
+    public void ordering() throws InterruptedException {
+        var region = new BroadcastOrderThreadExecutorRegion("ordering", 6);
+        // 向上取 2 的 n 次方
+        Assert.assertEquals(8, region.listThreadExecutor().size());
+
+        Map<Long, List<Integer>> userSeqMap = new ConcurrentHashMap<>();
+        Map<Long, List<Integer>> sourceSeqMap = new ConcurrentHashMap<>();
+        Set<String> threadNameSet = ConcurrentHashMap.newKeySet();
+
+        int count = 20_000;
+        // 单个玩家、玩家列表（3 人）、全服广播轮流发送，统计每个接收方收到的次数
+        int expected = IntStream.range(0, count).map(seq -> seq % 3 == 1 ? 3 : 1).sum();
+        var latch = new CountDownLatch(expected);
+
+        for (int seq = 0; seq < count; seq++) {
+            BroadcastOrderMessage message = createMessage(seq);
+            long sourceKey = seq % sourceCount;
+
+            switch (seq % 3) {
+                case 0 -> message.getResponseMessage().getHeadMetadata().setUserId(seq % userCount);
+                case 1 -> message.setUserIdList(List.of((long) seq % userCount, (long) (seq + 7) % userCount, (long) (seq + 31) % userCount));
+                default -> message.setBroadcastAll(true);
+            }
+
+            region.execute(message, sourceKey, theMessage -> {
+                threadNameSet.add(Thread.currentThread().getName());
+                int theSeq = theMessage.getResponseMessage().getHeadMetadata().getMsgId();
+
+                if (theMessage.isBroadcastAll()) {
+                    add(sourceSeqMap, sourceKey, theSeq);
+                    latch.countDown();
+                    return;
+                }
+
+                if (theMessage.getUserIdList() == null) {
+                    add(userSeqMap, theMessage.getResponseMessage().getHeadMetadata().getUserId(), theSeq);
+                    latch.countDown();
+                    return;
+                }
+
+                for (Long userId : theMessage.getUserIdList()) {
+                    add(userSeqMap, userId, theSeq);
+                    latch.countDown();
+                }
+            });
+        }
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        // 每个玩家、每个来源收到的顺序与发送的顺序一致
+        userSeqMap.values().forEach(this::assertOrdered);
+        sourceSeqMap.values().forEach(this::assertOrdered);
+        Assert.assertEquals(userCount, userSeqMap.size());
+        Assert.assertEquals(sourceCount, sourceSeqMap.size());
+
+        // 使用了多个通道
+        Assert.assertTrue(threadNameSet.size() > 1);
+    }
+
+    @Test
+    public void orderingWithPushCost() throws InterruptedException {
+        // 推送有耗时，多个通道并行处理时，每个玩家收到的顺序不变；吞吐量的对比 see benchmark 模块 BroadcastOrderBenchmark
+        var region = new BroadcastOrderThreadExecutorRegion("partitioned", 8);
+
+        int count = 400;
+        Map<Long, List<Integer>> userSeqMap = new ConcurrentHashMap<>();
+        var latch = new CountDownLatch(count);
+
+        for (int seq = 0; seq < count; seq++) {
+            BroadcastOrderMessage message = createMessage(seq);
+            message.getResponseMessage().getHeadMetadata().setUserId(seq % 64);
+
+            region.execute(message, 0, theMessage -> {
+                // 模拟推送的耗时
+                sleep();
+                HeadMetadata headMetadata = theMessage.getResponseMessage().getHeadMetadata();
+                add(userSeqMap, headMetadata.getUserId(), headMetadata.getMsgId());
+                latch.countDown();
+            });
+        }
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        userSeqMap.values().forEach(this::assertOrdered);
+        Assert.assertEquals(64, userSeqMap.size());
+    }
+
+    private void assertOrdered(List<Integer> seqList) {
+        List<Integer> sorted = new ArrayList<>(seqList);
+        Collections.sort(sorted);
+        Assert.assertEquals(sorted, seqList);
+    }
+
+    private static void add(Map<Long, List<Integer>> map, long key, int seq) {
+        map.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(seq);
+    }
+
+    private static void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BroadcastOrderMessage createMessage(int seq) {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setHeadMetadata(new HeadMetadata().setMsgId(seq));
+
+        BroadcastOrderMessage message = new BroadcastOrderMessage();
+        message.setResponseMessage(responseMessage);
+        return message;
+    }
+}